@@ -1,8 +1,11 @@
 package com.ecommerce.cart.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.ecommerce.cart.dto.ProductDto;
 
@@ -14,4 +17,10 @@ public interface CatalogClient {
 
     @GetMapping("/catalog/products/{id}")
     ProductDto getProductById(@PathVariable("id") Long id);
+
+    /**
+     * Resolve several products in one call. Missing or inactive products are omitted from the result.
+     */
+    @GetMapping("/catalog/products/batch")
+    List<ProductDto> getProductsByIds(@RequestParam("ids") List<Long> ids);
 }
@@ -0,0 +1,15 @@
+package com.ecommerce.cart.client;
+
+/**
+ * catalog-service could not be asked: the call failed, or was refused by the circuit breaker or bulkhead
+ */
+public class CatalogUnavailableException extends RuntimeException {
+
+    public CatalogUnavailableException(String message) {
+        super(message);
+    }
+
+    public CatalogUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
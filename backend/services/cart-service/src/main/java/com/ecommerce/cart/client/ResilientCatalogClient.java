@@ -0,0 +1,103 @@
+package com.ecommerce.cart.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.dto.ProductDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CatalogClient behind a bulkhead and a circuit breaker.
+ *
+ * At most max-concurrent calls run at once; a caller waits up to max-wait for a slot and is then
+ * refused, so a slow catalog-service cannot tie up every listener and request thread. After
+ * failure-threshold consecutive failures the circuit opens and calls are refused immediately for
+ * open-duration. Refusals and failures surface as CatalogUnavailableException.
+ */
+@Component
+@Slf4j
+public class ResilientCatalogClient {
+
+    private final CatalogClient catalogClient;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+
+    @Autowired
+    public ResilientCatalogClient(CatalogClient catalogClient, MeterRegistry meterRegistry,
+                                  @Value("${cart.catalog.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                  @Value("${cart.catalog.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+                                  @Value("${cart.catalog.bulkhead.max-concurrent:10}") int maxConcurrent,
+                                  @Value("${cart.catalog.bulkhead.max-wait:PT0.1S}") Duration maxWait) {
+        this.catalogClient = catalogClient;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        meterRegistry.gauge("cart.catalog.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal());
+    }
+
+    /**
+     * Get a product, or null if catalog-service has no active product with this ID.
+     * Uses the batch endpoint, which answers a missing product with an empty list rather than an error.
+     */
+    public ProductDto getProduct(Long productId) {
+        List<ProductDto> products = call(() -> catalogClient.getProductsByIds(List.of(productId)));
+        return products.isEmpty() ? null : products.get(0);
+    }
+
+    /**
+     * Get several products in one call. Missing or inactive products are omitted from the result.
+     */
+    public List<ProductDto> getProducts(List<Long> productIds) {
+        return call(() -> catalogClient.getProductsByIds(productIds));
+    }
+
+    private <T> T call(Supplier<T> request) {
+        boolean admitted;
+        try {
+            admitted = bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CatalogUnavailableException("Interrupted waiting for a catalog-service slot", e);
+        }
+        if (!admitted) {
+            record("rejected_bulkhead");
+            throw new CatalogUnavailableException("Too many concurrent catalog-service calls");
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                record("rejected_open");
+                throw new CatalogUnavailableException("Circuit to catalog-service is open");
+            }
+            try {
+                T result = request.get();
+                circuitBreaker.onSuccess();
+                record("success");
+                return result;
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                record("failure");
+                log.warn("catalog-service call failed (circuit {})", circuitBreaker.getState(), e);
+                throw new CatalogUnavailableException("catalog-service call failed", e);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("cart.catalog.calls", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.cart.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.ecommerce.cart.store.CartCountStore;
+import com.ecommerce.cart.store.EmbeddedCartCountStore;
+import com.ecommerce.cart.store.RedisCartCountStore;
+
+/**
+ * Store behind the cart badge count (cart.count.store: redis or embedded)
+ */
+@Configuration
+public class CartCountConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.count.store", havingValue = "redis", matchIfMissing = true)
+    public CartCountStore redisCartCountStore(StringRedisTemplate redisTemplate,
+            @Value("${cart.count.ttl:P1D}") Duration ttl) {
+        return new RedisCartCountStore(redisTemplate, ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.count.store", havingValue = "embedded")
+    public CartCountStore embeddedCartCountStore() {
+        return new EmbeddedCartCountStore();
+    }
+}
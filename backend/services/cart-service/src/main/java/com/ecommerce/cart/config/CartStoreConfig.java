@@ -0,0 +1,50 @@
+package com.ecommerce.cart.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.store.CartHashOperations;
+import com.ecommerce.cart.store.CartWriteBehindFlusher;
+import com.ecommerce.cart.store.EmbeddedCartHashOperations;
+import com.ecommerce.cart.store.RedisCartHashOperations;
+import com.ecommerce.cart.store.RedisCartStore;
+
+/**
+ * Beans for the Redis cart engine (cart.store.type=redis). The default JPA engine is JpaCartStore.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "redis")
+public class CartStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store.redis.embedded", havingValue = "false", matchIfMissing = true)
+    public CartHashOperations redisCartHashOperations(StringRedisTemplate redisTemplate,
+            @Value("${cart.store.redis.ttl:P30D}") Duration ttl) {
+        return new RedisCartHashOperations(redisTemplate, ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store.redis.embedded", havingValue = "true")
+    public CartHashOperations embeddedCartHashOperations() {
+        return new EmbeddedCartHashOperations();
+    }
+
+    @Bean
+    public RedisCartStore redisCartStore(CartHashOperations cartHashOperations, CartItemRepository cartItemRepository) {
+        return new RedisCartStore(cartHashOperations, cartItemRepository);
+    }
+
+    @Bean
+    public CartWriteBehindFlusher cartWriteBehindFlusher(CartHashOperations cartHashOperations,
+            CartItemRepository cartItemRepository, PlatformTransactionManager transactionManager,
+            @Value("${cart.store.redis.write-behind-batch-size:100}") int batchSize) {
+        return new CartWriteBehindFlusher(cartHashOperations, cartItemRepository, transactionManager, batchSize);
+    }
+}
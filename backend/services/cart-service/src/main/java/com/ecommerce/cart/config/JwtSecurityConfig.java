@@ -23,6 +23,7 @@ import com.ecommerce.security.config.CookieBearerTokenResolver;
  * - Provides stateless authentication
  * - Protects cart endpoints requiring user authentication
  * - Accepts JWT from cookies or Authorization header
+ * - Rejects tokens revoked by security-service (JwtDecoder auto-configured by security-lib)
  */
 @Configuration
 @EnableWebSecurity
@@ -60,4 +61,4 @@ public class JwtSecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+}
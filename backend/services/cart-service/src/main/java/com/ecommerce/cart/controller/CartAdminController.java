@@ -0,0 +1,57 @@
+package com.ecommerce.cart.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.cart.dto.CartExpiryReport;
+import com.ecommerce.cart.dto.ReadModelDriftReport;
+import com.ecommerce.cart.dto.ReadModelRebuildStatus;
+import com.ecommerce.cart.service.CartExpiryService;
+import com.ecommerce.cart.service.CartReadModelConsistencyChecker;
+import com.ecommerce.cart.service.CartReadModelRebuildService;
+
+/**
+ * Admin operations on the cart read model and cart retention (restricted to SCOPE_ADMIN by JwtSecurityConfig)
+ */
+@RestController
+@RequestMapping("/cart/admin")
+public class CartAdminController {
+
+    @Autowired
+    private CartReadModelRebuildService rebuildService;
+
+    @Autowired
+    private CartReadModelConsistencyChecker consistencyChecker;
+
+    @Autowired
+    private CartExpiryService cartExpiryService;
+
+    @PostMapping("/read-model/rebuild")
+    public ResponseEntity<ReadModelRebuildStatus> startRebuild() {
+        return rebuildService.startRebuild()
+                .map(status -> ResponseEntity.status(HttpStatus.ACCEPTED).body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body(rebuildService.getStatus()));
+    }
+
+    @GetMapping("/read-model/rebuild")
+    public ResponseEntity<ReadModelRebuildStatus> getRebuildStatus() {
+        return ResponseEntity.ok(rebuildService.getStatus());
+    }
+
+    @PostMapping("/read-model/check")
+    public ResponseEntity<ReadModelDriftReport> checkDrift() {
+        return ResponseEntity.ok(consistencyChecker.checkSample());
+    }
+
+    @PostMapping("/expiry")
+    public ResponseEntity<CartExpiryReport> expireAbandonedCarts() {
+        return cartExpiryService.expire()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
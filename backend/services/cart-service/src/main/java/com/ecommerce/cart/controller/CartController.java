@@ -1,6 +1,9 @@
 package com.ecommerce.cart.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -11,11 +14,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ecommerce.cart.dto.AddCartItemRequest;
+import com.ecommerce.cart.dto.BulkCartRequest;
+import com.ecommerce.cart.dto.CartItemQuantity;
 import com.ecommerce.cart.dto.CartSummaryDto;
 import com.ecommerce.cart.service.CartCommandService;
 import com.ecommerce.cart.service.CartQueryService;
@@ -30,9 +36,14 @@ import jakarta.validation.Valid;
  */
 @RestController
 @RequestMapping("/cart")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = CartController.VERSION_HEADER)
 public class CartController {
 
+    /**
+     * Read-your-writes token: returned by commands, optionally sent back on GET /cart
+     */
+    public static final String VERSION_HEADER = "X-Cart-Version";
+
     @Autowired
     private CartCommandService cartCommandService;
 
@@ -42,8 +53,13 @@ public class CartController {
     // ========== Query Operations (Read) ==========
 
     @GetMapping
-    public ResponseEntity<CartSummaryDto> getCart(@CurrentUserId String userId) {
-        return ResponseEntity.ok(cartQueryService.getCart(userId));
+    public ResponseEntity<CartSummaryDto> getCart(
+            @CurrentUserId String userId,
+            @RequestHeader(value = VERSION_HEADER, required = false) String version) {
+        if (version == null) {
+            return ResponseEntity.ok(cartQueryService.getCart(userId));
+        }
+        return ResponseEntity.ok(cartQueryService.getCart(userId, version));
     }
 
     @GetMapping("/count")
@@ -61,7 +77,15 @@ public class CartController {
                 userId, 
                 request.getProductId(), 
                 request.getQuantity());
-        return ResponseEntity.ok(cartItemId);
+        return ResponseEntity.ok().headers(versionHeaders(userId)).body(cartItemId);
+    }
+
+    @PostMapping("/items/bulk")
+    public ResponseEntity<List<CartItemQuantity>> applyBulkOperations(
+            @Valid @RequestBody BulkCartRequest request,
+            @CurrentUserId String userId) {
+        List<CartItemQuantity> changes = cartCommandService.applyBulkOperations(userId, request.getOperations());
+        return ResponseEntity.ok().headers(versionHeaders(userId)).body(changes);
     }
 
     @PutMapping("/items/{itemId}/quantity")
@@ -70,7 +94,7 @@ public class CartController {
             @RequestParam Integer quantity,
             @CurrentUserId String userId) {
         cartCommandService.updateItemQuantity(userId, itemId, quantity);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.noContent().headers(versionHeaders(userId)).build();
     }
 
     @DeleteMapping("/items/{itemId}")
@@ -78,13 +102,13 @@ public class CartController {
             @PathVariable Long itemId,
             @CurrentUserId String userId) {
         cartCommandService.removeItemFromCart(userId, itemId);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.noContent().headers(versionHeaders(userId)).build();
     }
 
     @DeleteMapping
     public ResponseEntity<Void> clearCart(@CurrentUserId String userId) {
         cartCommandService.clearCart(userId);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.noContent().headers(versionHeaders(userId)).build();
     }
 
     // ========== Utility Endpoints ==========
@@ -103,4 +127,13 @@ public class CartController {
             "roles", jwt.getClaimAsStringList("roles")
         );
     }
+
+    private HttpHeaders versionHeaders(String userId) {
+        HttpHeaders headers = new HttpHeaders();
+        String version = cartCommandService.getVersionToken(userId);
+        if (version != null) {
+            headers.set(VERSION_HEADER, version);
+        }
+        return headers;
+    }
 }
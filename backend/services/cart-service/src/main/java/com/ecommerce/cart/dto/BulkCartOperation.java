@@ -0,0 +1,45 @@
+package com.ecommerce.cart.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One operation of a bulk cart request, addressed by product.
+ * ADD adds quantity to the line (creating it), SET replaces its quantity (0 removes it), REMOVE removes it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCartOperation {
+
+    public enum Type {
+        ADD, SET, REMOVE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    private Integer quantity;
+
+    @JsonIgnore
+    @AssertTrue(message = "ADD requires a quantity of at least 1 and SET a quantity of at least 0")
+    public boolean isQuantityValid() {
+        if (type == Type.ADD) {
+            return quantity != null && quantity >= 1;
+        }
+        if (type == Type.SET) {
+            return quantity != null && quantity >= 0;
+        }
+        return true;
+    }
+}
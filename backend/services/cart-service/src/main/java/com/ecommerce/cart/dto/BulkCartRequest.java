@@ -0,0 +1,26 @@
+package com.ecommerce.cart.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for applying several cart operations at once (e.g. merging a guest cart on login).
+ * Operations are applied in order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCartRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 200, message = "At most 200 operations per request")
+    private List<@Valid BulkCartOperation> operations;
+}
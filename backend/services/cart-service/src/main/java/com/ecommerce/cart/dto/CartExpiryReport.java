@@ -0,0 +1,15 @@
+package com.ecommerce.cart.dto;
+
+/**
+ * Outcome of one abandoned cart expiry run
+ *
+ * @param cartsPurged carts whose lines were deleted
+ * @param linesPurged cart_items rows deleted
+ * @param cartsSkipped idle candidates left alone (changed meanwhile, or loaded in the cart store)
+ * @param orphanViewsPurged idle cart_item_view rows deleted because their line no longer exists
+ * @param batches chunks processed, each in its own transaction
+ * @param elapsedMillis wall time of the run, pauses included
+ */
+public record CartExpiryReport(int cartsPurged, int linesPurged, int cartsSkipped, int orphanViewsPurged,
+                               int batches, long elapsedMillis) {
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * (productId, quantity) projection of a cart line, used where the full entity is not needed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemQuantity {
+    
+    private Long productId;
+    
+    private Integer quantity;
+}
@@ -3,6 +3,8 @@ package com.ecommerce.cart.dto;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.ecommerce.shared.persistence.money.Money;
+
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -10,6 +12,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class CartSummaryDto {
     
+    private static final long TAX_RATE_BASIS_POINTS = 850;
+    private static final Money FREE_SHIPPING_THRESHOLD = Money.ofMinor(5000);
+    private static final Money FLAT_SHIPPING = Money.ofMinor(599);
+    
     private List<CartItemDto> items;
     private Integer totalItems;
     private BigDecimal subtotal;
@@ -40,22 +46,30 @@ public class CartSummaryDto {
             return;
         }
 
-        this.totalItems = items.stream()
-            .mapToInt(CartItemDto::getQuantity)
-            .sum();
-
-        this.subtotal = items.stream()
-            .map(CartItemDto::getSubtotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Totals are computed in long minor units; BigDecimal only appears at the API boundary
+        int itemCount = 0;
+        long subtotalMinor = 0;
+        for (CartItemDto item : items) {
+            itemCount += item.getQuantity();
+            if (item.getProductPrice() != null) {
+                long priceMinor = Money.toMinorUnits(item.getProductPrice(), Money.DEFAULT_CURRENCY);
+                subtotalMinor = Math.addExact(subtotalMinor, Math.multiplyExact(priceMinor, item.getQuantity()));
+            }
+        }
+        Money subtotalAmount = Money.ofMinor(subtotalMinor);
 
-        // Calculate tax (8.5% for example)
-        this.tax = subtotal.multiply(BigDecimal.valueOf(0.085));
+        // Tax at 8.5%, rounded to the cent
+        Money taxAmount = subtotalAmount.percentage(TAX_RATE_BASIS_POINTS);
 
-        // Calculate shipping (free over $50, otherwise $5.99)
-        this.shipping = subtotal.compareTo(BigDecimal.valueOf(50)) >= 0 
-            ? BigDecimal.ZERO 
-            : BigDecimal.valueOf(5.99);
+        // Shipping is free over $50, otherwise $5.99
+        Money shippingAmount = subtotalAmount.isGreaterThanOrEqual(FREE_SHIPPING_THRESHOLD)
+            ? Money.zero()
+            : FLAT_SHIPPING;
 
-        this.total = subtotal.add(tax).add(shipping);
+        this.totalItems = itemCount;
+        this.subtotal = subtotalAmount.toBigDecimal();
+        this.tax = taxAmount.toBigDecimal();
+        this.shipping = shippingAmount.toBigDecimal();
+        this.total = subtotalAmount.plus(taxAmount).plus(shippingAmount).toBigDecimal();
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.ecommerce.cart.dto;
+
+/**
+ * Outcome of one sampled comparison of cart_item_view against cart_items
+ *
+ * @param usersChecked users compared line by line
+ * @param usersDrifted users whose view differs from their cart
+ * @param usersSkipped users left out because their cart changed within the grace period
+ * @param missingLines cart lines with no view row
+ * @param extraLines view rows with no cart line
+ * @param quantityMismatches lines whose view quantity differs from the cart
+ */
+public record ReadModelDriftReport(int usersChecked, int usersDrifted, int usersSkipped,
+                                   int missingLines, int extraLines, int quantityMismatches) {
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.cart.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress or outcome of a cart_item_view rebuild
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReadModelRebuildStatus {
+
+    public enum State {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+
+    private State state;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long partitions;
+    private long linesScanned;
+    private long linesWritten;
+    private long linesSkipped;
+    private long usersRepaired;
+    private String error;
+}
@@ -1,24 +1,37 @@
 package com.ecommerce.cart.listener;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ecommerce.cart.dto.ProductDto;
 import com.ecommerce.cart.entity.CartItemView;
 import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.cart.service.CartCountService;
+import com.ecommerce.cart.service.CartVersionTracker;
 import com.ecommerce.cart.service.ProductCacheService;
+import com.ecommerce.shared.events.BaseEvent;
 import com.ecommerce.shared.events.domain.CartItemAddedEvent;
 import com.ecommerce.shared.events.domain.CartItemRemovedEvent;
 import com.ecommerce.shared.events.domain.CartItemUpdatedEvent;
+import com.ecommerce.shared.events.domain.CartItemsChangedEvent;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Event listener for cart item events.
- * Updates the denormalized CartItemView based on cart events.
+ * Updates the denormalized CartItemView based on cart events, and the badge count by the same quantity change.
  */
 @Component
 @Slf4j
@@ -31,6 +44,12 @@ public class CartEventListener {
     @Autowired
     private ProductCacheService productCacheService;
 
+    @Autowired
+    private CartCountService cartCountService;
+
+    @Autowired
+    private CartVersionTracker cartVersionTracker;
+
     /**
      * Handle CartItemAddedEvent - fetch product details and create view entry.
      */
@@ -38,6 +57,7 @@ public class CartEventListener {
     @Transactional
     public void handleCartItemAdded(CartItemAddedEvent event) {
         log.info("Handling CartItemAddedEvent: {}", event.getCartItemId());
+        markAppliedAfterCommit(event);
 
         try {
             // Fetch product details from cache or catalog service
@@ -64,6 +84,7 @@ public class CartEventListener {
                     .build();
 
             cartItemViewRepository.save(view);
+            cartCountService.applyDelta(event.getUserId(), event.getQuantity());
             log.info("Created CartItemView for cartItemId: {}", event.getCartItemId());
 
         } catch (Exception e) {
@@ -79,13 +100,16 @@ public class CartEventListener {
     @Transactional
     public void handleCartItemUpdated(CartItemUpdatedEvent event) {
         log.info("Handling CartItemUpdatedEvent: {}", event.getCartItemId());
+        markAppliedAfterCommit(event);
 
         try {
             CartItemView view = cartItemViewRepository.findByCartItemId(event.getCartItemId());
 
             if (view != null) {
+                int previousQuantity = view.getQuantity();
                 view.setQuantity(event.getQuantity());
                 cartItemViewRepository.save(view);
+                cartCountService.applyDelta(event.getUserId(), event.getQuantity() - previousQuantity);
                 log.info("Updated CartItemView quantity for cartItemId: {}", event.getCartItemId());
             } else {
                 log.warn("CartItemView not found for cartItemId: {}", event.getCartItemId());
@@ -98,6 +122,8 @@ public class CartEventListener {
                         .quantity(event.getQuantity())
                         .source(event.getSource())
                         .build());
+                // The view was out of step with the events, so the count may be too
+                cartCountService.reconcileAfterCommit(event.getUserId());
             }
 
         } catch (Exception e) {
@@ -113,9 +139,17 @@ public class CartEventListener {
     @Transactional
     public void handleCartItemRemoved(CartItemRemovedEvent event) {
         log.info("Handling CartItemRemovedEvent: {}", event.getCartItemId());
+        markAppliedAfterCommit(event);
 
         try {
+            CartItemView view = cartItemViewRepository.findByCartItemId(event.getCartItemId());
+            if (view == null) {
+                log.debug("CartItemView already removed for cartItemId: {}", event.getCartItemId());
+                return;
+            }
+
             cartItemViewRepository.deleteByCartItemId(event.getCartItemId());
+            cartCountService.applyDelta(view.getUserId(), -view.getQuantity());
             log.info("Deleted CartItemView for cartItemId: {}", event.getCartItemId());
 
         } catch (Exception e) {
@@ -124,6 +158,99 @@ public class CartEventListener {
         }
     }
 
+    /**
+     * Handle CartItemsChangedEvent - apply a batch of line changes to the view, enriching all new
+     * lines with one multi-product lookup.
+     */
+    @KafkaHandler
+    @Transactional
+    public void handleCartItemsChanged(CartItemsChangedEvent event) {
+        log.info("Handling CartItemsChangedEvent for user {} with {} change(s)",
+                event.getUserId(), event.getChanges().size());
+        markAppliedAfterCommit(event);
+
+        try {
+            Map<Long, CartItemView> views = new HashMap<>();
+            List<Long> cartItemIds = event.getChanges().stream().map(CartItemsChangedEvent.Change::getCartItemId).toList();
+            for (CartItemView view : cartItemViewRepository.findByCartItemIdIn(cartItemIds)) {
+                views.put(view.getCartItemId(), view);
+            }
+
+            Set<Long> newProductIds = new HashSet<>();
+            for (CartItemsChangedEvent.Change change : event.getChanges()) {
+                if (change.getQuantity() > 0 && !views.containsKey(change.getCartItemId())) {
+                    newProductIds.add(change.getProductId());
+                }
+            }
+            Map<Long, ProductDto> products = newProductIds.isEmpty()
+                    ? Map.of() : productCacheService.getProducts(newProductIds);
+
+            List<CartItemView> saved = new ArrayList<>();
+            List<CartItemView> removed = new ArrayList<>();
+            long delta = 0;
+            for (CartItemsChangedEvent.Change change : event.getChanges()) {
+                CartItemView view = views.get(change.getCartItemId());
+                if (change.getQuantity() <= 0) {
+                    if (view != null) {
+                        removed.add(view);
+                        delta -= view.getQuantity();
+                    }
+                } else if (view != null) {
+                    delta += change.getQuantity() - view.getQuantity();
+                    view.setQuantity(change.getQuantity());
+                    saved.add(view);
+                } else {
+                    ProductDto product = products.get(change.getProductId());
+                    if (product == null) {
+                        log.error("Product not found for productId: {}", change.getProductId());
+                        continue;
+                    }
+                    saved.add(CartItemView.builder()
+                            .cartItemId(change.getCartItemId())
+                            .cartId(change.getCartId())
+                            .userId(event.getUserId())
+                            .productId(change.getProductId())
+                            .productName(product.getName())
+                            .productDescription(product.getDescription())
+                            .productPrice(product.getPrice())
+                            .productImageUrl(product.getImageUrl())
+                            .productCategory(product.getCategory())
+                            .productActive(product.getActive())
+                            .quantity(change.getQuantity())
+                            .build());
+                    delta += change.getQuantity();
+                }
+            }
+
+            cartItemViewRepository.saveAll(saved);
+            if (!removed.isEmpty()) {
+                cartItemViewRepository.deleteAllInBatch(removed);
+            }
+            cartCountService.applyDelta(event.getUserId(), delta);
+            log.info("Applied {} change(s) to CartItemViews for user {}", saved.size() + removed.size(), event.getUserId());
+
+        } catch (Exception e) {
+            log.error("Error handling CartItemsChangedEvent for user {}", event.getUserId(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Release read-your-writes waiters for the event once the view change commits
+     */
+    private void markAppliedAfterCommit(BaseEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cartVersionTracker.markApplied(event.getEventId());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cartVersionTracker.markApplied(event.getEventId());
+            }
+        });
+    }
+
     /**
      * Default handler for unknown event types on cart-events topic.
      * This prevents errors when events like CartValidationCompletedEvent are published
@@ -1,16 +1,13 @@
 package com.ecommerce.cart.listener;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.ecommerce.cart.entity.CartItem;
-import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.service.CartValidationService;
 import com.ecommerce.shared.events.EventPublisher;
 import com.ecommerce.shared.events.domain.CartValidationCompletedEvent;
 import com.ecommerce.shared.events.domain.CartValidationRequestedEvent;
@@ -22,7 +19,7 @@ import lombok.extern.slf4j.Slf4j;
  * Event handler for cart validation requests.
  * Validates cart contents and publishes validation results.
  * 
- * IMPORTANT: Uses CartItem (write model) instead of CartItemView (read model)
+ * IMPORTANT: Validation uses CartItem (write model) instead of CartItemView (read model)
  * to avoid eventual consistency issues. Cart validation must check the 
  * authoritative source of truth, not the eventually-consistent view.
  */
@@ -32,7 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 @KafkaListener(topics = "cart-events", groupId = "cart-service-validation")
 public class CartValidationEventHandler {
 
-    private final CartItemRepository cartItemRepository;
+    private final CartValidationService cartValidationService;
     private final EventPublisher eventPublisher;
 
     /**
@@ -43,70 +40,16 @@ public class CartValidationEventHandler {
      * 3. Quantities match what was requested
      */
     @KafkaHandler
-    @Transactional(readOnly = true)
     public void handleCartValidationRequest(CartValidationRequestedEvent event, Acknowledgment ack) {
-        log.info("========== CART VALIDATION HANDLER INVOKED ==========");
-        log.info("Thread: {}, Event Type: {}", Thread.currentThread().getName(), event.getClass().getSimpleName());
         try {
-            log.info("========== CART VALIDATION DEBUG ==========");
-            log.info("Received CartValidationRequestedEvent:");
-            log.info("  - cartId: {}", event.getAggregateId());
-            log.info("  - orderId: {}", event.getOrderId());
-            log.info("  - userId: {}", event.getUserId());
-            log.info("  - Requested items: {}", event.getItems().size());
-            event.getItems().forEach(item -> 
-                log.info("    * Product {}: quantity {}", item.getProductId(), item.getQuantity()));
-
             String userId = event.getUserId();
-            List<String> validationErrors = new ArrayList<>();
-            
-            // Get all cart items for the user from the WRITE MODEL (source of truth)
-            // Do NOT use CartItemView here - it's eventually consistent via Kafka events
-            List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
-            
-            log.info("Cart items found in database (write model) for userId {}: {}", userId, cartItems.size());
-            cartItems.forEach(item ->
-                log.info("    * CartItem: id={}, productId={}, quantity={}", 
-                    item.getId(), item.getProductId(), item.getQuantity()));
-            
-            if (cartItems.isEmpty()) {
-                log.warn("Cart is empty for userId: {} - allowing order without cart validation", userId);
-                // If cart is empty, we'll allow the order to proceed
-                // Product availability will be validated by the catalog service
-                log.info("Skipping cart validation - no cart items exist. Product validation will be handled by catalog service.");
-            } else {
-                // Check each item in the validation request against cart
-                for (CartValidationRequestedEvent.CartItem requestedItem : event.getItems()) {
-                    Long productId = Long.parseLong(requestedItem.getProductId());
-                    Integer requestedQty = requestedItem.getQuantity();
-                    
-                    log.info("Validating product {}, requested quantity: {}", productId, requestedQty);
-                    
-                    // Find matching cart item
-                    CartItem cartItem = cartItems.stream()
-                            .filter(item -> item.getProductId().equals(productId))
-                            .findFirst()
-                            .orElse(null);
-                    
-                    if (cartItem == null) {
-                        String error = "Product " + productId + " not found in cart";
-                        log.error("VALIDATION ERROR: {}", error);
-                        validationErrors.add(error);
-                    } else if (!cartItem.getQuantity().equals(requestedQty)) {
-                        String error = "Quantity mismatch for product " + productId + 
-                                ". Expected: " + requestedQty + 
-                                ", Found: " + cartItem.getQuantity();
-                        log.error("VALIDATION ERROR: {}", error);
-                        validationErrors.add(error);
-                    } else {
-                        log.info("Product {} validation PASSED (qty match: {})", productId, requestedQty);
-                    }
-                }
+            if (log.isDebugEnabled()) {
+                log.debug("Validating cart {} for order {} (userId {}): {} requested item(s)",
+                        event.getAggregateId(), event.getOrderId(), userId, event.getItems().size());
             }
-            
+
+            List<String> validationErrors = cartValidationService.validate(userId, event.getItems());
             boolean isValid = validationErrors.isEmpty();
-            log.info("Cart validation result: isValid={}, errors={}", isValid, validationErrors);
-            log.info("==========================================");
             
             // Publish validation result
             CartValidationCompletedEvent response = CartValidationCompletedEvent.builder()
@@ -122,10 +65,9 @@ public class CartValidationEventHandler {
             
             eventPublisher.publish(response);
             
-            log.info("Published CartValidationCompletedEvent for cartId: {}, valid: {}", 
-                    event.getAggregateId(), isValid);
+            log.info("Published CartValidationCompletedEvent for order {}, valid: {}", event.getOrderId(), isValid);
             if (!isValid) {
-                log.warn("Cart validation failed. Errors: {}", validationErrors);
+                log.warn("Cart validation failed for order {}. Errors: {}", event.getOrderId(), validationErrors);
             }
 
             ack.acknowledge();
@@ -133,7 +75,7 @@ public class CartValidationEventHandler {
         } catch (Exception e) {
             log.error("Failed to process CartValidationRequestedEvent for cartId: {}", 
                     event.getAggregateId(), e);
-            // Don't acknowledge - message will be retried
+            throw e;
         }
     }
 
@@ -144,12 +86,8 @@ public class CartValidationEventHandler {
      */
     @KafkaHandler(isDefault = true)
     public void handleUnknownEvent(Object event, Acknowledgment ack) {
-        log.info("========== DEFAULT HANDLER INVOKED (cart-service-validation group) ==========");
-        log.info("Received event on cart-events topic (validation group) that is not a CartValidationRequestedEvent: {}", 
-                event.getClass().getSimpleName());
-        log.info("Event details: {}", event);
+        log.debug("Ignoring {} on cart-events topic (validation group)", event.getClass().getSimpleName());
         // Acknowledge and ignore - this is expected for CartValidationCompletedEvent and other events
         ack.acknowledge();
-        log.info("========== DEFAULT HANDLER COMPLETED ==========");
     }
 }
@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.ecommerce.cart.dto.ProductDto;
 import com.ecommerce.cart.repository.CartItemViewRepository;
 import com.ecommerce.cart.service.ProductCacheService;
+import com.ecommerce.cart.service.ProductUpdateConflator;
 import com.ecommerce.shared.events.domain.ProductDeletedEvent;
 import com.ecommerce.shared.events.domain.ProductUpdatedEvent;
 
@@ -29,18 +30,20 @@ public class ProductEventListener {
     @Autowired
     private ProductCacheService productCacheService;
 
+    @Autowired
+    private ProductUpdateConflator productUpdateConflator;
+
     /**
-     * Handle ProductUpdatedEvent - update all cart items with new product details.
+     * Handle ProductUpdatedEvent - queue the new product details for the cart item views and cache.
+     * Updates are conflated per product and applied in batches by ProductUpdateConflator.
      */
     @KafkaHandler
-    @Transactional
     public void handleProductUpdated(ProductUpdatedEvent event) {
         log.info("Handling ProductUpdatedEvent for productId: {}", event.getAggregateId());
 
         try {
             Long productId = Long.parseLong(event.getAggregateId());
 
-            // Update cache
             ProductDto product = ProductDto.builder()
                     .id(productId)
                     .name(event.getName())
@@ -53,20 +56,8 @@ public class ProductEventListener {
                     .active(event.getActive())
                     .build();
 
-            productCacheService.updateProductCache(product);
-
-            // Update all cart item views with this product
-            cartItemViewRepository.updateProductDetailsForProduct(
-                    productId,
-                    event.getName(),
-                    event.getDescription(),
-                    event.getPrice(),
-                    event.getImageUrl(),
-                    event.getCategory(),
-                    event.getActive()
-            );
-
-            log.info("Updated all CartItemViews for productId: {}", productId);
+            productUpdateConflator.submit(product, event.getTimestamp());
+            log.debug("Queued CartItemView update for productId: {}", productId);
 
         } catch (Exception e) {
             log.error("Error handling ProductUpdatedEvent: {}", event.getAggregateId(), e);
@@ -88,6 +79,9 @@ public class ProductEventListener {
         try {
             Long productId = Long.parseLong(event.getAggregateId());
 
+            // A queued update must not re-cache the deleted product
+            productUpdateConflator.discard(productId);
+
             // Mark all cart items with this product as unavailable
             // Users will see these items marked as unavailable in their cart
             // and will need to manually remove them
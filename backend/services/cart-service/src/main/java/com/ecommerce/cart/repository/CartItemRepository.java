@@ -1,13 +1,16 @@
 package com.ecommerce.cart.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ecommerce.cart.dto.CartItemQuantity;
 import com.ecommerce.cart.entity.CartItem;
 
 @Repository
@@ -17,6 +20,8 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     
     Optional<CartItem> findByUserIdAndProductId(String userId, Long productId);
     
+    List<CartItem> findByUserIdAndProductIdIn(String userId, Collection<Long> productIds);
+    
     Optional<CartItem> findByUserIdAndId(String userId, Long id);
     
     void deleteByUserId(String userId);
@@ -31,5 +36,25 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     
     boolean existsByUserIdAndProductId(String userId, Long productId);
     
+    boolean existsByUserId(String userId);
+    
+    /**
+     * Quantities of the given products in a user's cart (served by idx_cart_items_user_product)
+     */
+    @Query("SELECT new com.ecommerce.cart.dto.CartItemQuantity(c.productId, c.quantity) FROM CartItem c " +
+           "WHERE c.userId = :userId AND c.productId IN :productIds")
+    List<CartItemQuantity> findQuantitiesByUserIdAndProductIds(@Param("userId") String userId,
+                                                               @Param("productIds") Collection<Long> productIds);
+    
     List<CartItem> findByProductId(Long productId);
+    
+    /**
+     * Insert a line with an already assigned ID (write-behind from the Redis cart store)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cart_items (id, cart_id, user_id, product_id, quantity, created_at, updated_at) " +
+                   "VALUES (:id, :cartId, :userId, :productId, :quantity, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    void insertWithId(@Param("id") Long id, @Param("cartId") String cartId, @Param("userId") String userId,
+                      @Param("productId") Long productId, @Param("quantity") Integer quantity);
 }
\ No newline at end of file
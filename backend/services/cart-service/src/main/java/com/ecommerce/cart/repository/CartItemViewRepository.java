@@ -1,7 +1,9 @@
 package com.ecommerce.cart.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -26,8 +28,15 @@ public interface CartItemViewRepository extends JpaRepository<CartItemView, Long
 
     CartItemView findByCartItemId(Long cartItemId);
 
+    List<CartItemView> findByCartItemIdIn(Collection<Long> cartItemIds);
+
     List<CartItemView> findByProductId(Long productId);
 
+    CartItemView findFirstByProductIdOrderByUpdatedAtDesc(Long productId);
+
+    @Query("SELECT DISTINCT v.productId FROM CartItemView v")
+    List<Long> findDistinctProductIds(Pageable pageable);
+
     @Query("SELECT COALESCE(SUM(v.quantity), 0) FROM CartItemView v WHERE v.userId = :userId")
     Integer sumQuantityByUserId(@Param("userId") String userId);
 
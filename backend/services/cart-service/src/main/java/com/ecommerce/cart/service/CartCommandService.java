@@ -1,18 +1,26 @@
 package com.ecommerce.cart.service;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.cart.dto.BulkCartOperation;
+import com.ecommerce.cart.dto.CartItemQuantity;
 import com.ecommerce.cart.entity.CartItem;
-import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.store.CartStore;
 import com.ecommerce.shared.events.EventPublisher;
 import com.ecommerce.shared.events.domain.CartItemAddedEvent;
 import com.ecommerce.shared.events.domain.CartItemRemovedEvent;
 import com.ecommerce.shared.events.domain.CartItemUpdatedEvent;
+import com.ecommerce.shared.events.domain.CartItemsChangedEvent;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,11 +34,14 @@ import lombok.extern.slf4j.Slf4j;
 public class CartCommandService {
 
     @Autowired
-    private CartItemRepository cartItemRepository;
+    private CartStore cartStore;
 
     @Autowired
     private EventPublisher eventPublisher;
 
+    @Autowired
+    private CartVersionTracker cartVersionTracker;
+
     /**
      * Add a new item to the cart or update quantity if it already exists.
      */
@@ -38,39 +49,14 @@ public class CartCommandService {
         log.info("Adding item to cart - userId: {}, productId: {}, quantity: {}", 
                  userId, productId, quantity);
 
-        // Check if item already exists in cart
-        Optional<CartItem> existingItem = cartItemRepository
-                .findByUserIdAndProductId(userId, productId);
-
-        CartItem cartItem;
-        boolean isUpdate = false;
-
-        if (existingItem.isPresent()) {
-            // Update quantity if item already exists
-            cartItem = existingItem.get();
-            cartItem.setQuantity(cartItem.getQuantity() + quantity);
-            isUpdate = true;
-            log.info("Updating existing cart item - id: {}, new quantity: {}", 
-                     cartItem.getId(), cartItem.getQuantity());
-        } else {
-            // Create new cart item
-            String cartId = UUID.randomUUID().toString();
-            cartItem = CartItem.builder()
-                    .cartId(cartId)
-                    .userId(userId)
-                    .productId(productId)
-                    .quantity(quantity)
-                    .build();
-            log.info("Creating new cart item with cartId: {}", cartId);
-        }
-
-        cartItem = cartItemRepository.save(cartItem);
+        CartStore.AddedItem added = cartStore.addItem(userId, productId, quantity);
+        CartItem cartItem = added.item();
 
         // Publish event
-        if (isUpdate) {
-            publishCartItemUpdatedEvent(cartItem);
-        } else {
+        if (added.created()) {
             publishCartItemAddedEvent(cartItem);
+        } else {
+            publishCartItemUpdatedEvent(cartItem);
         }
 
         return cartItem.getId();
@@ -83,7 +69,7 @@ public class CartCommandService {
         log.info("Updating cart item quantity - userId: {}, itemId: {}, quantity: {}", 
                  userId, itemId, quantity);
 
-        CartItem cartItem = cartItemRepository.findByUserIdAndId(userId, itemId)
+        CartItem cartItem = cartStore.findItem(userId, itemId)
                 .orElseThrow(() -> new RuntimeException("Cart item not found"));
 
         if (quantity <= 0) {
@@ -92,8 +78,7 @@ public class CartCommandService {
             return;
         }
 
-        cartItem.setQuantity(quantity);
-        cartItem = cartItemRepository.save(cartItem);
+        cartItem = cartStore.updateQuantity(cartItem, quantity);
 
         publishCartItemUpdatedEvent(cartItem);
     }
@@ -104,10 +89,10 @@ public class CartCommandService {
     public void removeItemFromCart(String userId, Long itemId) {
         log.info("Removing cart item - userId: {}, itemId: {}", userId, itemId);
 
-        CartItem cartItem = cartItemRepository.findByUserIdAndId(userId, itemId)
+        CartItem cartItem = cartStore.findItem(userId, itemId)
                 .orElseThrow(() -> new RuntimeException("Cart item not found"));
 
-        cartItemRepository.delete(cartItem);
+        cartStore.removeItem(cartItem);
 
         publishCartItemRemovedEvent(cartItem);
     }
@@ -118,14 +103,77 @@ public class CartCommandService {
     public void clearCart(String userId) {
         log.info("Clearing cart for user: {}", userId);
 
-        var cartItems = cartItemRepository.findByUserId(userId);
-        
-        cartItemRepository.deleteByUserId(userId);
+        var cartItems = cartStore.clear(userId);
 
         // Publish removed events for all items
         cartItems.forEach(this::publishCartItemRemovedEvent);
     }
 
+    /**
+     * Apply a list of add/set/remove operations to the user's cart in one transaction, publishing a
+     * single CartItemsChangedEvent for everything that changed. Returns the resulting quantities of
+     * the changed lines (0 for removed lines).
+     */
+    public List<CartItemQuantity> applyBulkOperations(String userId, List<BulkCartOperation> operations) {
+        log.info("Applying {} bulk cart operation(s) for user: {}", operations.size(), userId);
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        operations.forEach(operation -> productIds.add(operation.getProductId()));
+        Map<Long, Integer> current = new HashMap<>();
+        cartStore.findQuantities(userId, productIds)
+                .forEach(line -> current.put(line.getProductId(), line.getQuantity()));
+
+        // Fold the operations into a target quantity per product, in request order
+        Map<Long, Integer> targets = new LinkedHashMap<>();
+        for (BulkCartOperation operation : operations) {
+            Long productId = operation.getProductId();
+            int quantity = targets.getOrDefault(productId, current.getOrDefault(productId, 0));
+            switch (operation.getType()) {
+                case ADD -> quantity += operation.getQuantity();
+                case SET -> quantity = operation.getQuantity();
+                case REMOVE -> quantity = 0;
+            }
+            targets.put(productId, Math.max(quantity, 0));
+        }
+
+        List<CartStore.LineUpdate> updates = cartStore.setQuantities(userId, targets);
+        if (!updates.isEmpty()) {
+            publishCartItemsChangedEvent(userId, updates);
+        }
+
+        return updates.stream()
+                .map(update -> new CartItemQuantity(update.item().getProductId(), update.item().getQuantity()))
+                .toList();
+    }
+
+    /**
+     * Read-your-writes token covering the user's writes so far, to pass to CartQueryService.getCart
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getVersionToken(String userId) {
+        return cartVersionTracker.currentToken(userId);
+    }
+
+    private void publishCartItemsChangedEvent(String userId, List<CartStore.LineUpdate> updates) {
+        CartItemsChangedEvent event = CartItemsChangedEvent.builder()
+                .userId(userId)
+                .changes(updates.stream()
+                        .map(update -> CartItemsChangedEvent.Change.builder()
+                                .cartItemId(update.item().getId())
+                                .cartId(update.item().getCartId())
+                                .productId(update.item().getProductId())
+                                .quantity(update.item().getQuantity())
+                                .previousQuantity(update.previousQuantity())
+                                .build())
+                        .toList())
+                .source("cart-service")
+                .build();
+
+        cartVersionTracker.recordPublished(userId, event.getEventId());
+        eventPublisher.publish(event);
+        log.info("Published CartItemsChangedEvent with {} change(s) for user: {}", updates.size(), userId);
+    }
+
     private void publishCartItemAddedEvent(CartItem cartItem) {
         CartItemAddedEvent event = CartItemAddedEvent.builder()
                 .cartItemId(cartItem.getId())
@@ -136,6 +184,7 @@ public class CartCommandService {
                 .source("cart-service")
                 .build();
 
+        cartVersionTracker.recordPublished(cartItem.getUserId(), event.getEventId());
         eventPublisher.publish(event);
         log.info("Published CartItemAddedEvent for cartItemId: {}", cartItem.getId());
     }
@@ -150,6 +199,7 @@ public class CartCommandService {
                 .source("cart-service")
                 .build();
 
+        cartVersionTracker.recordPublished(cartItem.getUserId(), event.getEventId());
         eventPublisher.publish(event);
         log.info("Published CartItemUpdatedEvent for cartItemId: {}", cartItem.getId());
     }
@@ -163,6 +213,7 @@ public class CartCommandService {
                 .source("cart-service")
                 .build();
 
+        cartVersionTracker.recordPublished(cartItem.getUserId(), event.getEventId());
         eventPublisher.publish(event);
         log.info("Published CartItemRemovedEvent for cartItemId: {}", cartItem.getId());
     }
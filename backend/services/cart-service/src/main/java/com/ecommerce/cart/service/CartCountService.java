@@ -0,0 +1,140 @@
+package com.ecommerce.cart.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.cart.store.CartCountStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user cart item count for the header badge.
+ *
+ * Counts live in a shared CartCountStore and are kept current by CartEventListener, which applies
+ * the quantity delta of every view change once it commits. Reads go through a short-TTL local
+ * near-cache, so the steady state touches neither PostgreSQL nor (mostly) Redis. A count is
+ * recomputed from cart_item_view only when it is missing or found inconsistent (negative, or the
+ * listener saw the view out of step with the events). A recomputed count is stored only if no delta
+ * was applied while the view was read (see CartCountStore), otherwise it is read again.
+ */
+@Service
+@Slf4j
+public class CartCountService {
+
+    private static final int MAX_RECONCILE_ATTEMPTS = 3;
+
+    private final CartItemViewRepository cartItemViewRepository;
+    private final CartCountStore cartCountStore;
+    private final long nearCacheTtlNanos;
+    private final int nearCacheMaxUsers;
+
+    private final Map<String, NearCachedCount> nearCache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CartCountService(CartItemViewRepository cartItemViewRepository, CartCountStore cartCountStore,
+                            @Value("${cart.count.near-cache-ttl:PT2S}") Duration nearCacheTtl,
+                            @Value("${cart.count.near-cache-max-users:10000}") int nearCacheMaxUsers) {
+        this.cartItemViewRepository = cartItemViewRepository;
+        this.cartCountStore = cartCountStore;
+        this.nearCacheTtlNanos = nearCacheTtl.toNanos();
+        this.nearCacheMaxUsers = nearCacheMaxUsers;
+    }
+
+    /**
+     * Total quantity across the user's cart
+     */
+    public int getCount(String userId) {
+        long now = System.nanoTime();
+        NearCachedCount cached = nearCache.get(userId);
+        if (cached != null && cached.expiresAtNanos - now > 0) {
+            return cached.count;
+        }
+
+        Long stored = cartCountStore.get(userId);
+        if (stored == null) {
+            return reconcile(userId);
+        }
+        remember(userId, stored);
+        return stored.intValue();
+    }
+
+    /**
+     * Apply a quantity change to the user's count once the current transaction commits
+     */
+    public void applyDelta(String userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            Long count = cartCountStore.increment(userId, delta);
+            if (count == null) {
+                // Not stored yet; computed from the view on the next read
+                nearCache.remove(userId);
+            } else if (count < 0) {
+                log.warn("Cart count for user {} went negative ({}), reconciling", userId, count);
+                reconcile(userId);
+            } else {
+                remember(userId, count);
+            }
+        });
+    }
+
+    /**
+     * Recompute the count from cart_item_view once the current transaction commits
+     */
+    public void reconcileAfterCommit(String userId) {
+        afterCommit(() -> reconcile(userId));
+    }
+
+    /**
+     * Recompute the count from cart_item_view and store it
+     */
+    public int reconcile(String userId) {
+        for (int attempt = 1; ; attempt++) {
+            long version = cartCountStore.version(userId);
+            Integer sum = cartItemViewRepository.sumQuantityByUserId(userId);
+            int count = sum != null ? sum : 0;
+            if (cartCountStore.setIfVersion(userId, version, count)) {
+                remember(userId, count);
+                return count;
+            }
+            if (attempt == MAX_RECONCILE_ATTEMPTS) {
+                // Still changing; the stored count (if any) keeps following the deltas
+                log.debug("Cart of user {} kept changing, count not reconciled", userId);
+                nearCache.remove(userId);
+                return count;
+            }
+        }
+    }
+
+    private void remember(String userId, long count) {
+        if (nearCache.size() >= nearCacheMaxUsers) {
+            nearCache.clear();
+        }
+        nearCache.put(userId, new NearCachedCount((int) count, System.nanoTime() + nearCacheTtlNanos));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record NearCachedCount(int count, long expiresAtNanos) {
+    }
+}
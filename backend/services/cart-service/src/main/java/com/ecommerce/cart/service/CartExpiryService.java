@@ -0,0 +1,259 @@
+package com.ecommerce.cart.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.cart.dto.CartExpiryReport;
+import com.ecommerce.cart.store.CartStore;
+import com.ecommerce.shared.events.EventPublisher;
+import com.ecommerce.shared.events.domain.CartItemsChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes abandoned carts: carts none of whose lines changed within cart.expiry.max-idle.
+ *
+ * Candidates are found in user_id order, batch-size carts at a time. Each batch locks and re-reads its
+ * lines, drops carts that changed meanwhile, and deletes the rest by ID in one short transaction; the
+ * job then pauses before the next batch, so live cart traffic is never queued behind it for long. Every
+ * purged cart is announced with one CartItemsChangedEvent, which removes its view rows and count
+ * through the normal listener. Idle view rows whose line no longer exists (a lost event) are deleted
+ * first, in batches of the same size, with their users' counts recomputed. An interrupted run stops after
+ * its current batch.
+ *
+ * Carts the cart store holds outside cart_items (a loaded Redis hash) are skipped, and checked again
+ * once their rows are locked. The row locks do not stop a hash from being loaded after that check; a
+ * cart loaded in the remaining window, up to the batch commit, keeps its lines in the hash and gets
+ * them written back by the next write-behind flush, without view rows until the read model is rebuilt.
+ */
+@Service
+@Slf4j
+public class CartExpiryService {
+
+    private static final String FIND_IDLE_USERS_SQL = "SELECT user_id FROM cart_items WHERE user_id > ? " +
+            "GROUP BY user_id HAVING MAX(updated_at) < ? ORDER BY user_id LIMIT ?";
+
+    private static final String FIND_ORPHAN_VIEWS_SQL = "SELECT v.id, v.user_id FROM cart_item_view v " +
+            "WHERE v.updated_at < ? AND NOT EXISTS (SELECT 1 FROM cart_items c WHERE c.id = v.cart_item_id) " +
+            "ORDER BY v.id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private CartCountService cartCountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cart.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cart.expiry.max-idle:P30D}")
+    private Duration maxIdle;
+
+    @Value("${cart.expiry.batch-size:100}")
+    private int batchSize;
+
+    @Value("${cart.expiry.pause:PT0.2S}")
+    private Duration pause;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.expiry.interval:PT1H}", initialDelayString = "${cart.expiry.interval:PT1H}")
+    public void scheduledExpiry() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            expire();
+        } catch (Exception e) {
+            log.error("Abandoned cart expiry failed", e);
+        }
+    }
+
+    /**
+     * Run one expiry pass, or return empty if one is already running
+     */
+    public Optional<CartExpiryReport> expire() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(run());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private CartExpiryReport run() {
+        long startNanos = System.nanoTime();
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(maxIdle));
+        int cartsPurged = 0, linesPurged = 0, cartsSkipped = 0, orphanViewsPurged = 0, batches = 0;
+
+        // Orphans first, so view rows of carts purged below are left to the listener and its count update
+        List<Map<String, Object>> orphans;
+        while (!Thread.currentThread().isInterrupted()
+                && !(orphans = jdbcTemplate.queryForList(FIND_ORPHAN_VIEWS_SQL, cutoff, batchSize)).isEmpty()) {
+            List<Object[]> ids = new ArrayList<>(orphans.size());
+            Set<String> owners = new HashSet<>();
+            for (Map<String, Object> orphan : orphans) {
+                ids.add(new Object[] {orphan.get("id")});
+                owners.add((String) orphan.get("user_id"));
+            }
+            jdbcTemplate.batchUpdate("DELETE FROM cart_item_view WHERE id = ?", ids);
+            owners.forEach(cartCountService::reconcile);
+
+            orphanViewsPurged += orphans.size();
+            batches++;
+            meterRegistry.counter("cart.expiry.orphan_views").increment(orphans.size());
+            pauseBetweenBatches();
+        }
+
+        String afterUserId = "";
+        List<String> candidates;
+        while (!Thread.currentThread().isInterrupted()
+                && !(candidates = jdbcTemplate.queryForList(FIND_IDLE_USERS_SQL, String.class,
+                        afterUserId, cutoff, batchSize)).isEmpty()) {
+            afterUserId = candidates.get(candidates.size() - 1);
+
+            List<String> users = new ArrayList<>(candidates.size());
+            for (String userId : candidates) {
+                if (cartStore.isLoaded(userId)) {
+                    cartsSkipped++;
+                } else {
+                    users.add(userId);
+                }
+            }
+
+            Map<String, List<Line>> purged = users.isEmpty()
+                    ? Map.of() : transactionTemplate.execute(status -> purgeBatch(users, cutoff));
+            purged.forEach(this::publishRemoval);
+
+            int lines = purged.values().stream().mapToInt(List::size).sum();
+            cartsPurged += purged.size();
+            linesPurged += lines;
+            cartsSkipped += users.size() - purged.size();
+            batches++;
+            meterRegistry.counter("cart.expiry.carts").increment(purged.size());
+            meterRegistry.counter("cart.expiry.lines").increment(lines);
+            pauseBetweenBatches();
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            log.warn("Abandoned cart expiry interrupted after {} batches", batches);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        meterRegistry.timer("cart.expiry.run").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        CartExpiryReport report = new CartExpiryReport(cartsPurged, linesPurged, cartsSkipped, orphanViewsPurged,
+                batches, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        if (cartsPurged + orphanViewsPurged > 0) {
+            double seconds = Math.max(elapsedNanos / 1e9, 0.001);
+            log.info("Expired {} abandoned cart(s) ({} lines, {} orphaned view rows) in {} batches, {} ms ({} lines/s)",
+                    cartsPurged, linesPurged, orphanViewsPurged, batches, report.elapsedMillis(),
+                    Math.round((linesPurged + orphanViewsPurged) / seconds));
+        }
+        return report;
+    }
+
+    /**
+     * Lock the users' lines, keep the carts still idle at cutoff and not loaded into the cart store,
+     * and delete their lines
+     */
+    private Map<String, List<Line>> purgeBatch(List<String> users, Timestamp cutoff) {
+        String placeholders = String.join(",", Collections.nCopies(users.size(), "?"));
+        Map<String, List<Line>> carts = new LinkedHashMap<>();
+        List<String> active = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, cart_id, user_id, product_id, quantity, updated_at FROM cart_items " +
+                "WHERE user_id IN (" + placeholders + ") FOR UPDATE", rs -> {
+            String userId = rs.getString("user_id");
+            carts.computeIfAbsent(userId, id -> new ArrayList<>()).add(new Line(rs.getLong("id"),
+                    rs.getString("cart_id"), rs.getLong("product_id"), rs.getInt("quantity")));
+            if (!rs.getTimestamp("updated_at").before(cutoff)) {
+                active.add(userId);
+            }
+        }, users.toArray());
+        active.forEach(carts::remove);
+        // Loaded since the check before the batch: the hash, not these rows, is now the cart's state
+        carts.keySet().removeIf(cartStore::isLoaded);
+
+        List<Object[]> ids = new ArrayList<>();
+        carts.values().forEach(lines -> lines.forEach(line -> ids.add(new Object[] {line.id()})));
+        jdbcTemplate.batchUpdate("DELETE FROM cart_items WHERE id = ?", ids);
+        return carts;
+    }
+
+    private void publishRemoval(String userId, List<Line> lines) {
+        CartItemsChangedEvent event = CartItemsChangedEvent.builder()
+                .userId(userId)
+                .changes(lines.stream()
+                        .map(line -> CartItemsChangedEvent.Change.builder()
+                                .cartItemId(line.id())
+                                .cartId(line.cartId())
+                                .productId(line.productId())
+                                .quantity(0)
+                                .previousQuantity(line.quantity())
+                                .build())
+                        .toList())
+                .source("cart-service")
+                .build();
+        try {
+            eventPublisher.publish(event);
+        } catch (Exception e) {
+            // The lines are gone; their view rows are purged as orphans by a later run
+            log.error("Failed to publish removal of expired cart of user {}", userId, e);
+        }
+    }
+
+    private void pauseBetweenBatches() {
+        if (pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Line(long id, String cartId, long productId, int quantity) {
+    }
+}
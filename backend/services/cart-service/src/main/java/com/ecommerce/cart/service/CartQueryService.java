@@ -1,17 +1,26 @@
 package com.ecommerce.cart.service;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.ecommerce.cart.dto.CartItemDto;
 import com.ecommerce.cart.dto.CartSummaryDto;
+import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.entity.CartItem;
 import com.ecommerce.cart.entity.CartItemView;
 import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.cart.store.CartStore;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -26,6 +35,24 @@ public class CartQueryService {
     @Autowired
     private CartItemViewRepository cartItemViewRepository;
 
+    @Autowired
+    private CartCountService cartCountService;
+
+    @Autowired
+    private CartVersionTracker cartVersionTracker;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private ProductCacheService productCacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cart.read-your-writes.max-wait:PT0.5S}")
+    private Duration readYourWritesMaxWait;
+
     /**
      * Get the complete cart for a user.
      */
@@ -41,13 +68,56 @@ public class CartQueryService {
     }
 
     /**
-     * Get the count of items in the user's cart.
+     * Get the cart as of at least the writes covered by a token from CartCommandService.getVersionToken.
+     * Waits briefly for the view to catch up, then reads the write model directly instead. Runs outside
+     * a transaction so no database connection is held while waiting.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CartSummaryDto getCart(String userId, String versionToken) {
+        if (cartVersionTracker.awaitApplied(userId, versionToken, readYourWritesMaxWait)) {
+            meterRegistry.counter("cart.read_your_writes", "source", "view").increment();
+            return getCart(userId);
+        }
+
+        meterRegistry.counter("cart.read_your_writes", "source", "write_model").increment();
+        log.debug("Cart view not confirmed for user {} at version {}, reading the write model", userId, versionToken);
+        return getCartFromWriteModel(userId);
+    }
+
+    /**
+     * Get the count of items in the user's cart, served from the maintained badge count.
+     * Runs outside a transaction so the steady-state path never checks out a database connection.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Integer getCartItemCount(String userId) {
-        log.info("Getting cart item count for user: {}", userId);
+        log.debug("Getting cart item count for user: {}", userId);
+
+        return cartCountService.getCount(userId);
+    }
+
+    private CartSummaryDto getCartFromWriteModel(String userId) {
+        List<CartItem> items = cartStore.findItems(userId);
+        Set<Long> productIds = items.stream().map(CartItem::getProductId).collect(Collectors.toSet());
+        Map<Long, ProductDto> products = productIds.isEmpty() ? Map.of() : productCacheService.getProducts(productIds);
+
+        List<CartItemDto> cartItemDtos = items.stream()
+                .map(item -> convertToDto(item, products.get(item.getProductId())))
+                .collect(Collectors.toList());
+        return new CartSummaryDto(cartItemDtos);
+    }
 
-        Integer count = cartItemViewRepository.sumQuantityByUserId(userId);
-        return count != null ? count : 0;
+    private CartItemDto convertToDto(CartItem item, ProductDto product) {
+        return CartItemDto.builder()
+                .id(item.getId())
+                .productId(item.getProductId())
+                .productName(product != null ? product.getName() : null)
+                .productPrice(product != null ? product.getPrice() : null)
+                .productImageUrl(product != null ? product.getImageUrl() : null)
+                .quantity(item.getQuantity())
+                .available(isAvailable(product != null, product != null ? product.getActive() : null))
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .build();
     }
 
     private CartItemDto convertToDto(CartItemView view) {
@@ -58,9 +128,17 @@ public class CartQueryService {
                 .productPrice(view.getProductPrice())
                 .productImageUrl(view.getProductImageUrl())
                 .quantity(view.getQuantity())
-                .available(view.getAvailable())
+                .available(isAvailable(view.getAvailable(), view.getProductActive()))
                 .createdAt(view.getCreatedAt())
                 .updatedAt(view.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * An item is available while its product exists and has not been deactivated. Both the view and
+     * the write-model paths derive it here so a product's active flag reads the same either way.
+     */
+    private static boolean isAvailable(Boolean productExists, Boolean productActive) {
+        return Boolean.TRUE.equals(productExists) && !Boolean.FALSE.equals(productActive);
+    }
 }
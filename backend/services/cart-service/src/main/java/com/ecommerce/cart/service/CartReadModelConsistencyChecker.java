@@ -0,0 +1,179 @@
+package com.ecommerce.cart.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.dto.ReadModelDriftReport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Continuously samples users and compares their cart_item_view rows with cart_items, line by line.
+ *
+ * Users are picked at random ID positions in both tables, so carts that only exist on one side are
+ * found too. Users whose cart or view changed within the grace period are skipped, since the listener
+ * may simply not have caught up yet. Results are reported as metrics (cart.read_model.check.*) and a
+ * warning; repairs are left to CartReadModelRebuildService.
+ */
+@Component
+@Slf4j
+public class CartReadModelConsistencyChecker {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cart.read-model.check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cart.read-model.check.sample-size:20}")
+    private int sampleSize;
+
+    @Value("${cart.read-model.check.grace:PT1M}")
+    private Duration grace;
+
+    private volatile double lastDriftRatio;
+
+    @PostConstruct
+    void registerGauge() {
+        meterRegistry.gauge("cart.read_model.drift.ratio", this, checker -> checker.lastDriftRatio);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.read-model.check.interval:PT1M}")
+    public void scheduledCheck() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            checkSample();
+        } catch (Exception e) {
+            log.error("Cart read model consistency check failed", e);
+        }
+    }
+
+    /**
+     * Compare a random sample of users and record the outcome
+     */
+    public ReadModelDriftReport checkSample() {
+        Set<String> users = new LinkedHashSet<>();
+        sampleUsers("cart_items", users);
+        sampleUsers("cart_item_view", users);
+
+        Timestamp settledBefore = Timestamp.valueOf(LocalDateTime.now().minus(grace));
+        int checked = 0, drifted = 0, skipped = 0, missing = 0, extra = 0, mismatched = 0;
+
+        for (String userId : users) {
+            Map<Long, Integer> cart = new HashMap<>();
+            Map<Long, Integer> view = new HashMap<>();
+            boolean cartSettled = loadLines(
+                    "SELECT id AS line_id, quantity, updated_at FROM cart_items WHERE user_id = ?",
+                    userId, settledBefore, cart);
+            boolean viewSettled = loadLines(
+                    "SELECT cart_item_id AS line_id, quantity, updated_at FROM cart_item_view WHERE user_id = ?",
+                    userId, settledBefore, view);
+            if (!cartSettled || !viewSettled) {
+                skipped++;
+                continue;
+            }
+
+            int userMissing = 0, userExtra = 0, userMismatched = 0;
+            for (Map.Entry<Long, Integer> line : cart.entrySet()) {
+                Integer viewQuantity = view.get(line.getKey());
+                if (viewQuantity == null) {
+                    userMissing++;
+                } else if (!viewQuantity.equals(line.getValue())) {
+                    userMismatched++;
+                }
+            }
+            for (Long lineId : view.keySet()) {
+                if (!cart.containsKey(lineId)) {
+                    userExtra++;
+                }
+            }
+
+            checked++;
+            if (userMissing + userExtra + userMismatched > 0) {
+                drifted++;
+                missing += userMissing;
+                extra += userExtra;
+                mismatched += userMismatched;
+                log.debug("Cart read model drift for user {}: {} missing, {} extra, {} quantity mismatches",
+                        userId, userMissing, userExtra, userMismatched);
+            }
+        }
+
+        ReadModelDriftReport report = new ReadModelDriftReport(checked, drifted, skipped, missing, extra, mismatched);
+        record(report);
+        return report;
+    }
+
+    /**
+     * Add the users owning the rows at sampleSize random ID positions of a table
+     */
+    private void sampleUsers(String table, Set<String> users) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM " + table);
+        if (bounds.get("min_id") == null) {
+            return;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+
+        for (int i = 0; i < sampleSize; i++) {
+            long position = ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+            List<String> owner = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM " + table + " WHERE id >= ? ORDER BY id LIMIT 1", String.class, position);
+            users.addAll(owner);
+        }
+    }
+
+    /**
+     * Load a user's line quantities, returning false if any line changed after settledBefore
+     */
+    private boolean loadLines(String sql, String userId, Timestamp settledBefore, Map<Long, Integer> lines) {
+        boolean[] settled = {true};
+        jdbcTemplate.query(sql, rs -> {
+            lines.put(rs.getLong("line_id"), rs.getInt("quantity"));
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            if (updatedAt != null && updatedAt.after(settledBefore)) {
+                settled[0] = false;
+            }
+        }, userId);
+        return settled[0];
+    }
+
+    private void record(ReadModelDriftReport report) {
+        meterRegistry.counter("cart.read_model.check.users", "result", "consistent")
+                .increment(report.usersChecked() - report.usersDrifted());
+        meterRegistry.counter("cart.read_model.check.users", "result", "drifted").increment(report.usersDrifted());
+        meterRegistry.counter("cart.read_model.check.users", "result", "skipped").increment(report.usersSkipped());
+        meterRegistry.counter("cart.read_model.check.lines", "drift", "missing").increment(report.missingLines());
+        meterRegistry.counter("cart.read_model.check.lines", "drift", "extra").increment(report.extraLines());
+        meterRegistry.counter("cart.read_model.check.lines", "drift", "quantity").increment(report.quantityMismatches());
+        if (report.usersChecked() > 0) {
+            lastDriftRatio = (double) report.usersDrifted() / report.usersChecked();
+        }
+
+        if (report.usersDrifted() > 0) {
+            log.warn("Cart read model drift: {} of {} sampled users ({} missing, {} extra, {} quantity mismatches)",
+                    report.usersDrifted(), report.usersChecked(), report.missingLines(), report.extraLines(),
+                    report.quantityMismatches());
+        }
+    }
+}
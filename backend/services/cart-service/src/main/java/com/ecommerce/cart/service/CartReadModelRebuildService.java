@@ -0,0 +1,347 @@
+package com.ecommerce.cart.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.dto.ReadModelRebuildStatus;
+import com.ecommerce.cart.store.CartWriteBehindFlusher;
+import com.ecommerce.shared.persistence.id.TimeOrderedIdGenerator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rebuilds cart_item_view from cart_items, for when the read model has drifted from the write model.
+ *
+ * cart_items is split into ID ranges on a fork-join pool: a range with more than partition-size rows
+ * is halved until each leaf is small enough, so skewed ID distributions still spread evenly. Each leaf
+ * enriches its products through batched cache/catalog lookups (shared across leaves for the run) and
+ * batch-inserts into the shadow table cart_item_view_rebuild.
+ *
+ * The swap is one transaction: the shadow is caught up with cart changes made while it was built,
+ * then cart_item_view is replaced by its contents, so readers see either the old or the new model.
+ * Badge counts of users whose total changed are reconciled afterwards.
+ */
+@Service
+@Slf4j
+public class CartReadModelRebuildService {
+
+    private static final String SHADOW_TABLE = "cart_item_view_rebuild";
+
+    private static final String VIEW_COLUMNS = "id, cart_item_id, cart_id, user_id, product_id, product_name, " +
+            "product_description, product_price, product_image_url, product_category, product_active, " +
+            "available, quantity, created_at, updated_at";
+
+    // Cart changes are stamped by the application and database clocks; look back past small skews
+    private static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductCacheService productCacheService;
+
+    @Autowired
+    private CartCountService cartCountService;
+
+    @Autowired
+    private ObjectProvider<CartWriteBehindFlusher> writeBehindFlusher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cart.read-model.rebuild.parallelism:4}")
+    private int parallelism;
+
+    @Value("${cart.read-model.rebuild.partition-size:5000}")
+    private int partitionSize;
+
+    @Value("${cart.read-model.rebuild.product-batch-size:100}")
+    private int productBatchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cart-read-model-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile RebuildRun lastRun;
+
+    /**
+     * Start a rebuild in the background, or return empty if one is already running
+     */
+    public Optional<ReadModelRebuildStatus> startRebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        RebuildRun run = new RebuildRun();
+        lastRun = run;
+        launcher.execute(() -> execute(run));
+        return Optional.of(run.toStatus());
+    }
+
+    /**
+     * Rebuild in the calling thread, failing if another rebuild is running
+     */
+    public ReadModelRebuildStatus rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A cart read model rebuild is already running");
+        }
+        RebuildRun run = new RebuildRun();
+        lastRun = run;
+        execute(run);
+        return run.toStatus();
+    }
+
+    /**
+     * Status of the current or most recent rebuild
+     */
+    public ReadModelRebuildStatus getStatus() {
+        RebuildRun run = lastRun;
+        return run != null ? run.toStatus()
+                : ReadModelRebuildStatus.builder().state(ReadModelRebuildStatus.State.IDLE).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        launcher.shutdownNow();
+    }
+
+    private void execute(RebuildRun run) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "completed";
+        try {
+            log.info("Rebuilding cart read model");
+            build(run);
+            Set<String> changedUsers = swap(run);
+            changedUsers.forEach(cartCountService::reconcile);
+            run.usersRepaired.set(changedUsers.size());
+            run.finish(ReadModelRebuildStatus.State.COMPLETED, null);
+            log.info("Rebuilt cart read model: {} lines written, {} skipped, {} partitions, {} users changed",
+                    run.linesWritten, run.linesSkipped, run.partitions, changedUsers.size());
+        } catch (Exception e) {
+            outcome = "failed";
+            log.error("Cart read model rebuild failed", e);
+            run.finish(ReadModelRebuildStatus.State.FAILED, e.getMessage());
+        } finally {
+            dropShadowTable();
+            sample.stop(meterRegistry.timer("cart.read_model.rebuild", "outcome", outcome));
+            running.set(false);
+        }
+    }
+
+    private void build(RebuildRun run) {
+        // With the Redis cart store, cart_items lags by the write-behind interval
+        writeBehindFlusher.ifAvailable(CartWriteBehindFlusher::flush);
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + SHADOW_TABLE + " AS SELECT * FROM cart_item_view WHERE 1 = 0");
+        jdbcTemplate.execute("CREATE INDEX idx_cart_view_rebuild_item ON " + SHADOW_TABLE + " (cart_item_id)");
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM cart_items");
+        if (bounds.get("min_id") == null) {
+            return;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new PartitionTask(run, minId, maxId));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void dropShadowTable() {
+        try {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+        } catch (Exception e) {
+            log.warn("Could not drop {}, it is recreated by the next rebuild", SHADOW_TABLE, e);
+        }
+    }
+
+    private Set<String> swap(RebuildRun run) {
+        Timestamp changedSince = Timestamp.valueOf(run.startedAt.minus(CLOCK_SKEW_MARGIN));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        return transactionTemplate.execute(status -> {
+            // Lines removed after their partition was scanned
+            jdbcTemplate.update("DELETE FROM " + SHADOW_TABLE + " WHERE NOT EXISTS " +
+                    "(SELECT 1 FROM cart_items c WHERE c.id = " + SHADOW_TABLE + ".cart_item_id)");
+            // Quantities changed after their partition was scanned
+            jdbcTemplate.update("UPDATE " + SHADOW_TABLE + " SET quantity = " +
+                    "(SELECT c.quantity FROM cart_items c WHERE c.id = " + SHADOW_TABLE + ".cart_item_id) " +
+                    "WHERE EXISTS (SELECT 1 FROM cart_items c WHERE c.id = " + SHADOW_TABLE + ".cart_item_id " +
+                    "AND c.updated_at >= ?)", changedSince);
+            // Lines added after the scan bounds were taken, as the live listener already projected them
+            jdbcTemplate.update("INSERT INTO " + SHADOW_TABLE + " (" + VIEW_COLUMNS + ") SELECT " + VIEW_COLUMNS +
+                    " FROM cart_item_view v WHERE NOT EXISTS (SELECT 1 FROM " + SHADOW_TABLE + " r " +
+                    "WHERE r.cart_item_id = v.cart_item_id) AND EXISTS " +
+                    "(SELECT 1 FROM cart_items c WHERE c.id = v.cart_item_id)");
+
+            List<String> changedUsers = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM (SELECT user_id, quantity AS delta FROM " + SHADOW_TABLE +
+                    " UNION ALL SELECT user_id, -quantity AS delta FROM cart_item_view) d " +
+                    "GROUP BY user_id HAVING SUM(delta) <> 0", String.class);
+
+            jdbcTemplate.update("DELETE FROM cart_item_view");
+            jdbcTemplate.update("INSERT INTO cart_item_view (" + VIEW_COLUMNS + ") SELECT " + VIEW_COLUMNS +
+                    " FROM " + SHADOW_TABLE);
+            return new HashSet<>(changedUsers);
+        });
+    }
+
+    private void writePartition(RebuildRun run, long fromId, long toId) {
+        List<SourceLine> lines = jdbcTemplate.query(
+                "SELECT id, cart_id, user_id, product_id, quantity, created_at FROM cart_items WHERE id BETWEEN ? AND ?",
+                (rs, rowNum) -> new SourceLine(rs.getLong("id"), rs.getString("cart_id"), rs.getString("user_id"),
+                        rs.getLong("product_id"), rs.getInt("quantity"), rs.getTimestamp("created_at")),
+                fromId, toId);
+        run.linesScanned.addAndGet(lines.size());
+
+        Set<Long> productIds = new HashSet<>();
+        lines.forEach(line -> productIds.add(line.productId()));
+        run.resolveProducts(productIds);
+
+        TimeOrderedIdGenerator ids = TimeOrderedIdGenerator.getInstance();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(lines.size());
+        for (SourceLine line : lines) {
+            ProductDto product = run.products.get(line.productId()).orElse(null);
+            if (product == null) {
+                // Same as the live listener: no view row for a product catalog-service cannot resolve
+                run.linesSkipped.incrementAndGet();
+                continue;
+            }
+            rows.add(new Object[] {
+                    ids.nextId(), line.id(), line.cartId(), line.userId(), line.productId(),
+                    product.getName(), product.getDescription(), product.getPrice(), product.getImageUrl(),
+                    product.getCategory(), product.getActive(), true, line.quantity(), line.createdAt(), now
+            });
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + SHADOW_TABLE + " (" + VIEW_COLUMNS + ") " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            run.linesWritten.addAndGet(rows.size());
+        }
+        run.partitions.incrementAndGet();
+    }
+
+    /**
+     * One ID range of cart_items; splits in half until a range holds at most partition-size rows
+     */
+    private class PartitionTask extends RecursiveAction {
+
+        private final RebuildRun run;
+        private final long fromId;
+        private final long toId;
+
+        PartitionTask(RebuildRun run, long fromId, long toId) {
+            this.run = run;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected void compute() {
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM cart_items WHERE id BETWEEN ? AND ?", Long.class, fromId, toId);
+            if (rows == null || rows == 0) {
+                return;
+            }
+            if (rows <= partitionSize || fromId == toId) {
+                writePartition(run, fromId, toId);
+                return;
+            }
+            long mid = fromId + (toId - fromId) / 2;
+            invokeAll(new PartitionTask(run, fromId, mid), new PartitionTask(run, mid + 1, toId));
+        }
+    }
+
+    private record SourceLine(long id, String cartId, String userId, long productId, int quantity,
+                              Timestamp createdAt) {
+    }
+
+    /**
+     * Counters and product lookups of one rebuild
+     */
+    private class RebuildRun {
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong partitions = new AtomicLong();
+        private final AtomicLong linesScanned = new AtomicLong();
+        private final AtomicLong linesWritten = new AtomicLong();
+        private final AtomicLong linesSkipped = new AtomicLong();
+        private final AtomicLong usersRepaired = new AtomicLong();
+        private final Map<Long, Optional<ProductDto>> products = new ConcurrentHashMap<>();
+
+        private volatile ReadModelRebuildStatus.State state = ReadModelRebuildStatus.State.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        /**
+         * Look up every product not yet resolved in this run, in batches of product-batch-size
+         */
+        void resolveProducts(Set<Long> productIds) {
+            List<Long> missing = productIds.stream().filter(id -> !products.containsKey(id)).toList();
+            for (int from = 0; from < missing.size(); from += productBatchSize) {
+                List<Long> batch = missing.subList(from, Math.min(from + productBatchSize, missing.size()));
+                Map<Long, ProductDto> found = productCacheService.getProducts(batch);
+                for (Long productId : batch) {
+                    products.put(productId, Optional.ofNullable(found.get(productId)));
+                }
+            }
+        }
+
+        void finish(ReadModelRebuildStatus.State finalState, String failure) {
+            this.error = failure;
+            this.finishedAt = LocalDateTime.now();
+            this.state = finalState;
+        }
+
+        ReadModelRebuildStatus toStatus() {
+            return ReadModelRebuildStatus.builder()
+                    .state(state)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .partitions(partitions.get())
+                    .linesScanned(linesScanned.get())
+                    .linesWritten(linesWritten.get())
+                    .linesSkipped(linesSkipped.get())
+                    .usersRepaired(usersRepaired.get())
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.cart.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.cart.dto.CartItemQuantity;
+import com.ecommerce.cart.store.CartStore;
+import com.ecommerce.shared.events.domain.CartValidationRequestedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks an order's lines against the user's cart.
+ *
+ * Reads the WRITE MODEL (the configured CartStore), never the eventually-consistent CartItemView,
+ * and only the (productId, quantity) pairs of the requested products.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class CartValidationService {
+
+    @Autowired
+    private CartStore cartStore;
+
+    /**
+     * Validate the requested lines against the cart, returning one error per mismatching line.
+     * An empty cart passes: product availability is then left to catalog-service.
+     */
+    public List<String> validate(String userId, List<CartValidationRequestedEvent.CartItem> requestedItems) {
+        long[] productIds = new long[requestedItems.size()];
+        List<Long> productIdList = new ArrayList<>(requestedItems.size());
+        for (int i = 0; i < productIds.length; i++) {
+            productIds[i] = Long.parseLong(requestedItems.get(i).getProductId());
+            productIdList.add(productIds[i]);
+        }
+
+        List<CartItemQuantity> cartQuantities = productIdList.isEmpty() ? List.of()
+                : cartStore.findQuantities(userId, productIdList);
+
+        if (cartQuantities.isEmpty() && !cartStore.hasItems(userId)) {
+            log.warn("Cart is empty for userId: {} - allowing order without cart validation", userId);
+            return List.of();
+        }
+
+        ProductQuantityMap quantities = new ProductQuantityMap(cartQuantities.size());
+        for (CartItemQuantity cartQuantity : cartQuantities) {
+            quantities.put(cartQuantity.getProductId(), cartQuantity.getQuantity());
+        }
+
+        List<String> validationErrors = new ArrayList<>();
+        for (int i = 0; i < productIds.length; i++) {
+            Integer requestedQty = requestedItems.get(i).getQuantity();
+            int cartQty = quantities.get(productIds[i]);
+            if (cartQty < 0) {
+                validationErrors.add("Product " + productIds[i] + " not found in cart");
+            } else if (requestedQty == null || cartQty != requestedQty) {
+                validationErrors.add("Quantity mismatch for product " + productIds[i] +
+                        ". Expected: " + requestedQty + ", Found: " + cartQty);
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validated {} line(s) for userId {} against {} cart line(s): {} error(s)",
+                    productIds.length, userId, cartQuantities.size(), validationErrors.size());
+        }
+        return validationErrors;
+    }
+}
@@ -0,0 +1,210 @@
+package com.ecommerce.cart.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-your-writes tokens for the cart view.
+ *
+ * Every cart event published by this instance gets a sequence number, and a user's token is the
+ * sequence of their latest write. CartEventListener marks events applied once its view transaction
+ * commits, waking queries waiting on them. Tokens carry a per-process epoch, so one issued by another
+ * instance (or before a restart) is reported as unknown instead of being waited on. Events the local
+ * listener never applies (their partition is consumed elsewhere) are dropped after the retention
+ * period, and tokens covering them are reported as unconfirmed.
+ */
+@Service
+@Slf4j
+public class CartVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, UserWrites> users = new ConcurrentHashMap<>();
+    private final Map<String, PendingWrite> pendingByEventId = new ConcurrentHashMap<>();
+    private final long retentionNanos;
+
+    public CartVersionTracker(@Value("${cart.read-your-writes.retention:PT1M}") Duration retention) {
+        this.retentionNanos = retention.toNanos();
+    }
+
+    /**
+     * Record an event published for the user; it is forgotten again if the current transaction rolls back
+     */
+    public void recordPublished(String userId, String eventId) {
+        long seq = sequence.incrementAndGet();
+        long now = System.nanoTime();
+        users.compute(userId, (id, writes) -> {
+            UserWrites target = writes != null ? writes : new UserWrites();
+            target.add(seq, eventId, now);
+            return target;
+        });
+        pendingByEventId.put(eventId, new PendingWrite(userId, seq, now));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        // Nothing was written, so there is nothing to wait for
+                        markApplied(eventId);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Token covering every write recorded so far for the user
+     */
+    public String currentToken(String userId) {
+        UserWrites writes = users.get(userId);
+        return epoch + "-" + (writes != null ? writes.lastIssued() : 0);
+    }
+
+    /**
+     * Mark an event as applied to the view and wake its waiters
+     */
+    public void markApplied(String eventId) {
+        PendingWrite write = pendingByEventId.remove(eventId);
+        if (write == null) {
+            return;
+        }
+        UserWrites writes = users.get(write.userId());
+        if (writes != null) {
+            writes.applied(write.seq());
+        }
+    }
+
+    /**
+     * Wait up to maxWait for the view to reflect every write covered by the token. Returns false on
+     * timeout, or at once for tokens this instance cannot confirm.
+     */
+    public boolean awaitApplied(String userId, String token, Duration maxWait) {
+        long seq = parse(token);
+        if (seq < 0) {
+            return false;
+        }
+        if (seq == 0) {
+            return true;
+        }
+        UserWrites writes = users.get(userId);
+        if (writes == null) {
+            // Pruned or never recorded here
+            return false;
+        }
+        try {
+            return writes.await(seq, System.nanoTime() + maxWait.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cart.read-your-writes.retention:PT1M}")
+    public void prune() {
+        long now = System.nanoTime();
+        int expired = 0;
+        for (Iterator<PendingWrite> it = pendingByEventId.values().iterator(); it.hasNext(); ) {
+            PendingWrite write = it.next();
+            if (now - write.recordedAtNanos() > retentionNanos) {
+                it.remove();
+                UserWrites writes = users.get(write.userId());
+                if (writes != null) {
+                    writes.expired(write.seq());
+                }
+                expired++;
+            }
+        }
+        for (String userId : users.keySet()) {
+            users.computeIfPresent(userId, (id, writes) -> writes.idleSince(now - retentionNanos) ? null : writes);
+        }
+        if (expired > 0) {
+            log.debug("Dropped {} cart event(s) not applied by this instance within the retention period", expired);
+        }
+    }
+
+    /**
+     * Sequence of a token issued by this process, 0 for "no writes", or -1 if unknown
+     */
+    private long parse(String token) {
+        int separator = token.lastIndexOf('-');
+        if (separator < 0 || !token.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(token.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record PendingWrite(String userId, long seq, long recordedAtNanos) {
+    }
+
+    /**
+     * A user's unapplied writes; also the monitor their queries wait on
+     */
+    private static final class UserWrites {
+
+        private final TreeMap<Long, String> pending = new TreeMap<>();
+        private long lastIssued;
+        private long lastWriteNanos;
+        private long unconfirmedThrough;
+
+        synchronized void add(long seq, String eventId, long now) {
+            pending.put(seq, eventId);
+            lastIssued = Math.max(lastIssued, seq);
+            lastWriteNanos = now;
+        }
+
+        synchronized long lastIssued() {
+            return lastIssued;
+        }
+
+        synchronized void applied(long seq) {
+            pending.remove(seq);
+            notifyAll();
+        }
+
+        synchronized void expired(long seq) {
+            pending.remove(seq);
+            unconfirmedThrough = Math.max(unconfirmedThrough, seq);
+            notifyAll();
+        }
+
+        synchronized boolean idleSince(long cutoffNanos) {
+            return pending.isEmpty() && lastWriteNanos - cutoffNanos < 0;
+        }
+
+        synchronized boolean await(long seq, long deadlineNanos) throws InterruptedException {
+            while (true) {
+                if (seq <= unconfirmedThrough) {
+                    return false;
+                }
+                if (pending.isEmpty() || pending.firstKey() > seq) {
+                    return true;
+                }
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+    }
+}
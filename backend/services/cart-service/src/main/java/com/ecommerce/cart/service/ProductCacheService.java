@@ -1,60 +1,196 @@
 package com.ecommerce.cart.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import com.ecommerce.cart.client.CatalogClient;
+import com.ecommerce.cart.client.CatalogUnavailableException;
+import com.ecommerce.cart.client.ResilientCatalogClient;
 import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.entity.CartItemView;
+import com.ecommerce.cart.repository.CartItemViewRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service for fetching and caching product details.
+ *
+ * Entry TTLs are jittered so products cached together do not expire together. Reads are counted per
+ * product; products read at least hot-threshold times between refresh sweeps are reloaded in the
+ * background when their entry is within refresh-ahead of expiring, so hot products never miss.
+ * On startup the products currently in carts are preloaded.
  */
 @Service
 @Slf4j
 public class ProductCacheService {
 
     private static final String PRODUCT_CACHE_PREFIX = "product:";
-    private static final long CACHE_TTL_HOURS = 1;
+    private static final int LOAD_BATCH_SIZE = 100;
+
+    // Cached in place of a product catalog-service does not have
+    private static final String MISSING_PRODUCT = "__missing__";
 
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
     @Autowired
-    private CatalogClient catalogClient;
+    private ResilientCatalogClient catalogClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CartItemViewRepository cartItemViewRepository;
+
+    @Value("${cart.product-cache.ttl:PT1H}")
+    private Duration cacheTtl;
+
+    @Value("${cart.product-cache.ttl-jitter:0.1}")
+    private double ttlJitter;
+
+    @Value("${cart.product-cache.negative-ttl:PT30S}")
+    private Duration negativeTtl;
+
+    @Value("${cart.product-cache.refresh-ahead:PT5M}")
+    private Duration refreshAhead;
+
+    @Value("${cart.product-cache.hot-threshold:5}")
+    private int hotThreshold;
+
+    @Value("${cart.product-cache.warm-up.enabled:true}")
+    private boolean warmUpEnabled;
+
+    @Value("${cart.product-cache.warm-up.max-products:10000}")
+    private int warmUpMaxProducts;
+
+    // Reads per product since the last refresh sweep
+    private final Map<Long, LongAdder> accessCounts = new ConcurrentHashMap<>();
 
     /**
      * Get product details from cache or fetch from catalog service.
+     * Returns null for products catalog-service does not have (remembered for negative-ttl). If
+     * catalog-service is unavailable, falls back to the product details last projected into a cart
+     * item view, and fails only when there is none.
      */
     public ProductDto getProduct(Long productId) {
         log.info("Fetching product details for productId: {}", productId);
+        accessCounts.computeIfAbsent(productId, id -> new LongAdder()).increment();
 
         // Try to get from Redis cache first
         String cacheKey = PRODUCT_CACHE_PREFIX + productId;
-        ProductDto cachedProduct = (ProductDto) redisTemplate.opsForValue().get(cacheKey);
+        Object cached = redisTemplate.opsForValue().get(cacheKey);
 
-        if (cachedProduct != null) {
+        if (cached instanceof ProductDto cachedProduct) {
             log.info("Product found in cache: {}", productId);
             return cachedProduct;
         }
+        if (MISSING_PRODUCT.equals(cached)) {
+            log.debug("Product recently not found, skipping catalog lookup: {}", productId);
+            return null;
+        }
 
         // Fetch from catalog service if not in cache
         log.info("Product not in cache, fetching from catalog service: {}", productId);
-        ProductDto product = catalogClient.getProductById(productId);
+        ProductDto product;
+        try {
+            product = catalogClient.getProduct(productId);
+        } catch (CatalogUnavailableException e) {
+            ProductDto snapshot = lastKnownSnapshot(productId);
+            if (snapshot == null) {
+                throw e;
+            }
+            log.warn("catalog-service unavailable, using last known details of product {}", productId);
+            meterRegistry.counter("cart.catalog.fallback").increment();
+            return snapshot;
+        }
 
         if (product != null) {
             // Cache the product
-            redisTemplate.opsForValue().set(cacheKey, product, CACHE_TTL_HOURS, TimeUnit.HOURS);
+            redisTemplate.opsForValue().set(cacheKey, product, jitteredTtlMillis(), TimeUnit.MILLISECONDS);
             log.info("Cached product: {}", productId);
+        } else {
+            cacheMissing(List.of(productId));
         }
 
         return product;
     }
 
+    /**
+     * Get product details for all IDs: one Redis MGET, then one catalog batch call for the misses.
+     * Products that catalog-service does not return (missing or inactive) are absent from the result
+     * and remembered as missing for negative-ttl. If catalog-service is unavailable, each miss falls
+     * back to its last known snapshot as in getProduct, and the call fails if any miss has none.
+     */
+    public Map<Long, ProductDto> getProducts(Collection<Long> productIds) {
+        return getProducts(productIds, true);
+    }
+
+    private Map<Long, ProductDto> getProducts(Collection<Long> productIds, boolean countReads) {
+        List<Long> ids = new ArrayList<>(productIds);
+        Map<Long, ProductDto> result = new HashMap<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+        if (countReads) {
+            ids.forEach(id -> accessCounts.computeIfAbsent(id, key -> new LongAdder()).increment());
+        }
+
+        List<String> cacheKeys = ids.stream().map(id -> PRODUCT_CACHE_PREFIX + id).toList();
+        List<Object> cached = redisTemplate.opsForValue().multiGet(cacheKeys);
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object product = cached != null ? cached.get(i) : null;
+            if (product instanceof ProductDto dto) {
+                result.put(ids.get(i), dto);
+            } else if (!MISSING_PRODUCT.equals(product)) {
+                misses.add(ids.get(i));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            log.debug("Fetching {} product(s) from catalog service", misses.size());
+            List<ProductDto> found;
+            try {
+                found = catalogClient.getProducts(misses);
+            } catch (CatalogUnavailableException e) {
+                for (Long productId : misses) {
+                    ProductDto snapshot = lastKnownSnapshot(productId);
+                    if (snapshot == null) {
+                        throw e;
+                    }
+                    result.put(productId, snapshot);
+                }
+                log.warn("catalog-service unavailable, using last known details of {} product(s)", misses.size());
+                meterRegistry.counter("cart.catalog.fallback").increment(misses.size());
+                return result;
+            }
+            updateProductCaches(found);
+            found.forEach(product -> result.put(product.getId(), product));
+            cacheMissing(misses.stream().filter(id -> !result.containsKey(id)).toList());
+        }
+
+        return result;
+    }
+
     /**
      * Invalidate product cache when product is updated.
      */
@@ -70,8 +206,153 @@ public class ProductCacheService {
     public void updateProductCache(ProductDto product) {
         if (product != null && product.getId() != null) {
             String cacheKey = PRODUCT_CACHE_PREFIX + product.getId();
-            redisTemplate.opsForValue().set(cacheKey, product, CACHE_TTL_HOURS, TimeUnit.HOURS);
+            redisTemplate.opsForValue().set(cacheKey, product, jitteredTtlMillis(), TimeUnit.MILLISECONDS);
             log.info("Updated cache for product: {}", product.getId());
         }
     }
+
+    /**
+     * Update several products in cache in one Redis round trip.
+     */
+    public void updateProductCaches(Collection<ProductDto> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                for (ProductDto product : products) {
+                    redis.opsForValue().set(PRODUCT_CACHE_PREFIX + product.getId(), product,
+                            jitteredTtlMillis(), TimeUnit.MILLISECONDS);
+                }
+                return null;
+            }
+        });
+        log.debug("Updated cache for {} product(s)", products.size());
+    }
+
+    /**
+     * Reload hot products whose entries expire within refresh-ahead, then start a new access window.
+     */
+    @Scheduled(fixedDelayString = "${cart.product-cache.refresh-interval:PT1M}")
+    public void refreshHotProducts() {
+        List<Long> hot = new ArrayList<>();
+        for (Long productId : accessCounts.keySet()) {
+            LongAdder reads = accessCounts.remove(productId);
+            if (reads != null && reads.sum() >= hotThreshold) {
+                hot.add(productId);
+            }
+        }
+        if (hot.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> due = expiringSoon(hot);
+            for (int from = 0; from < due.size(); from += LOAD_BATCH_SIZE) {
+                List<Long> batch = due.subList(from, Math.min(from + LOAD_BATCH_SIZE, due.size()));
+                updateProductCaches(catalogClient.getProducts(batch));
+            }
+            if (!due.isEmpty()) {
+                log.debug("Refreshed {} of {} hot product(s) ahead of expiry", due.size(), hot.size());
+            }
+        } catch (Exception e) {
+            log.warn("Product cache refresh-ahead failed, entries will reload on their next miss", e);
+        }
+    }
+
+    /**
+     * Preload the products currently in carts, so the first cart reads after a deploy hit the cache.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUpEnabled) {
+            return;
+        }
+        try {
+            List<Long> productIds = cartItemViewRepository.findDistinctProductIds(PageRequest.of(0, warmUpMaxProducts));
+            for (int from = 0; from < productIds.size(); from += LOAD_BATCH_SIZE) {
+                // Warm-up reads are not real demand; reads already counted since startup are kept
+                getProducts(productIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, productIds.size())), false);
+            }
+            log.info("Warmed product cache with {} product(s) from cart item views", productIds.size());
+        } catch (Exception e) {
+            log.warn("Product cache warm-up failed, products will be cached on first use", e);
+        }
+    }
+
+    /**
+     * The products whose entries are missing or expire within refresh-ahead (TTLs read in one pipeline)
+     */
+    private List<Long> expiringSoon(List<Long> productIds) {
+        List<Object> ttls = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                for (Long productId : productIds) {
+                    redis.getExpire(PRODUCT_CACHE_PREFIX + productId, TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        });
+
+        long refreshAheadSeconds = refreshAhead.toSeconds();
+        List<Long> due = new ArrayList<>();
+        for (int i = 0; i < productIds.size(); i++) {
+            // -2: no entry, -1: no expiry
+            long ttl = ttls.get(i) instanceof Number seconds ? seconds.longValue() : -2;
+            if (ttl == -2 || (ttl >= 0 && ttl < refreshAheadSeconds)) {
+                due.add(productIds.get(i));
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Remember products catalog-service does not have, so repeated lookups skip the call for a while
+     */
+    private void cacheMissing(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                for (Long productId : productIds) {
+                    redis.opsForValue().set(PRODUCT_CACHE_PREFIX + productId, MISSING_PRODUCT, negativeTtl);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Product details as last projected into a cart item view, or null if no cart holds the product
+     */
+    private ProductDto lastKnownSnapshot(Long productId) {
+        CartItemView view = cartItemViewRepository.findFirstByProductIdOrderByUpdatedAtDesc(productId);
+        if (view == null) {
+            return null;
+        }
+        return ProductDto.builder()
+                .id(productId)
+                .name(view.getProductName())
+                .description(view.getProductDescription())
+                .price(view.getProductPrice())
+                .imageUrl(view.getProductImageUrl())
+                .category(view.getProductCategory())
+                .active(view.getProductActive())
+                .build();
+    }
+
+    private long jitteredTtlMillis() {
+        long ttl = cacheTtl.toMillis();
+        long spread = (long) (ttl * ttlJitter);
+        return spread > 0 ? ttl + ThreadLocalRandom.current().nextLong(-spread, spread + 1) : ttl;
+    }
 }
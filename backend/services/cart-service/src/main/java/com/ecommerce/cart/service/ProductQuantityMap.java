@@ -0,0 +1,48 @@
+package com.ecommerce.cart.service;
+
+/**
+ * Open-addressing map from product ID to quantity on primitive arrays (no boxing, no entry objects).
+ * Sized once for the expected number of entries; only what cart validation needs.
+ */
+final class ProductQuantityMap {
+
+    private static final int MISSING = -1;
+
+    private final long[] keys;
+    private final int[] values;
+    private final boolean[] used;
+    private final int mask;
+
+    ProductQuantityMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    void put(long productId, int quantity) {
+        int slot = slot(productId);
+        keys[slot] = productId;
+        values[slot] = quantity;
+        used[slot] = true;
+    }
+
+    /**
+     * Quantity for the product, or -1 if it is not in the map
+     */
+    int get(long productId) {
+        int slot = slot(productId);
+        return used[slot] ? values[slot] : MISSING;
+    }
+
+    private int slot(long productId) {
+        // Time-ordered IDs share their high bits, so mix before masking
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (used[slot] && keys[slot] != productId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
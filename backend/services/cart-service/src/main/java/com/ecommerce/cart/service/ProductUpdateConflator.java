@@ -0,0 +1,133 @@
+package com.ecommerce.cart.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.cart.dto.ProductDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conflating buffer between ProductUpdatedEvents and the cart_item_view fan-out.
+ *
+ * Each update replaces any pending one for the same product, so a product edited many times within
+ * the window costs one UPDATE of its view rows. Every flush applies all pending products as one JDBC
+ * batch in a single transaction, then refreshes their cache entries in one Redis pipeline.
+ *
+ * Pending updates are in memory: they are flushed on shutdown, and a crash loses at most one window
+ * of them until the product's next update (or a read-model rebuild) catches the views up.
+ */
+@Component
+@Slf4j
+public class ProductUpdateConflator {
+
+    private static final String UPDATE_VIEWS_SQL = "UPDATE cart_item_view SET product_name = ?, " +
+            "product_description = ?, product_price = ?, product_image_url = ?, product_category = ?, " +
+            "product_active = ? WHERE product_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductCacheService productCacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queue the latest state of a product, replacing any pending state that is not newer
+     */
+    public void submit(ProductDto product, Instant timestamp) {
+        meterRegistry.counter("cart.product_updates", "stage", "received").increment();
+        pending.merge(product.getId(), new PendingUpdate(product, timestamp), (current, update) ->
+                current.timestamp() != null && update.timestamp() != null && update.timestamp().isBefore(current.timestamp())
+                        ? current : update);
+    }
+
+    /**
+     * Drop a pending update (the product was deleted)
+     */
+    public void discard(Long productId) {
+        pending.remove(productId);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.product-updates.conflation-window:PT1S}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to apply product updates to cart item views, will retry", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Apply every pending update, returning how many products were written
+     */
+    public int flush() {
+        List<PendingUpdate> batch = new ArrayList<>();
+        for (Long productId : pending.keySet()) {
+            PendingUpdate update = pending.remove(productId);
+            if (update != null) {
+                batch.add(update);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PendingUpdate update : batch) {
+            ProductDto product = update.product();
+            rows.add(new Object[] {
+                    product.getName(), product.getDescription(), product.getPrice(), product.getImageUrl(),
+                    product.getCategory(), product.getActive(), product.getId()
+            });
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_VIEWS_SQL, rows));
+        } catch (RuntimeException e) {
+            // Put the batch back unless a newer update arrived meanwhile
+            batch.forEach(update -> pending.putIfAbsent(update.product().getId(), update));
+            throw e;
+        }
+
+        productCacheService.updateProductCaches(batch.stream().map(PendingUpdate::product).toList());
+        meterRegistry.counter("cart.product_updates", "stage", "applied").increment(batch.size());
+        log.debug("Applied {} conflated product update(s) to cart item views", batch.size());
+        return batch.size();
+    }
+
+    private record PendingUpdate(ProductDto product, Instant timestamp) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.cart.store;
+
+/**
+ * Fast shared store of each user's total cart quantity (the header badge count).
+ *
+ * Each user also has a version, bumped by every increment whether or not a count is stored. A count
+ * recomputed from the database is only stored if the version has not moved since before the database
+ * was read, so a delta applied in between is never overwritten by the older sum.
+ */
+public interface CartCountStore {
+
+    /**
+     * The stored count, or null if none is stored for the user
+     */
+    Long get(String userId);
+
+    /**
+     * Bump the user's version and add delta to a stored count, returning the new count, or null
+     * (storing no count) if none is stored
+     */
+    Long increment(String userId, long delta);
+
+    /**
+     * The user's current version; read before computing a count from the database
+     */
+    long version(String userId);
+
+    /**
+     * Store a count computed from the database, unless the version changed since it was read
+     *
+     * @return whether the count was stored
+     */
+    boolean setIfVersion(String userId, long version, long count);
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.cart.store;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Atomic operations on the per-user cart hash used by RedisCartStore.
+ *
+ * Layout of the hash cart:{userId}: "q:{productId}" quantity, "id:{productId}" item ID, "cartId"
+ * and "loaded" (set once the hash has been
+ * populated from PostgreSQL). Every mutation also adds the user to the dirty set drained by the
+ * write-behind flusher. Mutations return null when the hash is not loaded; the caller then loads it
+ * and retries.
+ */
+public interface CartHashOperations {
+
+    String FIELD_LOADED = "loaded";
+    String FIELD_CART_ID = "cartId";
+    String QUANTITY_PREFIX = "q:";
+    String ITEM_ID_PREFIX = "id:";
+
+    /**
+     * All fields of the user's hash, or null if it is not loaded
+     */
+    Map<String, String> entries(String userId);
+
+    /**
+     * Populate the user's hash unless it is already loaded
+     */
+    void load(String userId, Map<String, String> fields);
+
+    /**
+     * Add delta to a product's quantity (HINCRBY), creating the line with the
+     * given item ID if it does not exist
+     */
+    LineChange increment(String userId, long productId, long delta, long newItemId, String newCartId);
+
+    /**
+     * Set a product's quantity, returning the previous quantity
+     */
+    Long set(String userId, long productId, long quantity);
+
+    /**
+     * Remove a product's line, returning its previous quantity
+     */
+    Long remove(String userId, long productId);
+
+    /**
+     * Remove every line, returning the fields the hash held before
+     */
+    Map<String, String> clear(String userId);
+
+    /**
+     * Take up to max users whose carts changed since they were last persisted
+     */
+    List<String> popDirty(int max);
+
+    /**
+     * Mark a user's cart as needing persistence
+     */
+    void markDirty(String userId);
+
+    /**
+     * A line after an increment
+     */
+    record LineChange(boolean created, long quantity, long itemId, String cartId) {
+    }
+}
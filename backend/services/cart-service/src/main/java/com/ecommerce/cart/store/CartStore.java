@@ -0,0 +1,79 @@
+package com.ecommerce.cart.store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.ecommerce.cart.dto.CartItemQuantity;
+import com.ecommerce.cart.entity.CartItem;
+
+/**
+ * Storage engine for the cart write model.
+ * Selected with cart.store.type: "jpa" (PostgreSQL, default) or "redis" (Redis hashes with
+ * write-behind to PostgreSQL). Returned CartItems are values; callers must not rely on them being managed.
+ */
+public interface CartStore {
+
+    /**
+     * Add quantity to a product's line, creating the line if needed
+     */
+    AddedItem addItem(String userId, Long productId, int quantity);
+
+    /**
+     * Every line of the user's cart
+     */
+    List<CartItem> findItems(String userId);
+
+    /**
+     * Find a line of the user's cart by its item ID
+     */
+    Optional<CartItem> findItem(String userId, Long itemId);
+
+    /**
+     * Set the quantity of an existing line
+     */
+    CartItem updateQuantity(CartItem item, int quantity);
+
+    /**
+     * Remove an existing line
+     */
+    void removeItem(CartItem item);
+
+    /**
+     * Remove every line of the user's cart, returning the removed lines
+     */
+    List<CartItem> clear(String userId);
+
+    /**
+     * Set the quantities of several products at once (0 removes the line), returning the lines that changed
+     */
+    List<LineUpdate> setQuantities(String userId, Map<Long, Integer> quantities);
+
+    /**
+     * (productId, quantity) of the given products in the user's cart
+     */
+    List<CartItemQuantity> findQuantities(String userId, Collection<Long> productIds);
+
+    /**
+     * Whether the user's cart has any line
+     */
+    boolean hasItems(String userId);
+
+    /**
+     * Whether the engine holds the user's cart outside cart_items (its rows may then lag behind)
+     */
+    boolean isLoaded(String userId);
+
+    /**
+     * Result of addItem: the line after the change and whether it was newly created
+     */
+    record AddedItem(CartItem item, boolean created) {
+    }
+
+    /**
+     * A line changed by setQuantities: its state afterwards (quantity 0 if removed) and its quantity before (0 if created)
+     */
+    record LineUpdate(CartItem item, int previousQuantity) {
+    }
+}
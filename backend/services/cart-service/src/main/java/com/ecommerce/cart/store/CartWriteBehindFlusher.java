@@ -0,0 +1,106 @@
+package com.ecommerce.cart.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.repository.CartItemRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind persistence for RedisCartStore: periodically takes the users whose carts changed
+ * and makes their cart_items rows match the hash, one transaction per user. A failed user is put
+ * back in the dirty set and retried on the next run.
+ */
+@Slf4j
+public class CartWriteBehindFlusher {
+
+    private final CartHashOperations hashOperations;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CartWriteBehindFlusher(CartHashOperations hashOperations, CartItemRepository cartItemRepository,
+                                  PlatformTransactionManager transactionManager, int batchSize) {
+        this.hashOperations = hashOperations;
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.redis.write-behind-interval:PT5S}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Persist every dirty cart, returning how many users were flushed
+     */
+    public int flush() {
+        int flushed = 0;
+        List<String> users;
+        while (!(users = hashOperations.popDirty(batchSize)).isEmpty()) {
+            for (String userId : users) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> flushUser(userId));
+                    flushed++;
+                } catch (Exception e) {
+                    log.error("Failed to persist cart of user {}, will retry", userId, e);
+                    hashOperations.markDirty(userId);
+                    return flushed;
+                }
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Persisted {} cart(s) to PostgreSQL", flushed);
+        }
+        return flushed;
+    }
+
+    private void flushUser(String userId) {
+        Map<String, String> entries = hashOperations.entries(userId);
+        if (entries == null) {
+            // Expired since it was marked; the rows already hold its last flushed state
+            return;
+        }
+
+        Map<Long, CartItem> lines = new HashMap<>();
+        for (CartItem line : RedisCartStore.toItems(userId, entries)) {
+            lines.put(line.getProductId(), line);
+        }
+
+        List<CartItem> removed = new ArrayList<>();
+        for (CartItem row : cartItemRepository.findByUserId(userId)) {
+            CartItem line = lines.get(row.getProductId());
+            if (line == null || !row.getId().equals(line.getId())) {
+                // Gone, or removed and added again under a new item ID since the last flush
+                removed.add(row);
+            } else {
+                lines.remove(row.getProductId());
+                if (!row.getQuantity().equals(line.getQuantity())) {
+                    row.setQuantity(line.getQuantity());
+                }
+            }
+        }
+        cartItemRepository.deleteAll(removed);
+
+        for (CartItem line : lines.values()) {
+            // Keep the item ID handed out by the hash so rows and events agree
+            cartItemRepository.insertWithId(line.getId(), line.getCartId(), userId, line.getProductId(),
+                    line.getQuantity());
+        }
+    }
+}
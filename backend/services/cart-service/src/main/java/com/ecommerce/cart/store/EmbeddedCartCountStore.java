@@ -0,0 +1,49 @@
+package com.ecommerce.cart.store;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process CartCountStore for tests and local runs (cart.count.store=embedded); counts never expire
+ */
+public class EmbeddedCartCountStore implements CartCountStore {
+
+    private final Map<String, StoredCount> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public Long get(String userId) {
+        StoredCount stored = counts.get(userId);
+        return stored != null ? stored.count() : null;
+    }
+
+    @Override
+    public Long increment(String userId, long delta) {
+        StoredCount updated = counts.compute(userId, (key, stored) -> stored == null
+                ? new StoredCount(null, 1)
+                : new StoredCount(stored.count() != null ? stored.count() + delta : null, stored.version() + 1));
+        return updated.count();
+    }
+
+    @Override
+    public long version(String userId) {
+        StoredCount stored = counts.get(userId);
+        return stored != null ? stored.version() : 0L;
+    }
+
+    @Override
+    public boolean setIfVersion(String userId, long version, long count) {
+        boolean[] set = new boolean[1];
+        counts.compute(userId, (key, stored) -> {
+            long current = stored != null ? stored.version() : 0L;
+            if (current != version) {
+                return stored;
+            }
+            set[0] = true;
+            return new StoredCount(count, current);
+        });
+        return set[0];
+    }
+
+    private record StoredCount(Long count, long version) {
+    }
+}
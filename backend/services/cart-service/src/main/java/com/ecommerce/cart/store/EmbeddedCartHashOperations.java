@@ -0,0 +1,119 @@
+package com.ecommerce.cart.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in for Redis, used for tests and local runs (cart.store.redis.embedded=true).
+ * Implements the same hash semantics as the Lua scripts of RedisCartHashOperations, with each
+ * operation atomic per user; entries never expire.
+ */
+public class EmbeddedCartHashOperations implements CartHashOperations {
+
+    private final Map<String, Map<String, String>> hashes = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Map<String, String> entries(String userId) {
+        Map<String, String> hash = hashes.get(userId);
+        if (hash == null) {
+            return null;
+        }
+        synchronized (hash) {
+            return new HashMap<>(hash);
+        }
+    }
+
+    @Override
+    public void load(String userId, Map<String, String> fields) {
+        hashes.computeIfAbsent(userId, key -> new HashMap<>(fields));
+    }
+
+    @Override
+    public LineChange increment(String userId, long productId, long delta, long newItemId, String newCartId) {
+        return mutate(userId, hash -> {
+            hash.putIfAbsent(FIELD_CART_ID, newCartId);
+            boolean created = hash.putIfAbsent(ITEM_ID_PREFIX + productId, Long.toString(newItemId)) == null;
+            long quantity = add(hash, QUANTITY_PREFIX + productId, delta);
+            return new LineChange(created, quantity, Long.parseLong(hash.get(ITEM_ID_PREFIX + productId)),
+                    hash.get(FIELD_CART_ID));
+        });
+    }
+
+    @Override
+    public Long set(String userId, long productId, long quantity) {
+        return mutate(userId, hash -> {
+            long previous = Long.parseLong(hash.getOrDefault(QUANTITY_PREFIX + productId, "0"));
+            hash.put(QUANTITY_PREFIX + productId, Long.toString(quantity));
+            return previous;
+        });
+    }
+
+    @Override
+    public Long remove(String userId, long productId) {
+        return mutate(userId, hash -> {
+            long previous = Long.parseLong(hash.getOrDefault(QUANTITY_PREFIX + productId, "0"));
+            hash.remove(QUANTITY_PREFIX + productId);
+            hash.remove(ITEM_ID_PREFIX + productId);
+            return previous;
+        });
+    }
+
+    @Override
+    public Map<String, String> clear(String userId) {
+        return mutate(userId, hash -> {
+            Map<String, String> previous = new HashMap<>(hash);
+            Iterator<String> fields = hash.keySet().iterator();
+            while (fields.hasNext()) {
+                String field = fields.next();
+                if (field.startsWith(QUANTITY_PREFIX) || field.startsWith(ITEM_ID_PREFIX)) {
+                    fields.remove();
+                }
+            }
+            return previous;
+        });
+    }
+
+    @Override
+    public List<String> popDirty(int max) {
+        List<String> users = new ArrayList<>();
+        Iterator<String> iterator = dirty.iterator();
+        while (iterator.hasNext() && users.size() < max) {
+            String userId = iterator.next();
+            if (dirty.remove(userId)) {
+                users.add(userId);
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public void markDirty(String userId) {
+        dirty.add(userId);
+    }
+
+    private <T> T mutate(String userId, Function<Map<String, String>, T> operation) {
+        Map<String, String> hash = hashes.get(userId);
+        if (hash == null) {
+            return null;
+        }
+        T result;
+        synchronized (hash) {
+            result = operation.apply(hash);
+        }
+        dirty.add(userId);
+        return result;
+    }
+
+    private long add(Map<String, String> hash, String field, long delta) {
+        long value = Long.parseLong(hash.getOrDefault(field, "0")) + delta;
+        hash.put(field, Long.toString(value));
+        return value;
+    }
+}
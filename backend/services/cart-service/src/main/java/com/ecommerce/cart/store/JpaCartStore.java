@@ -0,0 +1,153 @@
+package com.ecommerce.cart.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.dto.CartItemQuantity;
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.repository.CartItemRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cart engine storing lines directly in the cart_items table
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+
+    private final CartItemRepository cartItemRepository;
+
+    @Override
+    public AddedItem addItem(String userId, Long productId, int quantity) {
+        // Check if item already exists in cart
+        Optional<CartItem> existingItem = cartItemRepository.findByUserIdAndProductId(userId, productId);
+
+        CartItem cartItem;
+        boolean created = false;
+
+        if (existingItem.isPresent()) {
+            // Update quantity if item already exists
+            cartItem = existingItem.get();
+            cartItem.setQuantity(cartItem.getQuantity() + quantity);
+            log.info("Updating existing cart item - id: {}, new quantity: {}", 
+                     cartItem.getId(), cartItem.getQuantity());
+        } else {
+            // Create new cart item
+            String cartId = UUID.randomUUID().toString();
+            cartItem = CartItem.builder()
+                    .cartId(cartId)
+                    .userId(userId)
+                    .productId(productId)
+                    .quantity(quantity)
+                    .build();
+            created = true;
+            log.info("Creating new cart item with cartId: {}", cartId);
+        }
+
+        return new AddedItem(cartItemRepository.save(cartItem), created);
+    }
+
+    @Override
+    public List<CartItem> findItems(String userId) {
+        return cartItemRepository.findByUserId(userId);
+    }
+
+    @Override
+    public Optional<CartItem> findItem(String userId, Long itemId) {
+        return cartItemRepository.findByUserIdAndId(userId, itemId);
+    }
+
+    @Override
+    public CartItem updateQuantity(CartItem item, int quantity) {
+        item.setQuantity(quantity);
+        return cartItemRepository.save(item);
+    }
+
+    @Override
+    public void removeItem(CartItem item) {
+        cartItemRepository.delete(item);
+    }
+
+    @Override
+    public List<CartItem> clear(String userId) {
+        List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
+        cartItemRepository.deleteByUserId(userId);
+        return cartItems;
+    }
+
+    @Override
+    public List<LineUpdate> setQuantities(String userId, Map<Long, Integer> quantities) {
+        Map<Long, CartItem> lines = new HashMap<>();
+        for (CartItem line : cartItemRepository.findByUserIdAndProductIdIn(userId, quantities.keySet())) {
+            lines.putIfAbsent(line.getProductId(), line);
+        }
+
+        List<LineUpdate> updates = new ArrayList<>();
+        List<CartItem> saved = new ArrayList<>();
+        List<CartItem> removed = new ArrayList<>();
+        for (Map.Entry<Long, Integer> target : quantities.entrySet()) {
+            CartItem line = lines.get(target.getKey());
+            int quantity = target.getValue();
+            if (line == null) {
+                if (quantity > 0) {
+                    CartItem created = CartItem.builder()
+                            .cartId(UUID.randomUUID().toString())
+                            .userId(userId)
+                            .productId(target.getKey())
+                            .quantity(quantity)
+                            .build();
+                    saved.add(created);
+                    updates.add(new LineUpdate(created, 0));
+                }
+            } else if (quantity <= 0) {
+                removed.add(line);
+                updates.add(new LineUpdate(CartItem.builder()
+                        .id(line.getId())
+                        .cartId(line.getCartId())
+                        .userId(userId)
+                        .productId(line.getProductId())
+                        .quantity(0)
+                        .build(), line.getQuantity()));
+            } else if (quantity != line.getQuantity()) {
+                int previous = line.getQuantity();
+                line.setQuantity(quantity);
+                saved.add(line);
+                updates.add(new LineUpdate(line, previous));
+            }
+        }
+
+        // Inserts and updates go out as JDBC batches (hibernate.jdbc.batch_size), deletes as one statement
+        cartItemRepository.saveAll(saved);
+        if (!removed.isEmpty()) {
+            cartItemRepository.deleteAllInBatch(removed);
+        }
+        return updates;
+    }
+
+    @Override
+    public List<CartItemQuantity> findQuantities(String userId, Collection<Long> productIds) {
+        return cartItemRepository.findQuantitiesByUserIdAndProductIds(userId, productIds);
+    }
+
+    @Override
+    public boolean hasItems(String userId) {
+        return cartItemRepository.existsByUserId(userId);
+    }
+
+    @Override
+    public boolean isLoaded(String userId) {
+        return false;
+    }
+}
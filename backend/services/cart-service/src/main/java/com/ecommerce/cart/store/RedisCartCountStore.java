@@ -0,0 +1,66 @@
+package com.ecommerce.cart.store;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * CartCountStore on Redis hashes (cart:counter:{userId} with "count" and "version"). Counts expire
+ * after the configured TTL, so any drift the listener could not detect heals on the next reconciliation.
+ */
+public class RedisCartCountStore implements CartCountStore {
+
+    private static final String KEY_PREFIX = "cart:counter:";
+    private static final String FIELD_COUNT = "count";
+    private static final String FIELD_VERSION = "version";
+
+    // ARGV: delta, ttl. INCRBY only an existing count; a missing one is computed from the database instead of from zero
+    private static final RedisScript<Long> INCREMENT = RedisScript.of(
+            "redis.call('HINCRBY', KEYS[1], 'version', 1) " +
+            "if redis.call('TTL', KEYS[1]) < 0 then redis.call('EXPIRE', KEYS[1], ARGV[2]) end " +
+            "if redis.call('HEXISTS', KEYS[1], 'count') == 0 then return nil end " +
+            "return redis.call('HINCRBY', KEYS[1], 'count', ARGV[1])",
+            Long.class);
+
+    // ARGV: expected version, count, ttl
+    private static final RedisScript<Long> SET_IF_VERSION = RedisScript.of(
+            "if tonumber(redis.call('HGET', KEYS[1], 'version') or '0') ~= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'count', ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String ttlSeconds;
+
+    public RedisCartCountStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = Long.toString(ttl.toSeconds());
+    }
+
+    @Override
+    public Long get(String userId) {
+        Object value = redisTemplate.opsForHash().get(KEY_PREFIX + userId, FIELD_COUNT);
+        return value != null ? Long.parseLong((String) value) : null;
+    }
+
+    @Override
+    public Long increment(String userId, long delta) {
+        return redisTemplate.execute(INCREMENT, List.of(KEY_PREFIX + userId), Long.toString(delta), ttlSeconds);
+    }
+
+    @Override
+    public long version(String userId) {
+        Object value = redisTemplate.opsForHash().get(KEY_PREFIX + userId, FIELD_VERSION);
+        return value != null ? Long.parseLong((String) value) : 0L;
+    }
+
+    @Override
+    public boolean setIfVersion(String userId, long version, long count) {
+        Long stored = redisTemplate.execute(SET_IF_VERSION, List.of(KEY_PREFIX + userId), Long.toString(version),
+                Long.toString(count), ttlSeconds);
+        return stored != null && stored == 1L;
+    }
+}
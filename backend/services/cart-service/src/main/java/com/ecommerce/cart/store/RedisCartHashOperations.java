@@ -0,0 +1,152 @@
+package com.ecommerce.cart.store;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * CartHashOperations on Redis. Each mutation is one Lua script, so the line, the
+ * TTL and the dirty mark change atomically in a single round trip.
+ */
+public class RedisCartHashOperations implements CartHashOperations {
+
+    private static final String KEY_PREFIX = "cart:";
+    private static final String DIRTY_KEY = "cart:dirty";
+
+    private static final String NOT_LOADED = "if redis.call('HEXISTS', KEYS[1], 'loaded') == 0 then return nil end ";
+    private static final String TOUCH = "redis.call('EXPIRE', KEYS[1], ARGV[%d]) redis.call('SADD', KEYS[2], ARGV[%d]) ";
+
+    // ARGV: productId, delta, newItemId, newCartId, ttl, userId
+    private static final RedisScript<List> INCREMENT = RedisScript.of(NOT_LOADED +
+            "redis.call('HSETNX', KEYS[1], 'cartId', ARGV[4]) " +
+            "local created = redis.call('HSETNX', KEYS[1], 'id:' .. ARGV[1], ARGV[3]) " +
+            "local quantity = redis.call('HINCRBY', KEYS[1], 'q:' .. ARGV[1], ARGV[2]) " +
+            String.format(TOUCH, 5, 6) +
+            "return {created, quantity, redis.call('HGET', KEYS[1], 'id:' .. ARGV[1]), redis.call('HGET', KEYS[1], 'cartId')}",
+            List.class);
+
+    // ARGV: productId, quantity, ttl, userId
+    private static final RedisScript<Long> SET = RedisScript.of(NOT_LOADED +
+            "local previous = tonumber(redis.call('HGET', KEYS[1], 'q:' .. ARGV[1]) or '0') " +
+            "redis.call('HSET', KEYS[1], 'q:' .. ARGV[1], ARGV[2]) " +
+            String.format(TOUCH, 3, 4) +
+            "return previous",
+            Long.class);
+
+    // ARGV: productId, ttl, userId
+    private static final RedisScript<Long> REMOVE = RedisScript.of(NOT_LOADED +
+            "local previous = tonumber(redis.call('HGET', KEYS[1], 'q:' .. ARGV[1]) or '0') " +
+            "redis.call('HDEL', KEYS[1], 'q:' .. ARGV[1], 'id:' .. ARGV[1]) " +
+            String.format(TOUCH, 2, 3) +
+            "return previous",
+            Long.class);
+
+    // ARGV: ttl, userId; keeps the hash loaded (and its cartId) so PostgreSQL is not read back before the flush
+    private static final RedisScript<List> CLEAR = RedisScript.of(NOT_LOADED +
+            "local entries = redis.call('HGETALL', KEYS[1]) " +
+            "local cartId = redis.call('HGET', KEYS[1], 'cartId') " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('HSET', KEYS[1], 'loaded', '1') " +
+            "if cartId then redis.call('HSET', KEYS[1], 'cartId', cartId) end " +
+            String.format(TOUCH, 1, 2) +
+            "return entries",
+            List.class);
+
+    // ARGV: ttl, then field/value pairs
+    private static final RedisScript<Long> LOAD = RedisScript.of(
+            "if redis.call('HEXISTS', KEYS[1], 'loaded') == 1 then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String ttlSeconds;
+
+    public RedisCartHashOperations(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = Long.toString(ttl.toSeconds());
+    }
+
+    @Override
+    public Map<String, String> entries(String userId) {
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(key(userId));
+        if (!hash.containsKey(FIELD_LOADED)) {
+            return null;
+        }
+        Map<String, String> entries = new HashMap<>(hash.size());
+        hash.forEach((field, value) -> entries.put((String) field, (String) value));
+        return entries;
+    }
+
+    @Override
+    public void load(String userId, Map<String, String> fields) {
+        List<String> args = new ArrayList<>(fields.size() * 2 + 1);
+        args.add(ttlSeconds);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        redisTemplate.execute(LOAD, List.of(key(userId)), args.toArray());
+    }
+
+    @Override
+    public LineChange increment(String userId, long productId, long delta, long newItemId, String newCartId) {
+        List<?> result = redisTemplate.execute(INCREMENT, keys(userId), Long.toString(productId),
+                Long.toString(delta), Long.toString(newItemId), newCartId, ttlSeconds, userId);
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        return new LineChange(((Long) result.get(0)) == 1L, (Long) result.get(1),
+                Long.parseLong((String) result.get(2)), (String) result.get(3));
+    }
+
+    @Override
+    public Long set(String userId, long productId, long quantity) {
+        return redisTemplate.execute(SET, keys(userId), Long.toString(productId), Long.toString(quantity),
+                ttlSeconds, userId);
+    }
+
+    @Override
+    public Long remove(String userId, long productId) {
+        return redisTemplate.execute(REMOVE, keys(userId), Long.toString(productId), ttlSeconds, userId);
+    }
+
+    @Override
+    public Map<String, String> clear(String userId) {
+        List<?> result = redisTemplate.execute(CLEAR, keys(userId), ttlSeconds, userId);
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        Map<String, String> entries = new HashMap<>(result.size() / 2);
+        for (int i = 0; i + 1 < result.size(); i += 2) {
+            entries.put((String) result.get(i), (String) result.get(i + 1));
+        }
+        return entries;
+    }
+
+    @Override
+    public List<String> popDirty(int max) {
+        List<String> users = redisTemplate.opsForSet().pop(DIRTY_KEY, max);
+        return users != null ? users : List.of();
+    }
+
+    @Override
+    public void markDirty(String userId) {
+        redisTemplate.opsForSet().add(DIRTY_KEY, userId);
+    }
+
+    private String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private List<String> keys(String userId) {
+        return List.of(key(userId), DIRTY_KEY);
+    }
+}
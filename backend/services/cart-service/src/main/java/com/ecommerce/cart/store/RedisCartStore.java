@@ -0,0 +1,202 @@
+package com.ecommerce.cart.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import com.ecommerce.cart.dto.CartItemQuantity;
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.shared.persistence.id.TimeOrderedIdGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cart engine keeping each user's cart in a Redis hash (productId → quantity and item ID), for anonymous and high-churn carts. Quantity changes are atomic HINCRBYs; PostgreSQL is
+ * updated asynchronously by CartWriteBehindFlusher. A hash that is missing (first use, or expired)
+ * is loaded from cart_items before the first change.
+ */
+@Slf4j
+public class RedisCartStore implements CartStore {
+
+    private final CartHashOperations hashOperations;
+    private final CartItemRepository cartItemRepository;
+
+    public RedisCartStore(CartHashOperations hashOperations, CartItemRepository cartItemRepository) {
+        this.hashOperations = hashOperations;
+        this.cartItemRepository = cartItemRepository;
+    }
+
+    @Override
+    public AddedItem addItem(String userId, Long productId, int quantity) {
+        long newItemId = TimeOrderedIdGenerator.getInstance().nextId();
+        String newCartId = UUID.randomUUID().toString();
+        CartHashOperations.LineChange change =
+                hashOperations.increment(userId, productId, quantity, newItemId, newCartId);
+        if (change == null) {
+            load(userId);
+            change = hashOperations.increment(userId, productId, quantity, newItemId, newCartId);
+        }
+        return new AddedItem(toItem(userId, productId, change.itemId(), change.cartId(), change.quantity()),
+                change.created());
+    }
+
+    @Override
+    public List<CartItem> findItems(String userId) {
+        return toItems(userId, entries(userId));
+    }
+
+    @Override
+    public Optional<CartItem> findItem(String userId, Long itemId) {
+        return toItems(userId, entries(userId)).stream()
+                .filter(item -> item.getId().equals(itemId))
+                .findFirst();
+    }
+
+    @Override
+    public CartItem updateQuantity(CartItem item, int quantity) {
+        if (hashOperations.set(item.getUserId(), item.getProductId(), quantity) == null) {
+            load(item.getUserId());
+            hashOperations.set(item.getUserId(), item.getProductId(), quantity);
+        }
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    @Override
+    public void removeItem(CartItem item) {
+        if (hashOperations.remove(item.getUserId(), item.getProductId()) == null) {
+            load(item.getUserId());
+            hashOperations.remove(item.getUserId(), item.getProductId());
+        }
+    }
+
+    @Override
+    public List<CartItem> clear(String userId) {
+        Map<String, String> previous = hashOperations.clear(userId);
+        if (previous == null) {
+            load(userId);
+            previous = hashOperations.clear(userId);
+        }
+        return toItems(userId, previous);
+    }
+
+    @Override
+    public List<LineUpdate> setQuantities(String userId, Map<Long, Integer> quantities) {
+        Map<Long, CartItem> lines = new HashMap<>();
+        for (CartItem line : toItems(userId, entries(userId))) {
+            lines.put(line.getProductId(), line);
+        }
+
+        // Each line changes with one atomic script call, as for single-line operations. Existing lines
+        // take the absolute quantity (HSET), so a change landing after the snapshot is not added on top;
+        // only new lines are created by HINCRBY
+        List<LineUpdate> updates = new ArrayList<>();
+        for (Map.Entry<Long, Integer> target : quantities.entrySet()) {
+            CartItem line = lines.get(target.getKey());
+            int previous = line != null ? line.getQuantity() : 0;
+            int quantity = Math.max(target.getValue(), 0);
+            if (quantity == previous) {
+                continue;
+            }
+            if (quantity == 0) {
+                removeItem(line);
+                line.setQuantity(0);
+                updates.add(new LineUpdate(line, previous));
+            } else if (line != null) {
+                updates.add(new LineUpdate(updateQuantity(line, quantity), previous));
+            } else {
+                AddedItem added = addItem(userId, target.getKey(), quantity);
+                updates.add(new LineUpdate(added.item(), previous));
+            }
+        }
+        return updates;
+    }
+
+    @Override
+    public List<CartItemQuantity> findQuantities(String userId, Collection<Long> productIds) {
+        Map<String, String> entries = entries(userId);
+        List<CartItemQuantity> quantities = new ArrayList<>();
+        for (Long productId : new HashSet<>(productIds)) {
+            String quantity = entries.get(CartHashOperations.QUANTITY_PREFIX + productId);
+            if (quantity != null) {
+                quantities.add(new CartItemQuantity(productId, Integer.parseInt(quantity)));
+            }
+        }
+        return quantities;
+    }
+
+    @Override
+    public boolean hasItems(String userId) {
+        return entries(userId).keySet().stream()
+                .anyMatch(field -> field.startsWith(CartHashOperations.QUANTITY_PREFIX));
+    }
+
+    @Override
+    public boolean isLoaded(String userId) {
+        return hashOperations.entries(userId) != null;
+    }
+
+    /**
+     * Lines of a user's cart as CartItems, parsed from the hash fields
+     */
+    static List<CartItem> toItems(String userId, Map<String, String> entries) {
+        List<CartItem> items = new ArrayList<>();
+        String cartId = entries.get(CartHashOperations.FIELD_CART_ID);
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            if (!entry.getKey().startsWith(CartHashOperations.QUANTITY_PREFIX)) {
+                continue;
+            }
+            String productId = entry.getKey().substring(CartHashOperations.QUANTITY_PREFIX.length());
+            String itemId = entries.get(CartHashOperations.ITEM_ID_PREFIX + productId);
+            if (itemId == null) {
+                continue;
+            }
+            items.add(toItem(userId, Long.parseLong(productId), Long.parseLong(itemId), cartId,
+                    Long.parseLong(entry.getValue())));
+        }
+        return items;
+    }
+
+    private static CartItem toItem(String userId, long productId, long itemId, String cartId, long quantity) {
+        return CartItem.builder()
+                .id(itemId)
+                .cartId(cartId)
+                .userId(userId)
+                .productId(productId)
+                .quantity((int) quantity)
+                .build();
+    }
+
+    private Map<String, String> entries(String userId) {
+        Map<String, String> entries = hashOperations.entries(userId);
+        if (entries == null) {
+            load(userId);
+            entries = hashOperations.entries(userId);
+        }
+        return entries != null ? entries : Map.of();
+    }
+
+    private void load(String userId) {
+        List<CartItem> rows = cartItemRepository.findByUserId(userId);
+        Map<String, String> fields = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (CartItem row : rows) {
+            if (!seen.add(row.getProductId())) {
+                continue;
+            }
+            fields.put(CartHashOperations.QUANTITY_PREFIX + row.getProductId(), row.getQuantity().toString());
+            fields.put(CartHashOperations.ITEM_ID_PREFIX + row.getProductId(), row.getId().toString());
+            fields.putIfAbsent(CartHashOperations.FIELD_CART_ID, row.getCartId());
+        }
+        fields.put(CartHashOperations.FIELD_LOADED, "1");
+        hashOperations.load(userId, fields);
+        log.debug("Loaded cart of user {} into the cart store ({} line(s))", userId, seen.size());
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.cart.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.ecommerce.cart.dto.CartItemDto;
+import com.ecommerce.cart.dto.CartSummaryDto;
+
+/**
+ * Cart total computation: the previous BigDecimal path against the Money (long minor units) path
+ * now used by CartSummaryDto. Reports time and heap allocation per cart.
+ * Not part of the regular build; run with:
+ * mvn test -pl services/cart-service -Dtest=CartTotalsBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CartTotalsBenchmark {
+
+    private static final int[] CART_SIZES = {5, 20, 100};
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static long sink;
+
+    @Test
+    public void benchmarkCartTotals() {
+        System.out.printf("%n%-6s %-12s %12s %14s%n", "lines", "path", "ns/cart", "bytes/cart");
+        for (int size : CART_SIZES) {
+            List<CartItemDto> items = createItems(size);
+            run(size, "BigDecimal", items, CartTotalsBenchmark::bigDecimalTotal);
+            run(size, "Money", items, cart -> new CartSummaryDto(cart).getTotal().unscaledValue().longValue());
+        }
+    }
+
+    private void run(int size, String path, List<CartItemDto> items, ToLongFunction<List<CartItemDto>> total) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += total.applyAsLong(items);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += total.applyAsLong(items);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-6d %-12s %12.1f %14.1f%n", size, path,
+                (double) elapsed / MEASURED_ITERATIONS, (double) allocated / MEASURED_ITERATIONS);
+    }
+
+    /**
+     * The calculation CartSummaryDto used before it switched to Money
+     */
+    private static long bigDecimalTotal(List<CartItemDto> items) {
+        BigDecimal subtotal = items.stream()
+                .map(CartItemDto::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal tax = subtotal.multiply(BigDecimal.valueOf(0.085));
+        BigDecimal shipping = subtotal.compareTo(BigDecimal.valueOf(50)) >= 0
+                ? BigDecimal.ZERO
+                : BigDecimal.valueOf(5.99);
+        return subtotal.add(tax).add(shipping).unscaledValue().longValue();
+    }
+
+    private List<CartItemDto> createItems(int size) {
+        List<CartItemDto> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(CartItemDto.builder()
+                    .id((long) i)
+                    .productId((long) i)
+                    .productName("Product " + i)
+                    .productPrice(new BigDecimal("19.99").add(BigDecimal.valueOf(i, 2)))
+                    .quantity(1 + i % 3)
+                    .build());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.cart.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.service.CartValidationService;
+import com.ecommerce.shared.events.domain.CartValidationRequestedEvent;
+import com.ecommerce.shared.testutil.BaseTest;
+
+/**
+ * Cart validation against cart size: the previous path (load every CartItem, nested stream match)
+ * against CartValidationService (requested (productId, quantity) pairs only, primitive map match).
+ * Not part of the regular build; run with:
+ * mvn test -pl services/cart-service -Dtest=CartValidationBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CartValidationBenchmark extends BaseTest {
+
+    private static final int[] CART_SIZES = {1, 10, 100, 1000};
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 200;
+    private static final String USER_ID = "benchmark-user";
+
+    @Autowired
+    private CartValidationService cartValidationService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    private static long sink;
+
+    @AfterEach
+    void tearDown() {
+        cartItemRepository.deleteAll();
+    }
+
+    @Test
+    public void benchmarkCartValidation() {
+        System.out.printf("%n%-6s %-10s %12s%n", "lines", "path", "us/request");
+        for (int size : CART_SIZES) {
+            cartItemRepository.deleteAll();
+            List<CartItem> cart = new ArrayList<>();
+            List<CartValidationRequestedEvent.CartItem> requested = new ArrayList<>();
+            for (long productId = 1; productId <= size; productId++) {
+                cart.add(CartItem.builder().userId(USER_ID).productId(productId).quantity(2).build());
+                requested.add(CartValidationRequestedEvent.CartItem.builder()
+                        .productId(Long.toString(productId))
+                        .quantity(2)
+                        .build());
+            }
+            cartItemRepository.saveAll(cart);
+
+            run(size, "previous", () -> previousValidate(requested));
+            run(size, "current", () -> cartValidationService.validate(USER_ID, requested));
+        }
+    }
+
+    private void run(int size, String path, Supplier<List<String>> validation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += validation.get().size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += validation.get().size();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+        System.out.printf("%-6d %-10s %12.1f%n", size, path, micros);
+    }
+
+    /**
+     * The matching CartValidationEventHandler did before it delegated to CartValidationService
+     */
+    private List<String> previousValidate(List<CartValidationRequestedEvent.CartItem> requested) {
+        List<CartItem> cartItems = cartItemRepository.findByUserId(USER_ID);
+        List<String> errors = new ArrayList<>();
+        for (CartValidationRequestedEvent.CartItem requestedItem : requested) {
+            Long productId = Long.parseLong(requestedItem.getProductId());
+            CartItem cartItem = cartItems.stream()
+                    .filter(item -> item.getProductId().equals(productId))
+                    .findFirst()
+                    .orElse(null);
+            if (cartItem == null) {
+                errors.add("Product " + productId + " not found in cart");
+            } else if (!cartItem.getQuantity().equals(requestedItem.getQuantity())) {
+                errors.add("Quantity mismatch for product " + productId);
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.cart.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.cart.dto.ProductDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ResilientCatalogClientTest {
+
+    private CatalogClient catalogClient;
+
+    @BeforeEach
+    void setUp() {
+        catalogClient = mock(CatalogClient.class);
+    }
+
+    @Test
+    @DisplayName("getProduct - should return null for a product catalog-service does not have")
+    public void testGetProduct_Missing() {
+        when(catalogClient.getProductsByIds(List.of(1L))).thenReturn(List.of());
+
+        assertNull(client(Duration.ofMinutes(1)).getProduct(1L));
+    }
+
+    @Test
+    @DisplayName("getProduct - should stop calling catalog-service once the circuit opens")
+    public void testGetProduct_OpensCircuit() {
+        when(catalogClient.getProductsByIds(anyList())).thenThrow(new RuntimeException("catalog down"));
+        ResilientCatalogClient client = client(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(CatalogUnavailableException.class, () -> client.getProduct(1L));
+        }
+        assertThrows(CatalogUnavailableException.class, () -> client.getProduct(1L));
+
+        verify(catalogClient, times(3)).getProductsByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("getProduct - should close the circuit after a successful trial call")
+    public void testGetProduct_HalfOpenTrial() {
+        ProductDto product = ProductDto.builder().id(1L).name("Recovered").build();
+        when(catalogClient.getProductsByIds(anyList()))
+                .thenThrow(new RuntimeException("catalog down"))
+                .thenThrow(new RuntimeException("catalog down"))
+                .thenThrow(new RuntimeException("catalog down"))
+                .thenReturn(List.of(product));
+        ResilientCatalogClient client = client(Duration.ZERO);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CatalogUnavailableException.class, () -> client.getProduct(1L));
+        }
+
+        assertEquals("Recovered", client.getProduct(1L).getName());
+        assertEquals("Recovered", client.getProduct(1L).getName());
+    }
+
+    private ResilientCatalogClient client(Duration openDuration) {
+        return new ResilientCatalogClient(catalogClient, new SimpleMeterRegistry(), 3, openDuration, 2,
+                Duration.ofMillis(10));
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.cart.listener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.cart.service.CartCountService;
+import com.ecommerce.cart.service.ProductCacheService;
+import com.ecommerce.cart.store.CartCountStore;
+import com.ecommerce.shared.events.domain.CartItemAddedEvent;
+import com.ecommerce.shared.events.domain.CartItemRemovedEvent;
+import com.ecommerce.shared.events.domain.CartItemUpdatedEvent;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@DisplayName("Cart Event Listener Tests")
+public class CartEventListenerTest extends BaseTest {
+
+    private static final String USER_ID = "listener-user";
+    private static final Long PRODUCT_ID = 300L;
+
+    @Autowired
+    private CartEventListener cartEventListener;
+
+    @Autowired
+    private CartCountService cartCountService;
+
+    @Autowired
+    private CartCountStore cartCountStore;
+
+    @Autowired
+    private CartItemViewRepository cartItemViewRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ProductCacheService productCacheService;
+
+    @BeforeEach
+    void setUp() {
+        when(productCacheService.getProduct(PRODUCT_ID)).thenReturn(ProductDto.builder()
+                .id(PRODUCT_ID).name("Desk").price(new BigDecimal("120.00")).active(true).build());
+        // Store a count so the listener's deltas have something to apply to
+        assertEquals(0, cartCountService.reconcile(USER_ID));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartItemViewRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("view changes move the badge count by the same quantity")
+    void testViewChangesApplyCountDeltas() {
+        cartEventListener.handleCartItemAdded(added(1L, 2));
+        assertEquals(2L, cartCountStore.get(USER_ID));
+
+        cartEventListener.handleCartItemUpdated(updated(1L, 5));
+        assertEquals(5L, cartCountStore.get(USER_ID));
+
+        cartEventListener.handleCartItemAdded(added(2L, 1));
+        cartEventListener.handleCartItemRemoved(removed(1L));
+        assertEquals(1L, cartCountStore.get(USER_ID));
+        assertEquals(1, cartCountService.getCount(USER_ID));
+    }
+
+    @Test
+    @DisplayName("a delta is only applied once the view change commits")
+    void testRolledBackChangeLeavesCountAlone() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cartEventListener.handleCartItemAdded(added(3L, 4));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0L, cartCountStore.get(USER_ID));
+    }
+
+    @Test
+    @DisplayName("an update for a missing view recreates it and reconciles the count from the view")
+    void testUpdateWithoutViewReconciles() {
+        cartEventListener.handleCartItemUpdated(updated(4L, 3));
+
+        assertEquals(3L, cartCountStore.get(USER_ID));
+    }
+
+    private CartItemAddedEvent added(Long itemId, int quantity) {
+        return CartItemAddedEvent.builder().cartItemId(itemId).cartId("cart-1").userId(USER_ID)
+                .productId(PRODUCT_ID).quantity(quantity).source("test").build();
+    }
+
+    private CartItemUpdatedEvent updated(Long itemId, int quantity) {
+        return CartItemUpdatedEvent.builder().cartItemId(itemId).cartId("cart-1").userId(USER_ID)
+                .productId(PRODUCT_ID).quantity(quantity).source("test").build();
+    }
+
+    private CartItemRemovedEvent removed(Long itemId) {
+        return CartItemRemovedEvent.builder().cartItemId(itemId).cartId("cart-1").userId(USER_ID)
+                .productId(PRODUCT_ID).source("test").build();
+    }
+}
@@ -8,8 +8,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,13 +20,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.ecommerce.cart.dto.BulkCartOperation;
+import com.ecommerce.cart.dto.CartItemQuantity;
 import com.ecommerce.cart.entity.CartItem;
 import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.store.JpaCartStore;
 import com.ecommerce.shared.events.EventPublisher;
 import com.ecommerce.shared.events.domain.CartItemAddedEvent;
 import com.ecommerce.shared.events.domain.CartItemRemovedEvent;
 import com.ecommerce.shared.events.domain.CartItemUpdatedEvent;
+import com.ecommerce.shared.events.domain.CartItemsChangedEvent;
 import com.ecommerce.shared.testutil.BaseTest;
 
 @DisplayName("Cart Command Service Tests")
@@ -46,6 +53,9 @@ public class CartCommandServiceTest extends BaseTest {
     void setUp() {
         testUserId = "user123";
         testProductId = 100L;
+        // Default engine, backed by the mocked repository
+        ReflectionTestUtils.setField(cartCommandService, "cartStore", new JpaCartStore(cartItemRepository));
+        ReflectionTestUtils.setField(cartCommandService, "cartVersionTracker", new CartVersionTracker(Duration.ofMinutes(1)));
     }
 
     @Test
@@ -228,6 +238,35 @@ public class CartCommandServiceTest extends BaseTest {
         verify(eventPublisher, times(0)).publish(any());
     }
 
+    @Test
+    @DisplayName("applyBulkOperations - should apply all operations and publish one batched event")
+    public void testApplyBulkOperations() {
+        // Arrange: product 100 in the cart with 1, product 101 with 4
+        CartItem existing = createCartItem(1L, testUserId, 100L, 1);
+        CartItem toRemove = createCartItem(2L, testUserId, 101L, 4);
+        when(cartItemRepository.findQuantitiesByUserIdAndProductIds(any(), any()))
+                .thenReturn(Arrays.asList(new CartItemQuantity(100L, 1), new CartItemQuantity(101L, 4)));
+        when(cartItemRepository.findByUserIdAndProductIdIn(any(), any()))
+                .thenReturn(Arrays.asList(existing, toRemove));
+
+        // Act
+        List<CartItemQuantity> result = cartCommandService.applyBulkOperations(testUserId, Arrays.asList(
+                BulkCartOperation.builder().type(BulkCartOperation.Type.ADD).productId(100L).quantity(2).build(),
+                BulkCartOperation.builder().type(BulkCartOperation.Type.REMOVE).productId(101L).build(),
+                BulkCartOperation.builder().type(BulkCartOperation.Type.ADD).productId(102L).quantity(3).build(),
+                BulkCartOperation.builder().type(BulkCartOperation.Type.ADD).productId(100L).quantity(1).build()));
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(4, existing.getQuantity());
+        verify(cartItemRepository, times(1)).saveAll(any());
+        verify(cartItemRepository, times(1)).deleteAllInBatch(List.of(toRemove));
+
+        ArgumentCaptor<CartItemsChangedEvent> eventCaptor = ArgumentCaptor.forClass(CartItemsChangedEvent.class);
+        verify(eventPublisher, times(1)).publish(eventCaptor.capture());
+        assertEquals(3, eventCaptor.getValue().getChanges().size());
+    }
+
     // Helper methods
 
     private CartItem createCartItem(Long id, String userId, Long productId, Integer quantity) {
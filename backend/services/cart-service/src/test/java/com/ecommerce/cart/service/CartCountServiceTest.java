@@ -0,0 +1,105 @@
+package com.ecommerce.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.cart.store.EmbeddedCartCountStore;
+
+public class CartCountServiceTest {
+
+    private static final String USER_ID = "user123";
+
+    private CartItemViewRepository cartItemViewRepository;
+    private EmbeddedCartCountStore cartCountStore;
+    private CartCountService cartCountService;
+
+    @BeforeEach
+    void setUp() {
+        cartItemViewRepository = mock(CartItemViewRepository.class);
+        cartCountStore = new EmbeddedCartCountStore();
+        cartCountService = new CartCountService(cartItemViewRepository, cartCountStore, Duration.ZERO, 100);
+    }
+
+    @Test
+    @DisplayName("getCount - loads from the view once, then serves from the store")
+    public void testGetCount_LoadsOnce() {
+        when(cartItemViewRepository.sumQuantityByUserId(USER_ID)).thenReturn(4);
+
+        assertEquals(4, cartCountService.getCount(USER_ID));
+        assertEquals(4, cartCountService.getCount(USER_ID));
+        assertEquals(4, cartCountService.getCount(USER_ID));
+
+        verify(cartItemViewRepository, times(1)).sumQuantityByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("applyDelta - keeps a stored count current without touching the view")
+    public void testApplyDelta_UpdatesStoredCount() {
+        when(cartItemViewRepository.sumQuantityByUserId(USER_ID)).thenReturn(4);
+        cartCountService.getCount(USER_ID);
+
+        cartCountService.applyDelta(USER_ID, 3);
+        cartCountService.applyDelta(USER_ID, -2);
+
+        assertEquals(5, cartCountService.getCount(USER_ID));
+        verify(cartItemViewRepository, times(1)).sumQuantityByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("applyDelta - ignores users with no stored count")
+    public void testApplyDelta_NoStoredCount() {
+        cartCountService.applyDelta(USER_ID, 3);
+
+        assertNull(cartCountStore.get(USER_ID));
+    }
+
+    @Test
+    @DisplayName("applyDelta - reconciles from the view when the count goes negative")
+    public void testApplyDelta_ReconcilesNegative() {
+        cartCountStore.setIfVersion(USER_ID, 0, 1);
+        when(cartItemViewRepository.sumQuantityByUserId(USER_ID)).thenReturn(2);
+
+        cartCountService.applyDelta(USER_ID, -3);
+
+        assertEquals(2, cartCountStore.get(USER_ID));
+        assertEquals(2, cartCountService.getCount(USER_ID));
+    }
+
+    @Test
+    @DisplayName("reconcile - does not overwrite a delta applied while the view was read")
+    public void testReconcile_DeltaDuringRead() {
+        cartCountStore.setIfVersion(USER_ID, 0, 4);
+        // The first read misses an item that is added (and its delta applied) before the count is stored
+        when(cartItemViewRepository.sumQuantityByUserId(USER_ID)).thenAnswer(invocation -> {
+            cartCountService.applyDelta(USER_ID, 1);
+            return 4;
+        }).thenReturn(5);
+
+        assertEquals(5, cartCountService.reconcile(USER_ID));
+        assertEquals(5, cartCountStore.get(USER_ID));
+        verify(cartItemViewRepository, times(2)).sumQuantityByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("reconcile - a delta for a user without a stored count still invalidates a concurrent read")
+    public void testReconcile_DeltaWithoutStoredCount() {
+        when(cartItemViewRepository.sumQuantityByUserId(USER_ID)).thenAnswer(invocation -> {
+            cartCountService.applyDelta(USER_ID, 2);
+            return 0;
+        }).thenReturn(2);
+
+        assertEquals(2, cartCountService.getCount(USER_ID));
+        assertEquals(2, cartCountStore.get(USER_ID));
+    }
+}
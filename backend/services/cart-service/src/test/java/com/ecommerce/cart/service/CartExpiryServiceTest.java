@@ -0,0 +1,139 @@
+package com.ecommerce.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ecommerce.cart.dto.CartExpiryReport;
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.entity.CartItemView;
+import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.cart.store.CartStore;
+import com.ecommerce.shared.events.EventPublisher;
+import com.ecommerce.shared.events.domain.CartItemsChangedEvent;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@TestPropertySource(properties = {
+        "cart.expiry.batch-size=1",
+        "cart.expiry.pause=PT0S"
+})
+@DisplayName("Cart Expiry Tests")
+public class CartExpiryServiceTest extends BaseTest {
+
+    @Autowired
+    private CartExpiryService cartExpiryService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartItemViewRepository cartItemViewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private EventPublisher eventPublisher;
+
+    @SpyBean
+    private CartStore cartStore;
+
+    @AfterEach
+    void tearDown() {
+        cartItemViewRepository.deleteAll();
+        cartItemRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("expire - should purge idle carts in batches and keep carts with a recent line")
+    void testExpire_PurgesIdleCarts() {
+        age(saveCartItem("expiry-user-1", 1L, 2));
+        age(saveCartItem("expiry-user-1", 2L, 1));
+        age(saveCartItem("expiry-user-2", 1L, 3));
+        age(saveCartItem("expiry-user-3", 1L, 1));
+        saveCartItem("expiry-user-3", 2L, 4);
+
+        CartItemView orphan = cartItemViewRepository.save(CartItemView.builder()
+                .cartItemId(987654321L)
+                .cartId("cart-expiry-user-4")
+                .userId("expiry-user-4")
+                .productId(9L)
+                .quantity(1)
+                .build());
+        jdbcTemplate.update("UPDATE cart_item_view SET updated_at = ? WHERE id = ?", longAgo(), orphan.getId());
+
+        CartExpiryReport report = cartExpiryService.expire().orElseThrow();
+
+        assertEquals(2, report.cartsPurged());
+        assertEquals(3, report.linesPurged());
+        assertEquals(1, report.orphanViewsPurged());
+        assertTrue(report.batches() >= 3);
+
+        assertTrue(cartItemRepository.findByUserId("expiry-user-1").isEmpty());
+        assertTrue(cartItemRepository.findByUserId("expiry-user-2").isEmpty());
+        assertEquals(2, cartItemRepository.findByUserId("expiry-user-3").size());
+        assertTrue(cartItemViewRepository.findByUserId("expiry-user-4").isEmpty());
+        verify(eventPublisher, times(2)).publish(any(CartItemsChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("expire - should stop before the next batch once the thread is interrupted")
+    void testExpire_StopsWhenInterrupted() {
+        age(saveCartItem("expiry-user-5", 1L, 2));
+
+        CartExpiryReport report;
+        Thread.currentThread().interrupt();
+        try {
+            report = cartExpiryService.expire().orElseThrow();
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(0, report.batches());
+        assertEquals(1, cartItemRepository.findByUserId("expiry-user-5").size());
+        verify(eventPublisher, never()).publish(any(CartItemsChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("expire - should keep a cart loaded into the cart store after the batch was selected")
+    void testExpire_RechecksLoadedCartsUnderLock() {
+        age(saveCartItem("expiry-user-6", 1L, 2));
+        doReturn(false).doReturn(true).when(cartStore).isLoaded("expiry-user-6");
+
+        CartExpiryReport report = cartExpiryService.expire().orElseThrow();
+
+        assertEquals(0, report.cartsPurged());
+        assertEquals(1, report.cartsSkipped());
+        assertEquals(1, cartItemRepository.findByUserId("expiry-user-6").size());
+        verify(eventPublisher, never()).publish(any(CartItemsChangedEvent.class));
+    }
+
+    private CartItem saveCartItem(String userId, Long productId, int quantity) {
+        return cartItemRepository.save(CartItem.builder().userId(userId).productId(productId).quantity(quantity).build());
+    }
+
+    private void age(CartItem item) {
+        jdbcTemplate.update("UPDATE cart_items SET updated_at = ? WHERE id = ?", longAgo(), item.getId());
+    }
+
+    private Timestamp longAgo() {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(60));
+    }
+}
@@ -1,35 +1,56 @@
 package com.ecommerce.cart.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.ecommerce.cart.dto.CartSummaryDto;
+import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.entity.CartItem;
 import com.ecommerce.cart.entity.CartItemView;
 import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.cart.store.CartStore;
+import com.ecommerce.cart.store.EmbeddedCartCountStore;
 import com.ecommerce.shared.testutil.BaseTest;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @DisplayName("Cart Query Service Tests")
 public class CartQueryServiceTest extends BaseTest {
 
     @Mock
     private CartItemViewRepository cartItemViewRepository;
 
+    @Mock
+    private CartVersionTracker cartVersionTracker;
+
+    @Mock
+    private CartStore cartStore;
+
+    @Mock
+    private ProductCacheService productCacheService;
+
     @InjectMocks
     private CartQueryService cartQueryService;
 
@@ -38,6 +59,9 @@ public class CartQueryServiceTest extends BaseTest {
     @BeforeEach
     void setUp() {
         testUserId = "user123";
+        ReflectionTestUtils.setField(cartQueryService, "cartCountService", new CartCountService(
+                cartItemViewRepository, new EmbeddedCartCountStore(), Duration.ofSeconds(2), 100));
+        ReflectionTestUtils.setField(cartQueryService, "meterRegistry", new SimpleMeterRegistry());
     }
 
     @Test
@@ -210,8 +234,66 @@ public class CartQueryServiceTest extends BaseTest {
         assertEquals(false, result.getItems().get(1).getAvailable());
     }
 
+    @Test
+    @DisplayName("getCart with version token - write-model fallback marks inactive and missing products unavailable")
+    public void testGetCart_WriteModelAvailability() {
+        // Arrange: the view has not caught up, so the write model is read
+        when(cartVersionTracker.awaitApplied(anyString(), anyString(), any())).thenReturn(false);
+        when(cartStore.findItems(testUserId)).thenReturn(Arrays.asList(
+                createCartItem(1L, 100L), createCartItem(2L, 101L), createCartItem(3L, 102L)));
+        when(productCacheService.getProducts(any())).thenReturn(Map.of(
+                100L, createProduct(100L, true),
+                101L, createProduct(101L, false)));
+
+        // Act
+        CartSummaryDto result = cartQueryService.getCart(testUserId, "1");
+
+        // Assert
+        assertEquals(3, result.getItems().size());
+        assertTrue(result.getItems().get(0).getAvailable());
+        assertFalse(result.getItems().get(1).getAvailable());
+        assertFalse(result.getItems().get(2).getAvailable());
+    }
+
+    @Test
+    @DisplayName("getCart - should mark items of deactivated products unavailable")
+    public void testGetCart_InactiveProduct() {
+        // Arrange
+        CartItemView inactiveItem = createCartItemView(1L, 100L, "Inactive", new BigDecimal("10.00"), 1);
+        inactiveItem.setProductActive(false);
+
+        when(cartItemViewRepository.findByUserId(testUserId)).thenReturn(Arrays.asList(inactiveItem));
+
+        // Act
+        CartSummaryDto result = cartQueryService.getCart(testUserId);
+
+        // Assert
+        assertFalse(result.getItems().get(0).getAvailable());
+    }
+
     // Helper methods
 
+    private CartItem createCartItem(Long id, Long productId) {
+        return CartItem.builder()
+                .id(id)
+                .cartId("cart-" + testUserId)
+                .userId(testUserId)
+                .productId(productId)
+                .quantity(1)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private ProductDto createProduct(Long id, boolean active) {
+        return ProductDto.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(new BigDecimal("10.00"))
+                .active(active)
+                .build();
+    }
+
     private List<CartItemView> createMockCartItemViews() {
         CartItemView view1 = createCartItemView(1L, 100L, "Test Product 1", new BigDecimal("29.99"), 1);
         CartItemView view2 = createCartItemView(2L, 101L, "Test Product 2", new BigDecimal("29.99"), 2);
@@ -0,0 +1,133 @@
+package com.ecommerce.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.dto.ReadModelDriftReport;
+import com.ecommerce.cart.dto.ReadModelRebuildStatus;
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.entity.CartItemView;
+import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@TestPropertySource(properties = {
+        "cart.read-model.rebuild.partition-size=2",
+        "cart.read-model.check.grace=PT0S"
+})
+@DisplayName("Cart Read Model Rebuild Tests")
+public class CartReadModelRebuildServiceTest extends BaseTest {
+
+    @Autowired
+    private CartReadModelRebuildService rebuildService;
+
+    @Autowired
+    private CartReadModelConsistencyChecker consistencyChecker;
+
+    @Autowired
+    private CartCountService cartCountService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartItemViewRepository cartItemViewRepository;
+
+    @MockBean
+    private ProductCacheService productCacheService;
+
+    @BeforeEach
+    void setUp() {
+        when(productCacheService.getProducts(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, ProductDto> products = new HashMap<>();
+            for (Object id : (Collection<?>) invocation.getArgument(0)) {
+                Long productId = (Long) id;
+                products.put(productId, ProductDto.builder()
+                        .id(productId)
+                        .name("Product " + productId)
+                        .price(new BigDecimal("4.50"))
+                        .active(true)
+                        .build());
+            }
+            return products;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartItemViewRepository.deleteAll();
+        cartItemRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("rebuild - should replace a drifted view with one projected from cart_items")
+    void testRebuild_RepairsDrift() {
+        CartItem stale = saveCartItem("rebuild-user-1", 1L, 2);
+        saveCartItem("rebuild-user-1", 2L, 1);
+        saveCartItem("rebuild-user-2", 1L, 3);
+        saveCartItem("rebuild-user-2", 3L, 1);
+        saveCartItem("rebuild-user-2", 4L, 6);
+
+        // Wrong quantity for one line, a row for a line that no longer exists, nothing for user 2
+        saveView("rebuild-user-1", stale.getId(), 1L, 5);
+        saveView("rebuild-user-1", 987654321L, 9L, 1);
+
+        ReadModelDriftReport before = consistencyChecker.checkSample();
+        assertTrue(before.usersDrifted() > 0);
+
+        ReadModelRebuildStatus status = rebuildService.rebuild();
+
+        assertEquals(ReadModelRebuildStatus.State.COMPLETED, status.getState());
+        assertNull(status.getError());
+        assertEquals(5, status.getLinesScanned());
+        assertEquals(5, status.getLinesWritten());
+        assertTrue(status.getPartitions() > 1);
+        assertEquals(2, status.getUsersRepaired());
+
+        assertNull(cartItemViewRepository.findByCartItemId(987654321L));
+        CartItemView repaired = cartItemViewRepository.findByCartItemId(stale.getId());
+        assertNotNull(repaired);
+        assertEquals(2, repaired.getQuantity());
+        assertEquals("Product 1", repaired.getProductName());
+        assertEquals(3, cartItemViewRepository.findByUserId("rebuild-user-2").size());
+
+        assertEquals(3, cartCountService.getCount("rebuild-user-1"));
+        assertEquals(10, cartCountService.getCount("rebuild-user-2"));
+
+        ReadModelDriftReport after = consistencyChecker.checkSample();
+        assertEquals(0, after.usersDrifted());
+    }
+
+    private CartItem saveCartItem(String userId, Long productId, int quantity) {
+        return cartItemRepository.save(CartItem.builder().userId(userId).productId(productId).quantity(quantity).build());
+    }
+
+    private void saveView(String userId, Long cartItemId, Long productId, int quantity) {
+        cartItemViewRepository.save(CartItemView.builder()
+                .cartItemId(cartItemId)
+                .cartId("cart-" + userId)
+                .userId(userId)
+                .productId(productId)
+                .productName("Stale " + productId)
+                .quantity(quantity)
+                .build());
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.shared.events.domain.CartValidationRequestedEvent;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@Transactional
+@DisplayName("Cart Validation Service Tests")
+public class CartValidationServiceTest extends BaseTest {
+
+    @Autowired
+    private CartValidationService cartValidationService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    private final String testUserId = "validation-user";
+
+    @Test
+    @DisplayName("validate - should pass when every requested line matches the cart")
+    void testValidate_AllMatch() {
+        saveCartItem(100L, 2);
+        saveCartItem(101L, 1);
+        saveCartItem(102L, 5); // not ordered
+
+        List<String> errors = cartValidationService.validate(testUserId,
+                List.of(requested(100L, 2), requested(101L, 1)));
+
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("validate - should report missing products and quantity mismatches")
+    void testValidate_Mismatches() {
+        saveCartItem(100L, 2);
+
+        List<String> errors = cartValidationService.validate(testUserId,
+                List.of(requested(100L, 3), requested(200L, 1)));
+
+        assertEquals(List.of(
+                "Quantity mismatch for product 100. Expected: 3, Found: 2",
+                "Product 200 not found in cart"), errors);
+    }
+
+    @Test
+    @DisplayName("validate - should pass when the cart is empty")
+    void testValidate_EmptyCart() {
+        assertTrue(cartValidationService.validate(testUserId, List.of(requested(100L, 1))).isEmpty());
+    }
+
+    private void saveCartItem(Long productId, int quantity) {
+        cartItemRepository.save(CartItem.builder().userId(testUserId).productId(productId).quantity(quantity).build());
+    }
+
+    private CartValidationRequestedEvent.CartItem requested(Long productId, int quantity) {
+        return CartValidationRequestedEvent.CartItem.builder()
+                .productId(productId.toString())
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CartVersionTrackerTest {
+
+    private static final String USER_ID = "user123";
+
+    private CartVersionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CartVersionTracker(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("awaitApplied - returns once every write covered by the token is applied")
+    public void testAwaitApplied_WakesOnApply() throws Exception {
+        tracker.recordPublished(USER_ID, "event-1");
+        tracker.recordPublished(USER_ID, "event-2");
+        String token = tracker.currentToken(USER_ID);
+        tracker.markApplied("event-1");
+
+        CompletableFuture<Boolean> caughtUp = CompletableFuture.supplyAsync(
+                () -> tracker.awaitApplied(USER_ID, token, Duration.ofSeconds(5)));
+        tracker.markApplied("event-2");
+
+        assertTrue(caughtUp.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("awaitApplied - ignores later writes and times out on pending ones")
+    public void testAwaitApplied_OnlyCoveredWrites() {
+        tracker.recordPublished(USER_ID, "event-1");
+        String token = tracker.currentToken(USER_ID);
+        tracker.recordPublished(USER_ID, "event-2");
+
+        assertFalse(tracker.awaitApplied(USER_ID, token, Duration.ofMillis(20)));
+
+        tracker.markApplied("event-1");
+        assertTrue(tracker.awaitApplied(USER_ID, token, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("awaitApplied - reports tokens from another instance or pruned writes as unconfirmed")
+    public void testAwaitApplied_UnknownTokens() {
+        CartVersionTracker other = new CartVersionTracker(Duration.ofMinutes(1));
+        other.recordPublished(USER_ID, "event-1");
+        assertFalse(tracker.awaitApplied(USER_ID, other.currentToken(USER_ID), Duration.ZERO));
+
+        CartVersionTracker shortLived = new CartVersionTracker(Duration.ZERO);
+        shortLived.recordPublished(USER_ID, "event-2");
+        String token = shortLived.currentToken(USER_ID);
+        shortLived.prune();
+        shortLived.markApplied("event-2");
+        assertFalse(shortLived.awaitApplied(USER_ID, token, Duration.ZERO));
+    }
+}
@@ -0,0 +1,199 @@
+package com.ecommerce.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.cart.client.CatalogUnavailableException;
+import com.ecommerce.cart.client.ResilientCatalogClient;
+import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.entity.CartItemView;
+import com.ecommerce.cart.repository.CartItemViewRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ProductCacheServiceTest {
+
+    private static final Long HOT_PRODUCT = 1L;
+    private static final Long COLD_PRODUCT = 2L;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private ResilientCatalogClient catalogClient;
+    private CartItemViewRepository cartItemViewRepository;
+    private ProductCacheService productCacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        catalogClient = mock(ResilientCatalogClient.class);
+        cartItemViewRepository = mock(CartItemViewRepository.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + HOT_PRODUCT)).thenReturn(product(HOT_PRODUCT));
+        when(valueOperations.get("product:" + COLD_PRODUCT)).thenReturn(product(COLD_PRODUCT));
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation -> Arrays.asList(
+                new Object[((List<?>) invocation.getArgument(0)).size()]));
+
+        productCacheService = new ProductCacheService();
+        ReflectionTestUtils.setField(productCacheService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(productCacheService, "catalogClient", catalogClient);
+        ReflectionTestUtils.setField(productCacheService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(productCacheService, "cartItemViewRepository", cartItemViewRepository);
+        ReflectionTestUtils.setField(productCacheService, "cacheTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(productCacheService, "ttlJitter", 0.1);
+        ReflectionTestUtils.setField(productCacheService, "negativeTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(productCacheService, "refreshAhead", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(productCacheService, "hotThreshold", 5);
+        ReflectionTestUtils.setField(productCacheService, "warmUpEnabled", true);
+        ReflectionTestUtils.setField(productCacheService, "warmUpMaxProducts", 100);
+    }
+
+    @Test
+    @DisplayName("updateProductCache - spreads entry TTLs within the configured jitter")
+    public void testUpdateProductCache_JitteredTtl() {
+        for (int i = 0; i < 200; i++) {
+            productCacheService.updateProductCache(product(HOT_PRODUCT));
+        }
+
+        ArgumentCaptor<Long> ttls = ArgumentCaptor.forClass(Long.class);
+        verify(valueOperations, times(200))
+                .set(eq("product:" + HOT_PRODUCT), any(), ttls.capture(), eq(TimeUnit.MILLISECONDS));
+        long ttl = Duration.ofHours(1).toMillis();
+        Set<Long> distinct = new HashSet<>(ttls.getAllValues());
+        for (long value : distinct) {
+            assertTrue(value >= ttl * 0.9 && value <= ttl * 1.1, "TTL " + value + " outside the jitter range");
+        }
+        assertTrue(distinct.size() > 1, "TTLs were not jittered");
+    }
+
+    @Test
+    @DisplayName("refreshHotProducts - reloads only hot products close to expiry, once per access window")
+    public void testRefreshHotProducts_HotAndExpiringSoon() {
+        readHotProduct();
+        productCacheService.getProduct(COLD_PRODUCT);
+        // One minute left on the hot product's entry, inside the five-minute refresh-ahead
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of(60L));
+        when(catalogClient.getProducts(List.of(HOT_PRODUCT))).thenReturn(List.of(product(HOT_PRODUCT)));
+
+        productCacheService.refreshHotProducts();
+        verify(catalogClient).getProducts(List.of(HOT_PRODUCT));
+
+        // A new window starts empty
+        productCacheService.refreshHotProducts();
+        verify(catalogClient, times(1)).getProducts(anyList());
+    }
+
+    @Test
+    @DisplayName("refreshHotProducts - leaves hot products alone while their entries are fresh")
+    public void testRefreshHotProducts_NotDueYet() {
+        readHotProduct();
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of(3000L));
+
+        productCacheService.refreshHotProducts();
+
+        verify(catalogClient, never()).getProducts(anyList());
+    }
+
+    @Test
+    @DisplayName("warmUp - loads the products in carts without counting those loads as reads")
+    public void testWarmUp_KeepsRealReads() {
+        readHotProduct();
+        when(cartItemViewRepository.findDistinctProductIds(any(Pageable.class)))
+                .thenReturn(List.of(HOT_PRODUCT, COLD_PRODUCT));
+        when(catalogClient.getProducts(List.of(HOT_PRODUCT, COLD_PRODUCT)))
+                .thenReturn(List.of(product(HOT_PRODUCT), product(COLD_PRODUCT)));
+
+        productCacheService.warmUp();
+        verify(catalogClient).getProducts(List.of(HOT_PRODUCT, COLD_PRODUCT));
+
+        // The hot product's reads survive warm-up; the warmed-only product is not hot
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of(60L));
+        productCacheService.refreshHotProducts();
+        verify(catalogClient).getProducts(List.of(HOT_PRODUCT));
+        verify(catalogClient, never()).getProducts(List.of(COLD_PRODUCT));
+    }
+
+    @Test
+    @DisplayName("warmUp - does nothing when disabled")
+    public void testWarmUp_Disabled() {
+        ReflectionTestUtils.setField(productCacheService, "warmUpEnabled", false);
+
+        productCacheService.warmUp();
+
+        verify(cartItemViewRepository, never()).findDistinctProductIds(any(Pageable.class));
+        verify(valueOperations, never()).set(any(), any(), anyLong(), any());
+        assertEquals(0, mockingDetails(catalogClient).getInvocations().size());
+    }
+
+    @Test
+    @DisplayName("getProducts - falls back to last known snapshots while catalog-service is unavailable")
+    public void testGetProducts_FallsBackToSnapshots() {
+        when(catalogClient.getProducts(anyList())).thenThrow(new CatalogUnavailableException("circuit open"));
+        when(cartItemViewRepository.findFirstByProductIdOrderByUpdatedAtDesc(HOT_PRODUCT)).thenReturn(view(HOT_PRODUCT));
+        when(cartItemViewRepository.findFirstByProductIdOrderByUpdatedAtDesc(COLD_PRODUCT)).thenReturn(view(COLD_PRODUCT));
+
+        Map<Long, ProductDto> products = productCacheService.getProducts(List.of(HOT_PRODUCT, COLD_PRODUCT));
+
+        assertEquals(2, products.size());
+        assertEquals("Product " + COLD_PRODUCT, products.get(COLD_PRODUCT).getName());
+        assertEquals(new BigDecimal("10.00"), products.get(COLD_PRODUCT).getPrice());
+        // Snapshots are not cached, and nothing is remembered as missing
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @DisplayName("getProducts - fails while catalog-service is unavailable if a product has no snapshot")
+    public void testGetProducts_NoSnapshot() {
+        when(catalogClient.getProducts(anyList())).thenThrow(new CatalogUnavailableException("circuit open"));
+        when(cartItemViewRepository.findFirstByProductIdOrderByUpdatedAtDesc(HOT_PRODUCT)).thenReturn(view(HOT_PRODUCT));
+
+        assertThrows(CatalogUnavailableException.class,
+                () -> productCacheService.getProducts(List.of(HOT_PRODUCT, COLD_PRODUCT)));
+    }
+
+    private void readHotProduct() {
+        for (int i = 0; i < 5; i++) {
+            productCacheService.getProduct(HOT_PRODUCT);
+        }
+    }
+
+    private static CartItemView view(Long productId) {
+        return CartItemView.builder().productId(productId).productName("Product " + productId)
+                .productPrice(new BigDecimal("10.00")).productActive(true).build();
+    }
+
+    private static ProductDto product(Long id) {
+        return ProductDto.builder().id(id).name("Product " + id).price(new BigDecimal("10.00")).active(true).build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.ecommerce.cart.dto.ProductDto;
+import com.ecommerce.cart.entity.CartItemView;
+import com.ecommerce.cart.repository.CartItemViewRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@DisplayName("Product Update Conflator Tests")
+public class ProductUpdateConflatorTest extends BaseTest {
+
+    @Autowired
+    private ProductUpdateConflator productUpdateConflator;
+
+    @Autowired
+    private CartItemViewRepository cartItemViewRepository;
+
+    @MockBean
+    private ProductCacheService productCacheService;
+
+    @AfterEach
+    void tearDown() {
+        cartItemViewRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("flush - should apply only the latest of many updates to a product, once")
+    void testFlush_ConflatesUpdates() {
+        saveView(1001L, "user-a");
+        saveView(1002L, "user-b");
+
+        Instant start = Instant.now();
+        for (int i = 1; i <= 50; i++) {
+            productUpdateConflator.submit(product("Price tuned", new BigDecimal(i)), start.plusMillis(i));
+        }
+        // Delivered late; must not override the newer state
+        productUpdateConflator.submit(product("Stale", BigDecimal.ONE), start);
+
+        assertEquals(1, productUpdateConflator.flush());
+        assertEquals(0, productUpdateConflator.flush());
+
+        for (CartItemView view : cartItemViewRepository.findByProductId(77L)) {
+            assertEquals("Price tuned", view.getProductName());
+            assertEquals(0, new BigDecimal("50").compareTo(view.getProductPrice()));
+        }
+        verify(productCacheService, times(1)).updateProductCaches(argThat(products -> products.size() == 1));
+    }
+
+    private ProductDto product(String name, BigDecimal price) {
+        return ProductDto.builder().id(77L).name(name).price(price).active(true).build();
+    }
+
+    private void saveView(Long cartItemId, String userId) {
+        cartItemViewRepository.save(CartItemView.builder()
+                .cartItemId(cartItemId)
+                .cartId("cart-" + userId)
+                .userId(userId)
+                .productId(77L)
+                .productName("Original")
+                .productPrice(new BigDecimal("99.00"))
+                .quantity(1)
+                .build());
+    }
+}
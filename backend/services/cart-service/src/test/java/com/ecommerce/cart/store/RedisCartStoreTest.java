@@ -0,0 +1,159 @@
+package com.ecommerce.cart.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ecommerce.cart.entity.CartItem;
+import com.ecommerce.cart.repository.CartItemRepository;
+import com.ecommerce.cart.service.CartCommandService;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@TestPropertySource(properties = {
+    "cart.store.type=redis",
+    "cart.store.redis.embedded=true",
+    "cart.store.redis.write-behind-interval=PT1H"
+})
+@DisplayName("Redis Cart Store Tests")
+public class RedisCartStoreTest extends BaseTest {
+
+    @Autowired
+    private CartCommandService cartCommandService;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartWriteBehindFlusher cartWriteBehindFlusher;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    private final String testUserId = "redis-user";
+
+    @AfterEach
+    void tearDown() {
+        cartStore.clear(testUserId);
+        cartWriteBehindFlusher.flush();
+        cartItemRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("mutations update the hash without touching PostgreSQL until flushed")
+    void testMutationsAreWrittenBehind() {
+        Long itemId = cartCommandService.addItemToCart(testUserId, 100L, 2);
+        assertEquals(itemId, cartCommandService.addItemToCart(testUserId, 100L, 3));
+        Long otherItemId = cartCommandService.addItemToCart(testUserId, 101L, 1);
+
+        assertEquals(6, itemCount());
+        assertTrue(cartItemRepository.findByUserId(testUserId).isEmpty());
+
+        cartWriteBehindFlusher.flush();
+        Map<Long, CartItem> rows = rowsById();
+        assertEquals(5, rows.get(itemId).getQuantity());
+        assertEquals(1, rows.get(otherItemId).getQuantity());
+
+        cartCommandService.updateItemQuantity(testUserId, itemId, 1);
+        cartCommandService.removeItemFromCart(testUserId, otherItemId);
+        assertEquals(1, itemCount());
+
+        cartWriteBehindFlusher.flush();
+        rows = rowsById();
+        assertEquals(1, rows.size());
+        assertEquals(1, rows.get(itemId).getQuantity());
+    }
+
+    @Test
+    @DisplayName("a cart only in PostgreSQL is loaded into the hash on first use")
+    void testExistingCartIsLoaded() {
+        CartItem existing = cartItemRepository.save(
+                CartItem.builder().userId(testUserId).productId(200L).quantity(4).build());
+
+        assertTrue(cartStore.hasItems(testUserId));
+        assertEquals(4, itemCount());
+
+        assertEquals(existing.getId(), cartCommandService.addItemToCart(testUserId, 200L, 1));
+        assertEquals(5, itemCount());
+    }
+
+    @Test
+    @DisplayName("clearing the cart empties the hash and, after the flush, the rows")
+    void testClearCart() {
+        cartCommandService.addItemToCart(testUserId, 100L, 2);
+        cartWriteBehindFlusher.flush();
+
+        cartCommandService.clearCart(testUserId);
+        assertEquals(0, itemCount());
+        assertFalse(cartStore.hasItems(testUserId));
+
+        cartWriteBehindFlusher.flush();
+        assertTrue(cartItemRepository.findByUserId(testUserId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("a line removed and added again before the flush replaces its row under the new item ID")
+    void testReAddedLineReplacesRow() {
+        Long firstItemId = cartCommandService.addItemToCart(testUserId, 100L, 2);
+        cartWriteBehindFlusher.flush();
+
+        cartCommandService.removeItemFromCart(testUserId, firstItemId);
+        Long secondItemId = cartCommandService.addItemToCart(testUserId, 100L, 3);
+        assertNotEquals(firstItemId, secondItemId);
+
+        cartWriteBehindFlusher.flush();
+        Map<Long, CartItem> rows = rowsById();
+        assertEquals(1, rows.size());
+        assertEquals(3, rows.get(secondItemId).getQuantity());
+    }
+
+    @Test
+    @DisplayName("setting quantities replaces a line changed after the snapshot instead of adding to it")
+    void testSetQuantitiesIsAbsolute() {
+        String userId = "redis-race-user";
+        EmbeddedCartHashOperations hashOperations = new EmbeddedCartHashOperations() {
+            private boolean raced;
+
+            @Override
+            public Map<String, String> entries(String user) {
+                Map<String, String> snapshot = super.entries(user);
+                if (!raced && snapshot != null) {
+                    // Another request adds to the line right after setQuantities read it
+                    raced = true;
+                    increment(user, 100L, 3, 0L, "cart");
+                }
+                return snapshot;
+            }
+        };
+        hashOperations.load(userId, Map.of(CartHashOperations.FIELD_LOADED, "1"));
+        RedisCartStore store = new RedisCartStore(hashOperations, cartItemRepository);
+        store.addItem(userId, 100L, 2);
+
+        List<CartStore.LineUpdate> updates = store.setQuantities(userId, Map.of(100L, 5, 101L, 1));
+
+        Map<Long, Integer> quantities = store.findItems(userId).stream()
+                .collect(Collectors.toMap(CartItem::getProductId, CartItem::getQuantity));
+        assertEquals(Map.of(100L, 5, 101L, 1), quantities);
+        assertEquals(2, updates.size());
+    }
+
+    private int itemCount() {
+        return cartStore.findItems(testUserId).stream().mapToInt(CartItem::getQuantity).sum();
+    }
+
+    private Map<Long, CartItem> rowsById() {
+        List<CartItem> rows = cartItemRepository.findByUserId(testUserId);
+        return rows.stream().collect(Collectors.toMap(CartItem::getId, Function.identity()));
+    }
+}
@@ -45,6 +45,12 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProduct(id));
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<List<ProductDto>> getProductsByIds(@RequestParam List<Long> ids) {
+        // Public endpoint - resolve several products in one call (missing or inactive IDs are omitted)
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<List<ProductDto>> getProductsByCategory(@PathVariable String category) {
         // Public endpoint - anyone can browse by category
@@ -4,12 +4,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import com.ecommerce.catalog.service.ProductService;
 import com.ecommerce.shared.events.EventPublisher;
+import com.ecommerce.shared.events.annotation.EventListener;
 import com.ecommerce.shared.events.domain.ProductUpdatedEvent;
 import com.ecommerce.shared.events.domain.ProductValidationCompletedEvent;
 import com.ecommerce.shared.events.domain.ProductValidationRequestedEvent;
@@ -33,7 +33,7 @@ public class ProductEventHandler {
      * Handle product validation requests from other services.
      * This could be triggered when an order service needs to validate products.
      */
-    @KafkaListener(topics = "product-events", groupId = "catalog-service-validation")
+    @EventListener(topics = "product-events", groupId = "catalog-service-validation")
     public void handleProductValidationRequest(ProductValidationRequestedEvent event, Acknowledgment ack) {
         try {
             log.info("Received product validation request for products: {} from service: {}", 
@@ -99,7 +99,7 @@ public class ProductEventHandler {
 
         } catch (Exception e) {
             log.error("Failed to process product validation request: {}", event.getAggregateId(), e);
-            // Don't acknowledge - message will be retried
+            throw e;
         }
     }
 
@@ -107,7 +107,7 @@ public class ProductEventHandler {
      * Example handler that could be used by other services to react to product updates.
      * This is just for demonstration - it would typically be in a different service.
      */
-    @KafkaListener(topics = "product-events", groupId = "catalog-service-updates")
+    @EventListener(topics = "product-events", groupId = "catalog-service-updates")
     public void handleProductUpdated(ProductUpdatedEvent event, Acknowledgment ack) {
         try {
             log.info("Product updated: {} - {} (Stock: {})", 
@@ -120,6 +120,7 @@ public class ProductEventHandler {
 
         } catch (Exception e) {
             log.error("Failed to process product update event: {}", event.getAggregateId(), e);
+            throw e;
         }
     }
 
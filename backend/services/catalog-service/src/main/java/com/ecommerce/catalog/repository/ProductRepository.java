@@ -1,6 +1,7 @@
 package com.ecommerce.catalog.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -105,4 +106,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         @Param("maxPrice") BigDecimal maxPrice, 
         Pageable pageable
     );
+    
+    // Batch lookup with images fetched in the same query (used by order pricing)
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+    List<Product> findAllByIdWithImages(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -24,6 +24,11 @@ public interface ProductService {
      */
     ProductDto getProduct(Long id);
 
+    /**
+     * Get active products by IDs in a single lookup
+     */
+    List<ProductDto> getProductsByIds(List<Long> ids);
+
     /**
      * Get products by category
      */
@@ -58,6 +58,19 @@ public class ProductServiceImpl implements ProductService {
         return convertToDto(product);
     }
 
+    // Get active products by IDs in a single lookup
+    @Override
+    public List<ProductDto> getProductsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        return productRepository.findAllByIdWithImages(ids).stream()
+                .filter(Product::getIsActive)
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
     // Get products by category
     @Override
     public List<ProductDto> getProductsByCategory(String category) {
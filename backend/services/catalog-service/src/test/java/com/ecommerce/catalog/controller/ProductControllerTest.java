@@ -69,6 +69,20 @@ public class ProductControllerTest extends BaseTest {
                 .andExpect(jsonPath("$.name").value("Test Product"));
     }
 
+    @Test
+    public void testGetProductsByIds_Public() throws Exception {
+        // Arrange
+        ProductDto product = createSampleProduct();
+        when(productService.getProductsByIds(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(product));
+
+        // Act & Assert
+        mockMvc.perform(get("/catalog/products/batch").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].price").value(29.99));
+    }
+
     @Test
     @WithMockUserPrincipal(userId = "admin-user", roles = {"ADMIN"})
     public void testCreateProduct_AdminUser() throws Exception {
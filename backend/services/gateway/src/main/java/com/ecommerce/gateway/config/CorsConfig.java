@@ -19,7 +19,7 @@ public class CorsConfig {
         corsConfig.setMaxAge(3600L);
         corsConfig.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         corsConfig.setAllowedHeaders(Collections.singletonList("*"));
-        corsConfig.setExposedHeaders(Arrays.asList("Set-Cookie", "Authorization"));
+        corsConfig.setExposedHeaders(Arrays.asList("Set-Cookie", "Authorization", "X-Cart-Version"));
         corsConfig.setAllowCredentials(true);
 
         final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,22 @@
+package com.ecommerce.order.client;
+
+import java.util.List;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.ecommerce.order.dto.ProductDto;
+
+/**
+ * Feign client for communicating with the catalog service.
+ */
+@FeignClient(name = "catalog-service")
+public interface CatalogClient {
+
+    /**
+     * Resolve several products in one call. Missing or inactive products are omitted from the result.
+     */
+    @GetMapping("/catalog/products/batch")
+    List<ProductDto> getProductsByIds(@RequestParam("ids") List<Long> ids);
+}
@@ -23,6 +23,7 @@ import com.ecommerce.security.config.CookieBearerTokenResolver;
  * - Provides stateless authentication
  * - Protects order endpoints requiring user authentication
  * - Accepts JWT from cookies or Authorization header
+ * - Rejects tokens revoked by security-service (JwtDecoder auto-configured by security-lib)
  */
 @Configuration
 @EnableWebSecurity
@@ -47,6 +48,7 @@ public class JwtSecurityConfig {
                     mvcMatcherBuilder.pattern("/info/**")
                 ).permitAll()
                 // Admin endpoints require ADMIN authority (using SCOPE_ prefix)
+                .requestMatchers(mvcMatcherBuilder.pattern("/orders/admin")).hasAuthority("SCOPE_ADMIN")
                 .requestMatchers(mvcMatcherBuilder.pattern("/orders/admin/**")).hasAuthority("SCOPE_ADMIN")
                 .requestMatchers(mvcMatcherBuilder.pattern("/addresses/admin/**")).hasAuthority("SCOPE_ADMIN")
                 // Order operations require authentication (users can only access their own orders)
@@ -1,8 +1,14 @@
 package com.ecommerce.order.controller;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,11 +16,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.ecommerce.order.dto.CreateOrderRequest;
 import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.dto.OrderExportFormat;
+import com.ecommerce.order.dto.OrderPageDto;
+import com.ecommerce.order.dto.OrderStatusUpdateDto;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.service.IdempotencyService;
+import com.ecommerce.order.service.OrderArchiveService;
+import com.ecommerce.order.service.OrderExportService;
+import com.ecommerce.order.service.OrderHistoryService;
+import com.ecommerce.order.service.OrderStatusBroadcaster;
 import com.ecommerce.order.service.OrderService;
 import com.ecommerce.security.annotation.CurrentUserId;
 
@@ -28,11 +47,50 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private OrderStatusBroadcaster orderStatusBroadcaster;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
     @GetMapping
     public ResponseEntity<List<OrderDto>> getUserOrders(@CurrentUserId String userId) {
         return ResponseEntity.ok(orderService.getUserOrders(userId));
     }
 
+    @GetMapping(value = "/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getOrderHistory(@CurrentUserId String userId) {
+        // Served from the order_summaries read model; entries are pre-serialized when JSON caching is on
+        return ResponseEntity.ok(orderHistoryService.getUserOrderHistoryJson(userId));
+    }
+
+    @GetMapping(value = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@CurrentUserId String userId,
+                                        @RequestParam(required = false) Long orderId) {
+        // Subscribe before reading the snapshot so no transition falls in between
+        SseEmitter emitter = orderStatusBroadcaster.subscribe(userId);
+        if (orderId != null) {
+            try {
+                orderStatusBroadcaster.send(userId, emitter, new OrderStatusUpdateDto(
+                        orderId, orderService.getOrderStatus(orderId, userId), null, null, Instant.now()));
+            } catch (RuntimeException e) {
+                // The emitter never reaches the client, so none of its completion callbacks would fire
+                orderStatusBroadcaster.unsubscribe(userId, emitter);
+                throw e;
+            }
+        }
+        return emitter;
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderDto> getOrder(@PathVariable Long id, @CurrentUserId String userId) {
         return ResponseEntity.ok(orderService.getOrder(id, userId));
@@ -40,8 +98,14 @@ public class OrderController {
 
     @PostMapping
     public ResponseEntity<OrderDto> createOrder(@Valid @RequestBody CreateOrderRequest request, 
-                                               @CurrentUserId String userId) {
-        return ResponseEntity.ok(orderService.createOrder(request, userId));
+                                               @CurrentUserId String userId,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.ok(orderService.createOrder(request, userId));
+        }
+        // Retries with the same key get the original order back instead of creating a duplicate
+        return ResponseEntity.ok(idempotencyService.execute(userId, idempotencyKey, request,
+                () -> orderService.createOrder(request, userId)));
     }
 
     @PutMapping("/{id}/cancel")
@@ -51,6 +115,39 @@ public class OrderController {
 
     @GetMapping("/admin/all")
     public ResponseEntity<List<OrderDto>> getAllOrders() {
+        // Bounded to the first page; use /orders/admin to page through everything
         return ResponseEntity.ok(orderService.getAllOrders());
     }
+
+    @GetMapping("/admin")
+    public ResponseEntity<OrderPageDto> searchOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(orderService.searchOrders(status, userId, from, to, after, size));
+    }
+
+    @PostMapping("/admin/archive")
+    public ResponseEntity<Map<String, Integer>> archiveOrders() {
+        // Same job the nightly schedule runs; returns how many orders were moved to cold storage
+        return ResponseEntity.ok(Map.of("archived", orderArchiveService.archiveEligibleOrders()));
+    }
+
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") OrderExportFormat format) {
+        StreamingResponseBody body = out -> orderExportService.exportOrders(status, userId, from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + format.getFileExtension() + "\"")
+                .body(body);
+    }
 }
@@ -0,0 +1,47 @@
+package com.ecommerce.order.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.order.dto.ProductSalesDto;
+import com.ecommerce.order.dto.SalesRollupDto;
+import com.ecommerce.order.entity.RollupGranularity;
+import com.ecommerce.order.service.SalesAnalyticsService;
+
+/**
+ * Admin sales reporting; served from the rollup tables only
+ */
+@RestController
+@RequestMapping("/orders/admin/analytics")
+@CrossOrigin(origins = "*")
+public class SalesAnalyticsController {
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesRollupDto>> getSales(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesAnalyticsService.getSalesRollups(granularity, from, to));
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<List<ProductSalesDto>> getTopProducts(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(salesAnalyticsService.getTopProducts(granularity, from, to, limit));
+    }
+}
@@ -3,6 +3,7 @@ package com.ecommerce.order.dto;
 import java.time.LocalDateTime;
 
 import com.ecommerce.order.entity.AddressType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,6 +14,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @NoArgsConstructor
+@JsonIgnoreProperties(value = "fullAddress", allowGetters = true)
 @AllArgsConstructor
 public class AddressDto {
     private Long id;
@@ -2,30 +2,54 @@ package com.ecommerce.order.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * DTO for creating a new order
+ * DTO for creating a new order.
+ * Each address is given either as the ID of a saved address or as a new address.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CreateOrderRequest {
     
-    @NotNull(message = "Shipping address is required")
+    private Long shippingAddressId;
+    
     @Valid
     private CreateAddressRequest shippingAddress;
     
-    @NotNull(message = "Billing address is required")
+    private Long billingAddressId;
+    
     @Valid
     private CreateAddressRequest billingAddress;
     
     @NotEmpty(message = "Order must contain at least one item")
     @Valid
     private List<CreateOrderItemRequest> items;
+    
+    public CreateOrderRequest(CreateAddressRequest shippingAddress, CreateAddressRequest billingAddress,
+                              List<CreateOrderItemRequest> items) {
+        this.shippingAddress = shippingAddress;
+        this.billingAddress = billingAddress;
+        this.items = items;
+    }
+    
+    @JsonIgnore
+    @AssertTrue(message = "Shipping address is required")
+    public boolean isShippingAddressPresent() {
+        return shippingAddressId != null || shippingAddress != null;
+    }
+    
+    @JsonIgnore
+    @AssertTrue(message = "Billing address is required")
+    public boolean isBillingAddressPresent() {
+        return billingAddressId != null || billingAddress != null;
+    }
 }
@@ -0,0 +1,19 @@
+package com.ecommerce.order.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a keyset-paginated page of orders.
+ * Pass nextCursor as the "after" parameter to fetch the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDto {
+    private List<OrderDto> content;
+    private Long nextCursor;
+}
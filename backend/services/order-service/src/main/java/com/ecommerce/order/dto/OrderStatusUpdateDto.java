@@ -0,0 +1,23 @@
+package com.ecommerce.order.dto;
+
+import java.time.Instant;
+
+import com.ecommerce.order.entity.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for order status updates pushed over server-sent events
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateDto {
+    private Long orderId;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private String reason;
+    private Instant changedAt;
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.order.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.shared.persistence.money.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an order history entry ("My Orders")
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryDto {
+    private Long id;
+    private OrderStatus status;
+    private Money totalAmount;
+    private String currency;
+    private Integer itemCount;
+    private Integer lineCount;
+    private List<String> thumbnailUrls;
+    private String shipTo;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.order.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the product details order-service needs to price an order line.
+ * Ignores unknown properties to maintain compatibility with catalog service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductDto {
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private String imageUrl;
+    private List<ImageDto> images;
+    private Boolean isActive;
+
+    /**
+     * Get the primary image URL from the images list.
+     * Falls back to imageUrl field if images is null or empty.
+     */
+    public String getImageUrl() {
+        if (this.imageUrl != null) {
+            return this.imageUrl;
+        }
+
+        if (this.images != null && !this.images.isEmpty()) {
+            return this.images.stream()
+                    .filter(img -> Boolean.TRUE.equals(img.getIsPrimary()))
+                    .map(ImageDto::getUrl)
+                    .findFirst()
+                    .orElseGet(() -> this.images.get(0).getUrl());
+        }
+
+        return null;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ImageDto {
+        private String url;
+        private Boolean isPrimary;
+    }
+}
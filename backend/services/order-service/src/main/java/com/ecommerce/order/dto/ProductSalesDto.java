@@ -0,0 +1,19 @@
+package com.ecommerce.order.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a product's sales over a range of rollup buckets
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDto {
+    private Long productId;
+    private Long unitsSold;
+    private BigDecimal revenue;
+}
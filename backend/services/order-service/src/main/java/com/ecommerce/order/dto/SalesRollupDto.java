@@ -0,0 +1,27 @@
+package com.ecommerce.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.ecommerce.order.entity.RollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one hourly or daily sales bucket
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupDto {
+    private RollupGranularity granularity;
+    private LocalDateTime bucketStart;
+    private long ordersPlaced;
+    private long ordersConfirmed;
+    private long ordersCancelled;
+    private double cancellationRate;
+    private long unitsSold;
+    private BigDecimal revenue;
+}
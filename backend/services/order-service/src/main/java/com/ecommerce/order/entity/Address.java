@@ -14,6 +14,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,7 +24,9 @@ import lombok.NoArgsConstructor;
  * Address entity representing customer addresses
  */
 @Entity
-@Table(name = "addresses")
+@Table(name = "addresses", indexes = {
+    @Index(name = "idx_addresses_user_type_hash", columnList = "user_id, type, address_hash")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
@@ -56,6 +59,12 @@ public class Address {
     @Column(name = "country", nullable = false, length = 100)
     private String country;
     
+    /**
+     * SHA-256 of the normalized components, used to reuse an existing saved address
+     */
+    @Column(name = "address_hash", length = 64)
+    private String addressHash;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,56 @@
+package com.ecommerce.order.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cold storage for an order in a terminal state that has been moved out of the orders/order_items tables.
+ * The full order (items and addresses included) is kept as a GZIP-compressed JSON snapshot; only the
+ * columns needed to find it are stored uncompressed.
+ */
+@Entity
+@Table(name = "archived_orders", indexes = {
+    @Index(name = "idx_archived_orders_user_created", columnList = "user_id, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrder {
+    
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+    
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    /**
+     * GZIP-compressed JSON of the OrderDto at archival time
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "BYTEA")
+    private byte[] payload;
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.order.entity;
+
+/**
+ * Lifecycle of an idempotency key
+ */
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.order.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CompositeType;
+
+import com.ecommerce.shared.persistence.money.Money;
+import com.ecommerce.shared.persistence.money.MoneyType;
+
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized order history row (read model), one per order.
+ * Maintained whenever an order is created or changes status, so the order history page
+ * is served by a single indexed query without touching items or addresses.
+ */
+@Entity
+@Table(name = "order_summaries", indexes = {
+    @Index(name = "idx_order_summaries_user_created", columnList = "user_id, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+    
+    @CompositeType(MoneyType.class)
+    @AttributeOverride(name = "amount", column = @Column(name = "total_amount", nullable = false, precision = 19, scale = 2))
+    @AttributeOverride(name = "currency", column = @Column(name = "total_currency", length = 3))
+    private Money totalAmount;
+    
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+    
+    @Column(name = "line_count", nullable = false)
+    private Integer lineCount;
+    
+    /**
+     * Newline-separated image URLs of the first few distinct products
+     */
+    @Column(name = "thumbnail_urls", columnDefinition = "TEXT")
+    private String thumbnailUrls;
+    
+    @Column(name = "ship_to")
+    private String shipTo;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Pre-serialized OrderSummaryDto, written alongside the columns when JSON caching is enabled
+     */
+    @Column(name = "summary_json", columnDefinition = "TEXT")
+    private String summaryJson;
+}
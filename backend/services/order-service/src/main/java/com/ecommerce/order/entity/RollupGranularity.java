@@ -0,0 +1,19 @@
+package com.ecommerce.order.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Time bucket size of a sales rollup
+ */
+public enum RollupGranularity {
+    HOUR,
+    DAY;
+    
+    /**
+     * Start of the bucket containing the given time
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(this == HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+}
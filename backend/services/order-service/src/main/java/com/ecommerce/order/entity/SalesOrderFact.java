@@ -0,0 +1,53 @@
+package com.ecommerce.order.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Analytics-owned copy of what an order contributes to the rollups, taken from its OrderCreatedEvent.
+ * Lets status transitions be applied (and reversed) without reading the orders tables, and makes
+ * redelivered events harmless: a transition is only applied if the fact is still in the previous status.
+ */
+@Entity
+@Table(name = "sales_order_facts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesOrderFact {
+    
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    
+    @Column(name = "placed_at", nullable = false)
+    private LocalDateTime placedAt;
+    
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+    
+    /**
+     * Order lines as "productId:quantity:unitPrice" separated by ';'
+     */
+    @Column(name = "lines", nullable = false, columnDefinition = "TEXT")
+    private String lines;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+    
+    /**
+     * Whether the order's revenue and units are currently counted in the rollups
+     */
+    @Column(name = "revenue_counted", nullable = false)
+    private boolean revenueCounted;
+}
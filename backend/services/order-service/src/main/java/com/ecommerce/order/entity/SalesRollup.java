@@ -0,0 +1,56 @@
+package com.ecommerce.order.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated order counts and revenue for one hour or day, bucketed by order placement time.
+ * Only ever changed by relative increments, so rows can be updated concurrently.
+ */
+@Entity
+@Table(name = "sales_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"granularity", "bucket_start"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    private RollupGranularity granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "orders_placed", nullable = false)
+    private long ordersPlaced;
+    
+    @Column(name = "orders_confirmed", nullable = false)
+    private long ordersConfirmed;
+    
+    @Column(name = "orders_cancelled", nullable = false)
+    private long ordersCancelled;
+    
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+    
+    @Column(name = "revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+}
@@ -0,0 +1,178 @@
+package com.ecommerce.order.listener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.order.dto.OrderStatusUpdateDto;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.service.OrderStatusBroadcaster;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds order status transitions into the local SSE fan-out.
+ *
+ * A client may be connected to any instance, so every instance consumes every transition. Partitions
+ * are assigned directly rather than through a consumer group, as the token revocation listener does:
+ * nothing is committed and no group is left on the broker when the instance restarts. Only live
+ * updates matter, so partitions found at startup are read from the end; partitions added later are
+ * read from the beginning so nothing published before the next refresh is missed.
+ */
+@Slf4j
+@Component
+public class OrderStatusStreamListener implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration PARTITION_REFRESH = Duration.ofMinutes(5);
+    private static final Duration ERROR_BACKOFF = Duration.ofSeconds(5);
+
+    @Autowired
+    private ConsumerFactory<String, Object> consumerFactory;
+
+    @Autowired
+    private OrderStatusBroadcaster orderStatusBroadcaster;
+
+    @Value("${ecommerce.events.topics.order-events:order-events}")
+    private String topic;
+
+    private volatile boolean running;
+    private volatile Consumer<String, Object> consumer;
+    private Thread thread;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "order-status-stream-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Consumer<String, Object> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (thread != null) {
+            try {
+                thread.join(POLL_TIMEOUT.multipliedBy(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        try (Consumer<String, Object> kafkaConsumer = consumerFactory.createConsumer(null, "order-status-stream", null)) {
+            consumer = kafkaConsumer;
+            Set<TopicPartition> assigned = new HashSet<>();
+            boolean initial = true;
+            long nextRefresh = System.nanoTime();
+            while (running) {
+                try {
+                    if (System.nanoTime() - nextRefresh >= 0) {
+                        if (assignNewPartitions(kafkaConsumer, assigned, initial)) {
+                            initial = false;
+                        }
+                        nextRefresh = System.nanoTime() + PARTITION_REFRESH.toNanos();
+                    }
+                    if (assigned.isEmpty()) {
+                        Thread.sleep(POLL_TIMEOUT.toMillis());
+                        nextRefresh = System.nanoTime();
+                        continue;
+                    }
+                    for (ConsumerRecord<String, Object> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                        handle(record.value());
+                    }
+                } catch (RecordDeserializationException e) {
+                    log.warn("Skipping undeserializable record {}@{} on {}", e.topicPartition(), e.offset(), topic, e);
+                    kafkaConsumer.seek(e.topicPartition(), e.offset() + 1);
+                } catch (WakeupException e) {
+                    // stop() was called
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Order status stream listener failed on {}, retrying in {}", topic, ERROR_BACKOFF, e);
+                    Thread.sleep(ERROR_BACKOFF.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            consumer = null;
+        }
+    }
+
+    /**
+     * Assign partitions not yet read; returns whether the topic's partitions were found
+     */
+    private boolean assignNewPartitions(Consumer<String, Object> kafkaConsumer, Set<TopicPartition> assigned,
+                                        boolean initial) {
+        List<PartitionInfo> partitions = kafkaConsumer.partitionsFor(topic);
+        if (partitions == null || partitions.isEmpty()) {
+            return false;
+        }
+        Set<TopicPartition> added = new HashSet<>();
+        for (PartitionInfo partition : partitions) {
+            TopicPartition topicPartition = new TopicPartition(partition.topic(), partition.partition());
+            if (!assigned.contains(topicPartition)) {
+                added.add(topicPartition);
+            }
+        }
+        if (added.isEmpty()) {
+            return true;
+        }
+        assigned.addAll(added);
+        kafkaConsumer.assign(assigned);
+        if (initial) {
+            kafkaConsumer.seekToEnd(added);
+        } else {
+            kafkaConsumer.seekToBeginning(added);
+        }
+        log.info("Streaming order status changes from {} partition(s) of {}", assigned.size(), topic);
+        return true;
+    }
+
+    void handle(Object event) {
+        if (!(event instanceof OrderStatusChangedEvent changed)) {
+            return;
+        }
+        try {
+            orderStatusBroadcaster.publish(changed.getUserId(), new OrderStatusUpdateDto(
+                    Long.parseLong(changed.getAggregateId()),
+                    OrderStatus.valueOf(changed.getStatus()),
+                    changed.getPreviousStatus() != null ? OrderStatus.valueOf(changed.getPreviousStatus()) : null,
+                    changed.getReason(),
+                    changed.getTimestamp()));
+        } catch (Exception e) {
+            // Live updates are best effort; clients fall back to GET /orders/{id}
+            log.warn("Failed to fan out OrderStatusChangedEvent for order: {}", changed.getAggregateId(), e);
+        }
+    }
+}
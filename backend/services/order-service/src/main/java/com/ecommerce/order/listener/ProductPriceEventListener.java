@@ -0,0 +1,66 @@
+package com.ecommerce.order.listener;
+
+import org.springframework.kafka.annotation.KafkaHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.order.dto.ProductDto;
+import com.ecommerce.order.service.ProductPriceCacheService;
+import com.ecommerce.shared.events.domain.ProductDeletedEvent;
+import com.ecommerce.shared.events.domain.ProductUpdatedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the order pricing cache in sync with catalog changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@KafkaListener(topics = "${ecommerce.events.topics.product-events:product-events}", groupId = "order-service-pricing")
+public class ProductPriceEventListener {
+
+    private final ProductPriceCacheService productPriceCacheService;
+
+    @KafkaHandler
+    public void handleProductUpdated(ProductUpdatedEvent event, Acknowledgment ack) {
+        try {
+            Long productId = Long.parseLong(event.getAggregateId());
+            if (Boolean.FALSE.equals(event.getActive()) || event.getPrice() == null) {
+                // Without a price the entry cannot be refreshed; the next order re-fetches it
+                productPriceCacheService.evict(productId);
+            } else {
+                productPriceCacheService.put(ProductDto.builder()
+                        .id(productId)
+                        .name(event.getName())
+                        .price(event.getPrice())
+                        .imageUrl(event.getImageUrl())
+                        .isActive(event.getActive())
+                        .build());
+            }
+            log.debug("Refreshed cached price for product {}", productId);
+            ack.acknowledge();
+        } catch (Exception e) {
+            log.error("Failed to refresh cached price for product {}", event.getAggregateId(), e);
+            throw e;
+        }
+    }
+
+    @KafkaHandler
+    public void handleProductDeleted(ProductDeletedEvent event, Acknowledgment ack) {
+        try {
+            productPriceCacheService.evict(Long.parseLong(event.getAggregateId()));
+            ack.acknowledge();
+        } catch (Exception e) {
+            log.error("Failed to evict cached price for product {}", event.getAggregateId(), e);
+            throw e;
+        }
+    }
+
+    @KafkaHandler(isDefault = true)
+    public void handleOther(Object event, Acknowledgment ack) {
+        ack.acknowledge();
+    }
+}
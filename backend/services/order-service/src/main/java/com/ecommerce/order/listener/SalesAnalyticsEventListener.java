@@ -0,0 +1,52 @@
+package com.ecommerce.order.listener;
+
+import org.springframework.kafka.annotation.KafkaHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.order.service.SalesAnalyticsService;
+import com.ecommerce.shared.events.domain.OrderCreatedEvent;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds order lifecycle events into the sales rollups, off the checkout path.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@KafkaListener(topics = "${ecommerce.events.topics.order-events:order-events}", groupId = "order-service-analytics")
+public class SalesAnalyticsEventListener {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @KafkaHandler
+    public void handleOrderCreated(OrderCreatedEvent event, Acknowledgment ack) {
+        try {
+            salesAnalyticsService.recordOrderCreated(event);
+            ack.acknowledge();
+        } catch (Exception e) {
+            log.error("Failed to record OrderCreatedEvent in sales rollups for order: {}", event.getAggregateId(), e);
+            throw e;
+        }
+    }
+
+    @KafkaHandler
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event, Acknowledgment ack) {
+        try {
+            salesAnalyticsService.recordStatusChanged(event);
+            ack.acknowledge();
+        } catch (Exception e) {
+            log.error("Failed to record OrderStatusChangedEvent in sales rollups for order: {}", event.getAggregateId(), e);
+            throw e;
+        }
+    }
+
+    @KafkaHandler(isDefault = true)
+    public void handleOther(Object event, Acknowledgment ack) {
+        ack.acknowledge();
+    }
+}
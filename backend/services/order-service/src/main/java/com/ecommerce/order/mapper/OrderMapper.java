@@ -31,8 +31,23 @@ public class OrderMapper {
             return null;
         }
 
-        List<OrderItemDto> itemDtos = order.getItems() != null 
-                ? order.getItems().stream()
+        return toDto(order, order.getItems());
+    }
+
+    /**
+     * Convert Order entity to OrderDto using items that were loaded separately (in bulk),
+     * so the lazy items collection is never touched
+     * @param order The order entity to convert
+     * @param items The order's items
+     * @return OrderDto or null if input is null
+     */
+    public OrderDto toDto(Order order, List<OrderItem> items) {
+        if (order == null) {
+            return null;
+        }
+
+        List<OrderItemDto> itemDtos = items != null 
+                ? items.stream()
                     .map(this::toItemDto)
                     .collect(Collectors.toList())
                 : List.of();
@@ -35,6 +35,11 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      */
     List<Address> findByUserIdAndTypeOrderByCreatedAtDesc(String userId, AddressType type);
     
+    /**
+     * Find a user's saved address of the given type with the same normalized hash
+     */
+    Optional<Address> findFirstByUserIdAndTypeAndAddressHash(String userId, AddressType type, String addressHash);
+    
     /**
      * Count addresses by user ID
      */
@@ -0,0 +1,35 @@
+package com.ecommerce.order.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.order.entity.ArchivedOrder;
+import com.ecommerce.order.entity.OrderStatus;
+
+/**
+ * Repository interface for ArchivedOrder entity
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    
+    /**
+     * Find an archived order by ID and user ID (users can only access their own orders)
+     */
+    Optional<ArchivedOrder> findByOrderIdAndUserId(Long orderId, String userId);
+    
+    /**
+     * Find all archived orders for a user, newest first
+     */
+    List<ArchivedOrder> findByUserIdOrderByCreatedAtDesc(String userId);
+    
+    /**
+     * Find only the status of an archived order owned by the given user
+     */
+    @Query("SELECT a.status FROM ArchivedOrder a WHERE a.orderId = :id AND a.userId = :userId")
+    Optional<OrderStatus> findStatusByOrderIdAndUserId(@Param("id") Long id, @Param("userId") String userId);
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.order.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.order.entity.IdempotencyRecord;
+import com.ecommerce.order.entity.IdempotencyStatus;
+
+/**
+ * Repository interface for IdempotencyRecord entity
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    /**
+     * Find the record for a user's idempotency key
+     */
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(String userId, String idempotencyKey);
+    
+    /**
+     * Renew an IN_PROGRESS claim whose lease started before staleBefore. Only one caller can match,
+     * since the winner moves created_at past the cutoff.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.createdAt = :now " +
+           "WHERE r.id = :id AND r.status = :status AND r.createdAt < :staleBefore")
+    int renewStaleClaim(@Param("id") Long id,
+                        @Param("status") IdempotencyStatus status,
+                        @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("now") LocalDateTime now);
+    
+    /**
+     * Complete the claim whose lease started at claimedAt. Matches nothing once another request has
+     * taken the claim over, so a late holder cannot overwrite it.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :completed, r.orderId = :orderId, " +
+           "r.responseBody = :responseBody, r.completedAt = :completedAt " +
+           "WHERE r.id = :id AND r.status = :inProgress AND r.createdAt = :claimedAt")
+    int completeClaim(@Param("id") Long id,
+                      @Param("inProgress") IdempotencyStatus inProgress,
+                      @Param("claimedAt") LocalDateTime claimedAt,
+                      @Param("completed") IdempotencyStatus completed,
+                      @Param("orderId") Long orderId,
+                      @Param("responseBody") String responseBody,
+                      @Param("completedAt") LocalDateTime completedAt);
+    
+    /**
+     * Release the claim whose lease started at claimedAt; a claim taken over by another request is kept
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.status = :status AND r.createdAt = :claimedAt")
+    int releaseClaim(@Param("id") Long id,
+                     @Param("status") IdempotencyStatus status,
+                     @Param("claimedAt") LocalDateTime claimedAt);
+}
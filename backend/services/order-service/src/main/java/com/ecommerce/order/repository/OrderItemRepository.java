@@ -0,0 +1,32 @@
+package com.ecommerce.order.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.order.entity.OrderItem;
+
+/**
+ * Repository interface for OrderItem entity
+ */
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    
+    /**
+     * Load the items of many orders in one query (avoids per-order lazy loading)
+     */
+    @Query("SELECT i FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id")
+    List<OrderItem> findByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+    
+    /**
+     * Delete the items of many orders without loading them
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -1,16 +1,27 @@
 package com.ecommerce.order.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ecommerce.order.entity.Order;
 import com.ecommerce.order.entity.OrderStatus;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for Order entity
  */
@@ -43,14 +54,137 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.userId = :userId ORDER BY o.createdAt DESC")
     List<Order> findByUserIdWithItems(@Param("userId") String userId);
     
+    /**
+     * Find orders by ID with the shipping address eagerly loaded
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.shippingAddress WHERE o.id IN :ids")
+    List<Order> findAllWithShippingAddress(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find orders by ID with both addresses eagerly loaded
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.shippingAddress JOIN FETCH o.billingAddress WHERE o.id IN :ids")
+    List<Order> findAllWithAddresses(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * IDs of orders in one of the given statuses that have not changed since the cutoff (archival candidates)
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.updatedAt < :cutoff ORDER BY o.id")
+    List<Long> findIdsForArchival(@Param("statuses") Collection<OrderStatus> statuses,
+                                  @Param("cutoff") LocalDateTime cutoff,
+                                  Pageable pageable);
+    
+    /**
+     * Delete orders by ID without loading them (their items must be deleted first)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+    
     /**
      * Find a specific order with items eagerly loaded
      */
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id AND o.userId = :userId")
     Optional<Order> findByIdAndUserIdWithItems(@Param("id") Long id, @Param("userId") String userId);
     
+    /**
+     * Find all orders in a given status
+     */
+    List<Order> findByStatus(OrderStatus status);
+    
     /**
      * Find the most recent order by user ID and status
      */
     Optional<Order> findFirstByUserIdAndStatusOrderByCreatedAtDesc(String userId, OrderStatus status);
+    
+    /**
+     * Find only the status of an order
+     */
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+    
+    /**
+     * Find only the status of an order owned by the given user
+     */
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id AND o.userId = :userId")
+    Optional<OrderStatus> findStatusByIdAndUserId(@Param("id") Long id, @Param("userId") String userId);
+    
+    /**
+     * Find only the owner of an order
+     */
+    @Query("SELECT o.userId FROM Order o WHERE o.id = :id")
+    Optional<String> findUserIdById(@Param("id") Long id);
+    
+    /**
+     * Record the cart validation result, only while the order is still in the expected status
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.cartValidated = :valid, o.updatedAt = :now WHERE o.id = :id AND o.status = :expected")
+    int updateCartValidated(@Param("id") Long id, @Param("valid") boolean valid,
+                            @Param("expected") OrderStatus expected, @Param("now") LocalDateTime now);
+    
+    /**
+     * Record the stock validation result, only while the order is still in the expected status
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.stockValidated = :valid, o.updatedAt = :now WHERE o.id = :id AND o.status = :expected")
+    int updateStockValidated(@Param("id") Long id, @Param("valid") boolean valid,
+                             @Param("expected") OrderStatus expected, @Param("now") LocalDateTime now);
+    
+    /**
+     * Move an order to the target status once both validations have succeeded (no-op otherwise)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :target, o.validationCompletedAt = :now, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = :expected AND o.cartValidated = true AND o.stockValidated = true")
+    int completeIfFullyValidated(@Param("id") Long id, @Param("expected") OrderStatus expected,
+                                 @Param("target") OrderStatus target, @Param("now") LocalDateTime now);
+    
+    /**
+     * Move an order from the expected status to the target status (no-op if it has already moved on).
+     * An existing validationCompletedAt is kept, so cancelling a confirmed order does not rewrite it.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :target, " +
+           "o.validationCompletedAt = COALESCE(o.validationCompletedAt, :now), o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = :expected")
+    int transitionStatus(@Param("id") Long id, @Param("expected") OrderStatus expected,
+                         @Param("target") OrderStatus target, @Param("now") LocalDateTime now);
+    
+    /**
+     * Keyset page of orders (newest first) matching optional filters, with both addresses fetched.
+     * Pass the last ID of the previous page as afterId; the Pageable only supplies the limit.
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.shippingAddress JOIN FETCH o.billingAddress WHERE " +
+           "(:status IS NULL OR o.status = :status) AND " +
+           "(:userId IS NULL OR o.userId = :userId) AND " +
+           "(:from IS NULL OR o.createdAt >= :from) AND " +
+           "(:to IS NULL OR o.createdAt < :to) AND " +
+           "(:afterId IS NULL OR o.id < :afterId) " +
+           "ORDER BY o.id DESC")
+    List<Order> findPageForAdmin(@Param("status") OrderStatus status,
+                                 @Param("userId") String userId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 @Param("afterId") Long afterId,
+                                 Pageable pageable);
+    
+    /**
+     * Forward-only stream of orders matching optional filters, with both addresses fetched.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o JOIN FETCH o.shippingAddress JOIN FETCH o.billingAddress WHERE " +
+           "(:status IS NULL OR o.status = :status) AND " +
+           "(:userId IS NULL OR o.userId = :userId) AND " +
+           "(:from IS NULL OR o.createdAt >= :from) AND " +
+           "(:to IS NULL OR o.createdAt < :to) " +
+           "ORDER BY o.id DESC")
+    Stream<Order> streamForExport(@Param("status") OrderStatus status,
+                                  @Param("userId") String userId,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
 }
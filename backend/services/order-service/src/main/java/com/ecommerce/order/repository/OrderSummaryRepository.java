@@ -0,0 +1,28 @@
+package com.ecommerce.order.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.order.entity.OrderSummary;
+
+/**
+ * Repository interface for the OrderSummary read model
+ */
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+    
+    /**
+     * Order history for a user, newest first (served by idx_order_summaries_user_created)
+     */
+    List<OrderSummary> findByUserIdOrderByCreatedAtDesc(String userId);
+    
+    /**
+     * IDs of orders that have no summary row yet (used for backfilling)
+     */
+    @Query("SELECT o.id FROM Order o WHERE NOT EXISTS (SELECT 1 FROM OrderSummary s WHERE s.orderId = o.id) ORDER BY o.id")
+    List<Long> findOrderIdsWithoutSummary(Pageable pageable);
+}
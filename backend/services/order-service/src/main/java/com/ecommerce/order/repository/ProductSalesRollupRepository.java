@@ -0,0 +1,46 @@
+package com.ecommerce.order.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.order.dto.ProductSalesDto;
+import com.ecommerce.order.entity.ProductSalesRollup;
+import com.ecommerce.order.entity.RollupGranularity;
+
+/**
+ * Repository interface for per-product sales rollups
+ */
+@Repository
+public interface ProductSalesRollupRepository extends JpaRepository<ProductSalesRollup, Long> {
+    
+    boolean existsByGranularityAndBucketStartAndProductId(RollupGranularity granularity, LocalDateTime bucketStart,
+                                                          Long productId);
+    
+    /**
+     * Add deltas to a product bucket in place; returns 0 if the bucket row does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE ProductSalesRollup r SET r.unitsSold = r.unitsSold + :units, r.revenue = r.revenue + :revenue " +
+           "WHERE r.granularity = :granularity AND r.bucketStart = :bucketStart AND r.productId = :productId")
+    int increment(@Param("granularity") RollupGranularity granularity, @Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("productId") Long productId, @Param("units") long units, @Param("revenue") BigDecimal revenue);
+    
+    /**
+     * Best-selling products over a range of buckets, by units sold
+     */
+    @Query("SELECT new com.ecommerce.order.dto.ProductSalesDto(r.productId, SUM(r.unitsSold), SUM(r.revenue)) " +
+           "FROM ProductSalesRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.productId ORDER BY SUM(r.unitsSold) DESC, r.productId")
+    List<ProductSalesDto> findTopProducts(@Param("granularity") RollupGranularity granularity,
+                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                          Pageable pageable);
+}
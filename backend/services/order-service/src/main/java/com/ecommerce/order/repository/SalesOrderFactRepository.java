@@ -0,0 +1,13 @@
+package com.ecommerce.order.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.order.entity.SalesOrderFact;
+
+/**
+ * Repository interface for the analytics copy of each order's contribution
+ */
+@Repository
+public interface SalesOrderFactRepository extends JpaRepository<SalesOrderFact, Long> {
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.order.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.order.entity.RollupGranularity;
+import com.ecommerce.order.entity.SalesRollup;
+
+/**
+ * Repository interface for hourly and daily sales rollups
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+    
+    boolean existsByGranularityAndBucketStart(RollupGranularity granularity, LocalDateTime bucketStart);
+    
+    List<SalesRollup> findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Add deltas to a bucket in place; returns 0 if the bucket row does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE SalesRollup r SET r.ordersPlaced = r.ordersPlaced + :placed, " +
+           "r.ordersConfirmed = r.ordersConfirmed + :confirmed, r.ordersCancelled = r.ordersCancelled + :cancelled, " +
+           "r.unitsSold = r.unitsSold + :units, r.revenue = r.revenue + :revenue " +
+           "WHERE r.granularity = :granularity AND r.bucketStart = :bucketStart")
+    int increment(@Param("granularity") RollupGranularity granularity, @Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("placed") long placed, @Param("confirmed") long confirmed, @Param("cancelled") long cancelled,
+                  @Param("units") long units, @Param("revenue") BigDecimal revenue);
+}
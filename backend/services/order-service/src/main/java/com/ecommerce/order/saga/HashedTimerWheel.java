@@ -0,0 +1,129 @@
+package com.ecommerce.order.saga;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timer wheel for coarse deadlines.
+ *
+ * Scheduling and cancelling are O(1) and never touch the wheel directly: new timeouts go through a
+ * queue that the single worker thread drains on every tick. The worker only looks at one bucket per
+ * tick, so thousands of pending deadlines cost nothing until they are due. Tasks run on the worker
+ * thread and should be short.
+ */
+@Slf4j
+public class HashedTimerWheel implements AutoCloseable {
+
+    private final long tickNanos;
+    private final Queue<Timeout>[] buckets;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startNanos;
+
+    private volatile boolean running = true;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(String name, Duration tickDuration, int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickNanos = Math.max(1, tickDuration.toNanos());
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedule a task to run once after the given delay (rounded up to the next tick).
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        Timeout timeout = new Timeout(task, System.nanoTime() + delay.toNanos());
+        pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos;
+            while ((sleepNanos = deadline - System.nanoTime()) > 0 && running) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            if (!running) {
+                break;
+            }
+
+            transferPending();
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long dueTick = Math.max(tick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+            timeout.remainingRounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    log.error("Timer task failed", e);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    /**
+     * Handle for a scheduled task.
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.order.saga;
+
+import lombok.Getter;
+
+/**
+ * In-memory state of one order's validation saga.
+ * Callers synchronize on the instance while applying an event and persisting its result.
+ */
+@Getter
+public class OrderValidationSaga {
+
+    private final Long orderId;
+    private final long startedAtNanos;
+    private SagaState state;
+    private HashedTimerWheel.Timeout timeout;
+
+    public OrderValidationSaga(Long orderId, long startedAtNanos, SagaState state) {
+        this.orderId = orderId;
+        this.startedAtNanos = startedAtNanos;
+        this.state = state;
+    }
+
+    /**
+     * Apply an event and return the resulting state.
+     */
+    public SagaState apply(SagaEvent event) {
+        state = state.on(event);
+        return state;
+    }
+
+    /**
+     * Move straight to a terminal state decided elsewhere (e.g. by another instance's write).
+     */
+    public void complete(SagaState terminalState) {
+        if (!state.isTerminal()) {
+            state = terminalState;
+        }
+    }
+
+    void setTimeout(HashedTimerWheel.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
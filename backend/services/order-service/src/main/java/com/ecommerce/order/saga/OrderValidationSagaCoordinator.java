@@ -0,0 +1,259 @@
+package com.ecommerce.order.saga;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coordinates the order validation saga: PENDING orders wait for a cart and a stock result and
+ * are CONFIRMED when both succeed, or compensated to CANCELLED on a failure or when the deadline
+ * passes without both answers.
+ *
+ * Saga state lives in memory and deadlines sit on a single timer wheel rather than one scheduled
+ * task per order. The order row stays the source of truth: every transition is persisted through
+ * OrderValidationWriter's conditional updates, and a saga that is missing locally (restart, or an
+ * order created on another instance) is recovered from its row. A result for an order whose row is
+ * not visible is rejected with an exception rather than read as a cancellation, so the listener
+ * retries it.
+ */
+@Slf4j
+@Component
+public class OrderValidationSagaCoordinator {
+
+    private final OrderRepository orderRepository;
+    private final OrderValidationWriter orderValidationWriter;
+    private final Map<Long, OrderValidationSaga> sagas = new ConcurrentHashMap<>();
+    private final HashedTimerWheel timerWheel;
+    private final Duration validationTimeout;
+    private final Duration stuckThreshold;
+
+    private final Timer timeToConfirm;
+    private final Counter confirmed;
+    private final Counter cancelled;
+    private final Counter timedOut;
+
+    public OrderValidationSagaCoordinator(OrderRepository orderRepository,
+                                          OrderValidationWriter orderValidationWriter,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${order.saga.validation-timeout:PT5M}") Duration validationTimeout,
+                                          @Value("${order.saga.stuck-threshold:PT1M}") Duration stuckThreshold,
+                                          @Value("${order.saga.tick:PT1S}") Duration tick) {
+        this.orderRepository = orderRepository;
+        this.orderValidationWriter = orderValidationWriter;
+        this.validationTimeout = validationTimeout;
+        this.stuckThreshold = stuckThreshold;
+        this.timerWheel = new HashedTimerWheel("order-saga-timer", tick, 512);
+
+        this.timeToConfirm = Timer.builder("order.saga.time_to_confirm")
+                .description("Time from order creation until both validations succeeded")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.confirmed = sagaOutcomeCounter(meterRegistry, "confirmed");
+        this.cancelled = sagaOutcomeCounter(meterRegistry, "cancelled");
+        this.timedOut = sagaOutcomeCounter(meterRegistry, "timed_out");
+        Gauge.builder("order.saga.active", sagas, Map::size)
+                .description("Validation sagas currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("order.saga.stuck", this, OrderValidationSagaCoordinator::countStuck)
+                .description("In-flight sagas older than the stuck threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the saga for a newly created order.
+     */
+    public void start(Long orderId) {
+        OrderValidationSaga saga = new OrderValidationSaga(orderId, System.nanoTime(), SagaState.AWAITING_BOTH);
+        track(saga, validationTimeout);
+    }
+
+    /**
+     * Apply a cart validation result.
+     */
+    public void onCartValidated(Long orderId, boolean valid) {
+        handle(orderId, valid ? SagaEvent.CART_VALID : SagaEvent.CART_FAILED);
+    }
+
+    /**
+     * Apply a stock validation result.
+     */
+    public void onStockValidated(Long orderId, boolean valid) {
+        handle(orderId, valid ? SagaEvent.STOCK_VALID : SagaEvent.STOCK_FAILED);
+    }
+
+    /**
+     * Current state of an in-flight saga, or null if none is tracked.
+     */
+    public SagaState getState(Long orderId) {
+        OrderValidationSaga saga = sagas.get(orderId);
+        return saga != null ? saga.getState() : null;
+    }
+
+    /**
+     * Recover sagas for orders left PENDING by a previous run; their deadline counts from order creation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingSagas() {
+        List<Order> pending = orderRepository.findByStatus(OrderStatus.PENDING);
+        for (Order order : pending) {
+            sagas.computeIfAbsent(order.getId(), id -> {
+                OrderValidationSaga saga = recover(order);
+                scheduleTimeout(saga, remaining(order));
+                return saga;
+            });
+        }
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} pending order validation saga(s)", pending.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerWheel.close();
+    }
+
+    private void handle(Long orderId, SagaEvent event) {
+        OrderValidationSaga saga = sagas.get(orderId);
+        if (saga == null) {
+            saga = recoverById(orderId, event);
+            if (saga == null) {
+                log.debug("Ignoring {} for order {}: no pending saga", event, orderId);
+                return;
+            }
+        }
+
+        synchronized (saga) {
+            SagaState before = saga.getState();
+            SagaState after = before.on(event);
+            if (before.isTerminal() || before == after) {
+                log.debug("Ignoring {} for order {} in state {}", event, orderId, before);
+                return;
+            }
+
+            OrderStatus persisted = orderValidationWriter.apply(orderId, event).orElse(null);
+            if (persisted == null) {
+                if (event == SagaEvent.TIMEOUT) {
+                    // Still no row at the deadline: the order is gone, there is nothing left to compensate
+                    log.warn("Dropping validation saga of order {}: order not found", orderId);
+                    saga.cancelTimeout();
+                    sagas.remove(orderId, saga);
+                    return;
+                }
+                // Leave the saga as it was; the listener's retry re-applies the result
+                throw new IllegalStateException("Order " + orderId + " is not visible yet, cannot apply " + event);
+            }
+
+            if (persisted == OrderStatus.PENDING) {
+                saga.apply(event);
+            } else if (persisted == OrderStatus.CONFIRMED) {
+                // Another instance (or an earlier delivery) already confirmed the row; the event is stale
+                saga.complete(SagaState.CONFIRMED);
+            } else {
+                saga.complete(after == SagaState.TIMED_OUT ? SagaState.TIMED_OUT : SagaState.CANCELLED);
+            }
+
+            if (saga.getState().isTerminal()) {
+                finish(saga);
+            }
+        }
+    }
+
+    private void finish(OrderValidationSaga saga) {
+        saga.cancelTimeout();
+        sagas.remove(saga.getOrderId(), saga);
+
+        switch (saga.getState()) {
+            case CONFIRMED -> {
+                confirmed.increment();
+                timeToConfirm.record(System.nanoTime() - saga.getStartedAtNanos(), TimeUnit.NANOSECONDS);
+                log.info("Order {} confirmed", saga.getOrderId());
+            }
+            case TIMED_OUT -> {
+                timedOut.increment();
+                log.warn("Order {} cancelled: validation did not complete within {}",
+                        saga.getOrderId(), validationTimeout);
+            }
+            default -> {
+                cancelled.increment();
+                log.info("Order {} cancelled by failed validation", saga.getOrderId());
+            }
+        }
+    }
+
+    private void track(OrderValidationSaga saga, Duration timeout) {
+        sagas.put(saga.getOrderId(), saga);
+        scheduleTimeout(saga, timeout);
+    }
+
+    private void scheduleTimeout(OrderValidationSaga saga, Duration timeout) {
+        saga.setTimeout(timerWheel.schedule(() -> handle(saga.getOrderId(), SagaEvent.TIMEOUT), timeout));
+    }
+
+    private OrderValidationSaga recoverById(Long orderId, SagaEvent event) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null) {
+            throw new IllegalStateException("Order " + orderId + " is not visible yet, cannot apply " + event);
+        }
+        if (order.getStatus() != OrderStatus.PENDING) {
+            return null;
+        }
+        return sagas.computeIfAbsent(orderId, id -> {
+            OrderValidationSaga saga = recover(order);
+            scheduleTimeout(saga, remaining(order));
+            return saga;
+        });
+    }
+
+    private OrderValidationSaga recover(Order order) {
+        boolean cart = Boolean.TRUE.equals(order.getCartValidated());
+        boolean stock = Boolean.TRUE.equals(order.getStockValidated());
+        SagaState state = cart ? SagaState.AWAITING_STOCK : (stock ? SagaState.AWAITING_CART : SagaState.AWAITING_BOTH);
+
+        long ageNanos = order.getCreatedAt() != null
+                ? Duration.between(order.getCreatedAt(), LocalDateTime.now()).toNanos()
+                : 0L;
+        return new OrderValidationSaga(order.getId(), System.nanoTime() - Math.max(0, ageNanos), state);
+    }
+
+    private Duration remaining(Order order) {
+        if (order.getCreatedAt() == null) {
+            return validationTimeout;
+        }
+        Duration remaining = validationTimeout.minus(Duration.between(order.getCreatedAt(), LocalDateTime.now()));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private double countStuck() {
+        long now = System.nanoTime();
+        long threshold = stuckThreshold.toNanos();
+        return sagas.values().stream()
+                .filter(saga -> now - saga.getStartedAtNanos() > threshold)
+                .count();
+    }
+
+    private static Counter sagaOutcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("order.saga.completed")
+                .description("Order validation sagas by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
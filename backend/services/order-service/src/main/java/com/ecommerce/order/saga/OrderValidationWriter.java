@@ -0,0 +1,80 @@
+package com.ecommerce.order.saga;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.service.OrderHistoryService;
+import com.ecommerce.order.service.OrderLifecyclePublisher;
+
+/**
+ * Persists validation saga transitions with conditional UPDATEs instead of entity load/save.
+ *
+ * Each statement only matches a PENDING row, and confirmation is decided by the row's own flags,
+ * so concurrent cart and stock results (from different listener threads or instances) cannot
+ * overwrite each other: whichever result lands second sees the first one's committed flag.
+ */
+@Component
+public class OrderValidationWriter {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private OrderLifecyclePublisher orderLifecyclePublisher;
+
+    /**
+     * Apply a saga event to the order row and return the row's resulting status,
+     * or empty if the row is not visible (not committed yet, or gone).
+     */
+    @Transactional
+    public Optional<OrderStatus> apply(Long orderId, SagaEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+
+        switch (event) {
+            case CART_VALID, CART_FAILED ->
+                orderRepository.updateCartValidated(orderId, event == SagaEvent.CART_VALID, OrderStatus.PENDING, now);
+            case STOCK_VALID, STOCK_FAILED ->
+                orderRepository.updateStockValidated(orderId, event == SagaEvent.STOCK_VALID, OrderStatus.PENDING, now);
+            default -> { }
+        }
+
+        boolean transitioned;
+        OrderStatus target;
+        if (event == SagaEvent.CART_FAILED || event == SagaEvent.STOCK_FAILED || event == SagaEvent.TIMEOUT) {
+            // Compensating transition
+            target = OrderStatus.CANCELLED;
+            transitioned = orderRepository.transitionStatus(orderId, OrderStatus.PENDING, target, now) == 1;
+        } else {
+            target = OrderStatus.CONFIRMED;
+            transitioned = orderRepository.completeIfFullyValidated(orderId, OrderStatus.PENDING, target, now) == 1;
+        }
+
+        if (transitioned) {
+            // Only the transaction that actually moved the row reports the transition
+            orderHistoryService.updateStatus(orderId, target);
+            orderRepository.findUserIdById(orderId).ifPresent(userId ->
+                    orderLifecyclePublisher.statusChanged(orderId, userId, OrderStatus.PENDING, target, reason(event)));
+            return Optional.of(target);
+        }
+
+        return orderRepository.findStatusById(orderId);
+    }
+
+    private static String reason(SagaEvent event) {
+        return switch (event) {
+            case CART_FAILED -> "Cart validation failed";
+            case STOCK_FAILED -> "Insufficient stock";
+            case TIMEOUT -> "Validation timed out";
+            default -> "Validation completed";
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.order.saga;
+
+/**
+ * Inputs that drive the order validation saga.
+ */
+public enum SagaEvent {
+    CART_VALID,
+    CART_FAILED,
+    STOCK_VALID,
+    STOCK_FAILED,
+    TIMEOUT
+}
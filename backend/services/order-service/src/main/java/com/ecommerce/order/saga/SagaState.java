@@ -0,0 +1,41 @@
+package com.ecommerce.order.saga;
+
+/**
+ * States of the order validation saga.
+ * An order waits for both the cart and the stock result; any failure or the deadline ends it.
+ */
+public enum SagaState {
+    AWAITING_BOTH,
+    AWAITING_CART,
+    AWAITING_STOCK,
+    CONFIRMED,
+    CANCELLED,
+    TIMED_OUT;
+
+    public boolean isTerminal() {
+        return this == CONFIRMED || this == CANCELLED || this == TIMED_OUT;
+    }
+
+    /**
+     * Transition table. Terminal states absorb every event, and duplicate results leave the state unchanged.
+     */
+    public SagaState on(SagaEvent event) {
+        if (isTerminal()) {
+            return this;
+        }
+
+        switch (event) {
+            case CART_FAILED:
+            case STOCK_FAILED:
+                return CANCELLED;
+            case TIMEOUT:
+                return TIMED_OUT;
+            case CART_VALID:
+                return this == AWAITING_CART ? CONFIRMED : (this == AWAITING_BOTH ? AWAITING_STOCK : this);
+            case STOCK_VALID:
+                return this == AWAITING_STOCK ? CONFIRMED : (this == AWAITING_BOTH ? AWAITING_CART : this);
+            default:
+                return this;
+        }
+    }
+}
@@ -17,6 +17,12 @@ public interface AddressService {
      */
     AddressDto createAddress(CreateAddressRequest request, String userId);
     
+    /**
+     * Resolve the address for an order: a saved address of the user by ID, otherwise the user's
+     * existing address with the same normalized components, otherwise a newly saved one
+     */
+    Address resolveAddress(String userId, AddressType type, Long addressId, CreateAddressRequest request);
+    
     /**
      * Get address by ID (for any user - admin only)
      */
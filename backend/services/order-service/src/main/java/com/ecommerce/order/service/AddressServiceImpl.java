@@ -1,10 +1,22 @@
 package com.ecommerce.order.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ecommerce.order.dto.AddressDto;
 import com.ecommerce.order.dto.CreateAddressRequest;
@@ -14,7 +26,11 @@ import com.ecommerce.order.mapper.AddressMapper;
 import com.ecommerce.order.repository.AddressRepository;
 
 /**
- * Service implementation class for address operations
+ * Service implementation class for address operations.
+ *
+ * Addresses are saved once per user and reused: orders reference a saved address by ID, and a new
+ * address whose normalized components match an existing one of the same user and type resolves to
+ * that row. Each user's address list is cached for a short TTL and evicted when the user saves one.
  */
 @Service
 @Transactional
@@ -26,15 +42,49 @@ public class AddressServiceImpl implements AddressService {
     @Autowired
     private AddressMapper addressMapper;
     
+    @Value("${order.addresses.cache-ttl:PT5M}")
+    private Duration cacheTtl;
+    
+    @Value("${order.addresses.cache-max-users:10000}")
+    private int cacheMaxUsers;
+    
+    private final Map<String, CachedAddresses> userAddressCache = new ConcurrentHashMap<>();
+    
     /**
-     * Create a new address for a user
+     * Create a new address for a user (or return the matching saved one)
      */
     @Override
     public AddressDto createAddress(CreateAddressRequest request, String userId) {
+        return addressMapper.toDto(findOrCreate(userId, request.getType(), request));
+    }
+    
+    /**
+     * Resolve the address for an order by saved ID or by normalized match, saving it only if new
+     */
+    @Override
+    public Address resolveAddress(String userId, AddressType type, Long addressId, CreateAddressRequest request) {
+        if (addressId != null) {
+            return addressRepository.findByIdAndUserId(addressId, userId)
+                    .orElseThrow(() -> new RuntimeException("Address not found or not accessible"));
+        }
+        if (request == null) {
+            throw new IllegalArgumentException("Address or address ID is required");
+        }
+        return findOrCreate(userId, type, request);
+    }
+    
+    private Address findOrCreate(String userId, AddressType type, CreateAddressRequest request) {
         Address address = addressMapper.toEntity(request);
         address.setUserId(userId);
-        Address savedAddress = addressRepository.save(address);
-        return addressMapper.toDto(savedAddress);
+        address.setType(type);
+        address.setAddressHash(addressHash(address));
+        
+        return addressRepository.findFirstByUserIdAndTypeAndAddressHash(userId, type, address.getAddressHash())
+                .orElseGet(() -> {
+                    Address savedAddress = addressRepository.save(address);
+                    evictAfterCommit(userId);
+                    return savedAddress;
+                });
     }
     
     /**
@@ -65,10 +115,21 @@ public class AddressServiceImpl implements AddressService {
     @Override
     @Transactional(readOnly = true)
     public List<AddressDto> getUserAddresses(String userId) {
+        long now = System.nanoTime();
+        CachedAddresses cached = userAddressCache.get(userId);
+        if (cached != null && cached.expiresAtNanos - now > 0) {
+            return cached.addresses;
+        }
+        
         List<Address> addresses = addressRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return addresses.stream()
+        List<AddressDto> result = addresses.stream()
                 .map(addressMapper::toDto)
-                .collect(java.util.stream.Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
+        if (userAddressCache.size() >= cacheMaxUsers) {
+            userAddressCache.clear();
+        }
+        userAddressCache.put(userId, new CachedAddresses(result, now + cacheTtl.toNanos()));
+        return result;
     }
     
     /**
@@ -77,10 +138,10 @@ public class AddressServiceImpl implements AddressService {
     @Override
     @Transactional(readOnly = true)
     public List<AddressDto> getUserAddressesByType(String userId, AddressType type) {
-        List<Address> addresses = addressRepository.findByUserIdAndTypeOrderByCreatedAtDesc(userId, type);
-        return addresses.stream()
-                .map(addressMapper::toDto)
-                .collect(java.util.stream.Collectors.toList());
+        // Served from the cached list, which is already newest first
+        return getUserAddresses(userId).stream()
+                .filter(address -> address.getType() == type)
+                .collect(Collectors.toList());
     }
     
     /**
@@ -92,7 +153,7 @@ public class AddressServiceImpl implements AddressService {
         List<Address> addresses = addressRepository.findByType(type);
         return addresses.stream()
                 .map(addressMapper::toDto)
-                .collect(java.util.stream.Collectors.toList());
+                .collect(Collectors.toList());
     }
     
     /**
@@ -104,7 +165,7 @@ public class AddressServiceImpl implements AddressService {
         List<Address> addresses = addressRepository.findAll();
         return addresses.stream()
                 .map(addressMapper::toDto)
-                .collect(java.util.stream.Collectors.toList());
+                .collect(Collectors.toList());
     }
     
     /**
@@ -164,10 +225,10 @@ public class AddressServiceImpl implements AddressService {
             throw new IllegalArgumentException("Failed to parse address: Invalid format. Expected: 'street, city, state zipcode, country'");
         }
         
-        String street = parts[0].trim();
-        String city = parts[1].trim();
-        String stateAndZip = parts[2].trim();
-        String country = parts.length > 3 ? parts[3].trim() : "USA";
+        String street = component(parts[0]);
+        String city = component(parts[1]);
+        String stateAndZip = component(parts[2]);
+        String country = parts.length > 3 ? component(parts[3]) : "USA";
         
         // Parse state and zip from "state zipcode"
         String[] stateZipParts = stateAndZip.split("\\s+");
@@ -176,4 +237,43 @@ public class AddressServiceImpl implements AddressService {
         
         return createAddressEntity(type, street, city, state, zipCode, country);
     }
+    
+    /**
+     * Hash of the address components after normalization (the same component cleanup
+     * parseAndCreateAddress applies to legacy strings), ignoring case
+     */
+    private String addressHash(Address address) {
+        String normalized = String.join("|", component(address.getStreet()), component(address.getCity()),
+                component(address.getState()), component(address.getZipCode()), component(address.getCountry()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalized.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash address", e);
+        }
+    }
+    
+    /**
+     * Trim and collapse internal whitespace of one address component
+     */
+    private String component(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+    
+    private void evictAfterCommit(String userId) {
+        userAddressCache.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Also drop any list reloaded before the new address became visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userAddressCache.remove(userId);
+                }
+            });
+        }
+    }
+    
+    private record CachedAddresses(List<AddressDto> addresses, long expiresAtNanos) {
+    }
 }
@@ -0,0 +1,17 @@
+package com.ecommerce.order.service;
+
+import java.util.function.Supplier;
+
+import com.ecommerce.order.dto.OrderDto;
+
+/**
+ * Interface for idempotent order creation
+ */
+public interface IdempotencyService {
+    
+    /**
+     * Run the order creation at most once per (user, key). Replays return the stored response,
+     * and concurrent duplicates wait for the first request instead of executing again.
+     */
+    OrderDto execute(String userId, String idempotencyKey, Object request, Supplier<OrderDto> action);
+}
@@ -0,0 +1,263 @@
+package com.ecommerce.order.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.entity.IdempotencyRecord;
+import com.ecommerce.order.entity.IdempotencyStatus;
+import com.ecommerce.order.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency store for order creation backed by the idempotency_records table.
+ *
+ * A key is claimed by inserting an IN_PROGRESS row (unique per user and key); the order and the
+ * COMPLETED response are then written in the same transaction, so a stored response always
+ * corresponds to a committed order. Duplicates on this instance share the first request's future;
+ * duplicates that reach another instance poll the row until it completes.
+ *
+ * An IN_PROGRESS claim is a lease of order.idempotency.claim-ttl from its created_at. A claim left
+ * behind by a process that died before completing or releasing it is taken over by the next
+ * request once the lease has run out, so the key does not stay blocked. The TTL must therefore
+ * exceed the longest order creation. created_at doubles as the lease token: completing and
+ * releasing only match the lease they hold, so a holder that outlived its lease fails instead of
+ * overwriting or deleting the new claim.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    
+    private static final long POLL_INTERVAL_MS = 50;
+    
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${order.idempotency.in-flight-timeout:PT30S}")
+    private Duration inFlightTimeout;
+    
+    @Value("${order.idempotency.claim-ttl:PT2M}")
+    private Duration claimTtl;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private final Map<String, CompletableFuture<OrderDto>> inFlight = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    public OrderDto execute(String userId, String idempotencyKey, Object request, Supplier<OrderDto> action) {
+        String requestHash = hash(request);
+        
+        // Replay: answer from the stored response without touching orders or events
+        Optional<OrderDto> stored = findCompleted(userId, idempotencyKey, requestHash);
+        if (stored.isPresent()) {
+            log.debug("Replaying stored response for idempotency key {} of user {}", idempotencyKey, userId);
+            return stored.get();
+        }
+        
+        // Coalesce in-flight duplicates on this instance onto the first request
+        String scope = userId + ":" + idempotencyKey;
+        CompletableFuture<OrderDto> mine = new CompletableFuture<>();
+        CompletableFuture<OrderDto> existing = inFlight.putIfAbsent(scope, mine);
+        if (existing != null) {
+            log.debug("Coalescing duplicate request for idempotency key {} of user {}", idempotencyKey, userId);
+            return await(existing);
+        }
+        
+        try {
+            OrderDto response = executeOnce(userId, idempotencyKey, requestHash, action);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope, mine);
+        }
+    }
+    
+    private OrderDto executeOnce(String userId, String idempotencyKey, String requestHash, Supplier<OrderDto> action) {
+        Optional<IdempotencyRecord> acquired = acquire(userId, idempotencyKey, requestHash);
+        if (acquired.isEmpty()) {
+            return waitForCompletion(userId, idempotencyKey, requestHash);
+        }
+        IdempotencyRecord claim = acquired.get();
+        
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderDto response = action.get();
+                int completed = idempotencyRecordRepository.completeClaim(claim.getId(),
+                        IdempotencyStatus.IN_PROGRESS, claim.getCreatedAt(), IdempotencyStatus.COMPLETED,
+                        response.getId(), serialize(response), LocalDateTime.now());
+                if (completed == 0) {
+                    // The lease ran out and another request took the key over; roll this order back
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "The Idempotency-Key claim expired before the order was created; retry the request");
+                }
+                return response;
+            });
+        } catch (RuntimeException e) {
+            // Release the key so the client can retry after a failure
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.releaseClaim(
+                    claim.getId(), IdempotencyStatus.IN_PROGRESS, claim.getCreatedAt()));
+            throw e;
+        }
+    }
+    
+    private Optional<IdempotencyRecord> acquire(String userId, String idempotencyKey, String requestHash) {
+        try {
+            return Optional.of(claim(userId, idempotencyKey, requestHash));
+        } catch (DataIntegrityViolationException e) {
+            // Another request holds the key; take it over only if that claim's lease has run out
+            return takeOverStaleClaim(userId, idempotencyKey, requestHash);
+        }
+    }
+    
+    private IdempotencyRecord claim(String userId, String idempotencyKey, String requestHash) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setUserId(userId);
+        record.setIdempotencyKey(idempotencyKey);
+        record.setRequestHash(requestHash);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setCreatedAt(leaseStart());
+        return idempotencyRecordRepository.saveAndFlush(record);
+    }
+    
+    private Optional<IdempotencyRecord> takeOverStaleClaim(String userId, String idempotencyKey, String requestHash) {
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+        if (existing.isEmpty() || existing.get().getStatus() != IdempotencyStatus.IN_PROGRESS
+                || !existing.get().getRequestHash().equals(requestHash)) {
+            return Optional.empty();
+        }
+        
+        IdempotencyRecord record = existing.get();
+        LocalDateTime now = leaseStart();
+        Integer renewed = transactionTemplate.execute(status -> idempotencyRecordRepository.renewStaleClaim(
+                record.getId(), IdempotencyStatus.IN_PROGRESS, now.minus(claimTtl), now));
+        if (renewed == null || renewed == 0) {
+            return Optional.empty();
+        }
+        
+        log.warn("Took over stale claim on idempotency key {} of user {} (claimed at {})",
+                idempotencyKey, userId, record.getCreatedAt());
+        record.setCreatedAt(now);
+        return Optional.of(record);
+    }
+    
+    /**
+     * Lease start at the precision the column stores, so it matches the row when used as a token
+     */
+    private static LocalDateTime leaseStart() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+    
+    private OrderDto waitForCompletion(String userId, String idempotencyKey, String requestHash) {
+        long deadline = System.nanoTime() + inFlightTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<IdempotencyRecord> record = idempotencyRecordRepository
+                    .findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+            if (record.isEmpty()) {
+                // The other request failed and released the key
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key failed; retry the request");
+            }
+            Optional<OrderDto> stored = toResponse(record.get(), requestHash);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed");
+    }
+    
+    private Optional<OrderDto> findCompleted(String userId, String idempotencyKey, String requestHash) {
+        return idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .flatMap(record -> toResponse(record, requestHash));
+    }
+    
+    private Optional<OrderDto> toResponse(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request");
+        }
+        if (record.getStatus() != IdempotencyStatus.COMPLETED) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(record.getResponseBody(), OrderDto.class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read stored response for idempotency key", e);
+        }
+    }
+    
+    private OrderDto await(CompletableFuture<OrderDto> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for duplicate request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+    
+    private String serialize(OrderDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to store response for idempotency key", e);
+        }
+    }
+    
+    private String hash(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to fingerprint request", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.order.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.entity.OrderStatus;
+
+/**
+ * Interface for moving cold orders out of the transactional tables and reading them back
+ */
+public interface OrderArchiveService {
+    
+    /**
+     * Archive all eligible orders (terminal status, unchanged for the configured age), returning how many were moved
+     */
+    int archiveEligibleOrders();
+    
+    /**
+     * Get an archived order for a user
+     */
+    Optional<OrderDto> findArchivedOrder(Long id, String userId);
+    
+    /**
+     * Get all archived orders for a user, newest first
+     */
+    List<OrderDto> getArchivedOrders(String userId);
+    
+    /**
+     * Get only the status of an archived order for a user
+     */
+    Optional<OrderStatus> findArchivedStatus(Long id, String userId);
+}
@@ -0,0 +1,192 @@
+package com.ecommerce.order.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.entity.ArchivedOrder;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.mapper.OrderMapper;
+import com.ecommerce.order.repository.ArchivedOrderRepository;
+import com.ecommerce.order.repository.OrderItemRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves orders in terminal states out of orders/order_items into archived_orders.
+ *
+ * Each batch is one transaction: the compressed snapshots are inserted and the hot rows deleted
+ * together, so an order is always in exactly one place. Addresses are left in place (they belong to
+ * the user's address book) and the order history read model keeps its summaries.
+ */
+@Slf4j
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+    
+    private static final Set<OrderStatus> ARCHIVABLE_STATUSES =
+            EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED, OrderStatus.REFUNDED);
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+    
+    @Autowired
+    private OrderMapper orderMapper;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${order.archive.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${order.archive.min-age:P90D}")
+    private Duration minAge;
+    
+    @Value("${order.archive.batch-size:200}")
+    private int batchSize;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveEligibleOrders();
+        } catch (Exception e) {
+            log.error("Order archival run failed", e);
+        }
+    }
+    
+    @Override
+    public int archiveEligibleOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        int archived = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (batch == null || batch == 0) {
+                break;
+            }
+            archived += batch;
+        }
+        if (archived > 0) {
+            log.info("Archived {} orders last changed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderDto> findArchivedOrder(Long id, String userId) {
+        return archivedOrderRepository.findByOrderIdAndUserId(id, userId)
+                .map(archived -> decompress(archived.getPayload()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDto> getArchivedOrders(String userId) {
+        return archivedOrderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(archived -> decompress(archived.getPayload()))
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderStatus> findArchivedStatus(Long id, String userId) {
+        return archivedOrderRepository.findStatusByOrderIdAndUserId(id, userId);
+    }
+    
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> orderIds = orderRepository.findIdsForArchival(ARCHIVABLE_STATUSES, cutoff,
+                PageRequest.of(0, batchSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        LocalDateTime now = LocalDateTime.now();
+        
+        for (Order order : orderRepository.findAllWithAddresses(orderIds)) {
+            OrderDto snapshot = orderMapper.toDto(order, itemsByOrder.getOrDefault(order.getId(), List.of()));
+            entityManager.persist(new ArchivedOrder(
+                    order.getId(),
+                    order.getUserId(),
+                    order.getStatus(),
+                    order.getTotalAmount(),
+                    order.getCreatedAt(),
+                    now,
+                    compress(snapshot)));
+        }
+        
+        // Flushes the archive inserts, then removes the hot rows in the same transaction
+        orderItemRepository.deleteByOrderIds(orderIds);
+        orderRepository.deleteAllByIds(orderIds);
+        return orderIds.size();
+    }
+    
+    private byte[] compress(OrderDto order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive order: " + order.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    private OrderDto decompress(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, OrderDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived order", e);
+        }
+    }
+}
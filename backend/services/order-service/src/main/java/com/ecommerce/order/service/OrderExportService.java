@@ -0,0 +1,19 @@
+package com.ecommerce.order.service;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import com.ecommerce.order.dto.OrderExportFormat;
+import com.ecommerce.order.entity.OrderStatus;
+
+/**
+ * Interface for streaming order exports (admin only)
+ */
+public interface OrderExportService {
+    
+    /**
+     * Stream all orders matching the optional filters to the output, newest first
+     */
+    void exportOrders(OrderStatus status, String userId, LocalDateTime from, LocalDateTime to,
+                      OrderExportFormat format, OutputStream out);
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.order.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.order.dto.AddressDto;
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.dto.OrderExportFormat;
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.mapper.OrderMapper;
+import com.ecommerce.order.repository.OrderItemRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams orders through a forward-only cursor in fixed-size chunks.
+ * Each chunk's items are loaded with one query, written out, and then detached from the
+ * persistence context, so memory stays constant regardless of how many orders are exported.
+ */
+@Slf4j
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+    
+    private static final int CHUNK_SIZE = 500;
+    private static final String CSV_HEADER =
+            "id,userId,status,totalAmount,itemCount,items,shippingCity,shippingCountry,createdAt,updatedAt";
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
+    @Autowired
+    private OrderMapper orderMapper;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Stream all orders matching the optional filters to the output, newest first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderStatus status, String userId, LocalDateTime from, LocalDateTime to,
+                             OrderExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long exported = 0;
+        
+        try (Stream<Order> orders = orderRepository.streamForExport(status, userId, from, to)) {
+            if (format == OrderExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            
+            Iterator<Order> cursor = orders.iterator();
+            List<Order> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() == CHUNK_SIZE || !cursor.hasNext()) {
+                    exported += writeChunk(chunk, format, writer);
+                    chunk.clear();
+                    // Detach the written chunk so the persistence context does not grow
+                    entityManager.clear();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order export", e);
+        }
+        
+        log.info("Exported {} orders as {}", exported, format);
+    }
+    
+    private int writeChunk(List<Order> chunk, OrderExportFormat format, Writer writer) throws IOException {
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIds(chunk.stream()
+                        .map(Order::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        
+        for (Order order : chunk) {
+            OrderDto dto = orderMapper.toDto(order, itemsByOrder.getOrDefault(order.getId(), List.of()));
+            if (format == OrderExportFormat.CSV) {
+                writeCsvRow(dto, writer);
+            } else {
+                writer.write(objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        return chunk.size();
+    }
+    
+    private void writeCsvRow(OrderDto order, Writer writer) throws IOException {
+        AddressDto shipping = order.getShippingAddress();
+        String items = order.getItems().stream()
+                .map(item -> item.getProductId() + "x" + item.getQuantity())
+                .collect(Collectors.joining(";"));
+        int itemCount = order.getItems().stream().mapToInt(OrderItemDto::getQuantity).sum();
+        
+        writer.write(String.join(",",
+                csv(order.getId()),
+                csv(order.getUserId()),
+                csv(order.getStatus()),
+                csv(order.getTotalAmount()),
+                csv(itemCount),
+                csv(items),
+                csv(shipping != null ? shipping.getCity() : null),
+                csv(shipping != null ? shipping.getCountry() : null),
+                csv(order.getCreatedAt()),
+                csv(order.getUpdatedAt())));
+        writer.write('\n');
+    }
+    
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
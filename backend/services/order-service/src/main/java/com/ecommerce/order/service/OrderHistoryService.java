@@ -0,0 +1,38 @@
+package com.ecommerce.order.service;
+
+import java.util.List;
+
+import com.ecommerce.order.dto.OrderSummaryDto;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderStatus;
+
+/**
+ * Interface for the order history read model
+ */
+public interface OrderHistoryService {
+    
+    /**
+     * Get the order history for a user, newest first
+     */
+    List<OrderSummaryDto> getUserOrderHistory(String userId);
+    
+    /**
+     * Get the order history for a user as a JSON array, reusing cached per-order JSON where present
+     */
+    String getUserOrderHistoryJson(String userId);
+    
+    /**
+     * (Re)build the summary for an order from its current state
+     */
+    void refresh(Order order);
+    
+    /**
+     * Record a status change for an order
+     */
+    void updateStatus(Long orderId, OrderStatus status);
+    
+    /**
+     * Build summaries for orders that don't have one yet, returning how many were created
+     */
+    int backfill();
+}
@@ -0,0 +1,219 @@
+package com.ecommerce.order.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.order.dto.OrderSummaryDto;
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.entity.OrderSummary;
+import com.ecommerce.order.repository.OrderItemRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.repository.OrderSummaryRepository;
+import com.ecommerce.shared.persistence.money.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the order history read model.
+ * Summaries are written in the same transaction as the order change that caused them, so the
+ * history never shows a status the order table has not committed.
+ */
+@Slf4j
+@Service
+public class OrderHistoryServiceImpl implements OrderHistoryService {
+    
+    private static final int MAX_THUMBNAILS = 4;
+    private static final int BACKFILL_BATCH_SIZE = 200;
+    
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${order.history.cache-json:true}")
+    private boolean cacheJson;
+    
+    @Value("${order.history.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderSummaryDto> getUserOrderHistory(String userId) {
+        return orderSummaryRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String getUserOrderHistoryJson(String userId) {
+        StringBuilder json = new StringBuilder("[");
+        for (OrderSummary summary : orderSummaryRepository.findByUserIdOrderByCreatedAtDesc(userId)) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            String cached = summary.getSummaryJson();
+            json.append(cached != null ? cached : serialize(toDto(summary)));
+        }
+        return json.append(']').toString();
+    }
+    
+    @Override
+    @Transactional
+    public void refresh(Order order) {
+        List<OrderItem> items = order.getItems() != null ? order.getItems() : List.of();
+        save(buildSummary(order, items));
+    }
+    
+    @Override
+    @Transactional
+    public void updateStatus(Long orderId, OrderStatus status) {
+        orderSummaryRepository.findById(orderId).ifPresentOrElse(summary -> {
+            if (summary.getStatus() == status) {
+                return;
+            }
+            summary.setStatus(status);
+            summary.setUpdatedAt(LocalDateTime.now());
+            save(summary);
+        }, () -> log.debug("No history summary for order {} yet; backfill will create it", orderId));
+    }
+    
+    @Override
+    public int backfill() {
+        int created = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> backfillBatch());
+            if (batch == null || batch == 0) {
+                break;
+            }
+            created += batch;
+        }
+        if (created > 0) {
+            log.info("Backfilled {} order history summaries", created);
+        }
+        return created;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.error("Order history backfill failed", e);
+        }
+    }
+    
+    private int backfillBatch() {
+        List<Long> orderIds = orderSummaryRepository.findOrderIdsWithoutSummary(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        
+        List<Order> orders = orderRepository.findAllWithShippingAddress(orderIds);
+        for (Order order : orders) {
+            save(buildSummary(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
+        }
+        return orders.size();
+    }
+    
+    private OrderSummary buildSummary(Order order, List<OrderItem> items) {
+        OrderSummary summary = new OrderSummary();
+        summary.setOrderId(order.getId());
+        summary.setUserId(order.getUserId());
+        summary.setStatus(order.getStatus());
+        summary.setTotalAmount(Money.of(order.getTotalAmount()));
+        summary.setItemCount(items.stream().mapToInt(OrderItem::getQuantity).sum());
+        summary.setLineCount(items.size());
+        summary.setThumbnailUrls(items.stream()
+                .map(OrderItem::getProductImageUrl)
+                .filter(Objects::nonNull)
+                .distinct()
+                .limit(MAX_THUMBNAILS)
+                .collect(Collectors.joining("\n")));
+        summary.setShipTo(shipTo(order.getShippingAddress()));
+        summary.setCreatedAt(order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now());
+        summary.setUpdatedAt(order.getUpdatedAt() != null ? order.getUpdatedAt() : summary.getCreatedAt());
+        return summary;
+    }
+    
+    private void save(OrderSummary summary) {
+        summary.setSummaryJson(cacheJson ? serialize(toDto(summary)) : null);
+        orderSummaryRepository.save(summary);
+    }
+    
+    private OrderSummaryDto toDto(OrderSummary summary) {
+        List<String> thumbnails = summary.getThumbnailUrls() == null || summary.getThumbnailUrls().isEmpty()
+                ? List.of()
+                : Arrays.asList(summary.getThumbnailUrls().split("\n"));
+        return new OrderSummaryDto(
+                summary.getOrderId(),
+                summary.getStatus(),
+                summary.getTotalAmount(),
+                summary.getTotalAmount() != null ? summary.getTotalAmount().getCurrency() : null,
+                summary.getItemCount(),
+                summary.getLineCount(),
+                thumbnails,
+                summary.getShipTo(),
+                summary.getCreatedAt(),
+                summary.getUpdatedAt());
+    }
+    
+    private String serialize(OrderSummaryDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize order summary: " + dto.getId(), e);
+        }
+    }
+    
+    private static String shipTo(Address address) {
+        if (address == null) {
+            return null;
+        }
+        return String.format("%s, %s %s, %s",
+                address.getCity(), address.getState(), address.getZipCode(), address.getCountry());
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.order.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.shared.events.BaseEvent;
+import com.ecommerce.shared.events.EventPublisher;
+import com.ecommerce.shared.events.domain.OrderCreatedEvent;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes order lifecycle events (creation and status transitions) to the order-events topic.
+ * Events are sent only once the surrounding transaction commits, so consumers never see a
+ * transition that was rolled back.
+ */
+@Slf4j
+@Component
+public class OrderLifecyclePublisher {
+    
+    private static final String SOURCE = "order-service";
+    private static final String CURRENCY = "USD";
+    
+    @Autowired
+    private EventPublisher eventPublisher;
+    
+    /**
+     * Publish an OrderCreatedEvent for a newly saved order
+     */
+    public void orderCreated(Order order) {
+        List<OrderCreatedEvent.OrderItem> items = order.getItems().stream()
+                .map(this::toEventItem)
+                .collect(Collectors.toList());
+        
+        Address shipping = order.getShippingAddress();
+        OrderCreatedEvent event = OrderCreatedEvent.builder()
+                .orderId(order.getId().toString())
+                .userId(order.getUserId())
+                .totalAmount(order.getTotalAmount())
+                .currency(CURRENCY)
+                .items(items)
+                .shippingAddress(shipping != null
+                        ? String.format("%s, %s, %s %s, %s", shipping.getStreet(), shipping.getCity(),
+                                shipping.getState(), shipping.getZipCode(), shipping.getCountry())
+                        : null)
+                .source(SOURCE)
+                .correlationId(order.getId().toString())
+                .build();
+        publishAfterCommit(event);
+    }
+    
+    /**
+     * Publish an OrderStatusChangedEvent for a transition this transaction performed
+     */
+    public void statusChanged(Long orderId, String userId, OrderStatus previousStatus, OrderStatus status,
+                              String reason) {
+        OrderStatusChangedEvent event = OrderStatusChangedEvent.builder()
+                .orderId(orderId.toString())
+                .userId(userId)
+                .previousStatus(previousStatus != null ? previousStatus.name() : null)
+                .status(status.name())
+                .reason(reason)
+                .source(SOURCE)
+                .correlationId(orderId.toString())
+                .build();
+        publishAfterCommit(event);
+    }
+    
+    private OrderCreatedEvent.OrderItem toEventItem(OrderItem item) {
+        return OrderCreatedEvent.OrderItem.builder()
+                .productId(item.getProductId().toString())
+                .quantity(item.getQuantity())
+                .unitPrice(item.getPrice())
+                .productName(item.getProductName())
+                .build();
+    }
+    
+    private void publishAfterCommit(BaseEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
+    
+    private void publish(BaseEvent event) {
+        try {
+            eventPublisher.publish(event);
+            log.info("Published {} for order: {}", event.getEventType(), event.getAggregateId());
+        } catch (Exception e) {
+            // Don't fail the order change if event publishing fails
+            log.error("Failed to publish {} for order: {}", event.getEventType(), event.getAggregateId(), e);
+        }
+    }
+}
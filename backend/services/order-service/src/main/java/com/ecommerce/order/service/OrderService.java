@@ -1,9 +1,12 @@
 package com.ecommerce.order.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.ecommerce.order.dto.CreateOrderRequest;
 import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.dto.OrderPageDto;
+import com.ecommerce.order.entity.OrderStatus;
 
 /**
  * Interface for order service operations
@@ -20,6 +23,11 @@ public interface OrderService {
      */
     OrderDto getOrder(Long id, String userId);
     
+    /**
+     * Get only the current status of a user's order
+     */
+    OrderStatus getOrderStatus(Long id, String userId);
+    
     /**
      * Create a new order
      */
@@ -31,7 +39,13 @@ public interface OrderService {
     OrderDto cancelOrder(Long id, String userId);
     
     /**
-     * Get all orders (admin only)
+     * Get all orders (admin only) - first page of the admin listing
      */
     List<OrderDto> getAllOrders();
+    
+    /**
+     * Search orders with optional filters using keyset pagination (admin only)
+     */
+    OrderPageDto searchOrders(OrderStatus status, String userId, LocalDateTime from, LocalDateTime to,
+                              Long after, int size);
 }
@@ -1,25 +1,37 @@
 package com.ecommerce.order.service;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.ecommerce.order.dto.CreateOrderItemRequest;
 import com.ecommerce.order.dto.CreateOrderRequest;
 import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.dto.OrderPageDto;
+import com.ecommerce.order.dto.ProductDto;
 import com.ecommerce.order.entity.Address;
 import com.ecommerce.order.entity.AddressType;
 import com.ecommerce.order.entity.Order;
 import com.ecommerce.order.entity.OrderItem;
 import com.ecommerce.order.entity.OrderStatus;
 import com.ecommerce.order.mapper.OrderMapper;
+import com.ecommerce.order.repository.OrderItemRepository;
 import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.saga.OrderValidationSagaCoordinator;
 import com.ecommerce.shared.events.EventPublisher;
 import com.ecommerce.shared.events.domain.CartValidationRequestedEvent;
 import com.ecommerce.shared.events.domain.ProductValidationRequestedEvent;
+import com.ecommerce.shared.persistence.money.Money;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,9 +43,14 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class OrderServiceImpl implements OrderService {
     
+    private static final int MAX_PAGE_SIZE = 200;
+    
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
     @Autowired
     private AddressService addressService;
     
@@ -43,6 +60,21 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private EventPublisher eventPublisher;
     
+    @Autowired
+    private ProductPriceCacheService productPriceCacheService;
+    
+    @Autowired
+    private OrderValidationSagaCoordinator sagaCoordinator;
+    
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+    
+    @Autowired
+    private OrderLifecyclePublisher orderLifecyclePublisher;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
     /**
      * Get all orders for a user
      */
@@ -50,7 +82,15 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public List<OrderDto> getUserOrders(String userId) {
         List<Order> orders = orderRepository.findByUserIdWithItems(userId);
-        return orderMapper.toDtoList(orders);
+        List<OrderDto> archived = orderArchiveService.getArchivedOrders(userId);
+        if (archived.isEmpty()) {
+            return orderMapper.toDtoList(orders);
+        }
+        
+        List<OrderDto> all = new ArrayList<>(orderMapper.toDtoList(orders));
+        all.addAll(archived);
+        all.sort(Comparator.comparing(OrderDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return all;
     }
     
     /**
@@ -59,9 +99,22 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public OrderDto getOrder(Long id, String userId) {
-        Order order = orderRepository.findByIdAndUserIdWithItems(id, userId)
+        return orderRepository.findByIdAndUserIdWithItems(id, userId)
+                .map(orderMapper::toDto)
+                // Fall back to cold storage for old completed orders
+                .or(() -> orderArchiveService.findArchivedOrder(id, userId))
+                .orElseThrow(() -> new RuntimeException("Order not found or not accessible"));
+    }
+    
+    /**
+     * Get only the current status of a user's order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderStatus getOrderStatus(Long id, String userId) {
+        return orderRepository.findStatusByIdAndUserId(id, userId)
+                .or(() -> orderArchiveService.findArchivedStatus(id, userId))
                 .orElseThrow(() -> new RuntimeException("Order not found or not accessible"));
-        return orderMapper.toDto(order);
     }
     
     /**
@@ -69,14 +122,11 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public OrderDto createOrder(CreateOrderRequest request, String userId) {
-        // Create addresses first
-        Address shippingAddress = addressService.convertToEntity(request.getShippingAddress());
-        shippingAddress.setUserId(userId);
-        shippingAddress.setType(AddressType.SHIPPING);
-        
-        Address billingAddress = addressService.convertToEntity(request.getBillingAddress());
-        billingAddress.setUserId(userId);
-        billingAddress.setType(AddressType.BILLING);
+        // Reference saved addresses; only addresses the user has never used before are inserted
+        Address shippingAddress = addressService.resolveAddress(userId, AddressType.SHIPPING,
+                request.getShippingAddressId(), request.getShippingAddress());
+        Address billingAddress = addressService.resolveAddress(userId, AddressType.BILLING,
+                request.getBillingAddressId(), request.getBillingAddress());
         
         // Create the order
         Order order = new Order();
@@ -85,37 +135,67 @@ public class OrderServiceImpl implements OrderService {
         order.setShippingAddress(shippingAddress);
         order.setBillingAddress(billingAddress);
         
-        // Create order items (in a real app, you'd fetch product details from catalog service)
+        // Resolve names, prices and images for every line in one (usually cached) lookup
+        Map<Long, ProductDto> products = productPriceCacheService.getProducts(request.getItems().stream()
+                .map(CreateOrderItemRequest::getProductId)
+                .collect(Collectors.toList()));
+        
         List<OrderItem> orderItems = request.getItems().stream()
                 .map(itemRequest -> {
-                    // In reality, you'd call the catalog service to get product details and price
+                    ProductDto product = products.get(itemRequest.getProductId());
+                    if (product == null || product.getPrice() == null) {
+                        throw new RuntimeException("Product not found or unavailable: " + itemRequest.getProductId());
+                    }
+                    
                     OrderItem item = new OrderItem();
                     item.setOrder(order);
                     item.setProductId(itemRequest.getProductId());
-                    item.setProductName("Product " + itemRequest.getProductId()); // Mock product name
+                    item.setProductName(product.getName());
+                    item.setProductImageUrl(product.getImageUrl());
                     item.setQuantity(itemRequest.getQuantity());
-                    item.setPrice(new BigDecimal("10.00")); // Mock price
+                    item.setPrice(product.getPrice());
                     return item;
                 })
                 .collect(Collectors.toList());
         
         order.setItems(orderItems);
         
-        // Calculate total amount
-        BigDecimal totalAmount = orderItems.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        order.setTotalAmount(totalAmount);
+        // Calculate total amount in minor units
+        long totalMinor = 0;
+        for (OrderItem item : orderItems) {
+            long priceMinor = Money.toMinorUnits(item.getPrice(), Money.DEFAULT_CURRENCY);
+            totalMinor = Math.addExact(totalMinor, Math.multiplyExact(priceMinor, item.getQuantity()));
+        }
+        order.setTotalAmount(Money.ofMinor(totalMinor).toBigDecimal());
         
         // Save the order
         Order savedOrder = orderRepository.save(order);
+        orderHistoryService.refresh(savedOrder);
+        orderLifecyclePublisher.orderCreated(savedOrder);
         
-        // Publish validation request events
-        publishValidationRequests(savedOrder, request);
+        // Replies must find the committed row, so the saga and its requests wait for the commit
+        afterCommit(() -> {
+            // Track the validation saga (with its deadline) before asking for validation
+            sagaCoordinator.start(savedOrder.getId());
+            publishValidationRequests(savedOrder, request);
+        });
         
         return orderMapper.toDto(savedOrder);
     }
     
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
     /**
      * Publish validation request events for cart and stock validation
      */
@@ -178,25 +258,75 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public OrderDto cancelOrder(Long id, String userId) {
-        Order order = orderRepository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new RuntimeException("Order not found or not accessible"));
-        
-        if (order.getStatus() == OrderStatus.DELIVERED || order.getStatus() == OrderStatus.CANCELLED) {
-            throw new RuntimeException("Cannot cancel order in status: " + order.getStatus());
+        while (true) {
+            OrderStatus previousStatus = findOwnedOrder(id, userId).getStatus();
+            if (previousStatus == OrderStatus.DELIVERED || previousStatus == OrderStatus.CANCELLED) {
+                throw new RuntimeException("Cannot cancel order in status: " + previousStatus);
+            }
+            
+            // Conditional on the status just read, so a concurrent saga or admin transition is not overwritten
+            if (orderRepository.transitionStatus(id, previousStatus, OrderStatus.CANCELLED, LocalDateTime.now()) == 1) {
+                orderHistoryService.updateStatus(id, OrderStatus.CANCELLED);
+                orderLifecyclePublisher.statusChanged(id, userId, previousStatus, OrderStatus.CANCELLED,
+                        "Cancelled by customer");
+                return orderMapper.toDto(findOwnedOrder(id, userId));
+            }
+            // The order moved on in the meantime; decide again from its new status
         }
-        
-        order.setStatus(OrderStatus.CANCELLED);
-        Order savedOrder = orderRepository.save(order);
-        return orderMapper.toDto(savedOrder);
+    }
+    
+    private Order findOwnedOrder(Long id, String userId) {
+        return orderRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Order not found or not accessible"));
     }
     
     /**
-     * Get all orders (admin only)
+     * Get all orders (admin only) - bounded to the first page of the admin listing
      */
     @Override
     @Transactional(readOnly = true)
     public List<OrderDto> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orderMapper.toDtoList(orders);
+        return searchOrders(null, null, null, null, null, MAX_PAGE_SIZE).getContent();
+    }
+    
+    /**
+     * Search orders with optional filters using keyset pagination (admin only)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDto searchOrders(OrderStatus status, String userId, LocalDateTime from, LocalDateTime to,
+                                     Long after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        
+        // Fetch one extra row to know whether another page exists
+        List<Order> orders = orderRepository.findPageForAdmin(status, userId, from, to, after,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+        
+        List<OrderDto> content = toDtosWithItems(orders);
+        Long nextCursor = hasMore ? orders.get(orders.size() - 1).getId() : null;
+        return new OrderPageDto(content, nextCursor);
+    }
+    
+    /**
+     * Map orders to DTOs, loading all of their items in a single query
+     */
+    private List<OrderDto> toDtosWithItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIds(orders.stream()
+                        .map(Order::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        
+        return orders.stream()
+                .map(order -> orderMapper.toDto(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,174 @@
+package com.ecommerce.order.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.order.dto.OrderStatusUpdateDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process fan-out of order status updates to open server-sent-event connections.
+ *
+ * A single order-events consumer per instance feeds {@link #publish}; updates are routed to the
+ * owning user's emitters by a map lookup, so open connections cost nothing until an update arrives
+ * and never query the database. Sends happen on a small dispatch pool so a slow client cannot
+ * stall the Kafka consumer, and a periodic heartbeat detects and drops dead connections.
+ */
+@Slf4j
+@Component
+public class OrderStatusBroadcaster {
+    
+    private static final String EVENT_NAME = "order-status";
+    
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${order.status-stream.timeout:PT30M}")
+    private Duration timeout;
+    
+    @Value("${order.status-stream.heartbeat:PT15S}")
+    private Duration heartbeat;
+    
+    @Value("${order.status-stream.dispatch-threads:2}")
+    private int dispatchThreads;
+    
+    private ExecutorService dispatcher;
+    private ScheduledExecutorService heartbeatScheduler;
+    
+    public OrderStatusBroadcaster(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-status-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-status-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        meterRegistry.gauge("order.status_stream.connections", connections);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+    
+    /**
+     * Open a stream of status updates for all of a user's orders
+     */
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+        connections.incrementAndGet();
+        
+        Runnable remove = () -> remove(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+    
+    /**
+     * Close a stream that will not be handed to the client, e.g. when the request fails after subscribing
+     */
+    public void unsubscribe(String userId, SseEmitter emitter) {
+        remove(userId, emitter);
+        emitter.complete();
+    }
+    
+    /**
+     * Send an update on a single emitter (used for the initial snapshot of a new subscription)
+     */
+    public void send(String userId, SseEmitter emitter, OrderStatusUpdateDto update) {
+        if (!trySend(emitter, update)) {
+            remove(userId, emitter);
+        }
+    }
+    
+    /**
+     * Fan an update out to every open stream of the order's owner
+     */
+    public void publish(String userId, OrderStatusUpdateDto update) {
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, update);
+            }
+        });
+    }
+    
+    /**
+     * Number of open streams on this instance
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+    
+    private boolean trySend(SseEmitter emitter, OrderStatusUpdateDto update) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(update.getOrderId() + ":" + update.getStatus())
+                    .data(update));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping order status stream after failed send: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    private void sendHeartbeats() {
+        subscribers.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, emitter);
+                }
+            }
+        });
+    }
+    
+    private void remove(String userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.order.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.order.client.CatalogClient;
+import com.ecommerce.order.dto.ProductDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-TTL in-memory cache of product names, prices and images used to price orders.
+ * Misses for a whole order are resolved with a single batched catalog call, and entries are
+ * refreshed in place by ProductUpdatedEvent so the TTL only bounds staleness for missed events.
+ * Expired entries are swept periodically, and the cache is held to order.pricing.cache-max-size
+ * entries by evicting those closest to expiry.
+ */
+@Service
+@Slf4j
+public class ProductPriceCacheService {
+
+    @Autowired
+    private CatalogClient catalogClient;
+
+    @Value("${order.pricing.cache-ttl:PT5M}")
+    private Duration cacheTtl;
+
+    @Value("${order.pricing.cache-max-size:10000}")
+    private int cacheMaxSize;
+
+    private final Map<Long, CachedProduct> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Get product details for all IDs, fetching any missing or expired entries in one batch.
+     * Products that catalog-service does not return (missing or inactive) are absent from the result.
+     */
+    public Map<Long, ProductDto> getProducts(Collection<Long> productIds) {
+        long now = System.nanoTime();
+        Map<Long, ProductDto> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long productId : new LinkedHashSet<>(productIds)) {
+            CachedProduct cached = cache.get(productId);
+            if (cached != null && cached.expiresAtNanos - now > 0) {
+                result.put(productId, cached.product);
+            } else {
+                misses.add(productId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            log.debug("Fetching {} product(s) from catalog service: {}", misses.size(), misses);
+            for (ProductDto product : catalogClient.getProductsByIds(misses)) {
+                put(product);
+                result.put(product.getId(), product);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Replace the cached entry for a product (e.g. from a ProductUpdatedEvent).
+     */
+    public void put(ProductDto product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        cache.put(product.getId(), new CachedProduct(product, System.nanoTime() + cacheTtl.toNanos()));
+        if (cache.size() > cacheMaxSize) {
+            trim();
+        }
+    }
+
+    /**
+     * Remove a product from the cache so the next order re-fetches it.
+     */
+    public void evict(Long productId) {
+        cache.remove(productId);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Drop expired entries, so products that are no longer ordered do not stay in memory
+     */
+    @Scheduled(fixedDelayString = "${order.pricing.cache-sweep-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        cache.entrySet().removeIf(entry -> entry.getValue().expiresAtNanos - now <= 0);
+    }
+
+    /**
+     * Bring the cache back under its limit: expired entries first, then those closest to expiry,
+     * down to 90% so a full cache is not scanned on every put
+     */
+    private synchronized void trim() {
+        if (cache.size() <= cacheMaxSize) {
+            return;
+        }
+        evictExpired();
+        int excess = cache.size() - cacheMaxSize * 9 / 10;
+        if (excess <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtNanos - now))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(cache::remove);
+    }
+
+    private static final class CachedProduct {
+        private final ProductDto product;
+        private final long expiresAtNanos;
+
+        private CachedProduct(ProductDto product, long expiresAtNanos) {
+            this.product = product;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
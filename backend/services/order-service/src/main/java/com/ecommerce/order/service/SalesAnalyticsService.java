@@ -0,0 +1,36 @@
+package com.ecommerce.order.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ecommerce.order.dto.ProductSalesDto;
+import com.ecommerce.order.dto.SalesRollupDto;
+import com.ecommerce.order.entity.RollupGranularity;
+import com.ecommerce.shared.events.domain.OrderCreatedEvent;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+
+/**
+ * Interface for maintaining and reading the pre-aggregated sales rollups
+ */
+public interface SalesAnalyticsService {
+    
+    /**
+     * Count a newly placed order into its hourly and daily buckets
+     */
+    void recordOrderCreated(OrderCreatedEvent event);
+    
+    /**
+     * Apply an order status transition to the buckets the order was placed in
+     */
+    void recordStatusChanged(OrderStatusChangedEvent event);
+    
+    /**
+     * Get the sales buckets starting in [from, to), oldest first
+     */
+    List<SalesRollupDto> getSalesRollups(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Get the best-selling products over the buckets starting in [from, to)
+     */
+    List<ProductSalesDto> getTopProducts(RollupGranularity granularity, LocalDateTime from, LocalDateTime to, int limit);
+}
@@ -0,0 +1,176 @@
+package com.ecommerce.order.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.order.dto.ProductSalesDto;
+import com.ecommerce.order.dto.SalesRollupDto;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.entity.RollupGranularity;
+import com.ecommerce.order.entity.SalesOrderFact;
+import com.ecommerce.order.entity.SalesRollup;
+import com.ecommerce.order.repository.ProductSalesRollupRepository;
+import com.ecommerce.order.repository.SalesOrderFactRepository;
+import com.ecommerce.order.repository.SalesRollupRepository;
+import com.ecommerce.shared.events.domain.OrderCreatedEvent;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incrementally maintained sales rollups, fed from the order-events topic.
+ *
+ * Orders are bucketed by placement time. An order is counted as placed when created; its revenue
+ * and units are added when it is confirmed and taken back out if it is later cancelled or refunded.
+ * Each event updates the buckets and the order's SalesOrderFact in one transaction, and transitions
+ * whose previous status does not match the fact are skipped, so redelivered events are not counted
+ * twice. Reads only ever touch the rollup tables.
+ */
+@Slf4j
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+    
+    private static final RollupGranularity[] GRANULARITIES = RollupGranularity.values();
+    
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+    
+    @Autowired
+    private ProductSalesRollupRepository productSalesRollupRepository;
+    
+    @Autowired
+    private SalesOrderFactRepository salesOrderFactRepository;
+    
+    @Autowired
+    private SalesRollupBuckets salesRollupBuckets;
+    
+    @Override
+    @Transactional
+    public void recordOrderCreated(OrderCreatedEvent event) {
+        Long orderId = Long.parseLong(event.getAggregateId());
+        if (salesOrderFactRepository.existsById(orderId)) {
+            log.debug("Order {} already counted, skipping redelivered OrderCreatedEvent", orderId);
+            return;
+        }
+        
+        String lines = event.getItems().stream()
+                .map(item -> item.getProductId() + ":" + item.getQuantity() + ":" + item.getUnitPrice().toPlainString())
+                .collect(Collectors.joining(";"));
+        LocalDateTime placedAt = LocalDateTime.ofInstant(event.getTimestamp(), ZoneId.systemDefault());
+        salesOrderFactRepository.save(new SalesOrderFact(orderId, placedAt, event.getTotalAmount(), lines,
+                OrderStatus.PENDING, false));
+        
+        incrementSales(placedAt, 1, 0, 0, 0, BigDecimal.ZERO);
+    }
+    
+    @Override
+    @Transactional
+    public void recordStatusChanged(OrderStatusChangedEvent event) {
+        Long orderId = Long.parseLong(event.getAggregateId());
+        SalesOrderFact fact = salesOrderFactRepository.findById(orderId).orElse(null);
+        if (fact == null) {
+            log.warn("No sales fact for order {}, skipping transition to {}", orderId, event.getStatus());
+            return;
+        }
+        if (event.getPreviousStatus() == null || !fact.getStatus().name().equals(event.getPreviousStatus())) {
+            log.debug("Order {} is {} in analytics, skipping transition {} -> {}",
+                    orderId, fact.getStatus(), event.getPreviousStatus(), event.getStatus());
+            return;
+        }
+        
+        OrderStatus status = OrderStatus.valueOf(event.getStatus());
+        long confirmed = status == OrderStatus.CONFIRMED ? 1 : 0;
+        long cancelled = status == OrderStatus.CANCELLED ? 1 : 0;
+        int direction = 0;
+        if (status == OrderStatus.CONFIRMED && !fact.isRevenueCounted()) {
+            direction = 1;
+        } else if ((status == OrderStatus.CANCELLED || status == OrderStatus.REFUNDED) && fact.isRevenueCounted()) {
+            direction = -1;
+        }
+        
+        long units = 0;
+        if (direction != 0) {
+            for (String line : fact.getLines().split(";")) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.split(":");
+                long quantity = Long.parseLong(parts[1]) * direction;
+                BigDecimal lineRevenue = new BigDecimal(parts[2]).multiply(BigDecimal.valueOf(quantity));
+                incrementProduct(fact.getPlacedAt(), Long.parseLong(parts[0]), quantity, lineRevenue);
+                units += quantity;
+            }
+            fact.setRevenueCounted(direction > 0);
+        }
+        BigDecimal revenue = direction == 0 ? BigDecimal.ZERO
+                : direction > 0 ? fact.getTotalAmount() : fact.getTotalAmount().negate();
+        
+        incrementSales(fact.getPlacedAt(), 0, confirmed, cancelled, units, revenue);
+        fact.setStatus(status);
+        salesOrderFactRepository.save(fact);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesRollupDto> getSalesRollups(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        List<SalesRollup> rollups = salesRollupRepository
+                .findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                        granularity, granularity.bucketStart(from), to);
+        List<SalesRollupDto> result = new ArrayList<>(rollups.size());
+        for (SalesRollup rollup : rollups) {
+            double cancellationRate = rollup.getOrdersPlaced() == 0 ? 0.0
+                    : (double) rollup.getOrdersCancelled() / rollup.getOrdersPlaced();
+            result.add(new SalesRollupDto(rollup.getGranularity(), rollup.getBucketStart(),
+                    rollup.getOrdersPlaced(), rollup.getOrdersConfirmed(), rollup.getOrdersCancelled(),
+                    cancellationRate, rollup.getUnitsSold(), rollup.getRevenue()));
+        }
+        return result;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSalesDto> getTopProducts(RollupGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                                int limit) {
+        return productSalesRollupRepository.findTopProducts(granularity, granularity.bucketStart(from), to,
+                PageRequest.of(0, Math.max(1, Math.min(limit, 100))));
+    }
+    
+    private void incrementSales(LocalDateTime placedAt, long placed, long confirmed, long cancelled, long units,
+                                BigDecimal revenue) {
+        for (RollupGranularity granularity : GRANULARITIES) {
+            LocalDateTime bucketStart = granularity.bucketStart(placedAt);
+            if (salesRollupRepository.increment(granularity, bucketStart, placed, confirmed, cancelled, units, revenue) == 0) {
+                try {
+                    salesRollupBuckets.ensureSalesBucket(granularity, bucketStart);
+                } catch (DataIntegrityViolationException e) {
+                    // Created concurrently; only the bucket's own transaction rolled back
+                }
+                salesRollupRepository.increment(granularity, bucketStart, placed, confirmed, cancelled, units, revenue);
+            }
+        }
+    }
+    
+    private void incrementProduct(LocalDateTime placedAt, Long productId, long units, BigDecimal revenue) {
+        for (RollupGranularity granularity : GRANULARITIES) {
+            LocalDateTime bucketStart = granularity.bucketStart(placedAt);
+            if (productSalesRollupRepository.increment(granularity, bucketStart, productId, units, revenue) == 0) {
+                try {
+                    salesRollupBuckets.ensureProductBucket(granularity, bucketStart, productId);
+                } catch (DataIntegrityViolationException e) {
+                    // Created concurrently; only the bucket's own transaction rolled back
+                }
+                productSalesRollupRepository.increment(granularity, bucketStart, productId, units, revenue);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.order.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.order.entity.ProductSalesRollup;
+import com.ecommerce.order.entity.RollupGranularity;
+import com.ecommerce.order.entity.SalesRollup;
+import com.ecommerce.order.repository.ProductSalesRollupRepository;
+import com.ecommerce.order.repository.SalesRollupRepository;
+
+/**
+ * Creates empty rollup rows on first use.
+ *
+ * Runs in its own transaction so that losing the insert race to another consumer does not abort the
+ * caller's transaction. The unique violation marks this transaction rollback-only, so it cannot be
+ * recovered here: it propagates as a DataIntegrityViolationException, which the caller catches before
+ * incrementing the winner's row.
+ */
+@Component
+public class SalesRollupBuckets {
+    
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+    
+    @Autowired
+    private ProductSalesRollupRepository productSalesRollupRepository;
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void ensureSalesBucket(RollupGranularity granularity, LocalDateTime bucketStart) {
+        if (salesRollupRepository.existsByGranularityAndBucketStart(granularity, bucketStart)) {
+            return;
+        }
+        salesRollupRepository.saveAndFlush(
+                new SalesRollup(null, granularity, bucketStart, 0, 0, 0, 0, BigDecimal.ZERO));
+    }
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void ensureProductBucket(RollupGranularity granularity, LocalDateTime bucketStart, Long productId) {
+        if (productSalesRollupRepository.existsByGranularityAndBucketStartAndProductId(granularity, bucketStart, productId)) {
+            return;
+        }
+        productSalesRollupRepository.saveAndFlush(
+                new ProductSalesRollup(null, granularity, bucketStart, productId, 0, BigDecimal.ZERO));
+    }
+}
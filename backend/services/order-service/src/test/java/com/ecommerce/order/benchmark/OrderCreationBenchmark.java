@@ -0,0 +1,108 @@
+package com.ecommerce.order.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ecommerce.order.dto.CreateAddressRequest;
+import com.ecommerce.order.dto.CreateOrderItemRequest;
+import com.ecommerce.order.dto.CreateOrderRequest;
+import com.ecommerce.order.dto.ProductDto;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.service.OrderService;
+import com.ecommerce.order.service.ProductPriceCacheService;
+import com.ecommerce.shared.testutil.BaseTest;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Order creation time and JDBC statement count against line count.
+ * Not part of the regular build; run with:
+ * mvn test -pl services/order-service -Dtest=OrderCreationBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class OrderCreationBenchmark extends BaseTest {
+
+    private static final int[] LINE_COUNTS = {1, 10, 50, 100};
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductPriceCacheService productPriceCacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        for (long productId = 1; productId <= 100; productId++) {
+            productPriceCacheService.put(ProductDto.builder()
+                    .id(productId)
+                    .name("Product " + productId)
+                    .price(new BigDecimal("9.99"))
+                    .imageUrl("https://img/" + productId + ".png")
+                    .isActive(true)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void benchmarkOrderCreation() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        System.out.printf("%n%-6s %12s %20s%n", "lines", "avg ms", "statements/order");
+        for (int lines : LINE_COUNTS) {
+            CreateOrderRequest request = createRequest(lines);
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                orderService.createOrder(request, "benchmark-user");
+            }
+
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                orderService.createOrder(request, "benchmark-user");
+            }
+            double avgMs = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ITERATIONS;
+            double statements = (double) statistics.getPrepareStatementCount() / MEASURED_ITERATIONS;
+
+            System.out.printf("%-6d %12.3f %20.1f%n", lines, avgMs, statements);
+        }
+    }
+
+    private CreateOrderRequest createRequest(int lines) {
+        List<CreateOrderItemRequest> items = new ArrayList<>();
+        for (long productId = 1; productId <= lines; productId++) {
+            CreateOrderItemRequest item = new CreateOrderItemRequest();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        return new CreateOrderRequest(address(AddressType.SHIPPING), address(AddressType.BILLING), items);
+    }
+
+    private CreateAddressRequest address(AddressType type) {
+        return new CreateAddressRequest(type, "123 Main St", "Springfield", "IL", "62701", "USA");
+    }
+}
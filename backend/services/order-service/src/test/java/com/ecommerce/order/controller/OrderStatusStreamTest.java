@@ -0,0 +1,56 @@
+package com.ecommerce.order.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.service.OrderService;
+import com.ecommerce.order.service.OrderStatusBroadcaster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OrderStatusStreamTest {
+
+    private OrderService orderService;
+    private OrderStatusBroadcaster orderStatusBroadcaster;
+    private OrderController orderController;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        orderStatusBroadcaster = new OrderStatusBroadcaster(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(orderStatusBroadcaster, "timeout", Duration.ofMinutes(1));
+
+        orderController = new OrderController();
+        ReflectionTestUtils.setField(orderController, "orderService", orderService);
+        ReflectionTestUtils.setField(orderController, "orderStatusBroadcaster", orderStatusBroadcaster);
+    }
+
+    @Test
+    public void testStreamStaysSubscribedWhenSnapshotSucceeds() {
+        when(orderService.getOrderStatus(1L, "user-1")).thenReturn(OrderStatus.PENDING);
+
+        orderController.streamOrderStatus("user-1", 1L);
+
+        assertThat(orderStatusBroadcaster.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStreamIsUnsubscribedWhenSnapshotFails() {
+        when(orderService.getOrderStatus(1L, "user-2"))
+                .thenThrow(new RuntimeException("Order not found or not accessible"));
+
+        assertThatThrownBy(() -> orderController.streamOrderStatus("user-2", 1L))
+                .hasMessageContaining("not accessible");
+
+        assertThat(orderStatusBroadcaster.getConnectionCount()).isZero();
+    }
+}
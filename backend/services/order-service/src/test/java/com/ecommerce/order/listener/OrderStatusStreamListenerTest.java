@@ -0,0 +1,81 @@
+package com.ecommerce.order.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.service.OrderStatusBroadcaster;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+
+public class OrderStatusStreamListenerTest {
+
+    private static final String TOPIC = "order-events";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamsLiveUpdatesWithoutConsumerGroup() {
+        MockConsumer<String, Object> consumer = new MockConsumer<>(OffsetResetStrategy.LATEST);
+        Node node = new Node(0, "localhost", 9092);
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        consumer.updatePartitions(TOPIC, List.of(
+                new PartitionInfo(TOPIC, 0, node, new Node[] {node}, new Node[] {node})));
+        // One transition was published before the instance started
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.updateEndOffsets(Map.of(partition, 1L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 0L, "1", changed("1", "user-1")));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 1L, "2", "some other event"));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 2L, "2", changed("2", "user-2")));
+        });
+
+        ConsumerFactory<String, Object> consumerFactory = mock(ConsumerFactory.class);
+        when(consumerFactory.createConsumer(isNull(), eq("order-status-stream"), isNull())).thenReturn(consumer);
+        OrderStatusBroadcaster broadcaster = mock(OrderStatusBroadcaster.class);
+
+        OrderStatusStreamListener listener = new OrderStatusStreamListener();
+        ReflectionTestUtils.setField(listener, "consumerFactory", consumerFactory);
+        ReflectionTestUtils.setField(listener, "orderStatusBroadcaster", broadcaster);
+        ReflectionTestUtils.setField(listener, "topic", TOPIC);
+        listener.start();
+        try {
+            verify(broadcaster, timeout(5000)).publish(eq("user-2"),
+                    argThat(update -> update.getOrderId() == 2L && update.getStatus() == OrderStatus.CONFIRMED));
+        } finally {
+            listener.stop();
+        }
+
+        assertThat(consumer.assignment()).containsExactly(partition);
+        assertThat(consumer.subscription()).isEmpty();
+        verify(broadcaster, never()).publish(eq("user-1"), any());
+    }
+
+    private static OrderStatusChangedEvent changed(String orderId, String userId) {
+        return OrderStatusChangedEvent.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .previousStatus("PENDING")
+                .status("CONFIRMED")
+                .build();
+    }
+}
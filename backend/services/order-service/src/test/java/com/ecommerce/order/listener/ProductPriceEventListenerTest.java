@@ -0,0 +1,84 @@
+package com.ecommerce.order.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.support.Acknowledgment;
+
+import com.ecommerce.order.client.CatalogClient;
+import com.ecommerce.order.dto.ProductDto;
+import com.ecommerce.order.service.ProductPriceCacheService;
+import com.ecommerce.shared.events.domain.ProductDeletedEvent;
+import com.ecommerce.shared.events.domain.ProductUpdatedEvent;
+import com.ecommerce.shared.testutil.BaseTest;
+
+public class ProductPriceEventListenerTest extends BaseTest {
+
+    @Autowired
+    private ProductPriceEventListener productPriceEventListener;
+
+    @Autowired
+    private ProductPriceCacheService productPriceCacheService;
+
+    @MockBean
+    private CatalogClient catalogClient;
+
+    @AfterEach
+    void tearDown() {
+        productPriceCacheService.evict(7L);
+    }
+
+    @Test
+    public void testProductUpdatedRefreshesCachedPrice() {
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        productPriceEventListener.handleProductUpdated(updated(new BigDecimal("12.50"), true), ack);
+
+        assertThat(productPriceCacheService.getProducts(List.of(7L)).get(7L).getPrice())
+                .isEqualByComparingTo("12.50");
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    public void testProductUpdatedWithoutPriceOrInactiveEvictsEntry() {
+        Acknowledgment ack = mock(Acknowledgment.class);
+        // Any eviction shows up as the catalog price on the next lookup
+        ProductDto fromCatalog = ProductDto.builder().id(7L).name("Lamp").price(new BigDecimal("14.00")).isActive(true).build();
+        when(catalogClient.getProductsByIds(List.of(7L))).thenReturn(List.of(fromCatalog));
+
+        productPriceEventListener.handleProductUpdated(updated(new BigDecimal("12.50"), true), ack);
+        productPriceEventListener.handleProductUpdated(updated(null, true), ack);
+        assertThat(productPriceCacheService.getProducts(List.of(7L)).get(7L).getPrice())
+                .isEqualByComparingTo("14.00");
+
+        productPriceEventListener.handleProductUpdated(updated(new BigDecimal("12.50"), true), ack);
+        productPriceEventListener.handleProductUpdated(updated(new BigDecimal("12.50"), false), ack);
+        assertThat(productPriceCacheService.getProducts(List.of(7L)).get(7L).getPrice())
+                .isEqualByComparingTo("14.00");
+
+        productPriceEventListener.handleProductUpdated(updated(new BigDecimal("12.50"), true), ack);
+        productPriceEventListener.handleProductDeleted(
+                ProductDeletedEvent.builder().productId("7").source("catalog-service").build(), ack);
+        assertThat(productPriceCacheService.getProducts(List.of(7L)).get(7L).getPrice())
+                .isEqualByComparingTo("14.00");
+    }
+
+    private static ProductUpdatedEvent updated(BigDecimal price, boolean active) {
+        return ProductUpdatedEvent.builder()
+                .productId("7")
+                .name("Lamp")
+                .price(price)
+                .active(active)
+                .source("catalog-service")
+                .build();
+    }
+}
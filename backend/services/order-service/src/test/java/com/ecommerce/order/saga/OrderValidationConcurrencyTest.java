@@ -0,0 +1,174 @@
+package com.ecommerce.order.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.shared.events.EventPublisher;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+import com.ecommerce.shared.testutil.BaseTest;
+
+/**
+ * Stress test: cart and stock results for the same order arrive concurrently on different threads.
+ * Every order must end up in the terminal state its two results call for, never stuck in PENDING.
+ */
+public class OrderValidationConcurrencyTest extends BaseTest {
+
+    private static final int ORDER_COUNT = 1000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderValidationWriter orderValidationWriter;
+
+    @Autowired
+    private OrderValidationSagaCoordinator sagaCoordinator;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testConcurrentResultsWithoutInMemorySaga() throws InterruptedException {
+        // Writer only: simulates results handled by different instances with no shared in-memory state
+        List<Long> orderIds = createPendingOrders();
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            tasks.add(() -> orderValidationWriter.apply(orderId, cartValid(orderId) ? SagaEvent.CART_VALID : SagaEvent.CART_FAILED));
+            tasks.add(() -> orderValidationWriter.apply(orderId, SagaEvent.STOCK_VALID));
+        }
+        runInterleaved(tasks);
+
+        assertTerminalStates(orderIds);
+    }
+
+    @Test
+    public void testConcurrentResultsThroughCoordinator() throws InterruptedException {
+        List<Long> orderIds = createPendingOrders();
+        orderIds.forEach(sagaCoordinator::start);
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            tasks.add(() -> sagaCoordinator.onCartValidated(orderId, cartValid(orderId)));
+            tasks.add(() -> sagaCoordinator.onStockValidated(orderId, true));
+        }
+        runInterleaved(tasks);
+
+        assertTerminalStates(orderIds);
+        orderIds.forEach(orderId -> assertThat(sagaCoordinator.getState(orderId)).isNull());
+    }
+
+    private boolean cartValid(Long orderId) {
+        // Every tenth order fails cart validation
+        return orderId % 10 != 0;
+    }
+
+    private void runInterleaved(List<Runnable> tasks) throws InterruptedException {
+        Collections.shuffle(tasks, new Random(42));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (Runnable task : tasks) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(failures).isEmpty();
+    }
+
+    private void assertTerminalStates(List<Long> orderIds) {
+        Map<Long, Order> orders = orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        assertThat(orders).hasSize(orderIds.size());
+        for (Long orderId : orderIds) {
+            OrderStatus expected = cartValid(orderId) ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+            assertThat(orders.get(orderId).getStatus())
+                    .as("status of order %d", orderId)
+                    .isEqualTo(expected);
+            assertThat(orders.get(orderId).getValidationCompletedAt()).isNotNull();
+        }
+
+        // Exactly one transition event per order, however the two results interleaved
+        Map<String, List<String>> transitions = Mockito.mockingDetails(eventPublisher).getInvocations().stream()
+                .flatMap(invocation -> Arrays.stream(invocation.getArguments()))
+                .filter(OrderStatusChangedEvent.class::isInstance)
+                .map(OrderStatusChangedEvent.class::cast)
+                .collect(Collectors.groupingBy(OrderStatusChangedEvent::getAggregateId,
+                        Collectors.mapping(OrderStatusChangedEvent::getStatus, Collectors.toList())));
+        for (Long orderId : orderIds) {
+            String expected = (cartValid(orderId) ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED).name();
+            assertThat(transitions.get(orderId.toString()))
+                    .as("transition events of order %d", orderId)
+                    .containsExactly(expected);
+        }
+    }
+
+    private List<Long> createPendingOrders() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setUserId("stress-user");
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(new BigDecimal("10.00"));
+            order.setShippingAddress(createAddress(AddressType.SHIPPING));
+            order.setBillingAddress(createAddress(AddressType.BILLING));
+            order.setItems(new ArrayList<>());
+            orders.add(order);
+        }
+        return orderRepository.saveAll(orders).stream()
+                .map(Order::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Address createAddress(AddressType type) {
+        Address address = new Address();
+        address.setUserId("stress-user");
+        address.setType(type);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZipCode("62701");
+        address.setCountry("USA");
+        return address;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecommerce.order.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@TestPropertySource(properties = {
+    "order.saga.validation-timeout=PT0.5S",
+    "order.saga.tick=PT0.05S"
+})
+public class OrderValidationSagaCoordinatorTest extends BaseTest {
+
+    @Autowired
+    private OrderValidationSagaCoordinator sagaCoordinator;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testBothValidationsConfirmOrder() {
+        Long orderId = createPendingOrder();
+        sagaCoordinator.start(orderId);
+
+        sagaCoordinator.onStockValidated(orderId, true);
+        assertThat(sagaCoordinator.getState(orderId)).isEqualTo(SagaState.AWAITING_CART);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.PENDING);
+
+        sagaCoordinator.onCartValidated(orderId, true);
+        assertThat(sagaCoordinator.getState(orderId)).isNull();
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    public void testFailedValidationCancelsOrder() {
+        Long orderId = createPendingOrder();
+        sagaCoordinator.start(orderId);
+
+        sagaCoordinator.onCartValidated(orderId, false);
+        sagaCoordinator.onStockValidated(orderId, true);
+
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    public void testMissingResponseTimesOut() throws InterruptedException {
+        Long orderId = createPendingOrder();
+        sagaCoordinator.start(orderId);
+        sagaCoordinator.onCartValidated(orderId, true);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (statusOf(orderId) == OrderStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(sagaCoordinator.getState(orderId)).isNull();
+    }
+
+    @Test
+    public void testResultForInvisibleOrderIsRetriedNotCancelled() throws InterruptedException {
+        // A row that cannot be read stands in for one whose transaction has not committed yet
+        Long orderId = createPendingOrder();
+        orderRepository.deleteById(orderId);
+        sagaCoordinator.start(orderId);
+
+        assertThatThrownBy(() -> sagaCoordinator.onCartValidated(orderId, true))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(sagaCoordinator.getState(orderId)).isEqualTo(SagaState.AWAITING_BOTH);
+
+        // At the deadline the saga is dropped rather than reported as cancelled
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sagaCoordinator.getState(orderId) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(sagaCoordinator.getState(orderId)).isNull();
+        assertThat(orderRepository.findById(orderId)).isEmpty();
+    }
+
+    @Test
+    public void testTimeoutOnAlreadyConfirmedOrderCountsAsConfirmed() throws InterruptedException {
+        Long orderId = createPendingOrder();
+        sagaCoordinator.start(orderId);
+        double confirmedBefore = outcomeCount("confirmed");
+        double timedOutBefore = outcomeCount("timed_out");
+
+        // Another instance confirms the row; this instance never sees the validation results
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        order.setStatus(OrderStatus.CONFIRMED);
+        orderRepository.save(order);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sagaCoordinator.getState(orderId) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(sagaCoordinator.getState(orderId)).isNull();
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(outcomeCount("confirmed")).isEqualTo(confirmedBefore + 1);
+        assertThat(outcomeCount("timed_out")).isEqualTo(timedOutBefore);
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.get("order.saga.completed").tag("outcome", outcome).counter().count();
+    }
+
+    private OrderStatus statusOf(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getStatus();
+    }
+
+    private Long createPendingOrder() {
+        Order order = new Order();
+        order.setUserId("saga-user");
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("10.00"));
+        order.setShippingAddress(createAddress(AddressType.SHIPPING));
+        order.setBillingAddress(createAddress(AddressType.BILLING));
+        order.setItems(new ArrayList<>());
+        return orderRepository.save(order).getId();
+    }
+
+    private Address createAddress(AddressType type) {
+        Address address = new Address();
+        address.setUserId("saga-user");
+        address.setType(type);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZipCode("62701");
+        address.setCountry("USA");
+        return address;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecommerce.order.dto.AddressDto;
+import com.ecommerce.order.dto.CreateAddressRequest;
+import com.ecommerce.order.dto.CreateOrderItemRequest;
+import com.ecommerce.order.dto.CreateOrderRequest;
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.dto.ProductDto;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.repository.AddressRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+public class AddressReuseTest extends BaseTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ProductPriceCacheService productPriceCacheService;
+
+    @BeforeEach
+    void setUp() {
+        productPriceCacheService.put(ProductDto.builder()
+                .id(1L)
+                .name("Product 1")
+                .price(new BigDecimal("9.99"))
+                .isActive(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        addressRepository.deleteAll();
+    }
+
+    @Test
+    public void testRepeatOrdersReuseNormalizedAddresses() {
+        OrderDto first = orderService.createOrder(request(
+                address("123 Main St", "Springfield"), address("123 Main St", "Springfield")), "reuse-user");
+        OrderDto second = orderService.createOrder(request(
+                address("  123  main st ", "SPRINGFIELD"), address("123 Main St", "Springfield")), "reuse-user");
+
+        // One shipping and one billing row, however many orders ship there
+        assertThat(addressRepository.countByUserId("reuse-user")).isEqualTo(2);
+        assertThat(second.getShippingAddress().getId()).isEqualTo(first.getShippingAddress().getId());
+        assertThat(second.getBillingAddress().getId()).isEqualTo(first.getBillingAddress().getId());
+
+        orderService.createOrder(request(address("9 Elm St", "Springfield"), address("123 Main St", "Springfield")),
+                "reuse-user");
+        assertThat(addressRepository.countByUserId("reuse-user")).isEqualTo(3);
+    }
+
+    @Test
+    public void testOrderBySavedAddressId() {
+        AddressDto saved = addressService.createAddress(address("123 Main St", "Springfield"), "reuse-user");
+
+        CreateOrderRequest request = request(null, address("123 Main St", "Springfield"));
+        request.setShippingAddressId(saved.getId());
+        OrderDto order = orderService.createOrder(request, "reuse-user");
+        assertThat(order.getShippingAddress().getId()).isEqualTo(saved.getId());
+
+        // Another user's address can't be referenced
+        assertThatThrownBy(() -> orderService.createOrder(request, "other-user"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Address not found");
+    }
+
+    @Test
+    public void testAddressListCacheIsEvictedOnNewAddress() {
+        addressService.createAddress(address("123 Main St", "Springfield"), "reuse-user");
+        List<AddressDto> cached = addressService.getUserAddresses("reuse-user");
+        assertThat(addressService.getUserAddresses("reuse-user")).isSameAs(cached);
+
+        // A duplicate doesn't insert, a new address does and invalidates the list
+        addressService.createAddress(address("123 MAIN ST", "Springfield"), "reuse-user");
+        assertThat(addressService.getUserAddresses("reuse-user")).hasSize(1);
+        addressService.createAddress(address("9 Elm St", "Springfield"), "reuse-user");
+        assertThat(addressService.getUserAddresses("reuse-user")).hasSize(2);
+    }
+
+    private CreateOrderRequest request(CreateAddressRequest shipping, CreateAddressRequest billing) {
+        CreateOrderItemRequest item = new CreateOrderItemRequest();
+        item.setProductId(1L);
+        item.setQuantity(1);
+        return new CreateOrderRequest(shipping, billing, List.of(item));
+    }
+
+    private CreateAddressRequest address(String street, String city) {
+        return new CreateAddressRequest(AddressType.SHIPPING, street, city, "IL", "62701", "USA");
+    }
+}
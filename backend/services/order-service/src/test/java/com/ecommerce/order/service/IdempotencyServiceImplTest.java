@@ -0,0 +1,226 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ecommerce.order.dto.AddressDto;
+import com.ecommerce.order.dto.CreateOrderItemRequest;
+import com.ecommerce.order.dto.CreateOrderRequest;
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.dto.OrderItemDto;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.entity.IdempotencyRecord;
+import com.ecommerce.order.entity.IdempotencyStatus;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.IdempotencyRecordRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+public class IdempotencyServiceImplTest extends BaseTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicLong nextOrderId = new AtomicLong(100);
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    public void testReplayReturnsStoredResponse() {
+        CreateOrderRequest request = createRequest(1L);
+
+        OrderDto first = idempotencyService.execute("user-1", "key-1", request, createOrder(0));
+        OrderDto replay = idempotencyService.execute("user-1", "key-1", request, createOrder(0));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replay.getId()).isEqualTo(first.getId());
+        assertThat(replay.getTotalAmount()).isEqualByComparingTo(first.getTotalAmount());
+    }
+
+    @Test
+    public void testReplayReturnsFullyPopulatedResponse() {
+        CreateOrderRequest request = createRequest(1L);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        OrderDto order = new OrderDto(101L, "user-1", OrderStatus.CONFIRMED, new BigDecimal("59.98"), true, true,
+                now, now, now,
+                new AddressDto(1L, "user-1", AddressType.SHIPPING, "1 Main St", "Springfield", "IL", "62701", "US", now, now),
+                new AddressDto(2L, "user-1", AddressType.BILLING, "2 Side St", "Springfield", "IL", "62702", "US", now, now),
+                List.of(new OrderItemDto(7L, 1L, "Lamp", "http://example.com/lamp.jpg", 2,
+                        new BigDecimal("29.99"), new BigDecimal("59.98"))));
+
+        idempotencyService.execute("user-1", "key-6", request, () -> {
+            executions.incrementAndGet();
+            return order;
+        });
+        OrderDto replay = idempotencyService.execute("user-1", "key-6", request, createOrder(0));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replay).usingRecursiveComparison().withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(order);
+        assertThat(replay.getShippingAddress().getFullAddress()).isEqualTo("1 Main St, Springfield, IL 62701, US");
+    }
+
+    @Test
+    public void testKeysAreScopedPerUser() {
+        CreateOrderRequest request = createRequest(1L);
+
+        OrderDto first = idempotencyService.execute("user-1", "shared-key", request, createOrder(0));
+        OrderDto second = idempotencyService.execute("user-2", "shared-key", request, createOrder(0));
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    public void testReusedKeyWithDifferentRequestIsRejected() {
+        idempotencyService.execute("user-1", "key-2", createRequest(1L), createOrder(0));
+
+        assertThatThrownBy(() -> idempotencyService.execute("user-1", "key-2", createRequest(2L), createOrder(0)))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedRequestReleasesKey() {
+        CreateOrderRequest request = createRequest(1L);
+
+        assertThatThrownBy(() -> idempotencyService.execute("user-1", "key-3", request, () -> {
+            throw new RuntimeException("Product not found or unavailable: 1");
+        })).isInstanceOf(RuntimeException.class);
+
+        OrderDto retry = idempotencyService.execute("user-1", "key-3", request, createOrder(0));
+        assertThat(retry.getId()).isNotNull();
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testConcurrentDuplicatesCoalesce() throws Exception {
+        CreateOrderRequest request = createRequest(1L);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<OrderDto>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute("user-1", "key-4", request, createOrder(300));
+            }));
+        }
+        start.countDown();
+
+        List<Long> orderIds = Collections.synchronizedList(new ArrayList<>());
+        for (Future<OrderDto> result : results) {
+            orderIds.add(result.get().getId());
+        }
+        executor.shutdown();
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(orderIds).containsOnly(orderIds.get(0));
+    }
+
+    @Test
+    public void testStaleInProgressClaimIsTakenOver() {
+        CreateOrderRequest request = createRequest(1L);
+
+        // An Error skips the release, like a process dying between claim and completion
+        assertThatThrownBy(() -> idempotencyService.execute("user-1", "key-5", request, () -> {
+            throw new AssertionError("crashed");
+        })).isInstanceOf(AssertionError.class);
+        IdempotencyRecord abandoned = idempotencyRecordRepository.findByUserIdAndIdempotencyKey("user-1", "key-5")
+                .orElseThrow();
+        assertThat(abandoned.getStatus()).isEqualTo(IdempotencyStatus.IN_PROGRESS);
+
+        abandoned.setCreatedAt(LocalDateTime.now().minusHours(1));
+        idempotencyRecordRepository.save(abandoned);
+
+        OrderDto retry = idempotencyService.execute("user-1", "key-5", request, createOrder(0));
+        OrderDto replay = idempotencyService.execute("user-1", "key-5", request, createOrder(0));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replay.getId()).isEqualTo(retry.getId());
+        assertThat(idempotencyRecordRepository.findByUserIdAndIdempotencyKey("user-1", "key-5").orElseThrow()
+                .getStatus()).isEqualTo(IdempotencyStatus.COMPLETED);
+    }
+
+    @Test
+    public void testHolderOfATakenOverClaimCannotCompleteOrReleaseIt() {
+        CreateOrderRequest request = createRequest(1L);
+        LocalDateTime takenOverAt = LocalDateTime.now().plusMinutes(1).withNano(0);
+        TransactionTemplate otherInstance = new TransactionTemplate(transactionManager);
+        otherInstance.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // While this request runs, its lease is taken over as if it had run out
+        assertThatThrownBy(() -> idempotencyService.execute("user-1", "key-7", request, () -> {
+            IdempotencyRecord claim = idempotencyRecordRepository.findByUserIdAndIdempotencyKey("user-1", "key-7")
+                    .orElseThrow();
+            otherInstance.executeWithoutResult(status -> idempotencyRecordRepository.renewStaleClaim(
+                    claim.getId(), IdempotencyStatus.IN_PROGRESS, takenOverAt, takenOverAt));
+            return createOrder(0).get();
+        })).isInstanceOf(ResponseStatusException.class).hasMessageContaining("expired");
+
+        IdempotencyRecord record = idempotencyRecordRepository.findByUserIdAndIdempotencyKey("user-1", "key-7")
+                .orElseThrow();
+        assertThat(record.getStatus()).isEqualTo(IdempotencyStatus.IN_PROGRESS);
+        assertThat(record.getCreatedAt()).isEqualTo(takenOverAt);
+        assertThat(record.getResponseBody()).isNull();
+    }
+
+    private Supplier<OrderDto> createOrder(long delayMs) {
+        return () -> {
+            executions.incrementAndGet();
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            OrderDto order = new OrderDto();
+            order.setId(nextOrderId.incrementAndGet());
+            order.setUserId("user-1");
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(new BigDecimal("29.99"));
+            return order;
+        };
+    }
+
+    private CreateOrderRequest createRequest(Long productId) {
+        CreateOrderItemRequest item = new CreateOrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
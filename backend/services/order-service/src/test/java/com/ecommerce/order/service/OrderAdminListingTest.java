@@ -0,0 +1,117 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.dto.OrderExportFormat;
+import com.ecommerce.order.dto.OrderPageDto;
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+public class OrderAdminListingTest extends BaseTest {
+
+    private static final int ORDER_COUNT = 25;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setUserId(i % 2 == 0 ? "even-user" : "odd-user");
+            order.setStatus(i % 5 == 0 ? OrderStatus.CANCELLED : OrderStatus.CONFIRMED);
+            order.setTotalAmount(new BigDecimal("20.00"));
+            order.setShippingAddress(createAddress(AddressType.SHIPPING));
+            order.setBillingAddress(createAddress(AddressType.BILLING));
+            List<OrderItem> items = new ArrayList<>();
+            items.add(new OrderItem(order, 1L, "Widget, large", null, 2, new BigDecimal("10.00")));
+            order.setItems(items);
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testCursorPagingVisitsEveryOrderOnce() {
+        Set<Long> seen = new HashSet<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            OrderPageDto page = orderService.searchOrders(null, null, null, null, cursor, 10);
+            for (OrderDto order : page.getContent()) {
+                assertThat(seen.add(order.getId())).isTrue();
+                assertThat(order.getItems()).hasSize(1);
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(ORDER_COUNT);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    public void testFiltersAreApplied() {
+        OrderPageDto page = orderService.searchOrders(OrderStatus.CANCELLED, "even-user", null, null, null, 50);
+
+        assertThat(page.getContent()).isNotEmpty()
+                .allMatch(order -> order.getStatus() == OrderStatus.CANCELLED && order.getUserId().equals("even-user"));
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void testExportWritesOneLinePerOrder() {
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        orderExportService.exportOrders(null, null, null, null, OrderExportFormat.NDJSON, ndjson);
+        assertThat(ndjson.toString(StandardCharsets.UTF_8).split("\n")).hasSize(ORDER_COUNT);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        orderExportService.exportOrders(null, "odd-user", null, null, OrderExportFormat.CSV, csv);
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1 + ORDER_COUNT / 2);
+        assertThat(lines[1]).contains("odd-user", "1x2");
+    }
+
+    private Address createAddress(AddressType type) {
+        Address address = new Address();
+        address.setUserId("admin-test");
+        address.setType(type);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZipCode("62701");
+        address.setCountry("USA");
+        return address;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.ArchivedOrderRepository;
+import com.ecommerce.order.repository.OrderItemRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@TestPropertySource(properties = "order.archive.min-age=PT0S")
+public class OrderArchiveServiceImplTest extends BaseTest {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @AfterEach
+    void tearDown() {
+        archivedOrderRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testOnlyTerminalOrdersAreArchived() throws InterruptedException {
+        Order delivered = saveOrder(OrderStatus.DELIVERED);
+        Order cancelled = saveOrder(OrderStatus.CANCELLED);
+        Order pending = saveOrder(OrderStatus.PENDING);
+        Thread.sleep(10);
+
+        assertThat(orderArchiveService.archiveEligibleOrders()).isEqualTo(2);
+
+        assertThat(orderRepository.findAllById(List.of(delivered.getId(), cancelled.getId()))).isEmpty();
+        assertThat(orderItemRepository.findByOrderIds(List.of(delivered.getId(), cancelled.getId()))).isEmpty();
+        assertThat(orderRepository.findById(pending.getId())).isPresent();
+        assertThat(archivedOrderRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testLookupsFallBackToArchive() throws InterruptedException {
+        Order delivered = saveOrder(OrderStatus.DELIVERED);
+        Order pending = saveOrder(OrderStatus.PENDING);
+        Thread.sleep(10);
+        orderArchiveService.archiveEligibleOrders();
+
+        OrderDto archived = orderService.getOrder(delivered.getId(), "archive-user");
+        assertThat(archived.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(archived.getItems()).hasSize(2);
+        assertThat(archived.getShippingAddress().getCity()).isEqualTo("Springfield");
+        assertThat(archived.getTotalAmount()).isEqualByComparingTo("40.00");
+        assertThat(orderService.getOrderStatus(delivered.getId(), "archive-user")).isEqualTo(OrderStatus.DELIVERED);
+
+        assertThat(orderService.getUserOrders("archive-user"))
+                .extracting(OrderDto::getId)
+                .containsExactlyInAnyOrder(delivered.getId(), pending.getId());
+        assertThat(orderArchiveService.findArchivedOrder(delivered.getId(), "someone-else")).isEmpty();
+    }
+
+    private Order saveOrder(OrderStatus status) {
+        Order order = new Order();
+        order.setUserId("archive-user");
+        order.setStatus(status);
+        order.setTotalAmount(new BigDecimal("40.00"));
+        order.setShippingAddress(createAddress(AddressType.SHIPPING));
+        order.setBillingAddress(createAddress(AddressType.BILLING));
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem(order, 1L, "Widget", null, 2, new BigDecimal("10.00")));
+        items.add(new OrderItem(order, 2L, "Gadget", null, 1, new BigDecimal("20.00")));
+        order.setItems(items);
+        return orderRepository.save(order);
+    }
+
+    private Address createAddress(AddressType type) {
+        Address address = new Address();
+        address.setUserId("archive-user");
+        address.setType(type);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZipCode("62701");
+        address.setCountry("USA");
+        return address;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.ecommerce.order.dto.OrderDto;
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.shared.testutil.BaseTest;
+
+public class OrderCancellationTest extends BaseTest {
+
+    private static final String USER_ID = "cancel-user";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private OrderLifecyclePublisher orderLifecyclePublisher;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testCancelConfirmedOrder() {
+        LocalDateTime validatedAt = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        Long orderId = createOrder(OrderStatus.CONFIRMED, validatedAt);
+
+        OrderDto cancelled = orderService.cancelOrder(orderId, USER_ID);
+
+        assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        Order stored = orderRepository.findById(orderId).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(stored.getValidationCompletedAt()).isEqualTo(validatedAt);
+        verify(orderLifecyclePublisher).statusChanged(orderId, USER_ID, OrderStatus.CONFIRMED,
+                OrderStatus.CANCELLED, "Cancelled by customer");
+    }
+
+    @Test
+    public void testCancelAlreadyCancelledOrderPublishesNothing() {
+        Long orderId = createOrder(OrderStatus.CANCELLED, null);
+
+        assertThatThrownBy(() -> orderService.cancelOrder(orderId, USER_ID))
+                .hasMessageContaining("Cannot cancel order in status: CANCELLED");
+
+        verify(orderLifecyclePublisher, never()).statusChanged(any(), any(), any(), any(), any());
+    }
+
+    private Long createOrder(OrderStatus status, LocalDateTime validationCompletedAt) {
+        Order order = new Order();
+        order.setUserId(USER_ID);
+        order.setStatus(status);
+        order.setValidationCompletedAt(validationCompletedAt);
+        order.setTotalAmount(new BigDecimal("10.00"));
+        order.setShippingAddress(createAddress(AddressType.SHIPPING));
+        order.setBillingAddress(createAddress(AddressType.BILLING));
+        order.setItems(new ArrayList<>());
+        return orderRepository.save(order).getId();
+    }
+
+    private Address createAddress(AddressType type) {
+        Address address = new Address();
+        address.setUserId(USER_ID);
+        address.setType(type);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZipCode("62701");
+        address.setCountry("USA");
+        return address;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecommerce.order.dto.OrderSummaryDto;
+import com.ecommerce.order.entity.Address;
+import com.ecommerce.order.entity.AddressType;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.repository.OrderSummaryRepository;
+import com.ecommerce.shared.persistence.money.Money;
+import com.ecommerce.shared.testutil.BaseTest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class OrderHistoryServiceImplTest extends BaseTest {
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        orderSummaryRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    public void testRefreshFlattensOrder() {
+        Order order = saveOrder("history-user");
+        orderHistoryService.refresh(order);
+
+        List<OrderSummaryDto> history = orderHistoryService.getUserOrderHistory("history-user");
+
+        assertThat(history).hasSize(1);
+        OrderSummaryDto summary = history.get(0);
+        assertThat(summary.getId()).isEqualTo(order.getId());
+        assertThat(summary.getItemCount()).isEqualTo(3);
+        assertThat(summary.getLineCount()).isEqualTo(2);
+        assertThat(summary.getThumbnailUrls()).containsExactly("https://img/1.png", "https://img/2.png");
+        assertThat(summary.getShipTo()).isEqualTo("Springfield, IL 62701, USA");
+        assertThat(summary.getTotalAmount()).isEqualTo(Money.ofMinor(4000));
+    }
+
+    @Test
+    public void testStatusUpdateRewritesCachedJson() throws Exception {
+        Order order = saveOrder("history-user");
+        orderHistoryService.refresh(order);
+        orderHistoryService.updateStatus(order.getId(), OrderStatus.CONFIRMED);
+
+        String json = orderHistoryService.getUserOrderHistoryJson("history-user");
+        List<OrderSummaryDto> history = objectMapper.readValue(json, new TypeReference<List<OrderSummaryDto>>() { });
+
+        assertThat(history).hasSize(1);
+        assertThat(history.get(0).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(history.get(0).getTotalAmount()).isEqualTo(Money.ofMinor(4000));
+        // Money is written as the same plain number a BigDecimal total was
+        assertThat(json).contains("\"totalAmount\":40.00");
+        assertThat(json).contains("\"currency\":\"USD\"");
+        assertThat(orderHistoryService.getUserOrderHistoryJson("someone-else")).isEqualTo("[]");
+    }
+
+    @Test
+    public void testBackfillCreatesMissingSummaries() {
+        saveOrder("backfill-user");
+        saveOrder("backfill-user");
+
+        assertThat(orderHistoryService.backfill()).isEqualTo(2);
+        assertThat(orderHistoryService.backfill()).isZero();
+        assertThat(orderHistoryService.getUserOrderHistory("backfill-user"))
+                .hasSize(2)
+                .allMatch(summary -> summary.getItemCount() == 3);
+    }
+
+    private Order saveOrder(String userId) {
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("40.00"));
+        order.setShippingAddress(createAddress(userId, AddressType.SHIPPING));
+        order.setBillingAddress(createAddress(userId, AddressType.BILLING));
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem(order, 1L, "Widget", "https://img/1.png", 2, new BigDecimal("10.00")));
+        items.add(new OrderItem(order, 2L, "Gadget", "https://img/2.png", 1, new BigDecimal("20.00")));
+        order.setItems(items);
+        return orderRepository.save(order);
+    }
+
+    private Address createAddress(String userId, AddressType type) {
+        Address address = new Address();
+        address.setUserId(userId);
+        address.setType(type);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZipCode("62701");
+        address.setCountry("USA");
+        return address;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.order.client.CatalogClient;
+import com.ecommerce.order.dto.ProductDto;
+import com.ecommerce.shared.testutil.BaseTest;
+
+@TestPropertySource(properties = "order.pricing.cache-max-size=10")
+public class ProductPriceCacheServiceTest extends BaseTest {
+
+    @Autowired
+    private ProductPriceCacheService productPriceCacheService;
+
+    @MockBean
+    private CatalogClient catalogClient;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(productPriceCacheService, "cacheTtl", Duration.ofMinutes(5));
+        for (long id = 1; id <= 100; id++) {
+            productPriceCacheService.evict(id);
+        }
+    }
+
+    @Test
+    public void testGetProductsFetchesMissesInOneBatchAndCachesThem() {
+        when(catalogClient.getProductsByIds(List.of(1L, 2L))).thenReturn(List.of(product(1L), product(2L)));
+
+        Map<Long, ProductDto> first = productPriceCacheService.getProducts(List.of(1L, 2L, 1L));
+        Map<Long, ProductDto> second = productPriceCacheService.getProducts(List.of(2L, 1L));
+
+        assertThat(first).containsOnlyKeys(1L, 2L);
+        assertThat(second).containsOnlyKeys(1L, 2L);
+        verify(catalogClient, times(1)).getProductsByIds(anyList());
+    }
+
+    @Test
+    public void testExpiredEntriesAreRefetchedAndSwept() {
+        ReflectionTestUtils.setField(productPriceCacheService, "cacheTtl", Duration.ZERO);
+        productPriceCacheService.put(product(1L));
+        productPriceCacheService.put(product(2L));
+
+        productPriceCacheService.evictExpired();
+        assertThat(productPriceCacheService.size()).isZero();
+
+        when(catalogClient.getProductsByIds(List.of(1L))).thenReturn(List.of(product(1L)));
+        assertThat(productPriceCacheService.getProducts(List.of(1L))).containsOnlyKeys(1L);
+        verify(catalogClient).getProductsByIds(List.of(1L));
+    }
+
+    @Test
+    public void testCacheIsBoundedToMaxSize() {
+        for (long id = 1; id <= 50; id++) {
+            productPriceCacheService.put(product(id));
+            assertThat(productPriceCacheService.size()).isLessThanOrEqualTo(10);
+        }
+
+        // The newest entry outlives the rest, so it is never the one trimmed
+        assertThat(productPriceCacheService.getProducts(List.of(50L))).containsOnlyKeys(50L);
+        verify(catalogClient, never()).getProductsByIds(anyList());
+    }
+
+    private static ProductDto product(Long id) {
+        return ProductDto.builder().id(id).name("Product " + id).price(new BigDecimal("9.99")).isActive(true).build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.order.dto.ProductSalesDto;
+import com.ecommerce.order.dto.SalesRollupDto;
+import com.ecommerce.order.entity.RollupGranularity;
+import com.ecommerce.order.entity.SalesRollup;
+import com.ecommerce.order.repository.ProductSalesRollupRepository;
+import com.ecommerce.order.repository.SalesOrderFactRepository;
+import com.ecommerce.order.repository.SalesRollupRepository;
+import com.ecommerce.shared.events.domain.OrderCreatedEvent;
+import com.ecommerce.shared.events.domain.OrderStatusChangedEvent;
+import com.ecommerce.shared.testutil.BaseTest;
+
+public class SalesAnalyticsServiceImplTest extends BaseTest {
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private ProductSalesRollupRepository productSalesRollupRepository;
+
+    @Autowired
+    private SalesOrderFactRepository salesOrderFactRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        salesRollupRepository.deleteAll();
+        productSalesRollupRepository.deleteAll();
+        salesOrderFactRepository.deleteAll();
+    }
+
+    @Test
+    public void testRollupsFollowOrderLifecycle() {
+        OrderCreatedEvent first = created(1L, 101L, 2, "10.00");
+        OrderCreatedEvent second = created(2L, 102L, 1, "5.00");
+        salesAnalyticsService.recordOrderCreated(first);
+        salesAnalyticsService.recordOrderCreated(second);
+
+        salesAnalyticsService.recordStatusChanged(changed(1L, "PENDING", "CONFIRMED"));
+        salesAnalyticsService.recordStatusChanged(changed(2L, "PENDING", "CONFIRMED"));
+        salesAnalyticsService.recordStatusChanged(changed(2L, "CONFIRMED", "CANCELLED"));
+
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            List<SalesRollupDto> rollups = salesAnalyticsService.getSalesRollups(granularity, from(), to());
+            assertThat(rollups).hasSize(1);
+            SalesRollupDto rollup = rollups.get(0);
+            assertThat(rollup.getOrdersPlaced()).isEqualTo(2);
+            assertThat(rollup.getOrdersConfirmed()).isEqualTo(2);
+            assertThat(rollup.getOrdersCancelled()).isEqualTo(1);
+            assertThat(rollup.getCancellationRate()).isEqualTo(0.5);
+            assertThat(rollup.getUnitsSold()).isEqualTo(2);
+            assertThat(rollup.getRevenue()).isEqualByComparingTo("20.00");
+        }
+
+        List<ProductSalesDto> products = salesAnalyticsService.getTopProducts(RollupGranularity.DAY, from(), to(), 10);
+        assertThat(products).extracting(ProductSalesDto::getProductId).containsExactly(101L, 102L);
+        assertThat(products.get(0).getUnitsSold()).isEqualTo(2);
+        assertThat(products.get(0).getRevenue()).isEqualByComparingTo("20.00");
+        assertThat(products.get(1).getUnitsSold()).isZero();
+    }
+
+    @Test
+    public void testRedeliveredEventsAreNotCountedTwice() {
+        OrderCreatedEvent event = created(3L, 103L, 3, "4.00");
+        OrderStatusChangedEvent confirmed = changed(3L, "PENDING", "CONFIRMED");
+
+        salesAnalyticsService.recordOrderCreated(event);
+        salesAnalyticsService.recordOrderCreated(event);
+        salesAnalyticsService.recordStatusChanged(confirmed);
+        salesAnalyticsService.recordStatusChanged(confirmed);
+
+        SalesRollupDto rollup = salesAnalyticsService.getSalesRollups(RollupGranularity.HOUR, from(), to()).get(0);
+        assertThat(rollup.getOrdersPlaced()).isEqualTo(1);
+        assertThat(rollup.getOrdersConfirmed()).isEqualTo(1);
+        assertThat(rollup.getUnitsSold()).isEqualTo(3);
+        assertThat(rollup.getRevenue()).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    public void testLosingTheBucketInsertRaceStillCounts() throws Exception {
+        OrderCreatedEvent event = created(4L, 104L, 1, "1.00");
+        LocalDateTime hour = RollupGranularity.HOUR.bucketStart(
+                LocalDateTime.ofInstant(event.getTimestamp(), ZoneId.systemDefault()));
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Another consumer creates the hour bucket and holds its transaction open
+        CompletableFuture<Void> winner = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    salesRollupRepository.saveAndFlush(
+                            new SalesRollup(null, RollupGranularity.HOUR, hour, 1, 0, 0, 0, BigDecimal.ZERO));
+                    inserted.countDown();
+                    await(release);
+                }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // This one misses the uncommitted row, so its own insert blocks and then hits the unique key
+        CompletableFuture<Void> loser = CompletableFuture.runAsync(() -> salesAnalyticsService.recordOrderCreated(event));
+        Thread.sleep(300);
+        release.countDown();
+
+        winner.get(10, TimeUnit.SECONDS);
+        loser.get(10, TimeUnit.SECONDS);
+        SalesRollupDto rollup = salesAnalyticsService.getSalesRollups(RollupGranularity.HOUR, from(), to()).get(0);
+        assertThat(rollup.getOrdersPlaced()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderCreatedEvent created(Long orderId, Long productId, int quantity, String unitPrice) {
+        BigDecimal price = new BigDecimal(unitPrice);
+        return OrderCreatedEvent.builder()
+                .orderId(orderId.toString())
+                .userId("analytics-user")
+                .totalAmount(price.multiply(BigDecimal.valueOf(quantity)))
+                .currency("USD")
+                .items(List.of(new OrderCreatedEvent.OrderItem(productId.toString(), quantity, price, "Product")))
+                .source("test")
+                .build();
+    }
+
+    private OrderStatusChangedEvent changed(Long orderId, String previousStatus, String status) {
+        return OrderStatusChangedEvent.builder()
+                .orderId(orderId.toString())
+                .userId("analytics-user")
+                .previousStatus(previousStatus)
+                .status(status)
+                .source("test")
+                .build();
+    }
+
+    private LocalDateTime from() {
+        return LocalDateTime.now().minusDays(1);
+    }
+
+    private LocalDateTime to() {
+        return LocalDateTime.now().plusDays(1);
+    }
+}
@@ -17,6 +17,7 @@ import com.ecommerce.security.dto.AuthResponse;
 import com.ecommerce.security.dto.LoginRequest;
 import com.ecommerce.security.dto.RegisterRequest;
 import com.ecommerce.security.service.AuthService;
+import com.ecommerce.security.service.TokenRevocationService;
 import com.ecommerce.security.util.CookieUtil;
 import com.ecommerce.security.util.JwtUtil;
 
@@ -37,6 +38,9 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
         AuthResponse response = authService.register(request);
@@ -80,7 +84,20 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @CookieValue(value = "jwt_token", required = false) String cookieToken,
+            HttpServletRequest request) {
+        
+        // Revoke the presented token so resource servers stop accepting it before it expires
+        String token = cookieToken;
+        if (token == null && authHeader != null && authHeader.startsWith("Bearer ")) {
+            token = authHeader.substring(7);
+        } else if (token == null) {
+            token = cookieUtil.getJwtFromCookies(request);
+        }
+        tokenRevocationService.revoke(token);
+        
         ResponseCookie cookie = cookieUtil.createDeleteCookie();
         
         return ResponseEntity.ok()
@@ -102,7 +119,7 @@ public class AuthController {
             token = cookieUtil.getJwtFromCookies(request);
         }
         
-        if (token == null || !jwtUtil.validateToken(token)) {
+        if (token == null || !jwtUtil.validateToken(token) || tokenRevocationService.isRevoked(token)) {
             return ResponseEntity.status(401).build();
         }
         
@@ -41,6 +41,9 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     public AuthResponse register(RegisterRequest request) {
         // Check if user already exists
@@ -112,6 +115,10 @@ public class AuthServiceImpl implements AuthService {
             throw new InvalidTokenException("Invalid or expired token");
         }
 
+        if (tokenRevocationService.isRevoked(token)) {
+            throw new InvalidTokenException("Token has been revoked");
+        }
+
         // Refresh the token
         String newToken = jwtUtil.refreshToken(token);
         String userId = jwtUtil.getUserIdFromToken(newToken);
@@ -0,0 +1,17 @@
+package com.ecommerce.security.service;
+
+/**
+ * Interface for token revocation operations
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Revoke a signed token until its natural expiry and broadcast the revocation
+     */
+    void revoke(String token);
+
+    /**
+     * Check whether a token has been revoked
+     */
+    boolean isRevoked(String token);
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.security.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.security.entity.RevokedToken;
+import com.ecommerce.security.repository.RevokedTokenRepository;
+import com.ecommerce.security.util.JwtUtil;
+import com.ecommerce.shared.events.EventPublisher;
+import com.ecommerce.shared.events.domain.TokenRevokedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Transactional
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Value("${security.revocation.publish-timeout:PT5S}")
+    private Duration publishTimeout;
+
+    @Override
+    public void revoke(String token) {
+        if (token == null || !jwtUtil.validateToken(token)) {
+            return;
+        }
+
+        String jti = jwtUtil.getJwtIdFromToken(token);
+        if (jti == null || revokedTokenRepository.existsByJti(jti)) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = jwtUtil.getExpirationDateFromToken(token).toInstant();
+        String userId = jwtUtil.getUserIdFromToken(token);
+
+        revokedTokenRepository.deleteExpired(now);
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .revokedAt(now)
+                .build());
+
+        // Resource servers only learn of the revocation from this event, so the request fails (and the
+        // row rolls back, letting a retry publish again) unless the broker acknowledged it
+        eventPublisher.publishAndWait(TokenRevokedEvent.builder()
+                .jti(jti)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .source("security-service")
+                .build(), publishTimeout);
+
+        log.info("Revoked token {} for user {}", jti, userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isRevoked(String token) {
+        String jti = jwtUtil.getJwtIdFromToken(token);
+        return jti != null && revokedTokenRepository.existsByJti(jti);
+    }
+}
@@ -98,6 +98,16 @@ public class JwtUtil {
         return claims.getSubject();
     }
 
+    public String getJwtIdFromToken(String token) {
+        Claims claims = Jwts.parser()
+                .verifyWith(publicKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+
+        return claims.getId();
+    }
+
     public String getEmailFromToken(String token) {
         Claims claims = Jwts.parser()
                 .verifyWith(publicKey)
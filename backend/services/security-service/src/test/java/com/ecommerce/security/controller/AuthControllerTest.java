@@ -6,6 +6,11 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,10 +19,15 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.KafkaException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import com.ecommerce.shared.events.EventPublisher;
+import com.ecommerce.shared.events.domain.TokenRevokedEvent;
+
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 
@@ -37,6 +47,9 @@ public class AuthControllerTest {
     @LocalServerPort
     private int port;
 
+    @MockBean
+    private EventPublisher eventPublisher;
+
     private String baseUri;
     private String validToken;
 
@@ -393,4 +406,89 @@ public class AuthControllerTest {
         .then()
             .statusCode(anyOf(equalTo(200), equalTo(400))); // Depends on validation rules
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(16)
+    @DisplayName("Should reject refresh with a token revoked by logout")
+    void testLogoutRevokesToken() {
+        String token = given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "email": "logout@example.com",
+                    "password": "password123",
+                    "firstName": "Logout",
+                    "lastName": "Test"
+                }
+                """)
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(200)
+            .extract()
+            .path("token");
+
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .post("/auth/logout")
+        .then()
+            .statusCode(200);
+
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .post("/auth/refresh")
+        .then()
+            .statusCode(401);
+
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .get("/auth/me")
+        .then()
+            .statusCode(401);
+
+        verify(eventPublisher).publishAndWait(any(TokenRevokedEvent.class), any(Duration.class));
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Should fail logout and keep the token usable when the revocation cannot be published")
+    void testLogoutFailsWhenRevocationIsNotPublished() {
+        String token = given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "email": "logout-retry@example.com",
+                    "password": "password123",
+                    "firstName": "Logout",
+                    "lastName": "Retry"
+                }
+                """)
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(200)
+            .extract()
+            .path("token");
+
+        doThrow(new KafkaException("broker unavailable"))
+            .when(eventPublisher).publishAndWait(any(TokenRevokedEvent.class), any(Duration.class));
+
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .post("/auth/logout")
+        .then()
+            .statusCode(500);
+
+        // Nothing was recorded, so a retried logout can revoke and publish again
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .get("/auth/me")
+        .then()
+            .statusCode(200);
+    }
+}
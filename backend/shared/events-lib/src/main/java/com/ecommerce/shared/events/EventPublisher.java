@@ -1,5 +1,7 @@
 package com.ecommerce.shared.events;
 
+import java.time.Duration;
+
 /**
  * Interface for event publishers.
  * Provides a simple abstraction for publishing domain events.
@@ -41,4 +43,15 @@ public interface EventPublisher {
      * @param <T> the event type
      */
     <T extends BaseEvent> void publish(String topic, T event, String partitionKey);
+
+    /**
+     * Publishes an event to the appropriate topic and waits for the broker to acknowledge it,
+     * for callers that must not report success while the event may be lost.
+     *
+     * @param event the event to publish
+     * @param timeout how long to wait for the acknowledgement
+     * @param <T> the event type
+     * @throws org.springframework.kafka.KafkaException if the event is not acknowledged in time
+     */
+    <T extends BaseEvent> void publishAndWait(T event, Duration timeout);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.ecommerce.shared.events.annotation;
 
+import org.springframework.core.annotation.AliasFor;
 import org.springframework.kafka.annotation.KafkaListener;
 
 import java.lang.annotation.ElementType;
@@ -19,11 +20,13 @@ public @interface EventListener {
     /**
      * The topics to listen to.
      */
+    @AliasFor(annotation = KafkaListener.class)
     String[] topics() default {};
 
     /**
      * The consumer group ID.
      */
+    @AliasFor(annotation = KafkaListener.class)
     String groupId() default "#{T(java.util.UUID).randomUUID().toString()}";
 
     /**
@@ -32,12 +35,14 @@ public @interface EventListener {
     boolean autoAck() default false;
 
     /**
-     * Error handler bean name.
+     * Error handler bean name; by default failed events go to the retry topics and then the dead-letter topic.
      */
-    String errorHandler() default "";
+    @AliasFor(annotation = KafkaListener.class)
+    String errorHandler() default "eventRetryErrorHandler";
 
     /**
      * Container factory bean name.
      */
+    @AliasFor(annotation = KafkaListener.class)
     String containerFactory() default "kafkaListenerContainerFactory";
 }
\ No newline at end of file
@@ -5,7 +5,10 @@ import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,15 +19,31 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.KafkaListenerErrorHandler;
+import org.springframework.kafka.support.converter.MessagingMessageConverter;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import com.ecommerce.shared.events.EventPublisher;
 import com.ecommerce.shared.events.impl.KafkaEventPublisher;
+import com.ecommerce.shared.events.metrics.EventMetrics;
+import com.ecommerce.shared.events.metrics.EventMetricsRecordInterceptor;
+import com.ecommerce.shared.events.retry.EventRetryErrorHandler;
+import com.ecommerce.shared.events.retry.EventRetryGroupFilter;
+import com.ecommerce.shared.events.retry.EventRetryRecoverer;
+import com.ecommerce.shared.events.retry.EventRetryRelay;
+import com.ecommerce.shared.events.revocation.TokenRevocationList;
+import com.ecommerce.shared.events.revocation.TokenRevocationListener;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -78,7 +97,10 @@ public class EventsAutoConfiguration {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, eventsProperties.getBootstrapServers());
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, eventsProperties.getConsumer().getKeyDeserializer());
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, eventsProperties.getConsumer().getValueDeserializer());
+        // A value that cannot be deserialized reaches the error handler (and the dead-letter topic) as a
+        // DeserializationException instead of failing every poll of its partition
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, eventsProperties.getConsumer().getValueDeserializer());
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, eventsProperties.getConsumer().getAutoOffsetReset());
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, eventsProperties.getConsumer().isEnableAutoCommit());
         configProps.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, eventsProperties.getConsumer().getIsolationLevel());
@@ -89,17 +111,22 @@ public class EventsAutoConfiguration {
         // Configure JSON deserializer
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.ecommerce.*");
         configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, true);
+        // The recoverer tells events of another type from real failures by the type header
+        configProps.put(JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false);
         configProps.put(JsonDeserializer.TYPE_MAPPINGS, 
             "CartItemAddedEvent:com.ecommerce.shared.events.domain.CartItemAddedEvent," +
             "CartItemUpdatedEvent:com.ecommerce.shared.events.domain.CartItemUpdatedEvent," +
             "CartItemRemovedEvent:com.ecommerce.shared.events.domain.CartItemRemovedEvent," +
+            "CartItemsChangedEvent:com.ecommerce.shared.events.domain.CartItemsChangedEvent," +
             "ProductUpdatedEvent:com.ecommerce.shared.events.domain.ProductUpdatedEvent," +
             "ProductDeletedEvent:com.ecommerce.shared.events.domain.ProductDeletedEvent," +
             "OrderCreatedEvent:com.ecommerce.shared.events.domain.OrderCreatedEvent," +
+            "OrderStatusChangedEvent:com.ecommerce.shared.events.domain.OrderStatusChangedEvent," +
             "CartValidationRequestedEvent:com.ecommerce.shared.events.domain.CartValidationRequestedEvent," +
             "CartValidationCompletedEvent:com.ecommerce.shared.events.domain.CartValidationCompletedEvent," +
             "ProductValidationRequestedEvent:com.ecommerce.shared.events.domain.ProductValidationRequestedEvent," +
-            "ProductValidationCompletedEvent:com.ecommerce.shared.events.domain.ProductValidationCompletedEvent");
+            "ProductValidationCompletedEvent:com.ecommerce.shared.events.domain.ProductValidationCompletedEvent," +
+            "TokenRevokedEvent:com.ecommerce.shared.events.domain.TokenRevokedEvent");
 
         return new DefaultKafkaConsumerFactory<>(configProps);
     }
@@ -107,16 +134,94 @@ public class EventsAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
-            ConsumerFactory<String, Object> consumerFactory) {
+            ConsumerFactory<String, Object> consumerFactory, EventMetrics eventMetrics,
+            ObjectProvider<EventRetryRecoverer> eventRetryRecoverer) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        EventMetricsRecordInterceptor metricsInterceptor = new EventMetricsRecordInterceptor(eventMetrics);
+        factory.setRecordInterceptor(new CompositeRecordInterceptor<>(new EventRetryGroupFilter(), metricsInterceptor));
+        factory.getContainerProperties().setConsumerRebalanceListener(metricsInterceptor);
+
+        // The retry error handler reads the ConsumerRecord from the message headers
+        MessagingMessageConverter messageConverter = new MessagingMessageConverter();
+        messageConverter.setRawRecordHeader(true);
+        factory.setRecordMessageConverter(messageConverter);
+
+        // Listeners that throw (without the listener-level handler) are recovered at once, without blocking retries
+        EventRetryRecoverer recoverer = eventRetryRecoverer.getIfAvailable();
+        if (recoverer != null) {
+            DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(0L, 0L));
+            errorHandler.setCommitRecovered(true);
+            factory.setCommonErrorHandler(errorHandler);
+        }
         return factory;
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public EventPublisher eventPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
-        return new KafkaEventPublisher(kafkaTemplate, eventsProperties);
+    @ConditionalOnProperty(prefix = "ecommerce.events.retry", name = "enabled", matchIfMissing = true)
+    public EventRetryRecoverer eventRetryRecoverer(KafkaTemplate<String, Object> kafkaTemplate,
+                                                   EventMetrics eventMetrics) {
+        // Values that failed to deserialize are forwarded as their original bytes
+        KafkaTemplate<String, Object> rawKafkaTemplate = new KafkaTemplate<>(kafkaTemplate.getProducerFactory(),
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        return new EventRetryRecoverer(kafkaTemplate, rawKafkaTemplate, eventsProperties.getRetry(), eventMetrics);
+    }
+
+    /**
+     * Default error handler of @EventListener; rethrows to the container when retry is disabled
+     */
+    @Bean(name = EventRetryErrorHandler.BEAN_NAME)
+    @ConditionalOnMissingBean(name = EventRetryErrorHandler.BEAN_NAME)
+    public KafkaListenerErrorHandler eventRetryErrorHandler(ObjectProvider<EventRetryRecoverer> eventRetryRecoverer) {
+        EventRetryRecoverer recoverer = eventRetryRecoverer.getIfAvailable();
+        if (recoverer == null) {
+            return (message, exception) -> {
+                throw exception;
+            };
+        }
+        return new EventRetryErrorHandler(recoverer);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "ecommerce.events.retry", name = "enabled", matchIfMissing = true)
+    public EventRetryRelay eventRetryRelay(ConsumerFactory<String, Object> consumerFactory,
+                                           ProducerFactory<String, Object> producerFactory) {
+        return new EventRetryRelay(consumerFactory.getConfigurationProperties(),
+                producerFactory.getConfigurationProperties(), eventsProperties.getRetry());
+    }
+
+    /**
+     * Event meters on the service's MeterRegistry (the no-op global registry if there is none)
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public EventMetrics eventMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new EventMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EventPublisher eventPublisher(KafkaTemplate<String, Object> kafkaTemplate, EventMetrics eventMetrics) {
+        return new KafkaEventPublisher(kafkaTemplate, eventsProperties, eventMetrics);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "ecommerce.events.revocation", name = "enabled", matchIfMissing = true)
+    public TokenRevocationList tokenRevocationList() {
+        return new TokenRevocationList(
+            eventsProperties.getRevocation().getExpectedInsertions(),
+            eventsProperties.getRevocation().getFalsePositiveRate());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ecommerce.events.revocation", name = "enabled", matchIfMissing = true)
+    public TokenRevocationListener tokenRevocationListener(ConsumerFactory<String, Object> consumerFactory,
+                                                           TokenRevocationList tokenRevocationList) {
+        return new TokenRevocationListener(consumerFactory, eventsProperties.getTopics().getUserEvents(),
+                tokenRevocationList);
     }
 }
\ No newline at end of file
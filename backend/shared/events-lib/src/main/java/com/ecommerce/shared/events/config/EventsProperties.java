@@ -3,6 +3,10 @@ package com.ecommerce.shared.events.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for Kafka events.
  */
@@ -14,6 +18,8 @@ public class EventsProperties {
     private Producer producer = new Producer();
     private Consumer consumer = new Consumer();
     private Topics topics = new Topics();
+    private Revocation revocation = new Revocation();
+    private Retry retry = new Retry();
 
     @Data
     public static class Producer {
@@ -30,6 +36,7 @@ public class EventsProperties {
     @Data
     public static class Consumer {
         private String keyDeserializer = "org.apache.kafka.common.serialization.StringDeserializer";
+        /** Delegate of the ErrorHandlingDeserializer that wraps every events consumer's values */
         private String valueDeserializer = "org.springframework.kafka.support.serializer.JsonDeserializer";
         private String autoOffsetReset = "earliest";
         private boolean enableAutoCommit = false;
@@ -47,4 +54,27 @@ public class EventsProperties {
         private String userEvents = "user-events";
         private String paymentEvents = "payment-events";
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class Revocation {
+        private boolean enabled = true;
+        private int expectedInsertions = 100000;
+        private double falsePositiveRate = 0.01;
+    }
+
+    /**
+     * Non-blocking retry of failed events: attempt n goes to {topic}{retryTopicSuffix}{n} and is
+     * re-delivered to its consumer group after delays[n-1]; once the delays run out it goes to
+     * {topic}{deadLetterTopicSuffix}.
+     */
+    @Data
+    public static class Retry {
+        private boolean enabled = true;
+        private List<Duration> delays = new ArrayList<>(List.of(
+                Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(1)));
+        private String retryTopicSuffix = "-retry-";
+        private String deadLetterTopicSuffix = "-dlt";
+        private String relayGroupId = "events-retry-relay";
+        private Duration sendTimeout = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.shared.events.domain;
+
+import java.util.List;
+
+import com.ecommerce.shared.events.BaseEvent;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event published when several lines of one cart change together (bulk mutation or cart merge).
+ * Keyed by user, so a user's batches are applied in order.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class CartItemsChangedEvent extends BaseEvent {
+
+    @JsonProperty("userId")
+    @NotBlank
+    private String userId;
+
+    @JsonProperty("changes")
+    @NotEmpty
+    private List<Change> changes;
+
+    @Builder
+    public CartItemsChangedEvent(String userId, List<Change> changes, String source, String correlationId) {
+        super(userId, "Cart", source, correlationId);
+        this.userId = userId;
+        this.changes = changes;
+    }
+
+    /**
+     * One changed line: its state afterwards (quantity 0 if it was removed) and its quantity before (0 if it was created)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Change {
+        @JsonProperty("cartItemId")
+        private Long cartItemId;
+
+        @JsonProperty("cartId")
+        private String cartId;
+
+        @JsonProperty("productId")
+        private Long productId;
+
+        @JsonProperty("quantity")
+        private Integer quantity;
+
+        @JsonProperty("previousQuantity")
+        private Integer previousQuantity;
+    }
+}
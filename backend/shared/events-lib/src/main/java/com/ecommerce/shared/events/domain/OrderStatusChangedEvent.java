@@ -0,0 +1,44 @@
+package com.ecommerce.shared.events.domain;
+
+import com.ecommerce.shared.events.BaseEvent;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event published by order-service whenever an order moves from one status to another.
+ * Keyed by order ID, so transitions of the same order stay in order on the topic.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class OrderStatusChangedEvent extends BaseEvent {
+
+    @JsonProperty("userId")
+    @NotBlank
+    private String userId;
+
+    @JsonProperty("previousStatus")
+    private String previousStatus;
+
+    @JsonProperty("status")
+    @NotBlank
+    private String status;
+
+    @JsonProperty("reason")
+    private String reason;
+
+    @Builder
+    public OrderStatusChangedEvent(String orderId, String userId, String previousStatus, String status,
+                                   String reason, String source, String correlationId) {
+        super(orderId, "Order", source, correlationId);
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.shared.events.domain;
+
+import java.time.Instant;
+
+import com.ecommerce.shared.events.BaseEvent;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event published by security-service when an access token is revoked before its expiry.
+ * Consumers only need to remember the jti until expiresAt; after that the token is rejected anyway.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class TokenRevokedEvent extends BaseEvent {
+
+    @JsonProperty("jti")
+    @NotBlank
+    private String jti;
+
+    @JsonProperty("userId")
+    private String userId;
+
+    @JsonProperty("expiresAt")
+    @NotNull
+    private Instant expiresAt;
+
+    @Builder
+    public TokenRevokedEvent(String jti, String userId, Instant expiresAt,
+                             String source, String correlationId) {
+        super(userId, "User", source, correlationId);
+        this.jti = jti;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+}
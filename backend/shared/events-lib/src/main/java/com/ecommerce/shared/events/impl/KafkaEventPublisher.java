@@ -3,12 +3,18 @@ package com.ecommerce.shared.events.impl;
 import com.ecommerce.shared.events.BaseEvent;
 import com.ecommerce.shared.events.EventPublisher;
 import com.ecommerce.shared.events.config.EventsProperties;
+import com.ecommerce.shared.events.metrics.EventMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Kafka implementation of EventPublisher.
@@ -19,6 +25,7 @@ public class KafkaEventPublisher implements EventPublisher {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final EventsProperties eventsProperties;
+    private final EventMetrics eventMetrics;
 
     @Override
     public <T extends BaseEvent> void publish(T event) {
@@ -39,12 +46,38 @@ public class KafkaEventPublisher implements EventPublisher {
 
     @Override
     public <T extends BaseEvent> void publish(String topic, T event, String partitionKey) {
+        send(topic, event, partitionKey);
+    }
+
+    @Override
+    public <T extends BaseEvent> void publishAndWait(T event, Duration timeout) {
+        String topic = getTopicForEvent(event);
+        try {
+            send(topic, event, event.getAggregateId()).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted publishing event " + event.getEventType() + " to " + topic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to publish event " + event.getEventType() + " to " + topic, e);
+        }
+    }
+
+    private <T extends BaseEvent> CompletableFuture<SendResult<String, Object>> send(String topic, T event,
+                                                                                    String partitionKey) {
         log.debug("Publishing event {} to topic {} with partition key {}", 
                 event.getEventType(), topic, partitionKey);
 
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, partitionKey, event);
+        long startNanos = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplate.send(topic, partitionKey, event);
+        } catch (RuntimeException e) {
+            eventMetrics.recordPublish(event.getEventType(), topic, System.nanoTime() - startNanos, e);
+            throw e;
+        }
         
         future.whenComplete((result, ex) -> {
+            eventMetrics.recordPublish(event.getEventType(), topic, System.nanoTime() - startNanos, ex);
             if (ex != null) {
                 log.error("Failed to publish event {} to topic {}: {}", 
                         event.getEventType(), topic, ex.getMessage(), ex);
@@ -53,6 +86,7 @@ public class KafkaEventPublisher implements EventPublisher {
                         event.getEventType(), topic, result.getRecordMetadata().offset());
             }
         });
+        return future;
     }
 
     private <T extends BaseEvent> String getTopicForEvent(T event) {
@@ -0,0 +1,120 @@
+package com.ecommerce.shared.events.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Micrometer meters for publishing and consuming events.
+ *
+ * <ul>
+ *   <li>events.publish: send to broker acknowledgement, by event.type, topic and outcome</li>
+ *   <li>events.consume: listener processing time, by event.type, topic, group and outcome</li>
+ *   <li>events.end_to_end.latency: event timestamp to end of processing, by event.type, topic and group</li>
+ *   <li>events.publish.errors / events.consume.errors: failures by exception</li>
+ *   <li>events.consumer.lag: records behind the log end, by group, topic and partition; removed when the
+ *       partition is revoked, so a partition moved to another instance is reported only there</li>
+ *   <li>events.recovered: failed records sent to a retry topic, the dead-letter topic or skipped, by action</li>
+ * </ul>
+ *
+ * Registered on the service's MeterRegistry, so they are listed by the actuator metrics endpoint.
+ */
+@RequiredArgsConstructor
+public class EventMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Map<LagKey, LagGauge> lags = new ConcurrentHashMap<>();
+
+    public void recordPublish(String eventType, String topic, long durationNanos, Throwable error) {
+        Timer.builder("events.publish")
+                .description("Time from send to broker acknowledgement")
+                .tags("event.type", eventType, "topic", topic, "outcome", outcome(error))
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            registry.counter("events.publish.errors",
+                    "event.type", eventType, "topic", topic, "exception", exceptionName(error)).increment();
+        }
+    }
+
+    public void recordConsume(String eventType, String topic, String group, long durationNanos, Throwable error) {
+        Timer.builder("events.consume")
+                .description("Listener processing time per record")
+                .tags("event.type", eventType, "topic", topic, "group", group, "outcome", outcome(error))
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            registry.counter("events.consume.errors",
+                    "event.type", eventType, "topic", topic, "group", group, "exception", exceptionName(error))
+                    .increment();
+        }
+    }
+
+    /**
+     * Record the time since the event was created (BaseEvent.timestamp); clock skew between hosts applies
+     */
+    public void recordEndToEnd(String eventType, String topic, String group, Instant timestamp) {
+        if (timestamp == null) {
+            return;
+        }
+        Duration latency = Duration.between(timestamp, Instant.now());
+        Timer.builder("events.end_to_end.latency")
+                .description("Time from event creation to the end of its processing")
+                .tags("event.type", eventType, "topic", topic, "group", group)
+                .register(registry)
+                .record(latency.isNegative() ? Duration.ZERO : latency);
+    }
+
+    public void recordLag(String group, String topic, int partition, long lag) {
+        lags.computeIfAbsent(new LagKey(group, topic, partition), key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge gauge = Gauge.builder("events.consumer.lag", value, AtomicLong::get)
+                    .description("Records between the consumer position and the log end")
+                    .tags("group", group, "topic", topic, "partition", Integer.toString(partition))
+                    .register(registry);
+            return new LagGauge(value, gauge);
+        }).value().set(lag);
+    }
+
+    /**
+     * Stop reporting lag for a partition this consumer no longer owns
+     */
+    public void removeLag(String group, String topic, int partition) {
+        LagGauge removed = lags.remove(new LagKey(group, topic, partition));
+        if (removed != null) {
+            registry.remove(removed.gauge());
+        }
+    }
+
+    public void recordRecovery(String eventType, String topic, String group, String action) {
+        registry.counter("events.recovered",
+                "event.type", eventType, "topic", topic, "group", group, "action", action).increment();
+    }
+
+    private static String outcome(Throwable error) {
+        return error == null ? "success" : "failure";
+    }
+
+    private static String exceptionName(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    private record LagKey(String group, String topic, int partition) {
+    }
+
+    private record LagGauge(AtomicLong value, Gauge gauge) {
+    }
+}
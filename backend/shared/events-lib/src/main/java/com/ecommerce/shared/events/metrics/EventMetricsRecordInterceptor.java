@@ -0,0 +1,94 @@
+package com.ecommerce.shared.events.metrics;
+
+import java.util.Collection;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import com.ecommerce.shared.events.BaseEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Times every record handled by containers from the events listener factory and samples consumer lag.
+ * Runs on the consumer thread, so the start time is kept per thread. Also registered as the containers'
+ * rebalance listener, to drop the lag gauges of partitions that are revoked or lost.
+ */
+@RequiredArgsConstructor
+public class EventMetricsRecordInterceptor
+        implements RecordInterceptor<String, Object>, ConsumerAwareRebalanceListener {
+
+    private final EventMetrics eventMetrics;
+
+    private final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+
+    @Override
+    public ConsumerRecord<String, Object> intercept(ConsumerRecord<String, Object> record,
+                                                    Consumer<String, Object> consumer) {
+        startNanos.set(System.nanoTime());
+        consumer.currentLag(new TopicPartition(record.topic(), record.partition()))
+                .ifPresent(lag -> eventMetrics.recordLag(group(consumer), record.topic(), record.partition(), lag));
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<String, Object> record, Consumer<String, Object> consumer) {
+        finish(record, consumer, null);
+    }
+
+    @Override
+    public void failure(ConsumerRecord<String, Object> record, Exception exception, Consumer<String, Object> consumer) {
+        finish(record, consumer, exception);
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        removeLag(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        removeLag(consumer, partitions);
+    }
+
+    private void removeLag(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        String group = group(consumer);
+        for (TopicPartition partition : partitions) {
+            eventMetrics.removeLag(group, partition.topic(), partition.partition());
+        }
+    }
+
+    private void finish(ConsumerRecord<String, Object> record, Consumer<String, Object> consumer, Exception error) {
+        Long start = startNanos.get();
+        startNanos.remove();
+        if (start == null) {
+            return;
+        }
+
+        String group = group(consumer);
+        String eventType = eventType(record.value());
+        eventMetrics.recordConsume(eventType, record.topic(), group, System.nanoTime() - start, error);
+        if (record.value() instanceof BaseEvent event) {
+            eventMetrics.recordEndToEnd(eventType, record.topic(), group, event.getTimestamp());
+        }
+    }
+
+    private static String eventType(Object value) {
+        if (value instanceof BaseEvent event && event.getEventType() != null) {
+            return event.getEventType();
+        }
+        return value != null ? value.getClass().getSimpleName() : "none";
+    }
+
+    private static String group(Consumer<?, ?> consumer) {
+        try {
+            String groupId = consumer.groupMetadata().groupId();
+            return groupId != null ? groupId : "none";
+        } catch (RuntimeException e) {
+            return "none";
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.shared.events.retry;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.KafkaListenerErrorHandler;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Listener-level error handler used by {@link com.ecommerce.shared.events.annotation.EventListener}:
+ * recovers the failed record through the {@link EventRetryRecoverer} and acknowledges it, so the
+ * container neither re-seeks the partition nor blocks on the record.
+ *
+ * Needs the raw ConsumerRecord header, which the events listener container factory enables.
+ */
+@RequiredArgsConstructor
+public class EventRetryErrorHandler implements KafkaListenerErrorHandler {
+
+    public static final String BEAN_NAME = "eventRetryErrorHandler";
+
+    private final EventRetryRecoverer recoverer;
+
+    @Override
+    public Object handleError(Message<?> message, ListenerExecutionFailedException exception) {
+        throw exception;
+    }
+
+    @Override
+    public Object handleError(Message<?> message, ListenerExecutionFailedException exception,
+                              Consumer<?, ?> consumer, Acknowledgment ack) {
+        ConsumerRecord<?, ?> record = message.getHeaders().get(KafkaHeaders.RAW_DATA, ConsumerRecord.class);
+        if (record == null || consumer == null) {
+            // Left to the container's error handler, which uses the same recoverer
+            throw exception;
+        }
+        recoverer.accept(record, consumer, exception);
+        if (ack != null) {
+            ack.acknowledge();
+        }
+        return null;
+    }
+}
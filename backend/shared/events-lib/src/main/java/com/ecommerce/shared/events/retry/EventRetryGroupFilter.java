@@ -0,0 +1,23 @@
+package com.ecommerce.shared.events.retry;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+/**
+ * Skips retried records addressed to another consumer group. A retry is re-delivered on the
+ * original topic, where every group subscribed to it sees the record again.
+ */
+public class EventRetryGroupFilter implements RecordInterceptor<String, Object> {
+
+    @Override
+    public ConsumerRecord<String, Object> intercept(ConsumerRecord<String, Object> record,
+                                                    Consumer<String, Object> consumer) {
+        String target = EventRetryHeaders.value(record.headers(), EventRetryHeaders.GROUP);
+        if (target == null) {
+            return record;
+        }
+        String group = EventRetryRecoverer.groupId(consumer);
+        return "none".equals(group) || target.equals(group) ? record : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.shared.events.retry;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Headers written on retry and dead-letter records. Values are UTF-8 strings.
+ */
+public final class EventRetryHeaders {
+
+    public static final String PREFIX = "x-event-";
+
+    /** Consumer group whose listener failed; only that group handles the re-delivered record */
+    public static final String GROUP = PREFIX + "retry-group";
+    /** Retries done so far */
+    public static final String ATTEMPTS = PREFIX + "retry-attempts";
+    /** Epoch millis at which a retry record is re-delivered */
+    public static final String DUE = PREFIX + "retry-due";
+
+    public static final String ORIGINAL_TOPIC = PREFIX + "original-topic";
+    public static final String ORIGINAL_PARTITION = PREFIX + "original-partition";
+    public static final String ORIGINAL_OFFSET = PREFIX + "original-offset";
+
+    public static final String EXCEPTION = PREFIX + "exception";
+    public static final String EXCEPTION_MESSAGE = PREFIX + "exception-message";
+    public static final String EXCEPTION_CAUSE = PREFIX + "exception-cause";
+    public static final String EXCEPTION_STACKTRACE = PREFIX + "exception-stacktrace";
+
+    private EventRetryHeaders() {
+    }
+
+    public static String value(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    public static long longValue(Headers headers, String key, long defaultValue) {
+        String value = value(headers, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    static void set(Headers headers, String key, Object value) {
+        headers.remove(key);
+        if (value != null) {
+            headers.add(key, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.ecommerce.shared.events.retry;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRecordRecoverer;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.handler.invocation.MethodArgumentResolutionException;
+
+import com.ecommerce.shared.events.BaseEvent;
+import com.ecommerce.shared.events.config.EventsProperties;
+import com.ecommerce.shared.events.metrics.EventMetrics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands a record whose listener failed to the next retry topic, or to the dead-letter topic once
+ * the configured delays are used up, so the partition moves on instead of re-polling the record.
+ *
+ * Records whose value could not be deserialized go to the dead-letter topic at once, as their
+ * original bytes. Records of another event type reaching a typed listener method are skipped: on
+ * the shared topics no retry would help. If the send fails the exception propagates and the
+ * record is delivered again.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EventRetryRecoverer implements ConsumerAwareRecordRecoverer, DisposableBean {
+
+    private static final int MAX_STACKTRACE_LENGTH = 8192;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    /** Sends byte[] values as they are; owned by this recoverer */
+    private final KafkaTemplate<String, Object> rawKafkaTemplate;
+    private final EventsProperties.Retry retry;
+    private final EventMetrics eventMetrics;
+
+    @Override
+    public void accept(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer, Exception exception) {
+        String group = groupId(consumer);
+        String eventType = eventType(record);
+        Throwable failure = exception instanceof ListenerExecutionFailedException && exception.getCause() != null
+                ? exception.getCause() : exception;
+
+        DeserializationException deserializationFailure = deserializationFailure(failure);
+        if (deserializationFailure != null) {
+            // Retrying cannot change the bytes; keep them as they were for inspection
+            String topic = record.topic() + retry.getDeadLetterTopicSuffix();
+            Headers headers = failureHeaders(record, group, deserializationFailure, true);
+            EventRetryHeaders.set(headers, EventRetryHeaders.ATTEMPTS, 0);
+            EventRetryHeaders.set(headers, EventRetryHeaders.EXCEPTION_STACKTRACE, stackTrace(deserializationFailure));
+            send(rawKafkaTemplate,
+                    new ProducerRecord<>(topic, null, key(record), deserializationFailure.getData(), headers));
+            log.error("{} on {}-{}@{} could not be deserialized in group {}, sent to {}", eventType, record.topic(),
+                    record.partition(), record.offset(), group, topic, deserializationFailure);
+            eventMetrics.recordRecovery(eventType, record.topic(), group, "dead_letter");
+            return;
+        }
+
+        if (isNotForListener(record, failure)) {
+            log.debug("Skipping {} on {}-{}@{} in group {}: not handled by this listener",
+                    eventType, record.topic(), record.partition(), record.offset(), group);
+            eventMetrics.recordRecovery(eventType, record.topic(), group, "skip");
+            return;
+        }
+
+        List<Duration> delays = retry.getDelays();
+        int attempt = (int) EventRetryHeaders.longValue(record.headers(), EventRetryHeaders.ATTEMPTS, 0) + 1;
+        Headers headers = failureHeaders(record, group, failure, false);
+
+        if (attempt <= delays.size()) {
+            Duration delay = delays.get(attempt - 1);
+            String topic = record.topic() + retry.getRetryTopicSuffix() + attempt;
+            EventRetryHeaders.set(headers, EventRetryHeaders.ATTEMPTS, attempt);
+            EventRetryHeaders.set(headers, EventRetryHeaders.DUE, System.currentTimeMillis() + delay.toMillis());
+            send(kafkaTemplate, new ProducerRecord<>(topic, null, key(record), record.value(), headers));
+            log.warn("{} on {}-{}@{} failed in group {} ({}), retry {} of {} in {}", eventType, record.topic(),
+                    record.partition(), record.offset(), group, failure.toString(), attempt, delays.size(), delay);
+            eventMetrics.recordRecovery(eventType, record.topic(), group, "retry");
+        } else {
+            String topic = record.topic() + retry.getDeadLetterTopicSuffix();
+            EventRetryHeaders.set(headers, EventRetryHeaders.ATTEMPTS, attempt - 1);
+            EventRetryHeaders.set(headers, EventRetryHeaders.EXCEPTION_STACKTRACE, stackTrace(failure));
+            send(kafkaTemplate, new ProducerRecord<>(topic, null, key(record), record.value(), headers));
+            log.error("{} on {}-{}@{} failed in group {} after {} retries, sent to {}", eventType, record.topic(),
+                    record.partition(), record.offset(), group, attempt - 1, topic, failure);
+            eventMetrics.recordRecovery(eventType, record.topic(), group, "dead_letter");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rawKafkaTemplate.destroy();
+    }
+
+    /**
+     * Copy the record's own headers and describe the failure. Type headers are kept only for raw
+     * values; the JSON serializer writes them again for events.
+     */
+    private static Headers failureHeaders(ConsumerRecord<?, ?> record, String group, Throwable failure,
+                                          boolean keepTypeHeaders) {
+        Headers headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            String key = header.key();
+            if ((keepTypeHeaders || !key.startsWith("__")) && !key.startsWith(EventRetryHeaders.PREFIX)
+                    && !key.startsWith(SerializationUtils.DESERIALIZER_EXCEPTION_HEADER_PREFIX)) {
+                headers.add(header);
+            }
+        }
+        Throwable cause = rootCause(failure);
+        EventRetryHeaders.set(headers, EventRetryHeaders.GROUP, group);
+        EventRetryHeaders.set(headers, EventRetryHeaders.ORIGINAL_TOPIC, record.topic());
+        EventRetryHeaders.set(headers, EventRetryHeaders.ORIGINAL_PARTITION, record.partition());
+        EventRetryHeaders.set(headers, EventRetryHeaders.ORIGINAL_OFFSET, record.offset());
+        EventRetryHeaders.set(headers, EventRetryHeaders.EXCEPTION, failure.getClass().getName());
+        EventRetryHeaders.set(headers, EventRetryHeaders.EXCEPTION_MESSAGE, failure.getMessage());
+        if (cause != failure) {
+            EventRetryHeaders.set(headers, EventRetryHeaders.EXCEPTION_CAUSE, cause.getClass().getName());
+        }
+        return headers;
+    }
+
+    private void send(KafkaTemplate<String, Object> template, ProducerRecord<String, Object> producerRecord) {
+        try {
+            template.send(producerRecord).get(retry.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted sending failed event to " + producerRecord.topic(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to send failed event to " + producerRecord.topic(), e);
+        }
+    }
+
+    private static DeserializationException deserializationFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof DeserializationException deserializationException) {
+                return deserializationException;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A conversion failure of a value read as the event class its type header names. The payload is
+     * only converted when it is not already of the listener's parameter type, so the listener expects
+     * a different event class. Without a type header, or with a value of another class, the failure
+     * is a real one and is retried.
+     */
+    private static boolean isNotForListener(ConsumerRecord<?, ?> record, Throwable failure) {
+        String typeId = typeId(record);
+        Object value = record.value();
+        if (typeId == null || value == null
+                || !(typeId.equals(value.getClass().getName()) || typeId.equals(value.getClass().getSimpleName()))) {
+            return false;
+        }
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof MessageConversionException || t instanceof ConversionException
+                    || t instanceof MethodArgumentResolutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter writer = new StringWriter();
+        failure.printStackTrace(new PrintWriter(writer));
+        String trace = writer.toString();
+        return trace.length() > MAX_STACKTRACE_LENGTH ? trace.substring(0, MAX_STACKTRACE_LENGTH) : trace;
+    }
+
+    private static String key(ConsumerRecord<?, ?> record) {
+        return record.key() != null ? record.key().toString() : null;
+    }
+
+    private static String eventType(ConsumerRecord<?, ?> record) {
+        if (record.value() instanceof BaseEvent event && event.getEventType() != null) {
+            return event.getEventType();
+        }
+        if (record.value() != null) {
+            return record.value().getClass().getSimpleName();
+        }
+        String typeId = typeId(record);
+        return typeId != null ? typeId.substring(typeId.lastIndexOf('.') + 1) : "none";
+    }
+
+    private static String typeId(ConsumerRecord<?, ?> record) {
+        return EventRetryHeaders.value(record.headers(), AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+    }
+
+    static String groupId(Consumer<?, ?> consumer) {
+        try {
+            String groupId = consumer != null ? consumer.groupMetadata().groupId() : null;
+            return groupId != null ? groupId : "none";
+        } catch (RuntimeException e) {
+            return "none";
+        }
+    }
+}
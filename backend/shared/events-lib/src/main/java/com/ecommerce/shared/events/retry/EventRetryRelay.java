@@ -0,0 +1,174 @@
+package com.ecommerce.shared.events.retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.util.backoff.FixedBackOff;
+
+import com.ecommerce.shared.events.config.EventsProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves due retry records back to their original topic.
+ *
+ * One consumer per retry tier reads every {topic}{retryTopicSuffix}{n} topic (by pattern, so topics
+ * created by a first failure are picked up within the metadata refresh) in the shared relay group.
+ * Records within a tier partition are due in append order, so the consumer waits for the head record
+ * and then forwards the rest as they come due. Payloads and headers are copied as bytes, keeping the
+ * key (and so the partition) and the retry group header that limits re-delivery to the failed group.
+ */
+@Slf4j
+public class EventRetryRelay implements SmartLifecycle {
+
+    private static final long WAIT_SLICE_MILLIS = 1000;
+
+    private final Map<String, Object> consumerConfigs;
+    private final Map<String, Object> producerConfigs;
+    private final EventsProperties.Retry retry;
+
+    private final List<ConcurrentMessageListenerContainer<String, byte[]>> containers = new ArrayList<>();
+    private DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private volatile boolean running;
+
+    public EventRetryRelay(Map<String, Object> consumerConfigs, Map<String, Object> producerConfigs,
+                           EventsProperties.Retry retry) {
+        this.consumerConfigs = consumerConfigs;
+        this.producerConfigs = producerConfigs;
+        this.retry = retry;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        producerFactory = new DefaultKafkaProducerFactory<>(producerConfigs, new StringSerializer(),
+                new ByteArraySerializer());
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        List<Duration> delays = retry.getDelays();
+        for (int tier = 1; tier <= delays.size(); tier++) {
+            ConcurrentMessageListenerContainer<String, byte[]> container = tierContainer(tier, delays.get(tier - 1));
+            container.start();
+            containers.add(container);
+        }
+        log.info("Started event retry relay for {} tier(s), delays {}", delays.size(), delays);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        containers.clear();
+        if (producerFactory != null) {
+            producerFactory.destroy();
+            producerFactory = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE;
+    }
+
+    private ConcurrentMessageListenerContainer<String, byte[]> tierContainer(int tier, Duration delay) {
+        Map<String, Object> configs = new HashMap<>(consumerConfigs);
+        configs.put(ConsumerConfig.GROUP_ID_CONFIG, retry.getRelayGroupId());
+        configs.put(ConsumerConfig.METADATA_MAX_AGE_CONFIG, 30000);
+        // A poll may wait out one full delay before its records are forwarded
+        configs.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG,
+                (int) Math.min(Integer.MAX_VALUE, delay.toMillis() + Duration.ofMinutes(5).toMillis()));
+        DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(configs,
+                new StringDeserializer(), new ByteArrayDeserializer());
+
+        ContainerProperties properties = new ContainerProperties(
+                Pattern.compile(".*" + Pattern.quote(retry.getRetryTopicSuffix() + tier)));
+        properties.setAckMode(ContainerProperties.AckMode.RECORD);
+        properties.setMessageListener((MessageListener<String, byte[]>) this::relay);
+
+        ConcurrentMessageListenerContainer<String, byte[]> container =
+                new ConcurrentMessageListenerContainer<>(consumerFactory, properties);
+        container.setBeanName("eventRetryRelay-" + tier);
+        // Forwarding only fails when the broker is unavailable; keep the record until it succeeds
+        container.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return container;
+    }
+
+    void relay(ConsumerRecord<String, byte[]> record) {
+        String topic = EventRetryHeaders.value(record.headers(), EventRetryHeaders.ORIGINAL_TOPIC);
+        if (topic == null) {
+            log.warn("Dropping retry record {}-{}@{} without an original topic header",
+                    record.topic(), record.partition(), record.offset());
+            return;
+        }
+        awaitDue(EventRetryHeaders.longValue(record.headers(), EventRetryHeaders.DUE, record.timestamp()));
+
+        Headers headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!EventRetryHeaders.DUE.equals(header.key())) {
+                headers.add(header);
+            }
+        }
+        try {
+            kafkaTemplate.send(new ProducerRecord<>(topic, null, record.key(), record.value(), headers))
+                    .get(retry.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted re-delivering retry record to " + topic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to re-deliver retry record to " + topic, e);
+        }
+        log.debug("Re-delivered {}-{}@{} to {} for group {}", record.topic(), record.partition(), record.offset(),
+                topic, EventRetryHeaders.value(record.headers(), EventRetryHeaders.GROUP));
+    }
+
+    private void awaitDue(long dueMillis) {
+        long remaining;
+        while ((remaining = dueMillis - System.currentTimeMillis()) > 0) {
+            if (!running) {
+                throw new KafkaException("Event retry relay stopping");
+            }
+            try {
+                Thread.sleep(Math.min(remaining, WAIT_SLICE_MILLIS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KafkaException("Interrupted waiting for retry record", e);
+            }
+        }
+    }
+}
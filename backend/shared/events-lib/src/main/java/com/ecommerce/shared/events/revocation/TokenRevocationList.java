@@ -0,0 +1,100 @@
+package com.ecommerce.shared.events.revocation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory list of revoked token IDs (jti).
+ *
+ * The Bloom filter answers the common "not revoked" case with a few hashes; only on a filter hit
+ * do we consult the exact set, which also discards entries whose token has already expired.
+ * The filter cannot delete, so it is rebuilt from the exact set once enough revocations
+ * have been added since the last rebuild.
+ */
+@Slf4j
+public class TokenRevocationList {
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final AtomicInteger insertionsSinceRebuild = new AtomicInteger();
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Clock clock;
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationList(int expectedInsertions, double falsePositiveRate) {
+        this(expectedInsertions, falsePositiveRate, Clock.systemUTC());
+    }
+
+    public TokenRevocationList(int expectedInsertions, double falsePositiveRate, Clock clock) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Record a revoked token. Tokens that have already expired are ignored.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+
+        revoked.put(jti, expiresAt);
+        filter.put(jti);
+
+        if (insertionsSinceRebuild.incrementAndGet() >= expectedInsertions) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Check whether a token ID has been revoked and is still within its lifetime.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+
+        Instant expiresAt = revoked.get(jti);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (!expiresAt.isAfter(clock.instant())) {
+            revoked.remove(jti, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of revocations currently held in the exact set.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Drop expired entries and rebuild the filter from what remains.
+     */
+    public synchronized void rebuild() {
+        Instant now = clock.instant();
+        revoked.entrySet().removeIf(entry -> !entry.getValue().isAfter(now));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+
+        // Entries revoked while we were copying go into both filters, so none can be lost
+        filter = rebuilt;
+        revoked.keySet().forEach(rebuilt::put);
+        insertionsSinceRebuild.set(0);
+
+        log.debug("Rebuilt token revocation filter with {} active entries", revoked.size());
+    }
+}
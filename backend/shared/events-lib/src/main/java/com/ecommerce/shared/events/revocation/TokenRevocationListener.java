@@ -0,0 +1,153 @@
+package com.ecommerce.shared.events.revocation;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import com.ecommerce.shared.events.domain.TokenRevokedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds TokenRevokedEvents into the local revocation list.
+ *
+ * Every instance must see every revocation, and the list lives in memory, so each instance reads
+ * all partitions of the topic from the beginning on startup. Partitions are assigned directly
+ * rather than through a consumer group: nothing is committed and no group is left on the broker
+ * when the instance goes away. New partitions are picked up on the next partition refresh.
+ */
+@Slf4j
+public class TokenRevocationListener implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration PARTITION_REFRESH = Duration.ofMinutes(5);
+    private static final Duration ERROR_BACKOFF = Duration.ofSeconds(5);
+
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final String topic;
+    private final TokenRevocationList tokenRevocationList;
+
+    private volatile boolean running;
+    private volatile Consumer<String, Object> consumer;
+    private Thread thread;
+
+    public TokenRevocationListener(ConsumerFactory<String, Object> consumerFactory, String topic,
+                                   TokenRevocationList tokenRevocationList) {
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "token-revocation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Consumer<String, Object> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (thread != null) {
+            try {
+                thread.join(POLL_TIMEOUT.multipliedBy(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        try (Consumer<String, Object> kafkaConsumer = consumerFactory.createConsumer(null, "token-revocation", null)) {
+            consumer = kafkaConsumer;
+            Set<TopicPartition> assigned = new HashSet<>();
+            long nextRefresh = System.nanoTime();
+            while (running) {
+                try {
+                    if (System.nanoTime() - nextRefresh >= 0) {
+                        assignNewPartitions(kafkaConsumer, assigned);
+                        nextRefresh = System.nanoTime() + PARTITION_REFRESH.toNanos();
+                    }
+                    if (assigned.isEmpty()) {
+                        Thread.sleep(POLL_TIMEOUT.toMillis());
+                        nextRefresh = System.nanoTime();
+                        continue;
+                    }
+                    for (ConsumerRecord<String, Object> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                        handle(record.value());
+                    }
+                } catch (RecordDeserializationException e) {
+                    log.warn("Skipping undeserializable record {}@{} on {}", e.topicPartition(), e.offset(), topic, e);
+                    kafkaConsumer.seek(e.topicPartition(), e.offset() + 1);
+                } catch (WakeupException e) {
+                    // stop() was called
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Token revocation listener failed on {}, retrying in {}", topic, ERROR_BACKOFF, e);
+                    Thread.sleep(ERROR_BACKOFF.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            consumer = null;
+        }
+    }
+
+    /**
+     * Assign partitions not yet read and start them from the earliest offset, so outstanding revocations replay
+     */
+    private void assignNewPartitions(Consumer<String, Object> kafkaConsumer, Set<TopicPartition> assigned) {
+        List<PartitionInfo> partitions = kafkaConsumer.partitionsFor(topic);
+        if (partitions == null) {
+            return;
+        }
+        Set<TopicPartition> added = new HashSet<>();
+        for (PartitionInfo partition : partitions) {
+            TopicPartition topicPartition = new TopicPartition(partition.topic(), partition.partition());
+            if (!assigned.contains(topicPartition)) {
+                added.add(topicPartition);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        assigned.addAll(added);
+        kafkaConsumer.assign(assigned);
+        kafkaConsumer.seekToBeginning(added);
+        log.info("Reading token revocations from {} partition(s) of {}", assigned.size(), topic);
+    }
+
+    void handle(Object event) {
+        if (event instanceof TokenRevokedEvent revoked) {
+            tokenRevocationList.revoke(revoked.getJti(), revoked.getExpiresAt());
+            log.debug("Recorded revoked token {} for user {}", revoked.getJti(), revoked.getUserId());
+        }
+    }
+}
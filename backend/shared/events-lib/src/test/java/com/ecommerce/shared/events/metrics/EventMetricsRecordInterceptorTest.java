@@ -0,0 +1,105 @@
+package com.ecommerce.shared.events.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.shared.events.domain.ProductDeletedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EventMetricsRecordInterceptorTest {
+
+    private static final String TOPIC = "product-events";
+    private static final String GROUP = "cart-service";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventMetricsRecordInterceptor interceptor =
+            new EventMetricsRecordInterceptor(new EventMetrics(registry));
+
+    private Consumer<String, Object> consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        consumer = mock(Consumer.class);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata(GROUP));
+        when(consumer.currentLag(new TopicPartition(TOPIC, 0))).thenReturn(OptionalLong.of(42));
+        when(consumer.currentLag(new TopicPartition(TOPIC, 1))).thenReturn(OptionalLong.empty());
+    }
+
+    @Test
+    @DisplayName("success - records processing time, end-to-end latency and lag")
+    public void testSuccess_RecordsConsumeAndEndToEnd() {
+        ConsumerRecord<String, Object> record = record(0, new ProductDeletedEvent("1", "Lamp", "home", "catalog", null));
+
+        interceptor.intercept(record, consumer);
+        interceptor.success(record, consumer);
+
+        assertThat(registry.get("events.consume")
+                .tags("event.type", "ProductDeletedEvent", "topic", TOPIC, "group", GROUP, "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("events.end_to_end.latency").tags("group", GROUP).timer().count()).isEqualTo(1);
+        assertThat(registry.get("events.consumer.lag").tags("partition", "0").gauge().value()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("failure - records the error for values that are not events")
+    public void testFailure_RecordsErrorForNonEventValues() {
+        ConsumerRecord<String, Object> record = record(1, "not an event");
+
+        interceptor.intercept(record, consumer);
+        interceptor.failure(record, new IllegalStateException("boom"), consumer);
+
+        assertThat(registry.get("events.consume").tags("event.type", "String", "outcome", "failure").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("events.consume.errors").tags("exception", "IllegalStateException").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.find("events.end_to_end.latency").timer()).isNull();
+        // No lag is known for a partition the consumer has not fetched yet
+        assertThat(registry.find("events.consumer.lag").tags("partition", "1").gauge()).isNull();
+    }
+
+    @Test
+    @DisplayName("success - ignores records that were not intercepted")
+    public void testSuccess_WithoutInterceptIsIgnored() {
+        interceptor.success(record(0, "value"), consumer);
+
+        assertThat(registry.find("events.consume").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("onPartitionsRevoked/Lost - removes the lag gauges of those partitions")
+    public void testRevokedAndLostPartitions_RemoveLagGauges() {
+        when(consumer.currentLag(new TopicPartition(TOPIC, 1))).thenReturn(OptionalLong.of(5));
+        when(consumer.currentLag(new TopicPartition(TOPIC, 2))).thenReturn(OptionalLong.of(9));
+        for (int partition = 0; partition < 3; partition++) {
+            ConsumerRecord<String, Object> record = record(partition, "value");
+            interceptor.intercept(record, consumer);
+            interceptor.success(record, consumer);
+        }
+        assertThat(registry.get("events.consumer.lag").gauges()).hasSize(3);
+
+        interceptor.onPartitionsRevokedAfterCommit(consumer, List.of(new TopicPartition(TOPIC, 0)));
+        interceptor.onPartitionsLost(consumer, List.of(new TopicPartition(TOPIC, 1)));
+
+        assertThat(registry.get("events.consumer.lag").gauges())
+                .singleElement()
+                .satisfies(gauge -> assertThat(gauge.getId().getTag("partition")).isEqualTo("2"));
+    }
+
+    private static ConsumerRecord<String, Object> record(int partition, Object value) {
+        return new ConsumerRecord<>(TOPIC, partition, 0L, "key", value);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.shared.events.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EventMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventMetrics eventMetrics = new EventMetrics(registry);
+
+    @Test
+    @DisplayName("recordPublish - times sends by outcome and counts errors by root cause")
+    public void testRecordPublish_TimesByOutcome() {
+        eventMetrics.recordPublish("OrderCreatedEvent", "order-events", TimeUnit.MILLISECONDS.toNanos(5), null);
+        eventMetrics.recordPublish("OrderCreatedEvent", "order-events", TimeUnit.MILLISECONDS.toNanos(7),
+                new RuntimeException("send failed", new IllegalStateException("broker down")));
+
+        Timer success = registry.get("events.publish")
+                .tags("event.type", "OrderCreatedEvent", "topic", "order-events", "outcome", "success").timer();
+        Timer failure = registry.get("events.publish").tags("outcome", "failure").timer();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(success.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(failure.count()).isEqualTo(1);
+        // Errors are counted by their root cause
+        assertThat(registry.get("events.publish.errors").tags("exception", "IllegalStateException").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("recordConsume - tags processing time and errors with the consumer group")
+    public void testRecordConsume_TaggedWithGroup() {
+        eventMetrics.recordConsume("CartItemAddedEvent", "cart-events", "cart-service", 1_000, null);
+        eventMetrics.recordConsume("CartItemAddedEvent", "cart-events", "cart-service", 1_000,
+                new IllegalArgumentException("bad item"));
+
+        assertThat(registry.get("events.consume").tags("group", "cart-service", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("events.consume.errors")
+                .tags("group", "cart-service", "exception", "IllegalArgumentException").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("recordEndToEnd - skips events without a timestamp and clamps skewed ones to zero")
+    public void testRecordEndToEnd_SkipsMissingAndClampsFutureTimestamps() {
+        eventMetrics.recordEndToEnd("OrderCreatedEvent", "order-events", "cart-service", null);
+        assertThat(registry.find("events.end_to_end.latency").timer()).isNull();
+
+        eventMetrics.recordEndToEnd("OrderCreatedEvent", "order-events", "cart-service",
+                Instant.now().plus(Duration.ofMinutes(1)));
+        eventMetrics.recordEndToEnd("OrderCreatedEvent", "order-events", "cart-service",
+                Instant.now().minus(Duration.ofSeconds(2)));
+
+        Timer latency = registry.get("events.end_to_end.latency").timer();
+        assertThat(latency.count()).isEqualTo(2);
+        assertThat(latency.max(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(2);
+        assertThat(latency.totalTime(TimeUnit.SECONDS)).isLessThan(60);
+    }
+
+    @Test
+    @DisplayName("recordLag - keeps one gauge per partition holding the latest sample")
+    public void testRecordLag_OneGaugePerPartition() {
+        eventMetrics.recordLag("cart-service", "product-events", 0, 10);
+        eventMetrics.recordLag("cart-service", "product-events", 0, 3);
+        eventMetrics.recordLag("cart-service", "product-events", 1, 7);
+
+        assertThat(registry.get("events.consumer.lag").gauges()).hasSize(2);
+        assertThat(lag("0").value()).isEqualTo(3);
+        assertThat(lag("1").value()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("removeLag - unregisters only the revoked partition's gauge")
+    public void testRemoveLag_DropsOnlyThatPartition() {
+        eventMetrics.recordLag("cart-service", "product-events", 0, 10);
+        eventMetrics.recordLag("cart-service", "product-events", 1, 7);
+
+        eventMetrics.removeLag("cart-service", "product-events", 0);
+        eventMetrics.removeLag("cart-service", "product-events", 5);
+
+        assertThat(registry.find("events.consumer.lag").tags("partition", "0").gauge()).isNull();
+        assertThat(lag("1").value()).isEqualTo(7);
+
+        // Reassigned later: reported again from the next sample
+        eventMetrics.recordLag("cart-service", "product-events", 0, 2);
+        assertThat(lag("0").value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("recordRecovery - counts recovered records by action")
+    public void testRecordRecovery() {
+        eventMetrics.recordRecovery("OrderCreatedEvent", "order-events", "cart-service", "dead-letter");
+
+        assertThat(registry.get("events.recovered").tags("action", "dead-letter").counter().count()).isEqualTo(1);
+    }
+
+    private Gauge lag(String partition) {
+        return registry.get("events.consumer.lag")
+                .tags("group", "cart-service", "topic", "product-events", "partition", partition).gauge();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.shared.events.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EventRetryGroupFilterTest {
+
+    private final EventRetryGroupFilter filter = new EventRetryGroupFilter();
+
+    private Consumer<String, Object> consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        consumer = mock(Consumer.class);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata("cart-service"));
+    }
+
+    @Test
+    @DisplayName("intercept - passes records that are not retries")
+    public void testIntercept_FirstDelivery() {
+        ConsumerRecord<String, Object> record = record(null);
+
+        assertThat(filter.intercept(record, consumer)).isSameAs(record);
+    }
+
+    @Test
+    @DisplayName("intercept - passes retries addressed to this consumer's group")
+    public void testIntercept_RetryForThisGroup() {
+        ConsumerRecord<String, Object> record = record("cart-service");
+
+        assertThat(filter.intercept(record, consumer)).isSameAs(record);
+    }
+
+    @Test
+    @DisplayName("intercept - drops retries addressed to another group")
+    public void testIntercept_RetryForAnotherGroup() {
+        assertThat(filter.intercept(record("order-service"), consumer)).isNull();
+    }
+
+    @Test
+    @DisplayName("intercept - passes retries when the consumer's group is unknown")
+    public void testIntercept_UnknownGroup() {
+        when(consumer.groupMetadata()).thenThrow(new IllegalStateException("not subscribed"));
+        ConsumerRecord<String, Object> record = record("order-service");
+
+        assertThat(filter.intercept(record, consumer)).isSameAs(record);
+    }
+
+    private static ConsumerRecord<String, Object> record(String targetGroup) {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("product-events", 0, 0L, "42", "value");
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.GROUP, targetGroup);
+        return record;
+    }
+}
@@ -0,0 +1,229 @@
+package com.ecommerce.shared.events.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.messaging.converter.MessageConversionException;
+
+import com.ecommerce.shared.events.config.EventsProperties;
+import com.ecommerce.shared.events.domain.ProductDeletedEvent;
+import com.ecommerce.shared.events.metrics.EventMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EventRetryRecovererTest {
+
+    private static final String TOPIC = "product-events";
+    private static final String GROUP = "cart-service";
+    private static final String TYPE_ID = AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventsProperties.Retry retry = new EventsProperties.Retry();
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaTemplate<String, Object> rawKafkaTemplate;
+    private Consumer<String, Object> consumer;
+    private EventRetryRecoverer recoverer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        rawKafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+        when(rawKafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+        consumer = mock(Consumer.class);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata(GROUP));
+        recoverer = new EventRetryRecoverer(kafkaTemplate, rawKafkaTemplate, retry, new EventMetrics(registry));
+    }
+
+    @Test
+    @DisplayName("accept - sends a first failure to the first retry tier with its due time and origin")
+    public void testAccept_FirstFailureGoesToFirstRetryTier() {
+        ConsumerRecord<String, Object> record = record(event());
+
+        long before = System.currentTimeMillis();
+        recoverer.accept(record, consumer, listenerFailure(new IllegalStateException("stock service down")));
+
+        ProducerRecord<String, Object> sent = sent(kafkaTemplate);
+        Headers headers = sent.headers();
+        assertThat(sent.topic()).isEqualTo(TOPIC + "-retry-1");
+        assertThat(sent.key()).isEqualTo("42");
+        assertThat(sent.value()).isSameAs(record.value());
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.ATTEMPTS)).isEqualTo("1");
+        assertThat(EventRetryHeaders.longValue(headers, EventRetryHeaders.DUE, 0))
+                .isBetween(before + 1000, System.currentTimeMillis() + 1000);
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.GROUP)).isEqualTo(GROUP);
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.ORIGINAL_TOPIC)).isEqualTo(TOPIC);
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.ORIGINAL_PARTITION)).isEqualTo("3");
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.ORIGINAL_OFFSET)).isEqualTo("17");
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.EXCEPTION))
+                .isEqualTo(IllegalStateException.class.getName());
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.EXCEPTION_MESSAGE)).isEqualTo("stock service down");
+        assertThat(headers.lastHeader(EventRetryHeaders.EXCEPTION_STACKTRACE)).isNull();
+        assertThat(registry.get("events.recovered").tags("action", "retry").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("accept - moves a retried failure to the next tier")
+    public void testAccept_RetriedFailureMovesUpATier() {
+        ConsumerRecord<String, Object> record = record(event());
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.ATTEMPTS, 2);
+
+        long before = System.currentTimeMillis();
+        recoverer.accept(record, consumer, listenerFailure(new IllegalStateException("still down")));
+
+        ProducerRecord<String, Object> sent = sent(kafkaTemplate);
+        assertThat(sent.topic()).isEqualTo(TOPIC + "-retry-3");
+        assertThat(EventRetryHeaders.value(sent.headers(), EventRetryHeaders.ATTEMPTS)).isEqualTo("3");
+        assertThat(EventRetryHeaders.longValue(sent.headers(), EventRetryHeaders.DUE, 0))
+                .isGreaterThanOrEqualTo(before + Duration.ofMinutes(1).toMillis());
+    }
+
+    @Test
+    @DisplayName("accept - sends the failure to the dead-letter topic once the retry tiers are used up")
+    public void testAccept_DeadLetterAfterLastTier() {
+        ConsumerRecord<String, Object> record = record(event());
+        record.headers().add(TYPE_ID, ProductDeletedEvent.class.getName().getBytes(StandardCharsets.UTF_8));
+        record.headers().add("trace-id", "abc".getBytes(StandardCharsets.UTF_8));
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.ATTEMPTS, 3);
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.DUE, 1);
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.GROUP, GROUP);
+
+        recoverer.accept(record, consumer,
+                listenerFailure(new IllegalStateException("gave up", new IllegalArgumentException("bad stock"))));
+
+        ProducerRecord<String, Object> sent = sent(kafkaTemplate);
+        Headers headers = sent.headers();
+        assertThat(sent.topic()).isEqualTo(TOPIC + "-dlt");
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.ATTEMPTS)).isEqualTo("3");
+        assertThat(headers.lastHeader(EventRetryHeaders.DUE)).isNull();
+        assertThat(headers.headers(EventRetryHeaders.GROUP)).hasSize(1);
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.EXCEPTION_CAUSE))
+                .isEqualTo(IllegalArgumentException.class.getName());
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.EXCEPTION_STACKTRACE)).contains("gave up");
+        assertThat(EventRetryHeaders.value(headers, "trace-id")).isEqualTo("abc");
+        // Written again by the JSON serializer
+        assertThat(headers.lastHeader(TYPE_ID)).isNull();
+        assertThat(registry.get("events.recovered").tags("action", "dead_letter").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("accept - sends a value that could not be deserialized straight to the dead-letter topic as bytes")
+    public void testAccept_DeserializationFailureGoesToDeadLetterAsBytes() {
+        byte[] data = "{not json".getBytes(StandardCharsets.UTF_8);
+        ConsumerRecord<String, Object> record = record(null);
+        record.headers().add(TYPE_ID, ProductDeletedEvent.class.getName().getBytes(StandardCharsets.UTF_8));
+        record.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[] { 1, 2, 3 });
+
+        recoverer.accept(record, consumer, listenerFailure(new DeserializationException("failed to deserialize",
+                data, false, new IllegalStateException("Unexpected end of input"))));
+
+        verify(kafkaTemplate, never()).send(anyRecord());
+        ProducerRecord<String, Object> sent = sent(rawKafkaTemplate);
+        Headers headers = sent.headers();
+        assertThat(sent.topic()).isEqualTo(TOPIC + "-dlt");
+        assertThat(sent.value()).isEqualTo(data);
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.ATTEMPTS)).isEqualTo("0");
+        assertThat(EventRetryHeaders.value(headers, EventRetryHeaders.EXCEPTION))
+                .isEqualTo(DeserializationException.class.getName());
+        assertThat(EventRetryHeaders.value(headers, TYPE_ID)).isEqualTo(ProductDeletedEvent.class.getName());
+        assertThat(headers.lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER)).isNull();
+        assertThat(registry.get("events.recovered")
+                .tags("event.type", "ProductDeletedEvent", "action", "dead_letter").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("accept - skips an event whose type header names a class the listener does not take")
+    public void testAccept_SkipsOtherEventTypes() {
+        ConsumerRecord<String, Object> record = record(event());
+        record.headers().add(TYPE_ID, ProductDeletedEvent.class.getName().getBytes(StandardCharsets.UTF_8));
+
+        recoverer.accept(record, consumer, listenerFailure(new MessageConversionException("Cannot handle message")));
+
+        verify(kafkaTemplate, never()).send(anyRecord());
+        assertThat(registry.get("events.recovered").tags("action", "skip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("accept - retries a conversion failure unless the type header names the value's class")
+    public void testAccept_RetriesConversionFailureWithoutMatchingTypeHeader() {
+        ConsumerRecord<String, Object> withoutHeader = record(event());
+        ConsumerRecord<String, Object> otherClass = record(event());
+        otherClass.headers().add(TYPE_ID, "ProductUpdatedEvent".getBytes(StandardCharsets.UTF_8));
+
+        recoverer.accept(withoutHeader, consumer, listenerFailure(new MessageConversionException("Cannot convert")));
+        recoverer.accept(otherClass, consumer, listenerFailure(new MessageConversionException("Cannot convert")));
+
+        assertThat(registry.find("events.recovered").tags("action", "skip").counter()).isNull();
+        assertThat(registry.get("events.recovered").tags("action", "retry").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("accept - propagates a failed send so the record is delivered again")
+    public void testAccept_SendFailurePropagates() {
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThatThrownBy(() -> recoverer.accept(record(event()), consumer,
+                listenerFailure(new IllegalStateException("stock service down"))))
+                .isInstanceOf(KafkaException.class)
+                .hasMessageContaining(TOPIC + "-retry-1");
+        assertThat(registry.find("events.recovered").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("destroy - closes the raw template's producers")
+    public void testDestroy() {
+        recoverer.destroy();
+
+        verify(rawKafkaTemplate).destroy();
+    }
+
+    private static ConsumerRecord<String, Object> record(Object value) {
+        return new ConsumerRecord<>(TOPIC, 3, 17L, "42", value);
+    }
+
+    private static ProductDeletedEvent event() {
+        return new ProductDeletedEvent("42", "Lamp", "home", "catalog-service", null);
+    }
+
+    private static ListenerExecutionFailedException listenerFailure(Throwable cause) {
+        return new ListenerExecutionFailedException("Listener failed", GROUP, cause);
+    }
+
+    private static ProducerRecord<String, Object> anyRecord() {
+        return ArgumentMatchers.any();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProducerRecord<String, Object> sent(KafkaTemplate<String, Object> template) {
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(template).send(captor.capture());
+        return captor.getValue();
+    }
+}
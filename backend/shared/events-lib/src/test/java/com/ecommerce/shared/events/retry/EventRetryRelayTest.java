@@ -0,0 +1,116 @@
+package com.ecommerce.shared.events.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.shared.events.config.EventsProperties;
+
+public class EventRetryRelayTest {
+
+    private static final byte[] PAYLOAD = "{\"eventId\":\"e-1\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final EventRetryRelay relay = new EventRetryRelay(Map.of(), Map.of(), new EventsProperties.Retry());
+    private final AtomicLong sentAt = new AtomicLong();
+
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyRecord())).thenAnswer(invocation -> {
+            sentAt.set(System.currentTimeMillis());
+            return CompletableFuture.completedFuture(null);
+        });
+        ReflectionTestUtils.setField(relay, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(relay, "running", true);
+    }
+
+    @Test
+    @DisplayName("relay - waits for the due time, then re-delivers to the original topic without the due header")
+    public void testRelay_WaitsUntilDue() {
+        long due = System.currentTimeMillis() + 300;
+
+        relay.relay(retryRecord(due));
+
+        assertThat(sentAt.get()).isGreaterThanOrEqualTo(due);
+        ProducerRecord<String, byte[]> sent = sent();
+        assertThat(sent.topic()).isEqualTo("product-events");
+        assertThat(sent.key()).isEqualTo("42");
+        assertThat(sent.value()).isEqualTo(PAYLOAD);
+        assertThat(sent.headers().lastHeader(EventRetryHeaders.DUE)).isNull();
+        assertThat(EventRetryHeaders.value(sent.headers(), EventRetryHeaders.GROUP)).isEqualTo("cart-service");
+        assertThat(EventRetryHeaders.value(sent.headers(), EventRetryHeaders.ATTEMPTS)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("relay - re-delivers records that are already due at once")
+    public void testRelay_AlreadyDue() {
+        long start = System.currentTimeMillis();
+
+        relay.relay(retryRecord(start - 1000));
+
+        assertThat(sentAt.get() - start).isLessThan(500);
+    }
+
+    @Test
+    @DisplayName("relay - stops waiting when the relay is stopped, leaving the record unsent")
+    public void testRelay_StoppedWhileWaiting() {
+        ReflectionTestUtils.setField(relay, "running", false);
+
+        assertThatThrownBy(() -> relay.relay(retryRecord(System.currentTimeMillis() + 60_000)))
+                .isInstanceOf(KafkaException.class);
+        verify(kafkaTemplate, never()).send(anyRecord());
+    }
+
+    @Test
+    @DisplayName("relay - drops records without an original topic")
+    public void testRelay_WithoutOriginalTopic() {
+        ConsumerRecord<String, byte[]> record = retryRecord(0);
+        record.headers().remove(EventRetryHeaders.ORIGINAL_TOPIC);
+
+        relay.relay(record);
+
+        verify(kafkaTemplate, never()).send(anyRecord());
+    }
+
+    private static ConsumerRecord<String, byte[]> retryRecord(long due) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("product-events-retry-1", 0, 5L, "42", PAYLOAD);
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.ORIGINAL_TOPIC, "product-events");
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.GROUP, "cart-service");
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.ATTEMPTS, 1);
+        EventRetryHeaders.set(record.headers(), EventRetryHeaders.DUE, due);
+        return record;
+    }
+
+    private static ProducerRecord<String, byte[]> anyRecord() {
+        return ArgumentMatchers.any();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, byte[]> sent() {
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.shared.events.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenRevocationListTest {
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("isRevoked - reports revoked tokens and ignores already expired ones")
+    public void testIsRevoked_RevokedTokens() {
+        TokenRevocationList list = new TokenRevocationList(100, 0.01, clock);
+
+        list.revoke("revoked", clock.instant().plus(Duration.ofMinutes(15)));
+        list.revoke("expired", clock.instant().minusSeconds(1));
+        list.revoke(null, clock.instant().plus(Duration.ofMinutes(15)));
+
+        assertThat(list.isRevoked("revoked")).isTrue();
+        assertThat(list.isRevoked("expired")).isFalse();
+        assertThat(list.isRevoked("unknown")).isFalse();
+        assertThat(list.isRevoked(null)).isFalse();
+        assertThat(list.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("isRevoked - answers from the exact set when the filter gives a false positive")
+    public void testIsRevoked_FalsePositive() {
+        // A one-slot filter at 50% false positives hits for almost any key once loaded
+        TokenRevocationList list = new TokenRevocationList(1, 0.5, clock);
+        for (int i = 0; i < 50; i++) {
+            list.revoke("revoked-" + i, clock.instant().plus(Duration.ofMinutes(15)));
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(list.isRevoked("other-" + i)).isFalse();
+        }
+        for (int i = 0; i < 50; i++) {
+            assertThat(list.isRevoked("revoked-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("isRevoked / rebuild - prune entries once their token has expired")
+    public void testExpiry_Pruning() {
+        TokenRevocationList list = new TokenRevocationList(100, 0.01, clock);
+        list.revoke("short", clock.instant().plus(Duration.ofMinutes(1)));
+        list.revoke("long", clock.instant().plus(Duration.ofHours(1)));
+        list.revoke("pruned-on-rebuild", clock.instant().plus(Duration.ofMinutes(1)));
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(list.isRevoked("short")).isFalse();
+        assertThat(list.size()).isEqualTo(2);
+
+        list.rebuild();
+
+        assertThat(list.size()).isEqualTo(1);
+        assertThat(list.isRevoked("long")).isTrue();
+        assertThat(list.isRevoked("pruned-on-rebuild")).isFalse();
+    }
+
+    @Test
+    @DisplayName("revoke - keeps every revocation while the filter is rebuilt concurrently")
+    public void testRevoke_ConcurrentRebuild() throws Exception {
+        // Small expectedInsertions so revoking threads trigger rebuilds as well
+        TokenRevocationList list = new TokenRevocationList(500, 0.01, clock);
+        Instant expiresAt = clock.instant().plus(Duration.ofHours(1));
+        AtomicBoolean revoking = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<?> rebuilder = executor.submit(() -> {
+                while (revoking.get()) {
+                    list.rebuild();
+                }
+            });
+            List<Future<?>> revokers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                revokers.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        list.revoke("jti-" + thread + "-" + i, expiresAt);
+                    }
+                }));
+            }
+            for (Future<?> revoker : revokers) {
+                revoker.get();
+            }
+            revoking.set(false);
+            rebuilder.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(list.size()).isEqualTo(20_000);
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 5_000; i++) {
+                assertThat(list.isRevoked("jti-" + t + "-" + i)).isTrue();
+            }
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.shared.events.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import com.ecommerce.shared.events.domain.TokenRevokedEvent;
+
+public class TokenRevocationListenerTest {
+
+    private static final String TOPIC = "user-events";
+
+    @Test
+    @DisplayName("start - reads every partition from the beginning without a consumer group")
+    @SuppressWarnings("unchecked")
+    public void testStart_ReplaysAssignedPartitions() throws Exception {
+        MockConsumer<String, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        Node node = new Node(0, "localhost", 9092);
+        consumer.updatePartitions(TOPIC, List.of(
+                new PartitionInfo(TOPIC, 0, node, new Node[] {node}, new Node[] {node}),
+                new PartitionInfo(TOPIC, 1, node, new Node[] {node}, new Node[] {node})));
+        consumer.updateBeginningOffsets(Map.of(new TopicPartition(TOPIC, 0), 0L, new TopicPartition(TOPIC, 1), 0L));
+
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 0L, "user-1", revoked("jti-1", expiresAt)));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, 0L, "user-2", "some other event"));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, 1L, "user-2", revoked("jti-2", expiresAt)));
+        });
+
+        ConsumerFactory<String, Object> consumerFactory = mock(ConsumerFactory.class);
+        when(consumerFactory.createConsumer(isNull(), eq("token-revocation"), isNull())).thenReturn(consumer);
+
+        TokenRevocationList list = new TokenRevocationList(100, 0.01);
+        TokenRevocationListener listener = new TokenRevocationListener(consumerFactory, TOPIC, list);
+        listener.start();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (list.size() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            listener.stop();
+        }
+
+        assertThat(consumer.assignment()).containsExactlyInAnyOrder(
+                new TopicPartition(TOPIC, 0), new TopicPartition(TOPIC, 1));
+        assertThat(list.isRevoked("jti-1")).isTrue();
+        assertThat(list.isRevoked("jti-2")).isTrue();
+    }
+
+    private static TokenRevokedEvent revoked(String jti, Instant expiresAt) {
+        return TokenRevokedEvent.builder().jti(jti).userId("user").expiresAt(expiresAt).build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.shared.persistence.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Assigns the entity ID from {@link TimeOrderedIdGenerator} when the entity is persisted.
+ *
+ * Unlike {@code GenerationType.IDENTITY}, the ID is known before the INSERT, so Hibernate can
+ * batch inserts (see {@code hibernate.jdbc.batch_size}).
+ */
+@IdGeneratorType(TimeOrderedIdentifierGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedId {
+}
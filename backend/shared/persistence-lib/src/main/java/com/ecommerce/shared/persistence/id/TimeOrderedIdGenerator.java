@@ -0,0 +1,116 @@
+package com.ecommerce.shared.persistence.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free generator of time-ordered, node-aware 64-bit IDs.
+ *
+ * Layout (53 bits, so IDs stay exact as JSON numbers in JavaScript clients):
+ * <pre>
+ *   | 41 bits: millis since 2024-01-01T00:00Z | 5 bits: node | 7 bits: sequence |
+ * </pre>
+ * The last millisecond and sequence are packed into one AtomicLong and advanced with CAS, so callers
+ * never block. When a millisecond's 128 sequence values are used up, or the clock moves backwards,
+ * the generator keeps counting forward from its last state instead of waiting. IDs therefore stay
+ * unique and increasing per node, and run at most briefly ahead of the wall clock.
+ *
+ * Every instance writing to the same tables needs its own node ID (0-31), set through the
+ * {@code ecommerce.id.node-id} system property or the {@code ECOMMERCE_ID_NODE_ID} environment
+ * variable. There is no derived fallback: a hashed host name collides between replicas often enough
+ * to produce duplicate keys, so {@link #getInstance()} fails when neither is set. Services resolve it
+ * while Hibernate builds its identifier generators, which makes a missing node ID fail startup.
+ * Local values are listed in dev/DEVELOPMENT_MODES.md; tests get node 0 from the surefire config.
+ */
+public final class TimeOrderedIdGenerator {
+
+    public static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final String NODE_ID_PROPERTY = "ecommerce.id.node-id";
+    private static final String NODE_ID_ENV = "ECOMMERCE_ID_NODE_ID";
+
+    private static volatile TimeOrderedIdGenerator instance;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    /**
+     * (millis since epoch << SEQUENCE_BITS) | sequence of the last issued ID
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public TimeOrderedIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Process-wide generator used by {@link TimeOrderedId}
+     *
+     * @throws IllegalStateException if no node ID is configured
+     */
+    public static TimeOrderedIdGenerator getInstance() {
+        TimeOrderedIdGenerator current = instance;
+        if (current == null) {
+            synchronized (TimeOrderedIdGenerator.class) {
+                current = instance;
+                if (current == null) {
+                    current = new TimeOrderedIdGenerator(resolveNodeId());
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long last = state.get();
+            // A new millisecond restarts the sequence; otherwise count on (carrying into the next millisecond)
+            long next = (last >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Creation time encoded in an ID produced by this generator
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    private static long resolveNodeId() {
+        String configured = System.getProperty(NODE_ID_PROPERTY, System.getenv(NODE_ID_ENV));
+        if (configured == null || configured.isBlank()) {
+            throw new IllegalStateException("No ID generator node ID configured: set " + NODE_ID_ENV
+                    + " (or -D" + NODE_ID_PROPERTY + ") to a value between 0 and " + MAX_NODE_ID
+                    + " that is unique per instance");
+        }
+        try {
+            return Long.parseLong(configured.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid ID generator node ID: " + configured, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.shared.persistence.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate identifier generator behind {@link TimeOrderedId}. Created while the session factory is
+ * built, so a missing node ID fails startup rather than the first insert.
+ */
+public class TimeOrderedIdentifierGenerator implements IdentifierGenerator {
+
+    private final TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.getInstance();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.shared.persistence.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Immutable amount of money held as a long count of minor units (e.g. cents) plus an ISO currency code.
+ *
+ * Arithmetic is plain long math (overflow-checked), so summing a cart allocates one Money per step
+ * instead of several BigDecimals. Conversion to and from BigDecimal happens only at the edges:
+ * JSON (see {@link MoneySerializer}) and JPA (see {@link MoneyType}), both of which keep the currency.
+ * Every rounding to the minor unit uses {@link #ROUNDING}.
+ */
+@JsonSerialize(using = MoneySerializer.class)
+@JsonDeserialize(using = MoneyDeserializer.class)
+public final class Money implements Comparable<Money> {
+
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    /**
+     * Rounding applied whenever an amount is brought to the minor unit (conversion and percentages)
+     */
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    private static final int DEFAULT_FRACTION_DIGITS = 2;
+    private static final long BASIS_POINTS = 10_000;
+
+    private final long minorUnits;
+    private final String currency;
+
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Convert a decimal amount, rounding to the currency's minor unit with {@link #ROUNDING}
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(toMinorUnits(amount, currency), currency);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Minor units of a decimal amount (rounded with {@link #ROUNDING}), for accumulating in a plain long
+     */
+    public static long toMinorUnits(BigDecimal amount, String currency) {
+        return amount.setScale(fractionDigits(currency), ROUNDING).unscaledValue().longValueExact();
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    public static Money zero() {
+        return zero(DEFAULT_CURRENCY);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    /**
+     * Fraction of this amount given in basis points (850 = 8.5%), rounded to the minor unit with
+     * {@link #ROUNDING} (half away from zero, as BigDecimal's HALF_UP does for negative amounts)
+     */
+    public Money percentage(long basisPoints) {
+        long scaled = Math.multiplyExact(minorUnits, basisPoints);
+        long magnitude = Math.addExact(Math.absExact(scaled), BASIS_POINTS / 2) / BASIS_POINTS;
+        return new Money(scaled < 0 ? -magnitude : magnitude, currency);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isGreaterThanOrEqual(Money other) {
+        return compareTo(other) >= 0;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+
+    private static int fractionDigits(String currency) {
+        if (DEFAULT_CURRENCY.equals(currency)) {
+            return DEFAULT_FRACTION_DIGITS;
+        }
+        int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+        return digits < 0 ? DEFAULT_FRACTION_DIGITS : digits;
+    }
+}
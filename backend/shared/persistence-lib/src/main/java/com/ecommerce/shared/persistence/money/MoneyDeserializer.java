@@ -0,0 +1,42 @@
+package com.ecommerce.shared.persistence.money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Reads a JSON number (or numeric string) as Money in the default currency. An {"amount", "currency"}
+ * object is also accepted so JSON cached while Money was written in that shape still reads back.
+ */
+public class MoneyDeserializer extends StdDeserializer<Money> {
+
+    private static final String AMOUNT = "amount";
+    private static final String CURRENCY = "currency";
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            JsonNode node = parser.readValueAsTree();
+            JsonNode amount = node.get(AMOUNT);
+            if (amount == null || amount.isNull()) {
+                return (Money) context.handleUnexpectedToken(Money.class, parser);
+            }
+            JsonNode currency = node.get(CURRENCY);
+            return Money.of(amount.isTextual() ? new BigDecimal(amount.asText().trim()) : amount.decimalValue(),
+                    currency != null && !currency.isNull() ? currency.asText() : Money.DEFAULT_CURRENCY);
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return Money.of(new BigDecimal(parser.getText().trim()));
+        }
+        return Money.of(parser.getDecimalValue());
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.shared.persistence.money;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes Money as a plain JSON number (e.g. 29.99), exactly as the BigDecimal fields it replaces.
+ * DTOs that need the currency expose it as a separate field.
+ */
+public class MoneySerializer extends StdSerializer<Money> {
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(value.toBigDecimal());
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.shared.persistence.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.ValueAccess;
+import org.hibernate.usertype.CompositeUserType;
+
+/**
+ * Maps Money to an amount column (DECIMAL, so existing numeric(19,2) columns keep their type) and a
+ * currency column. Apply per attribute with {@code @CompositeType(MoneyType.class)} and name the
+ * columns with {@code @AttributeOverride} on "amount" and "currency". Rows written before the currency
+ * column existed read back in the default currency.
+ */
+public class MoneyType implements CompositeUserType<Money> {
+
+    /**
+     * Shape of the mapped columns; Hibernate orders the properties alphabetically (amount, currency)
+     */
+    public static class MoneyMapping {
+        BigDecimal amount;
+        String currency;
+    }
+
+    @Override
+    public Object getPropertyValue(Money component, int property) {
+        return property == 0 ? component.toBigDecimal() : component.getCurrency();
+    }
+
+    @Override
+    public Money instantiate(ValueAccess values, SessionFactoryImplementor sessionFactory) {
+        BigDecimal amount = values.getValue(0, BigDecimal.class);
+        if (amount == null) {
+            return null;
+        }
+        String currency = values.getValue(1, String.class);
+        return Money.of(amount, currency != null ? currency : Money.DEFAULT_CURRENCY);
+    }
+
+    @Override
+    public Class<?> embeddable() {
+        return MoneyMapping.class;
+    }
+
+    @Override
+    public Class<Money> returnedClass() {
+        return Money.class;
+    }
+
+    @Override
+    public boolean equals(Money x, Money y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(Money x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public Money deepCopy(Money value) {
+        // Immutable
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(Money value) {
+        return value != null ? new Object[] { value.toBigDecimal(), value.getCurrency() } : null;
+    }
+
+    @Override
+    public Money assemble(Serializable cached, Object owner) {
+        if (cached == null) {
+            return null;
+        }
+        Object[] parts = (Object[]) cached;
+        return Money.of((BigDecimal) parts[0], (String) parts[1]);
+    }
+
+    @Override
+    public Money replace(Money detached, Money managed, Object owner) {
+        return detached;
+    }
+}
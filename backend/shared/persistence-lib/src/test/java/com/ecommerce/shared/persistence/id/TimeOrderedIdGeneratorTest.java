@@ -0,0 +1,139 @@
+package com.ecommerce.shared.persistence.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class TimeOrderedIdGeneratorTest {
+
+    private static final long START = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000_000L;
+    private static final int SEQUENCE_SIZE = 1 << TimeOrderedIdGenerator.SEQUENCE_BITS;
+
+    private final AtomicLong clock = new AtomicLong(START);
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5, clock::get);
+
+    @Test
+    public void testNextId_IncreasingWithNodeId() {
+        long previous = generator.nextId();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 == 0) {
+                clock.incrementAndGet();
+            }
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(nodeOf(id)).isEqualTo(5);
+            previous = id;
+        }
+        assertThat(TimeOrderedIdGenerator.timestampOf(previous).toEpochMilli()).isEqualTo(clock.get());
+    }
+
+    @Test
+    public void testNextId_UniqueAcrossThreads() throws Exception {
+        TimeOrderedIdGenerator realClock = new TimeOrderedIdGenerator(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    long previous = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        long id = realClock.nextId();
+                        assertThat(id).isGreaterThan(previous);
+                        ids.add(id);
+                        previous = id;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    public void testNextId_SequenceRolloverWithinMillisecond() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SEQUENCE_SIZE + 2; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(TimeOrderedIdGenerator.timestampOf(ids.get(SEQUENCE_SIZE - 1)).toEpochMilli()).isEqualTo(START);
+        assertThat(TimeOrderedIdGenerator.timestampOf(ids.get(SEQUENCE_SIZE)).toEpochMilli()).isEqualTo(START + 1);
+        assertThat(sequenceOf(ids.get(SEQUENCE_SIZE))).isZero();
+
+        // Once the wall clock catches up the borrowed millisecond is not reissued
+        clock.set(START + 1);
+        assertThat(generator.nextId()).isGreaterThan(ids.get(ids.size() - 1));
+    }
+
+    @Test
+    public void testNextId_ClockMovesBackwards() {
+        clock.set(START + 100);
+        long beforeJump = generator.nextId();
+
+        clock.set(START);
+        long afterJump = generator.nextId();
+        assertThat(afterJump).isGreaterThan(beforeJump);
+        assertThat(TimeOrderedIdGenerator.timestampOf(afterJump).toEpochMilli()).isEqualTo(START + 100);
+
+        clock.set(START + 101);
+        assertThat(generator.nextId()).isGreaterThan(afterJump);
+    }
+
+    @Test
+    public void testConstructor_NodeIdOutOfRange() {
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testGetInstance_RequiresConfiguredNodeId() {
+        assumeTrue(System.getenv("ECOMMERCE_ID_NODE_ID") == null);
+        String configured = System.getProperty("ecommerce.id.node-id");
+        Object instance = ReflectionTestUtils.getField(TimeOrderedIdGenerator.class, "instance");
+        try {
+            System.clearProperty("ecommerce.id.node-id");
+            ReflectionTestUtils.setField(TimeOrderedIdGenerator.class, "instance", null);
+            assertThatThrownBy(TimeOrderedIdGenerator::getInstance)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("ECOMMERCE_ID_NODE_ID");
+
+            System.setProperty("ecommerce.id.node-id", "7");
+            assertThat(TimeOrderedIdGenerator.getInstance().getNodeId()).isEqualTo(7);
+        } finally {
+            if (configured != null) {
+                System.setProperty("ecommerce.id.node-id", configured);
+            } else {
+                System.clearProperty("ecommerce.id.node-id");
+            }
+            ReflectionTestUtils.setField(TimeOrderedIdGenerator.class, "instance", instance);
+        }
+    }
+
+    private static long nodeOf(long id) {
+        return (id >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID;
+    }
+
+    private static long sequenceOf(long id) {
+        return id & (SEQUENCE_SIZE - 1);
+    }
+}
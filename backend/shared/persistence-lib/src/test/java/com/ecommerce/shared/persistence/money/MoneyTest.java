@@ -0,0 +1,100 @@
+package com.ecommerce.shared.persistence.money;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.hibernate.metamodel.spi.ValueAccess;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testOf_RoundsHalfUp() {
+        assertThat(Money.of(new BigDecimal("0.125")).getMinorUnits()).isEqualTo(13);
+        assertThat(Money.of(new BigDecimal("0.135")).getMinorUnits()).isEqualTo(14);
+        assertThat(Money.of(new BigDecimal("-0.125")).getMinorUnits()).isEqualTo(-13);
+        assertThat(Money.toMinorUnits(new BigDecimal("19.994"), "USD")).isEqualTo(1999);
+    }
+
+    @Test
+    public void testOf_UsesCurrencyFractionDigits() {
+        assertThat(Money.of(new BigDecimal("1500.5"), "JPY").getMinorUnits()).isEqualTo(1501);
+        assertThat(Money.of(new BigDecimal("1.2345"), "BHD").getMinorUnits()).isEqualTo(1235);
+        assertThat(Money.ofMinor(1501, "JPY").toBigDecimal()).isEqualByComparingTo("1501");
+    }
+
+    @Test
+    public void testPercentage_RoundsLikeConversion() {
+        for (long minor : new long[] { 50, 30, 100, 1, 999, 12345, -50, -100, -12345 }) {
+            BigDecimal exact = BigDecimal.valueOf(minor, 2).multiply(new BigDecimal("0.085"));
+            assertThat(Money.ofMinor(minor).percentage(850)).as("8.5%% of %d", minor).isEqualTo(Money.of(exact));
+        }
+        assertThat(Money.ofMinor(50).percentage(850).getMinorUnits()).isEqualTo(4);
+        assertThat(Money.ofMinor(30).percentage(850).getMinorUnits()).isEqualTo(3);
+        // 8.5% of 1.00 is exactly 8.5 cents
+        assertThat(Money.ofMinor(100).percentage(850).getMinorUnits()).isEqualTo(9);
+    }
+
+    @Test
+    public void testArithmetic() {
+        Money total = Money.ofMinor(1999).times(3).plus(Money.ofMinor(599)).minus(Money.ofMinor(100));
+
+        assertThat(total).isEqualTo(Money.of(new BigDecimal("64.96")));
+        assertThat(total.toString()).isEqualTo("64.96 USD");
+        assertThat(total.isGreaterThanOrEqual(Money.ofMinor(6496))).isTrue();
+        assertThat(Money.zero().isZero()).isTrue();
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void testCurrencyMismatch() {
+        Money usd = Money.ofMinor(100, "USD");
+        Money eur = Money.ofMinor(100, "EUR");
+
+        assertThat(usd).isNotEqualTo(eur);
+        assertThatThrownBy(() -> usd.plus(eur)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> usd.compareTo(eur)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testJson_WritesPlainNumber() throws Exception {
+        String json = objectMapper.writeValueAsString(Money.ofMinor(2999));
+
+        assertThat(json).isEqualTo("29.99");
+        assertThat(objectMapper.readValue(json, Money.class)).isEqualTo(Money.ofMinor(2999));
+        assertThat(objectMapper.writeValueAsString(Money.ofMinor(1501, "JPY"))).isEqualTo("1501");
+    }
+
+    @Test
+    public void testJson_ReadsBareNumbersInDefaultCurrency() throws Exception {
+        assertThat(objectMapper.readValue("29.99", Money.class)).isEqualTo(Money.ofMinor(2999));
+        assertThat(objectMapper.readValue("\"29.99\"", Money.class)).isEqualTo(Money.ofMinor(2999));
+        assertThat(objectMapper.readValue("{\"amount\":29.99}", Money.class)).isEqualTo(Money.ofMinor(2999));
+        assertThat(objectMapper.readValue("{\"amount\":29.99,\"currency\":\"EUR\"}", Money.class))
+                .isEqualTo(Money.ofMinor(2999, "EUR"));
+    }
+
+    @Test
+    public void testMoneyType_KeepsCurrency() {
+        MoneyType type = new MoneyType();
+        Money money = Money.ofMinor(1501, "JPY");
+
+        assertThat(type.getPropertyValue(money, 0)).isEqualTo(new BigDecimal("1501"));
+        assertThat(type.getPropertyValue(money, 1)).isEqualTo("JPY");
+        assertThat(type.instantiate(values(new BigDecimal("1501"), "JPY"), null)).isEqualTo(money);
+        assertThat(type.instantiate(values(new BigDecimal("40.00"), null), null)).isEqualTo(Money.ofMinor(4000));
+        assertThat(type.instantiate(values(null, null), null)).isNull();
+        assertThat(type.assemble(type.disassemble(money), null)).isEqualTo(money);
+    }
+
+    private static ValueAccess values(BigDecimal amount, String currency) {
+        return () -> new Object[] { amount, currency };
+    }
+}
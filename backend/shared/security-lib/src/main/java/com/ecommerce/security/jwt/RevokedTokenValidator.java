@@ -0,0 +1,36 @@
+package com.ecommerce.security.jwt;
+
+import java.util.function.Predicate;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * JWT validator that rejects tokens whose jti has been revoked.
+ * 
+ * The revocation check is supplied by the service (typically the events-lib TokenRevocationList),
+ * so the validator itself stays free of any messaging dependency.
+ */
+public class RevokedTokenValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error(
+            OAuth2ErrorCodes.INVALID_TOKEN, "The token has been revoked", null);
+
+    private final Predicate<String> isRevoked;
+
+    public RevokedTokenValidator(Predicate<String> isRevoked) {
+        this.isRevoked = isRevoked;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        String jti = jwt.getId();
+        if (jti != null && isRevoked.test(jti)) {
+            return OAuth2TokenValidatorResult.failure(REVOKED);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
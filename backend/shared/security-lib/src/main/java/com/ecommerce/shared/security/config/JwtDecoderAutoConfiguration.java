@@ -0,0 +1,49 @@
+package com.ecommerce.shared.security.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.ecommerce.security.jwt.RevokedTokenValidator;
+import com.ecommerce.shared.events.revocation.TokenRevocationList;
+
+/**
+ * Auto-configuration of the JwtDecoder shared by the resource-server services.
+ *
+ * Kept outside com.ecommerce.security so the services' component scan does not pick it up. Runs
+ * before Spring Boot's resource-server auto-configuration, whose default decoder then backs off.
+ */
+@AutoConfiguration(before = OAuth2ResourceServerAutoConfiguration.class)
+@ConditionalOnClass({ NimbusJwtDecoder.class, TokenRevocationList.class })
+@ConditionalOnProperty(prefix = "spring.security.oauth2.resourceserver.jwt", name = "jwk-set-uri")
+public class JwtDecoderAutoConfiguration {
+
+    /**
+     * JWT decoder backed by the security-service JWK endpoint that additionally rejects revoked tokens.
+     * The revocation check is purely in-memory (see TokenRevocationList), so it adds no I/O per request.
+     * Without a TokenRevocationList (ecommerce.events.revocation.enabled=false) only the default
+     * validators apply.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtDecoder jwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                                 ObjectProvider<TokenRevocationList> tokenRevocationList) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
+        TokenRevocationList revocations = tokenRevocationList.getIfAvailable();
+        if (revocations != null) {
+            decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                    JwtValidators.createDefault(),
+                    new RevokedTokenValidator(revocations::isRevoked)));
+        }
+        return decoder;
+    }
+}
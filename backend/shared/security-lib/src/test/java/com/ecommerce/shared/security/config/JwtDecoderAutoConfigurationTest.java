@@ -0,0 +1,47 @@
+package com.ecommerce.shared.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.ecommerce.shared.events.revocation.TokenRevocationList;
+
+public class JwtDecoderAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JwtDecoderAutoConfiguration.class));
+
+    @Test
+    public void testDecoderRequiresJwkSetUri() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(JwtDecoder.class));
+    }
+
+    @Test
+    public void testDecoderWithRevocationList() {
+        contextRunner
+                .withPropertyValues("spring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://localhost/jwks.json")
+                .withBean(TokenRevocationList.class, () -> new TokenRevocationList(100, 0.01))
+                .run(context -> assertThat(context).getBean(JwtDecoder.class).isInstanceOf(NimbusJwtDecoder.class));
+    }
+
+    @Test
+    public void testDecoderWithoutRevocationList() {
+        contextRunner
+                .withPropertyValues("spring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://localhost/jwks.json")
+                .run(context -> assertThat(context).hasSingleBean(JwtDecoder.class));
+    }
+
+    @Test
+    public void testServiceDecoderWins() {
+        JwtDecoder custom = mock(JwtDecoder.class);
+        contextRunner
+                .withPropertyValues("spring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://localhost/jwks.json")
+                .withBean(JwtDecoder.class, () -> custom)
+                .run(context -> assertThat(context.getBean(JwtDecoder.class)).isSameAs(custom));
+    }
+}
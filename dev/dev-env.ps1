@@ -76,9 +76,9 @@ function Start-Services {
         Write-Host "   cd backend/services/eureka-server && mvn spring-boot:run"
         Write-Host "   cd backend/services/security-service && mvn spring-boot:run"
         Write-Host "   cd backend/services/gateway && mvn spring-boot:run"
-        Write-Host "   cd backend/services/catalog-service && mvn spring-boot:run"
-        Write-Host "   cd backend/services/cart-service && mvn spring-boot:run"
-        Write-Host "   cd backend/services/order-service && mvn spring-boot:run"
+        Write-Host "   cd backend/services/catalog-service; `$env:ECOMMERCE_ID_NODE_ID=1; mvn spring-boot:run"
+        Write-Host "   cd backend/services/cart-service; `$env:ECOMMERCE_ID_NODE_ID=2; mvn spring-boot:run"
+        Write-Host "   cd backend/services/order-service; `$env:ECOMMERCE_ID_NODE_ID=3; mvn spring-boot:run"
     }
 }
 
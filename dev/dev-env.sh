@@ -88,9 +88,9 @@ function start_services() {
         echo "   cd backend/services/eureka-server && mvn spring-boot:run"
         echo "   cd backend/services/security-service && mvn spring-boot:run"
         echo "   cd backend/services/gateway && mvn spring-boot:run"
-        echo "   cd backend/services/catalog-service && mvn spring-boot:run"
-        echo "   cd backend/services/cart-service && mvn spring-boot:run"
-        echo "   cd backend/services/order-service && mvn spring-boot:run"
+        echo "   cd backend/services/catalog-service && ECOMMERCE_ID_NODE_ID=1 mvn spring-boot:run"
+        echo "   cd backend/services/cart-service && ECOMMERCE_ID_NODE_ID=2 mvn spring-boot:run"
+        echo "   cd backend/services/order-service && ECOMMERCE_ID_NODE_ID=3 mvn spring-boot:run"
     fi
 }
 
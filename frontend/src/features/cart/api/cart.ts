@@ -21,9 +21,42 @@ export type UpdateCartItemInput = yup.InferType<
   typeof updateCartItemInputSchema
 >;
 
+// Schema for one bulk cart operation, addressed by product
+export const bulkCartOperationSchema = yup.object({
+  type: yup.mixed<"ADD" | "SET" | "REMOVE">().oneOf(["ADD", "SET", "REMOVE"]).required(),
+  productId: yup.number().required("Product ID is required"),
+  quantity: yup.number().min(0, "Quantity must be at least 0"),
+});
+
+export type BulkCartOperation = yup.InferType<typeof bulkCartOperationSchema>;
+
+export interface CartItemQuantity {
+  productId: number;
+  quantity: number;
+}
+
+// Read-your-writes token from the latest cart mutation, sent with the next read only:
+// once a read has reflected it, later reads go back to the plain cached path
+const CART_VERSION_HEADER = "x-cart-version";
+let cartVersion: string | undefined;
+
+const rememberCartVersion = (headers: Record<string, unknown>) => {
+  const version = headers[CART_VERSION_HEADER];
+  if (typeof version === "string") {
+    cartVersion = version;
+  }
+};
+
 // Get cart
 export const getCart = async (): Promise<Cart> => {
-  const response = await api.get<Cart>("/cart");
+  const version = cartVersion;
+  const response = await api.get<Cart>("/cart", {
+    headers: version ? { [CART_VERSION_HEADER]: version } : undefined,
+  });
+  // Keep a token a mutation stored while this read was in flight
+  if (version && cartVersion === version) {
+    cartVersion = undefined;
+  }
   return response.data;
 };
 
@@ -37,6 +70,7 @@ export const useCart = () => {
 // Add to cart
 export const addToCart = async (input: AddToCartInput): Promise<Cart> => {
   const response = await api.post<Cart>("/cart/items", input);
+  rememberCartVersion(response.headers);
   return response.data;
 };
 
@@ -58,6 +92,7 @@ export const updateCartItem = async (
   const response = await api.put<Cart>(`/cart/items/${input.itemId}`, {
     quantity: input.quantity,
   });
+  rememberCartVersion(response.headers);
   return response.data;
 };
 
@@ -75,6 +110,7 @@ export const useUpdateCartItem = () => {
 // Remove from cart
 export const removeFromCart = async (itemId: string): Promise<Cart> => {
   const response = await api.delete<Cart>(`/cart/items/${itemId}`);
+  rememberCartVersion(response.headers);
   return response.data;
 };
 
@@ -88,3 +124,42 @@ export const useRemoveFromCart = () => {
     },
   });
 };
+
+// Apply several operations in one request
+export const applyBulkCartOperations = async (
+  operations: BulkCartOperation[]
+): Promise<CartItemQuantity[]> => {
+  const response = await api.post<CartItemQuantity[]>("/cart/items/bulk", {
+    operations,
+  });
+  rememberCartVersion(response.headers);
+  return response.data;
+};
+
+export const useBulkCartOperations = () => {
+  const queryClient = useQueryClient();
+
+  return useMutation({
+    mutationFn: applyBulkCartOperations,
+    onSuccess: () => {
+      queryClient.invalidateQueries({ queryKey: ["cart"] });
+    },
+  });
+};
+
+// Clear cart
+export const clearCart = async (): Promise<void> => {
+  const response = await api.delete<void>("/cart");
+  rememberCartVersion(response.headers);
+};
+
+export const useClearCart = () => {
+  const queryClient = useQueryClient();
+
+  return useMutation({
+    mutationFn: clearCart,
+    onSuccess: () => {
+      queryClient.invalidateQueries({ queryKey: ["cart"] });
+    },
+  });
+};